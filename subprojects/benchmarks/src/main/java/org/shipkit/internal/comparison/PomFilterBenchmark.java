@@ -0,0 +1,69 @@
+package org.shipkit.internal.comparison;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering the pom before comparing publications, see {@link PomFilter#filter(String)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PomFilterBenchmark {
+
+    @Param({"10", "500"})
+    public int dependencies;
+
+    private final PomFilter filter = new PomFilter("org.example", "1.0.0", "1.0.1");
+    private String pom;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder()
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+                .append("  <modelVersion>4.0.0</modelVersion>\n")
+                .append("  <groupId>org.example</groupId>\n")
+                .append("  <artifactId>example</artifactId>\n")
+                .append("  <version>1.0.1</version>\n")
+                .append("  <developers>\n");
+        for (int i = 0; i < 5; i++) {
+            sb.append("    <developer><id>dev").append(i).append("</id><name>Developer ").append(i).append("</name></developer>\n");
+        }
+        sb.append("  </developers>\n  <contributors>\n");
+        for (int i = 0; i < 50; i++) {
+            sb.append("    <contributor><name>Contributor ").append(i).append("</name></contributor>\n");
+        }
+        sb.append("  </contributors>\n  <dependencies>\n");
+        for (int i = 0; i < dependencies; i++) {
+            //every tenth dependency is a sibling module of the same project
+            boolean sibling = i % 10 == 0;
+            sb.append("    <dependency>\n")
+                    .append("      <groupId>").append(sibling ? "org.example" : "org.library" + i).append("</groupId>\n")
+                    .append("      <artifactId>lib").append(i).append("</artifactId>\n")
+                    .append("      <version>").append(sibling ? "1.0.0" : "2." + i).append("</version>\n")
+                    .append("      <scope>compile</scope>\n")
+                    .append("    </dependency>\n");
+        }
+        pom = sb.append("  </dependencies>\n</project>\n").toString();
+    }
+
+    @Benchmark
+    public String filter() {
+        return filter.filter(pom);
+    }
+}
@@ -0,0 +1,88 @@
+package org.shipkit.internal.comparison;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shipkit.internal.comparison.diff.Diff;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Comparing archives of the previous and the current release, see {@link ZipComparator#areEqual(File, File)}.
+ * The archives are equal, which is the most expensive case because every entry needs to be compared.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZipComparatorBenchmark {
+
+    @Param({"100", "5000"})
+    public int entries;
+
+    @Param({"4096"})
+    public int entrySize;
+
+    private File dir;
+    private File previous;
+    private File current;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = File.createTempFile("shipkit-zip-benchmark", "");
+        dir.delete();
+        dir.mkdirs();
+        previous = writeZip(new File(dir, "previous.jar"));
+        current = writeZip(new File(dir, "current.jar"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        previous.delete();
+        current.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public Diff areEqual() {
+        return new ZipComparator().areEqual(previous, current);
+    }
+
+    private File writeZip(File file) throws IOException {
+        //the same seed gives the same content of both archives
+        Random random = new Random(entries);
+        byte[] content = new byte[entrySize];
+        ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file));
+        try {
+            for (int i = 0; i < entries; i++) {
+                //compressible content, similar to class files and sources
+                for (int j = 0; j < content.length; j++) {
+                    content[j] = (byte) ('a' + random.nextInt(8));
+                }
+                out.putNextEntry(new ZipEntry("org/example/module" + (i % 20) + "/Class" + i + ".class"));
+                out.write(content);
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,69 @@
+package org.shipkit.internal.gradle.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.vcs.SyntheticHistory;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading release notes data, see {@link ReleaseNotesSerializer}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReleaseNotesSerializerBenchmark {
+
+    @Param({"10", "200"})
+    public int versions;
+
+    @Param({"500"})
+    public int commitsPerVersion;
+
+    private final ReleaseNotesSerializer serializer = new ReleaseNotesSerializer();
+    private List<ReleaseNotesData> data;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticHistory.releaseNotes(versions, commitsPerVersion, 100);
+        json = serializer.serialize(data);
+    }
+
+    @Benchmark
+    public String serialize() throws IOException {
+        StringWriter writer = new StringWriter();
+        serializer.serialize(data, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public Collection<ReleaseNotesData> deserialize() {
+        return serializer.deserialize(new StringReader(json));
+    }
+
+    @Benchmark
+    public Collection<ReleaseNotesData> roundTrip() throws IOException {
+        StringWriter writer = new StringWriter();
+        serializer.serialize(data, writer);
+        return serializer.deserialize(new StringReader(writer.toString()));
+    }
+}
@@ -0,0 +1,72 @@
+package org.shipkit.internal.notes.format;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shipkit.internal.notes.contributors.DefaultContributor;
+import org.shipkit.internal.notes.model.Contributor;
+import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.vcs.SyntheticHistory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting release notes of many versions, see {@link DetailedFormatter#formatReleaseNotes(java.util.Collection)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DetailedFormatterBenchmark {
+
+    @Param({"10", "200"})
+    public int versions;
+
+    @Param({"500"})
+    public int commitsPerVersion;
+
+    @Param({"2", "300"})
+    public int authors;
+
+    private List<ReleaseNotesData> data;
+    private MultiReleaseNotesFormatter formatter;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticHistory.releaseNotes(versions, commitsPerVersion, authors);
+
+        Map<String, String> labelMapping = new LinkedHashMap<String, String>();
+        labelMapping.put("noteworthy", "Noteworthy");
+        labelMapping.put("bugfix", "Bugfixes");
+        labelMapping.put("enhancement", "Enhancements");
+
+        Map<String, Contributor> contributors = new HashMap<String, Contributor>();
+        for (int i = 0; i < authors; i++) {
+            String name = SyntheticHistory.authorName(i, authors);
+            contributors.put(name, new DefaultContributor(name, "author" + i, "https://github.com/author" + i));
+        }
+
+        formatter = new DetailedFormatter("# Release notes\n\n", null, labelMapping,
+                "https://github.com/mockito/shipkit/compare/{0}...{1}",
+                "https://bintray.com/shipkit/examples/basic", contributors, true);
+    }
+
+    @Benchmark
+    public String formatReleaseNotes() {
+        return formatter.formatReleaseNotes(data);
+    }
+}
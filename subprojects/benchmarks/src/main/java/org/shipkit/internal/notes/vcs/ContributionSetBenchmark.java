@@ -0,0 +1,53 @@
+package org.shipkit.internal.notes.vcs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shipkit.internal.notes.model.Commit;
+import org.shipkit.internal.notes.model.Contribution;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping commits of a version by author, see {@link DefaultContributionSet#add(Commit)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContributionSetBenchmark {
+
+    @Param({"1000", "40000"})
+    public int commits;
+
+    @Param({"50", "1500"})
+    public int authors;
+
+    private List<Commit> history;
+
+    @Setup
+    public void setUp() {
+        history = SyntheticHistory.commits(commits, authors);
+    }
+
+    @Benchmark
+    public Collection<Contribution> add() {
+        DefaultContributionSet contributions = new DefaultContributionSet();
+        for (Commit c : history) {
+            contributions.add(c);
+        }
+        return contributions.getContributions();
+    }
+}
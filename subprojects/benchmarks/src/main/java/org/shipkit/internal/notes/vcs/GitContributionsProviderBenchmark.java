@@ -0,0 +1,76 @@
+package org.shipkit.internal.notes.vcs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shipkit.internal.exec.ProcessOutputHandler;
+import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.notes.model.ContributionSet;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing 'git log' output into contributions, see {@link GitContributionsProvider}.
+ * Git is not invoked, the log is served from memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GitContributionsProviderBenchmark {
+
+    @Param({"1000", "40000"})
+    public int commits;
+
+    @Param({"100"})
+    public int authors;
+
+    private GitContributionsProvider provider;
+
+    @Setup
+    public void setUp() {
+        final String log = SyntheticHistory.gitLog(commits, authors);
+        ProcessRunner runner = new ProcessRunner() {
+            public String run(String... commandLine) {
+                return "";
+            }
+
+            public String run(List<String> commandLine) {
+                return "";
+            }
+
+            public void run(List<String> commandLine, ProcessOutputHandler outputHandler) {
+                try {
+                    outputHandler.handle(new StringReader(log));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            public ProcessRunner setTimeout(long timeout, TimeUnit unit) {
+                return this;
+            }
+        };
+        provider = new GitContributionsProvider(new GitLogProvider(runner),
+                new IgnoredCommit(Collections.singletonList("[ci skip]")));
+    }
+
+    @Benchmark
+    public ContributionSet getContributionsBetween() {
+        return provider.getContributionsBetween("v1.0.0", "v1.1.0");
+    }
+}
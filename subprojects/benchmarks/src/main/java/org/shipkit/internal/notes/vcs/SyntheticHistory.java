@@ -0,0 +1,98 @@
+package org.shipkit.internal.notes.vcs;
+
+import org.shipkit.internal.notes.internal.DefaultImprovement;
+import org.shipkit.internal.notes.internal.DefaultReleaseNotesData;
+import org.shipkit.internal.notes.model.Commit;
+import org.shipkit.internal.notes.model.ContributionSet;
+import org.shipkit.internal.notes.model.Improvement;
+import org.shipkit.internal.notes.model.ReleaseNotesData;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Deterministic, size-parameterized project history used as input of the benchmarks.
+ * Commits are spread evenly between the authors and reference tickets in the messages.
+ */
+public class SyntheticHistory {
+
+    private static final char NUL = '\0';
+
+    /**
+     * Commit message of the commit with given index, references one or two tickets
+     */
+    public static String message(int index) {
+        StringBuilder sb = new StringBuilder()
+                .append("Fixed #").append(index % 500).append(" in module ").append(index % 17).append("\n\n")
+                .append("Reworked the implementation so that the problem does not happen again.\n");
+        if (index % 3 == 0) {
+            sb.append("See also #").append(index % 700).append(" and the discussion in the pull request.\n");
+        }
+        return sb.toString();
+    }
+
+    public static String authorName(int index, int authors) {
+        return "Author " + (index % authors);
+    }
+
+    public static String authorEmail(int index, int authors) {
+        return "author" + (index % authors) + "@example.com";
+    }
+
+    public static List<Commit> commits(int count, int authors) {
+        List<Commit> commits = new ArrayList<Commit>(count);
+        for (int i = 0; i < count; i++) {
+            commits.add(new GitCommit(commitId(i), authorEmail(i, authors), authorName(i, authors), message(i)));
+        }
+        return commits;
+    }
+
+    public static ContributionSet contributions(int count, int authors) {
+        DefaultContributionSet contributions = new DefaultContributionSet();
+        for (Commit c : commits(count, authors)) {
+            contributions.add(c);
+        }
+        return contributions;
+    }
+
+    /**
+     * Output of 'git log -z' in the format used by {@link GitContributionsProvider}
+     */
+    public static String gitLog(int count, int authors) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(NUL);
+            }
+            sb.append(commitId(i)).append(NUL)
+                    .append(authorEmail(i, authors)).append(NUL)
+                    .append(authorName(i, authors)).append(NUL)
+                    .append(message(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Release notes data of given number of versions, newest version first
+     */
+    public static List<ReleaseNotesData> releaseNotes(int versions, int commitsPerVersion, int authors) {
+        List<ReleaseNotesData> result = new ArrayList<ReleaseNotesData>(versions);
+        for (int v = versions; v > 0; v--) {
+            List<Improvement> improvements = new ArrayList<Improvement>();
+            for (int i = 0; i < commitsPerVersion / 5; i++) {
+                long id = v * 1000L + i;
+                improvements.add(new DefaultImprovement(id, "Improvement " + id, "https://github.com/mockito/shipkit/issues/" + id,
+                        Arrays.asList(i % 2 == 0 ? "bugfix" : "enhancement"), i % 3 == 0));
+            }
+            result.add(new DefaultReleaseNotesData("1." + v + ".0", new Date(1486700000000L + v * 86400000L),
+                    contributions(commitsPerVersion, authors), improvements, "v1." + (v - 1) + ".0", "v1." + v + ".0"));
+        }
+        return result;
+    }
+
+    private static String commitId(int index) {
+        return String.format("%040x", index);
+    }
+}
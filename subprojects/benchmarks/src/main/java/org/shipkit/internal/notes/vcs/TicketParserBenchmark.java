@@ -0,0 +1,60 @@
+package org.shipkit.internal.notes.vcs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracting ticket ids from commit messages, see {@link TicketParser#parseTickets(String)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketParserBenchmark {
+
+    @Param({"1000"})
+    public int messages;
+
+    /**
+     * How many times the typical commit message is repeated in every message, simulates long descriptions
+     */
+    @Param({"1", "20"})
+    public int messageSize;
+
+    private List<String> input;
+
+    @Setup
+    public void setUp() {
+        input = new ArrayList<String>(messages);
+        for (int i = 0; i < messages; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < messageSize; j++) {
+                sb.append(SyntheticHistory.message(i + j));
+            }
+            input.add(sb.toString());
+        }
+    }
+
+    @Benchmark
+    public void parseTickets(Blackhole blackhole) {
+        for (String message : input) {
+            blackhole.consume(TicketParser.parseTickets(message));
+        }
+    }
+}
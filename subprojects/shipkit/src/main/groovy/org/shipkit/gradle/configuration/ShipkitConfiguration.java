@@ -219,6 +219,26 @@ public class ShipkitConfiguration {
             store.put("releaseNotes.file", file);
         }
 
+        /**
+         * Optional directory, relative path, where release notes are kept as fragments, one file per version.
+         * For example: "docs/release-notes".
+         * By default it is not configured and all release notes are kept in a single file, see {@link #getFile()}.
+         * <p>
+         * When configured, releasing a new version only adds its fragment and the existing release notes are not rewritten.
+         * Existing release notes file is imported to the fragments once, on the first release.
+         * The single release notes file is assembled from the fragments with 'assembleReleaseNotes' task.
+         */
+        public String getFragmentsDir() {
+            return store.getString("releaseNotes.fragmentsDir");
+        }
+
+        /**
+         * See {@link #getFragmentsDir()}
+         */
+        public void setFragmentsDir(String fragmentsDir) {
+            store.put("releaseNotes.fragmentsDir", fragmentsDir);
+        }
+
         /**
          * Issue tracker label mappings.
          * The mapping of issue tracker labels (for example "GitHub label") to human readable and presentable name.
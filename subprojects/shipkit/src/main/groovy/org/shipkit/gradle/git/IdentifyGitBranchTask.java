@@ -8,14 +8,12 @@ import org.shipkit.internal.gradle.git.tasks.IdentifyGitBranch;
 import java.io.File;
 import java.util.List;
 
-import static java.util.Arrays.asList;
-
 /**
  * Gets information about current git branch and keeps the value in the task as reference.
  */
 public class IdentifyGitBranchTask extends DefaultTask {
 
-    private List<String> commandLine = asList("git", "rev-parse", "--abbrev-ref", "HEAD");
+    private List<String> commandLine = IdentifyGitBranch.DEFAULT_COMMAND_LINE;
     private File workDir = getProject().getRootDir();
     private String branch;
 
@@ -43,7 +41,9 @@ public class IdentifyGitBranchTask extends DefaultTask {
     }
 
     /**
-     * The git command line used to identify the branch
+     * The git command line used to identify the branch.
+     * With the default command line, the branch is read directly from the git repository when possible
+     * and 'git' process is not executed.
      */
     public List<String> getCommandLine() {
         return commandLine;
@@ -5,6 +5,7 @@ import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.shipkit.internal.gradle.java.tasks.DownloadPreviousPublications;
+import org.shipkit.internal.gradle.util.BuildConventions;
 
 import java.io.File;
 
@@ -21,6 +22,8 @@ public class DownloadPreviousPublicationsTask extends DefaultTask {
 
     @OutputFile private File previousSourcesJarFile;
 
+    private File artifactCacheDir = BuildConventions.artifactCacheDir(getProject());
+
     @TaskAction
     public void downloadPreviousPublications() {
         new DownloadPreviousPublications().downloadPreviousPublications(this);
@@ -53,4 +56,19 @@ public class DownloadPreviousPublicationsTask extends DefaultTask {
     public void setPreviousSourcesJarFile(File previousSourcesJar) {
         this.previousSourcesJarFile = previousSourcesJar;
     }
+
+    /**
+     * Directory where released artifacts are cached between builds and projects, null disables the cache.
+     * By default it is located in Gradle user home.
+     */
+    public File getArtifactCacheDir() {
+        return artifactCacheDir;
+    }
+
+    /**
+     * See {@link #getArtifactCacheDir()}
+     */
+    public void setArtifactCacheDir(File artifactCacheDir) {
+        this.artifactCacheDir = artifactCacheDir;
+    }
 }
@@ -0,0 +1,104 @@
+package org.shipkit.gradle.notes;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.shipkit.internal.gradle.util.ReleaseNotesFragments;
+import org.shipkit.internal.notes.header.HeaderProvider;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Assembles the single release notes file from release notes fragments, the newest version first.
+ * Fragments are added by {@link UpdateReleaseNotesTask} when
+ * {@link org.shipkit.gradle.configuration.ShipkitConfiguration.ReleaseNotes#getFragmentsDir()} is configured.
+ * The fragments are streamed to the output file, they are not loaded to memory together.
+ */
+public class AssembleReleaseNotesTask extends DefaultTask {
+
+    private static final Logger LOG = Logging.getLogger(AssembleReleaseNotesTask.class);
+
+    private File fragmentsDir;
+    @OutputFile private File outputFile;
+    @Input private String header;
+
+    @TaskAction
+    public void assembleReleaseNotes() throws IOException {
+        if (fragmentsDir == null) {
+            throw new GradleException("Release notes fragments are not configured. Please configure 'shipkit.releaseNotes.fragmentsDir' value.");
+        }
+        if (!fragmentsDir.isDirectory()) {
+            throw new GradleException("Release notes fragments directory does not exist: " + fragmentsDir + "\n" +
+                "  Fragments are added when release notes are updated, see 'updateReleaseNotes' task.");
+        }
+        Writer writer = IOUtil.bufferedWriter(outputFile);
+        try {
+            writer.write(new HeaderProvider().getHeader(header));
+            new ReleaseNotesFragments(fragmentsDir).writeAll(writer);
+        } finally {
+            IOUtil.close(writer);
+        }
+        LOG.lifecycle("  Assembled release notes from fragments in {}: {}", fragmentsDir, outputFile);
+    }
+
+    /**
+     * Directory with release notes fragments, see {@link UpdateReleaseNotesTask#getFragmentsDir()}
+     */
+    public File getFragmentsDir() {
+        return fragmentsDir;
+    }
+
+    /**
+     * See {@link #getFragmentsDir()}
+     */
+    public void setFragmentsDir(File fragmentsDir) {
+        this.fragmentsDir = fragmentsDir;
+    }
+
+    /**
+     * Files in {@link #getFragmentsDir()}, the inputs of the task.
+     * The directory does not need to exist, the task fails with a descriptive message when it runs then.
+     */
+    @InputFiles @Optional
+    public FileCollection getFragmentFiles() {
+        return fragmentsDir != null ? getProject().files(fragmentsDir) : null;
+    }
+
+    /**
+     * Release notes file assembled from the fragments
+     */
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    /**
+     * See {@link #getOutputFile()}
+     */
+    public void setOutputFile(File outputFile) {
+        this.outputFile = outputFile;
+    }
+
+    /**
+     * Header placed at the top of the release notes, see {@link UpdateReleaseNotesTask#getHeader()}
+     */
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * See {@link #getHeader()}
+     */
+    public void setHeader(String header) {
+        this.header = header;
+    }
+}
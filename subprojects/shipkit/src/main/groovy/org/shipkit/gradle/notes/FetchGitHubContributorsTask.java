@@ -2,9 +2,13 @@ package org.shipkit.gradle.notes;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
+import org.shipkit.internal.git.GitRevisions;
 import org.shipkit.internal.gradle.notes.tasks.FetchContributors;
+import org.shipkit.internal.gradle.util.BuildConventions;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 
 import java.io.File;
 
@@ -16,19 +20,45 @@ import java.io.File;
  * Therefore, we also fetch recent contributors from GitHub using the "commit" end point:
  * https://developer.github.com/v3/repos/commits/
  * This way, we can also fetch the most recent contributors, necessary for correct release notes information.
+ * <p>
+ * Contributors are synchronized incrementally. The task keeps a checkpoint with all contributors and the newest commit
+ * in {@link #getCheckpointDir()}, subsequent runs fetch only the commits that are reachable from the head
+ * but not from the checkpoint commit, so that commits merged long after they were created are not missed.
+ * All contributors are listed again every {@link #getFullSyncIntervalDays()} days or when {@link #isFullSync()} is set.
  */
 public class FetchGitHubContributorsTask extends DefaultTask {
 
     @Input private String apiUrl;
     @Input private String repository;
-    @Input private String readOnlyAuthToken;
+    private String readOnlyAuthToken;
     @OutputFile private File outputFile;
+    private File gitHubResponseCacheDir = BuildConventions.gitHubResponseCacheDir(getProject());
+    private File gitHubUserCacheFile = BuildConventions.gitHubUserCacheFile(getProject());
+    private File checkpointDir = BuildConventions.contributorsCheckpointDir(getProject());
+    private boolean fullSync;
+    private int fullSyncIntervalDays = 7;
+    private int maxConcurrentGitHubRequests = GitHubRequestExecutor.DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private String headCommit;
 
     @TaskAction
     public void fetchContributors() {
         new FetchContributors().fetchContributors(this);
     }
 
+    /**
+     * Nullable, id of the current commit (HEAD) of the project repository, resolved when the task executes.
+     * It is null when the repository does not exist or has no commits yet.
+     * It is part of the task inputs so that contributors are fetched again when there are new commits,
+     * otherwise the task is up-to-date. The auth token is not part of the inputs.
+     */
+    @Input @Optional
+    public String getHeadCommit() {
+        if (headCommit == null) {
+            headCommit = GitRevisions.resolve(getProject().getRootDir(), "HEAD");
+        }
+        return headCommit;
+    }
+
     /**
      * See {@link org.shipkit.gradle.configuration.ShipkitConfiguration.GitHub#getApiUrl()}
      */
@@ -85,4 +115,94 @@ public class FetchGitHubContributorsTask extends DefaultTask {
         this.outputFile = outputFile;
     }
 
+    /**
+     * Directory where GitHub API responses are cached between builds, null disables the cache.
+     * See {@link FetchReleaseNotesTask#getGitHubResponseCacheDir()}
+     */
+    public File getGitHubResponseCacheDir() {
+        return gitHubResponseCacheDir;
+    }
+
+    /**
+     * See {@link #getGitHubResponseCacheDir()}
+     */
+    public void setGitHubResponseCacheDir(File gitHubResponseCacheDir) {
+        this.gitHubResponseCacheDir = gitHubResponseCacheDir;
+    }
+
+    /**
+     * File where GitHub user profiles (name and profile url) of the contributors are cached between builds,
+     * null disables the cache. Cached users are fetched again after two weeks.
+     */
+    public File getGitHubUserCacheFile() {
+        return gitHubUserCacheFile;
+    }
+
+    /**
+     * See {@link #getGitHubUserCacheFile()}
+     */
+    public void setGitHubUserCacheFile(File gitHubUserCacheFile) {
+        this.gitHubUserCacheFile = gitHubUserCacheFile;
+    }
+
+    /**
+     * Directory where checkpoints of contributors synchronization are kept between builds,
+     * null disables incremental synchronization - all contributors are listed every time.
+     */
+    public File getCheckpointDir() {
+        return checkpointDir;
+    }
+
+    /**
+     * See {@link #getCheckpointDir()}
+     */
+    public void setCheckpointDir(File checkpointDir) {
+        this.checkpointDir = checkpointDir;
+    }
+
+    /**
+     * If all contributors should be listed regardless of the checkpoint. False by default.
+     * Set it with '-PfullContributorsSync' project property.
+     */
+    public boolean isFullSync() {
+        return fullSync;
+    }
+
+    /**
+     * See {@link #isFullSync()}
+     */
+    public void setFullSync(boolean fullSync) {
+        this.fullSync = fullSync;
+    }
+
+    /**
+     * Number of days after which all contributors are listed again, 7 by default.
+     * In between, only the authors of new commits are added to the contributors.
+     */
+    public int getFullSyncIntervalDays() {
+        return fullSyncIntervalDays;
+    }
+
+    /**
+     * See {@link #getFullSyncIntervalDays()}
+     */
+    public void setFullSyncIntervalDays(int fullSyncIntervalDays) {
+        this.fullSyncIntervalDays = fullSyncIntervalDays;
+    }
+
+    /**
+     * Maximum number of GitHub API requests executed concurrently, for example when fetching user profiles.
+     * Requests are held back anyway when GitHub rate limit is about to be exhausted.
+     */
+    public int getMaxConcurrentGitHubRequests() {
+        return maxConcurrentGitHubRequests;
+    }
+
+    /**
+     * See {@link #getMaxConcurrentGitHubRequests()}
+     */
+    public void setMaxConcurrentGitHubRequests(int maxConcurrentGitHubRequests) {
+        this.maxConcurrentGitHubRequests = maxConcurrentGitHubRequests;
+    }
+
 }
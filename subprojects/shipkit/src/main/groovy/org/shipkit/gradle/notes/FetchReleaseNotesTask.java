@@ -5,7 +5,10 @@ import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
+import org.shipkit.internal.git.GitRevisions;
 import org.shipkit.internal.gradle.notes.tasks.FetchReleaseNotes;
+import org.shipkit.internal.gradle.util.BuildConventions;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 
 import java.io.File;
 import java.util.Collection;
@@ -14,26 +17,63 @@ import java.util.Collections;
 /**
  * Fetches release notes data information from Git and GitHub
  * and serializes it to file specified with {@link #outputFile}.
+ * <p>
+ * The task is up-to-date when the commits it generates the release notes for did not change,
+ * see {@link #getHeadCommit()} and {@link #getPreviousVersionCommit()}, and the settings that affect the data did not change.
+ * The auth token and the location of the repository are not part of the inputs.
+ * Information fetched from GitHub (like titles and labels of issues) can change without new commits,
+ * run with '--rerun-tasks' to fetch it again.
  */
 public class FetchReleaseNotesTask extends DefaultTask {
 
     @Input @Optional private String previousVersion;
     @Input private String version = getProject().getVersion().toString();
     @Input private String gitHubApiUrl;
-    @Input private String gitHubReadOnlyAuthToken;
+    private String gitHubReadOnlyAuthToken;
     @Input private String gitHubRepository;
     @Input private String tagPrefix;
     @Input private boolean onlyPullRequests;
-    @Input private File gitWorkDir = getProject().getRootDir();
+    private File gitWorkDir = getProject().getRootDir();
     @Input private Collection<String> gitHubLabels = Collections.emptyList();
     @Input private Collection<String> ignoreCommitsContaining;
     @OutputFile private File outputFile;
+    private File gitHubResponseCacheDir = BuildConventions.gitHubResponseCacheDir(getProject());
+    private int maxConcurrentGitHubRequests = GitHubRequestExecutor.DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private File releaseNotesStoreDir = BuildConventions.releaseNotesStoreDir(getProject());
+    private String headCommit;
+    private String previousVersionCommit;
 
     @TaskAction
     public void fetchReleaseNotes() {
         new FetchReleaseNotes().fetchReleaseNotes(this);
     }
 
+    /**
+     * Nullable, id of the commit release notes are generated for (HEAD), resolved when the task executes.
+     * It is null when the repository does not exist or has no commits yet.
+     * It is part of the task inputs so that the task runs again when there are new commits.
+     */
+    @Input @Optional
+    public String getHeadCommit() {
+        if (headCommit == null) {
+            headCommit = GitRevisions.resolve(gitWorkDir, "HEAD");
+        }
+        return headCommit;
+    }
+
+    /**
+     * Nullable, id of the commit the tag of the previous version points to, resolved when the task executes.
+     * It is null when there is no previous version or the tag does not exist.
+     * It is part of the task inputs so that the task runs again when the tag is moved.
+     */
+    @Input @Optional
+    public String getPreviousVersionCommit() {
+        if (previousVersionCommit == null && previousVersion != null) {
+            previousVersionCommit = GitRevisions.resolve(gitWorkDir, tagPrefix + previousVersion);
+        }
+        return previousVersionCommit;
+    }
+
     /**
      * See {@link org.shipkit.gradle.configuration.ShipkitConfiguration.GitHub#getUrl()}
      */
@@ -177,6 +217,54 @@ public class FetchReleaseNotesTask extends DefaultTask {
         this.gitHubLabels = gitHubLabels;
     }
 
+    /**
+     * Directory where GitHub API responses are cached between builds, null disables the cache.
+     * Unchanged pages are revalidated with conditional requests and do not consume the rate limit.
+     * By default it is located in Gradle user home.
+     */
+    public File getGitHubResponseCacheDir() {
+        return gitHubResponseCacheDir;
+    }
+
+    /**
+     * See {@link #getGitHubResponseCacheDir()}
+     */
+    public void setGitHubResponseCacheDir(File gitHubResponseCacheDir) {
+        this.gitHubResponseCacheDir = gitHubResponseCacheDir;
+    }
+
+    /**
+     * Maximum number of GitHub API requests executed concurrently, for example when fetching user profiles.
+     * Requests are held back anyway when GitHub rate limit is about to be exhausted.
+     */
+    public int getMaxConcurrentGitHubRequests() {
+        return maxConcurrentGitHubRequests;
+    }
+
+    /**
+     * See {@link #getMaxConcurrentGitHubRequests()}
+     */
+    public void setMaxConcurrentGitHubRequests(int maxConcurrentGitHubRequests) {
+        this.maxConcurrentGitHubRequests = maxConcurrentGitHubRequests;
+    }
+
+    /**
+     * Directory where release notes data of already released versions is stored between builds, null disables incremental mode.
+     * In incremental mode, only versions whose tags are not yet in the store are fetched from Git and GitHub.
+     * The unreleased version (HEAD) is always fetched.
+     * By default it is located in Gradle user home.
+     */
+    public File getReleaseNotesStoreDir() {
+        return releaseNotesStoreDir;
+    }
+
+    /**
+     * See {@link #getReleaseNotesStoreDir()}
+     */
+    public void setReleaseNotesStoreDir(File releaseNotesStoreDir) {
+        this.releaseNotesStoreDir = releaseNotesStoreDir;
+    }
+
     /**
      * See {@link org.shipkit.gradle.configuration.ShipkitConfiguration.ReleaseNotes#getIgnoreCommitsContaining()}
      */
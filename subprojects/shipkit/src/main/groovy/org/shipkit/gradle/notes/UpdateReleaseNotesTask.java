@@ -17,12 +17,14 @@ import java.util.Map;
 
 /**
  * Generates incremental, detailed release notes text and appends them to the file {@link #getReleaseNotesFile()}.
+ * When {@link #getFragmentsDir()} is configured, the release notes are added as a new fragment instead.
  * When preview mode is enabled ({@link #isPreviewMode()}), the new release notes content is displayed only (file is not updated).
  */
 public class UpdateReleaseNotesTask extends DefaultTask {
 
     //Due to the preview mode, we set the input/output of this property in the plugin implementation
     private File releaseNotesFile;
+    private File fragmentsDir;
     private boolean previewMode;
 
     @Input @Optional private String previousVersion;
@@ -76,6 +78,23 @@ public class UpdateReleaseNotesTask extends DefaultTask {
         this.releaseNotesFile = releaseNotesFile;
     }
 
+    /**
+     * Directory with release notes fragments, one file per version, null by default.
+     * When configured, release notes of the version are written to a new fragment
+     * and {@link #getReleaseNotesFile()} is not rewritten.
+     * See {@link org.shipkit.gradle.configuration.ShipkitConfiguration.ReleaseNotes#getFragmentsDir()}
+     */
+    public File getFragmentsDir() {
+        return fragmentsDir;
+    }
+
+    /**
+     * See {@link #getFragmentsDir()}
+     */
+    public void setFragmentsDir(File fragmentsDir) {
+        this.fragmentsDir = fragmentsDir;
+    }
+
     /**
      * The version we are generating the release notes for.
      */
@@ -1,8 +1,11 @@
 package org.shipkit.internal.comparison;
 
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.shipkit.internal.comparison.diff.Diff;
 import org.shipkit.internal.comparison.diff.DirectoryDiffGenerator;
 import org.shipkit.internal.gradle.java.tasks.ComparePublications;
+import org.shipkit.internal.gradle.util.ZipIndex;
 import org.shipkit.internal.gradle.util.ZipUtil;
 import org.shipkit.internal.util.ExposedForTesting;
 
@@ -10,93 +13,215 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.zip.ZipFile;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.lang.String.format;
 import static org.shipkit.internal.util.ArgumentValidation.notNull;
 
+/**
+ * Compares zip archives entry by entry.
+ * <p>
+ * Size and CRC of each entry are stored in the central directory of the archive,
+ * so entries whose size or CRC differ are reported as changed without reading their content.
+ * Entries with matching metadata are compared by their raw (compressed) bytes first,
+ * only when those differ the entries are inflated and compared byte by byte.
+ * Entries are streamed in chunks of fixed size, so each comparison needs little memory regardless of the size of the entry.
+ * The content of large archives is compared concurrently, using all available processors.
+ */
 public class ZipComparator {
 
-    private final DirectoryDiffGenerator directoryDiffGenerator;
+    private final static Logger LOG = Logging.getLogger(ZipComparator.class);
+
+    /**
+     * Minimum number of entries to compare by content for the comparison to happen concurrently
+     */
+    static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
 
+    private final DirectoryDiffGenerator directoryDiffGenerator;
+    private final int parallelThreshold;
 
     public ZipComparator() {
-        directoryDiffGenerator = new DirectoryDiffGenerator();
+        this(new DirectoryDiffGenerator());
     }
 
     @ExposedForTesting
     ZipComparator(DirectoryDiffGenerator directoryDiffGenerator) {
+        this(directoryDiffGenerator, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    @ExposedForTesting
+    ZipComparator(DirectoryDiffGenerator directoryDiffGenerator, int parallelThreshold) {
         this.directoryDiffGenerator = directoryDiffGenerator;
+        this.parallelThreshold = parallelThreshold;
     }
 
     public Diff areEqual(File previousFile, File currentFile) {
         notNull(previousFile, "previous version file to compare", currentFile, "current version file to compare");
-        ZipFile previousZip = null;
-        ZipFile currentZip = null;
+        ZipIndex previousZip = null;
+        ZipIndex currentZip = null;
         try {
-            previousZip = ZipUtil.openZipFile(previousFile);
-            currentZip = ZipUtil.openZipFile(currentFile);
-            return compareZips(previousZip, currentZip);
+            previousZip = ZipIndex.open(previousFile);
+            currentZip = ZipIndex.open(currentFile);
+            return areEqual(previousZip, currentZip);
         } finally {
-            ZipUtil.closeZipFile(previousZip);
-            ZipUtil.closeZipFile(currentZip);
+            ZipUtil.closeZipIndex(previousZip);
+            ZipUtil.closeZipIndex(currentZip);
         }
     }
 
+    /**
+     * Compares archives that are already open, useful when the archives are also read by other code
+     */
+    public Diff areEqual(ZipIndex previousZip, ZipIndex currentZip) {
+        notNull(previousZip, "previous version file to compare", currentZip, "current version file to compare");
+        return compareZips(previousZip, currentZip);
+    }
+
     //TODO: WW refactor this code so that it uses listeners
-    private Diff compareZips(ZipFile previousFile, ZipFile currentFile) {
+    private Diff compareZips(ZipIndex previousFile, ZipIndex currentFile) {
+        long start = System.currentTimeMillis();
 
-        Set<String> previous = ZipUtil.extractEntries(previousFile);
-        Set<String> current = ZipUtil.extractEntries(currentFile);
+        Set<String> previous = previousFile.getEntryNames();
+        Set<String> current = currentFile.getEntryNames();
 
         // ignore differences in dependency-info.md
         previous.remove(ComparePublications.DEPENDENCY_INFO_FILEPATH);
         current.remove(ComparePublications.DEPENDENCY_INFO_FILEPATH);
 
-        int differences = 0;
-
         List<String> addedFiles = new ArrayList<String>();
         List<String> removedFiles = new ArrayList<String>();
-        List<String> changedFiles = new ArrayList<String>();
+        Set<String> changed = new HashSet<String>();
+        List<String> sameMetadata = new ArrayList<String>();
 
+        //phase 1: compare metadata from the central directory
         for (String name : previous) {
-            if (!current.contains(name)) {
+            if (!current.remove(name)) {
                 removedFiles.add(name);
-                differences += 1;
-                continue;
-            }
-            try {
-                current.remove(name);
-                if (!streamsEqual(previousFile.getInputStream(previousFile.getEntry(name)),
-                                  currentFile.getInputStream(currentFile.getEntry(name)))) {
-                    changedFiles.add(name);
-                    differences += 1;
-                    continue;
-                }
-            } catch (Exception e) {
-                throw new ZipCompareException(format("Unable to compare zip entry '%s' found in '%s' with '%s'",
-                      name, previousFile.getName(), currentFile.getName()), e);
+            } else if (metadataDiffers(previousFile.getEntry(name), currentFile.getEntry(name))) {
+                changed.add(name);
+            } else {
+                sameMetadata.add(name);
             }
         }
-        for (String name : current) {
-            addedFiles.add(name);
-            differences += 1;
+        addedFiles.addAll(current);
+        long metadataCompared = System.currentTimeMillis();
+
+        //phase 2: compare content of entries that may still differ
+        int threads = sameMetadata.size() >= parallelThreshold ? Runtime.getRuntime().availableProcessors() : 1;
+        changed.addAll(contentDiffers(previousFile, currentFile, sameMetadata, threads));
+        long contentCompared = System.currentTimeMillis();
+
+        LOG.info("Compared '{}' with '{}': {} ms reading metadata ({} entries differ), {} ms comparing content of {} entries using {} thread(s)",
+            previousFile.getName(), currentFile.getName(), metadataCompared - start, addedFiles.size() + removedFiles.size() + changed.size(),
+            contentCompared - metadataCompared, sameMetadata.size(), threads);
+
+        //keeps the order of entries in the previous file
+        List<String> changedFiles = new ArrayList<String>();
+        for (String name : previous) {
+            if (changed.contains(name)) {
+                changedFiles.add(name);
+            }
         }
 
         String diffOutput = directoryDiffGenerator.generateDiffOutput(addedFiles, removedFiles, changedFiles);
 
-        if (differences > 0) {
+        if (!addedFiles.isEmpty() || !removedFiles.isEmpty() || !changedFiles.isEmpty()) {
             return Diff.ofDifferentFiles(diffOutput);
         }
         return Diff.ofEqualFiles();
     }
 
+    /**
+     * Size and CRC are -1 when not known, entries are considered potentially equal then
+     */
+    static boolean metadataDiffers(ZipIndex.Entry previous, ZipIndex.Entry current) {
+        return differs(previous.getSize(), current.getSize()) || differs(previous.getCrc(), current.getCrc());
+    }
+
+    private static boolean differs(long previous, long current) {
+        return previous != -1 && current != -1 && previous != current;
+    }
+
+    private static Collection<String> contentDiffers(final ZipIndex previousFile, final ZipIndex currentFile,
+                                                     List<String> names, int threads) {
+        List<String> result = new ArrayList<String>();
+        if (threads <= 1) {
+            for (String name : names) {
+                if (contentDiffers(previousFile, currentFile, name)) {
+                    result.add(name);
+                }
+            }
+            return result;
+        }
+
+        //ZipIndex supports concurrent reads, each entry stream inflates independently
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Map<String, Future<Boolean>> futures = new LinkedHashMap<String, Future<Boolean>>();
+            for (final String name : names) {
+                futures.put(name, executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        return contentDiffers(previousFile, currentFile, name);
+                    }
+                }));
+            }
+            for (Map.Entry<String, Future<Boolean>> f : futures.entrySet()) {
+                if (f.getValue().get()) {
+                    result.add(f.getKey());
+                }
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZipCompareException(format("Interrupted while comparing '%s' with '%s'",
+                previousFile.getName(), currentFile.getName()), e);
+        } catch (ExecutionException e) {
+            //the cause is usually a ZipCompareException with details about the entry
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ZipCompareException(format("Unable to compare '%s' with '%s'",
+                previousFile.getName(), currentFile.getName()), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean contentDiffers(ZipIndex previousFile, ZipIndex currentFile, String name) {
+        try {
+            ZipIndex.Entry previous = previousFile.getEntry(name);
+            ZipIndex.Entry current = currentFile.getEntry(name);
+            //identical raw bytes compressed the same way mean identical content, no need to inflate
+            if (previous.getMethod() == current.getMethod()
+                    && previous.getCompressedSize() == current.getCompressedSize()
+                    && streamsEqual(previousFile.getRawInputStream(previous), currentFile.getRawInputStream(current))) {
+                return false;
+            }
+            if (previous.getMethod() == ZipIndex.STORED && current.getMethod() == ZipIndex.STORED) {
+                return true;
+            }
+            return !streamsEqual(previousFile.getInputStream(previous), currentFile.getInputStream(current));
+        } catch (Exception e) {
+            throw new ZipCompareException(format("Unable to compare zip entry '%s' found in '%s' with '%s'",
+                name, previousFile.getName(), currentFile.getName()), e);
+        }
+    }
 
     static boolean streamsEqual(InputStream stream1, InputStream stream2) throws IOException {
-        byte[] buf1 = new byte[4096];
-        byte[] buf2 = new byte[4096];
+        byte[] buf1 = new byte[BUFFER_SIZE];
+        byte[] buf2 = new byte[BUFFER_SIZE];
         boolean done1 = false;
         boolean done2 = false;
 
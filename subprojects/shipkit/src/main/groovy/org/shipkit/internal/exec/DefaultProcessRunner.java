@@ -9,19 +9,31 @@ import org.shipkit.internal.notes.util.ReleaseNotesException;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Arrays.asList;
 import static org.shipkit.internal.gradle.util.StringUtil.join;
 
 public class DefaultProcessRunner implements ProcessRunner {
 
+    /**
+     * Default number of characters of the output kept in memory when the output is stored in a file
+     */
+    public static final int DEFAULT_OUTPUT_TAIL_SIZE = 64 * 1024;
+
     private static final Logger LOG = Logging.getLogger(DefaultProcessRunner.class);
     private final File workDir;
     private final File outputLogFile;
-    private List<String> secretValues = Collections.emptyList();
+    private SecretMasker masker = new SecretMasker(Collections.<String>emptyList());
+    //no timeout by default, downstream builds can legitimately run for a long time
+    private long timeoutMillis;
+    private boolean quiet;
 
     /**
      * Calls {@link #DefaultProcessRunner(File, File)}
@@ -33,7 +45,9 @@ public class DefaultProcessRunner implements ProcessRunner {
     /**
      * Create Process runner
      * @param workDir Work directory where to start a process
-     * @param outputLogFile If process create a long output it's better to save it in file
+     * @param outputLogFile If process create a long output it's better to save it in file.
+     *                      The output is written to the file as it is produced
+     *                      and only the last {@link #DEFAULT_OUTPUT_TAIL_SIZE} characters are kept in memory.
      */
     public DefaultProcessRunner(File workDir, File outputLogFile) {
         this.workDir = workDir;
@@ -51,12 +65,14 @@ public class DefaultProcessRunner implements ProcessRunner {
     String run(Logger log, List<String> commandLine) {
         // WARNING!!! ensure that masked command line is used for all logging!!!
         String maskedCommandLine = mask(join(commandLine, " "));
-        log.lifecycle("  Executing:\n    " + maskedCommandLine);
+        logExecuting(log, maskedCommandLine);
 
         ProcessResult result = executeProcess(commandLine, maskedCommandLine);
 
-        if (result.getExitValue() != 0) {
-            return executionOfCommandFailed(maskedCommandLine, result);
+        if (result.isTimedOut()) {
+            return executionOfCommandFailed("Execution of command timed out after " + timeoutDescription(), maskedCommandLine, result);
+        } else if (result.getExitValue() != 0) {
+            return executionOfCommandFailed("Execution of command failed (exit code " + result.getExitValue() + ")", maskedCommandLine, result);
         } else {
             String output = result.getOutput();
             LOG.info("Output from external process '{}':\n{}", maskedCommandLine, output);
@@ -64,72 +80,127 @@ public class DefaultProcessRunner implements ProcessRunner {
         }
     }
 
-    private ProcessResult executeProcess(List<String> commandLine, String maskedCommandLine) {
-        ProcessResult result;
+    public void run(List<String> commandLine, ProcessOutputHandler outputHandler) {
+        // WARNING!!! ensure that masked command line is used for all logging!!!
+        String maskedCommandLine = mask(join(commandLine, " "));
+        logExecuting(LOG, maskedCommandLine);
+
+        int exitValue;
+        ErrorOutputCollector errorOutput;
+        ProcessSupervisor.Watchdog watchdog = null;
         try {
-            Process process = new ProcessBuilder(commandLine).directory(workDir).redirectErrorStream(true).start();
-            String output = mask(readFully(new BufferedReader(new InputStreamReader(process.getInputStream()))));
-            storeOutputToFile(output);
+            Process process = new ProcessBuilder(commandLine).directory(workDir).start();
+            watchdog = ProcessSupervisor.watch(process, timeoutMillis);
+            errorOutput = new ErrorOutputCollector(process.getErrorStream());
+            errorOutput.start();
 
-            //TODO add sanity timeout when we move to Java 1.7
-            // 1. we can do something like process.waitFor(15, TimeUnit.MINUTES)
-            // 2. first, we need to change the compatibility, push to Gradle 3.0, stop building with Java 1.6.
-            process.waitFor();
+            //secret values are masked while the handler reads the output, even when they span across chunks
+            Reader output = new BufferedReader(masker.mask(new InputStreamReader(process.getInputStream())));
+            try {
+                outputHandler.handle(output);
+            } finally {
+                IOUtil.closeQuietly(output);
+            }
 
-            result = new ProcessResult(output, process);
-        } catch (Exception e) {
+            exitValue = process.waitFor();
+            errorOutput.join();
+        } catch (IOException e) {
+            throw new ReleaseNotesException("Problems executing command:\n  " + maskedCommandLine, e);
+        } catch (InterruptedException e) {
             throw new ReleaseNotesException("Problems executing command:\n  " + maskedCommandLine, e);
+        } finally {
+            if (watchdog != null) {
+                watchdog.stop();
+            }
         }
-        return result;
-    }
 
-    private String mask(String text) {
-        if (secretValues.isEmpty()) {
-            return text;
+        if (watchdog.isTimedOut()) {
+            throw new GradleException("Execution of command timed out after " + timeoutDescription() + ":\n" +
+                    "  " + maskedCommandLine + "\n" +
+                    "  Captured error output:\n" + mask(errorOutput.getOutput()));
+        }
+        if (exitValue != 0) {
+            throw new GradleException("Execution of command failed (exit code " + exitValue + "):\n" +
+                    "  " + maskedCommandLine + "\n" +
+                    "  Captured error output:\n" + mask(errorOutput.getOutput()));
         }
-        for (String s : secretValues) {
-            if (s != null) {
-                text = text.replace(s, "[SECRET]");
+    }
+
+    private ProcessResult executeProcess(List<String> commandLine, String maskedCommandLine) {
+        OutputTail output = new OutputTail(outputLogFile == null ? 0 : DEFAULT_OUTPUT_TAIL_SIZE);
+        ProcessSupervisor.Watchdog watchdog = null;
+        try {
+            Process process = new ProcessBuilder(commandLine).directory(workDir).redirectErrorStream(true).start();
+            watchdog = ProcessSupervisor.watch(process, timeoutMillis);
+            pumpOutput(new BufferedReader(masker.mask(new InputStreamReader(process.getInputStream()))), output);
+            int exitValue = process.waitFor();
+            return new ProcessResult(output.get(), exitValue, watchdog.isTimedOut());
+        } catch (Exception e) {
+            throw new ReleaseNotesException("Problems executing command:\n  " + maskedCommandLine, e);
+        } finally {
+            if (watchdog != null) {
+                watchdog.stop();
             }
         }
-        return text;
     }
 
-    private static String readFully(BufferedReader reader) throws IOException {
+    /**
+     * Reads the (already masked) output line by line as the process produces it
+     * and writes the lines to the output log file (if configured) and to the output tail.
+     */
+    private void pumpOutput(BufferedReader reader, OutputTail output) throws IOException {
+        Writer log = outputLogFile != null ? IOUtil.bufferedWriter(outputLogFile) : null;
         try {
-            StringBuilder sb = new StringBuilder();
             String line;
             while ((line = reader.readLine()) != null) {
-                sb.append(line).append("\n");
+                output.append(line);
+                if (log != null) {
+                    log.write(line);
+                    log.write('\n');
+                    if (!reader.ready()) {
+                        //the process is not producing output at the moment, make the file up to date
+                        log.flush();
+                    }
+                }
             }
-            return sb.toString();
         } finally {
-            reader.close();
+            IOUtil.closeQuietly(reader);
+            IOUtil.close(log);
         }
     }
 
-    private void storeOutputToFile(String content) {
-        if (outputLogFile != null) {
-            //TODO ms - can we make sure that the output does not have sensitive secret values
-            //should we mask secret values in the output stored in file, too?
-            //TODO SF - good question. Currently secret values are masked (see invocation of this method)
-            //On Travis CI you can't see files in workspace, but maybe it would be good to publish this outputs somewhere
-            //for example gist.github.com (?), then we should mask secrets
-            IOUtil.writeFile(outputLogFile, content);
+    private void logExecuting(Logger log, String maskedCommandLine) {
+        String message = "  Executing:\n    " + maskedCommandLine;
+        if (quiet) {
+            log.info(message);
+        } else {
+            log.lifecycle(message);
         }
     }
 
-    private String executionOfCommandFailed(String maskedCommandLine, ProcessResult result) {
-        String message = "Execution of command failed (exit code " + result.getExitValue() + "):\n" +
+    private String mask(String text) {
+        return masker.mask(text);
+    }
+
+    private String executionOfCommandFailed(String reason, String maskedCommandLine, ProcessResult result) {
+        String message = reason + ":\n" +
                 "  " + maskedCommandLine + "\n";
         if (outputLogFile == null) {
             message = message + "  Captured command output:\n" + result.getOutput();
         } else {
-            message = message + "  Captured command output stored in " + outputLogFile;
+            message = message + "  Captured command output stored in " + outputLogFile + "\n" +
+                    "  Last lines of the output:\n" + result.getOutput();
         }
         throw new GradleException(message);
     }
 
+    private String timeoutDescription() {
+        if (timeoutMillis < 1000) {
+            return timeoutMillis + " ms";
+        }
+        return TimeUnit.MILLISECONDS.toSeconds(timeoutMillis) + " seconds";
+    }
+
     /**
      * @param secretValue to be masked from the output and logging
      * @return this runner
@@ -142,17 +213,94 @@ public class DefaultProcessRunner implements ProcessRunner {
      * @param secretValues all values will be masked from the output and logging
      */
     public DefaultProcessRunner setSecretValues(List<String> secretValues) {
-        this.secretValues = secretValues;
+        this.masker = new SecretMasker(secretValues);
         return this;
     }
 
+    public DefaultProcessRunner setTimeout(long timeout, TimeUnit unit) {
+        this.timeoutMillis = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * @param quiet if the executed commands should be logged only at info level,
+     *              useful for commands that merely read the state of the repository
+     * @return this runner
+     */
+    public DefaultProcessRunner setQuiet(boolean quiet) {
+        this.quiet = quiet;
+        return this;
+    }
+
+    /**
+     * Drains error output of the process in the background so that the process never blocks on a full pipe
+     */
+    private static class ErrorOutputCollector extends Thread {
+        private final InputStream errorStream;
+        private volatile String output = "";
+
+        ErrorOutputCollector(InputStream errorStream) {
+            this.errorStream = errorStream;
+            setDaemon(true);
+        }
+
+        public void run() {
+            output = IOUtil.readFully(errorStream);
+        }
+
+        String getOutput() {
+            return output;
+        }
+    }
+
+    /**
+     * Keeps the output in memory, or only the last part of the output when the size is limited
+     */
+    private static class OutputTail {
+        private final int limit;
+        private final StringBuilder output = new StringBuilder();
+        private boolean truncated;
+
+        /**
+         * @param limit maximum number of characters kept, 0 means no limit
+         */
+        OutputTail(int limit) {
+            this.limit = limit;
+        }
+
+        void append(String line) {
+            output.append(line).append("\n");
+            //trimming once in a while keeps the cost of deleting from the beginning low
+            if (limit > 0 && output.length() > 2 * limit) {
+                trim();
+            }
+        }
+
+        String get() {
+            if (limit > 0 && output.length() > limit) {
+                trim();
+            }
+            return truncated ? "[...]\n" + output : output.toString();
+        }
+
+        private void trim() {
+            int start = output.length() - limit;
+            //start at the beginning of a line
+            int nextLine = output.indexOf("\n", start);
+            output.delete(0, nextLine == -1 ? start : nextLine + 1);
+            truncated = true;
+        }
+    }
+
     private static class ProcessResult {
         private final String output;
-        private final Process process;
+        private final int exitValue;
+        private final boolean timedOut;
 
-        public ProcessResult(String output, Process process) {
+        ProcessResult(String output, int exitValue, boolean timedOut) {
             this.output = output;
-            this.process = process;
+            this.exitValue = exitValue;
+            this.timedOut = timedOut;
         }
 
         public String getOutput() {
@@ -160,7 +308,11 @@ public class DefaultProcessRunner implements ProcessRunner {
         }
 
         public int getExitValue() {
-            return process.exitValue();
+            return exitValue;
+        }
+
+        public boolean isTimedOut() {
+            return timedOut;
         }
     }
 }
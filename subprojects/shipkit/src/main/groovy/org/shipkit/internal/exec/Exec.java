@@ -7,6 +7,12 @@ import java.io.File;
  */
 public class Exec {
 
+    /**
+     * Timeout of git commands that talk to remote repositories (clone, fetch, pull, push).
+     * Stalled network connection fails the command instead of blocking the build.
+     */
+    public static final long REMOTE_GIT_TIMEOUT_MINUTES = 10;
+
     /**
      * Provides process runner for given working dir
      */
@@ -0,0 +1,17 @@
+package org.shipkit.internal.exec;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Consumes the standard output of an external process while the process is running.
+ * See {@link ProcessRunner#run(List, ProcessOutputHandler)}
+ */
+public interface ProcessOutputHandler {
+
+    /**
+     * @param output standard output of the process, closed by the caller after this method returns
+     */
+    void handle(Reader output) throws IOException;
+}
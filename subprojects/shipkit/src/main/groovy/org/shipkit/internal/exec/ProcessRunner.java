@@ -1,6 +1,7 @@
 package org.shipkit.internal.exec;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Provides ways to execute external processes
@@ -22,4 +23,25 @@ public interface ProcessRunner {
      * @return combined error and standard output.
      */
     String run(List<String> commandLine);
+
+    /**
+     * Executes given command line and hands its standard output to the handler as it is produced,
+     * so that large output does not need to be kept in memory.
+     * Error output is captured separately and reported when the command fails.
+     *
+     * @param commandLine the full command line to execute
+     * @param outputHandler consumes the standard output
+     */
+    void run(List<String> commandLine, ProcessOutputHandler outputHandler);
+
+    /**
+     * Maximum time of every command executed by this runner. When the command does not complete in time,
+     * the process and its descendants are killed and the command fails.
+     * By default commands have no timeout, use it for commands that can hang, like git commands talking to remote repositories.
+     *
+     * @param timeout the timeout, 0 means no timeout
+     * @param unit unit of the timeout
+     * @return this runner
+     */
+    ProcessRunner setTimeout(long timeout, TimeUnit unit);
 }
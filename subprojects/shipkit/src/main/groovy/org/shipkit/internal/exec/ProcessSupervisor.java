@@ -0,0 +1,148 @@
+package org.shipkit.internal.exec;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enforces timeouts of external processes.
+ * Uses daemon threads so that the threads never keep the build alive.
+ */
+class ProcessSupervisor {
+
+    private static final Logger LOG = Logging.getLogger(ProcessSupervisor.class);
+
+    private static final long INTERRUPTION_CHECK_MILLIS = 500;
+
+    private static ScheduledExecutorService watchdogs;
+
+    /**
+     * Kills the process tree when the process does not complete within the timeout
+     * or when the calling thread is interrupted, for example when a task running the process is cancelled.
+     * Call {@link Watchdog#stop()} when the process completes.
+     *
+     * @param timeoutMillis timeout in milliseconds, 0 or less means no timeout
+     */
+    static Watchdog watch(final Process process, long timeoutMillis) {
+        final AtomicBoolean timedOut = new AtomicBoolean();
+        Future<?> timeout = null;
+        if (timeoutMillis > 0) {
+            timeout = watchdogs().schedule(new Runnable() {
+                public void run() {
+                    timedOut.set(true);
+                    destroyTree(process);
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        //reading process output is not interruptible, the interrupted flag of the thread is checked periodically instead
+        final Thread owner = Thread.currentThread();
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        Future<?> interruption = watchdogs().scheduleWithFixedDelay(new Runnable() {
+            public void run() {
+                if (owner.isInterrupted() && interrupted.compareAndSet(false, true)) {
+                    LOG.info("Thread {} running the process was interrupted, killing the process", owner.getName());
+                    destroyTree(process);
+                }
+            }
+        }, INTERRUPTION_CHECK_MILLIS, INTERRUPTION_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+        return new Watchdog(timeout, interruption, timedOut);
+    }
+
+    private static synchronized ScheduledExecutorService watchdogs() {
+        if (watchdogs == null) {
+            watchdogs = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("shipkit-process-watchdog-"));
+        }
+        return watchdogs;
+    }
+
+    /**
+     * Kills the process and its descendants, for example the daemon started by './gradlew'.
+     * Descendants are found using ProcessHandle API on Java 9+ and 'pkill' on older Unix JVMs.
+     */
+    static void destroyTree(Process process) {
+        try {
+            if (!destroyDescendantsWithProcessHandle(process)) {
+                destroyChildrenWithPkill(process);
+            }
+        } catch (Exception e) {
+            LOG.info("Unable to kill descendants of the process, only the process is killed", e);
+        }
+        process.destroy();
+    }
+
+    private static boolean destroyDescendantsWithProcessHandle(Process process) throws Exception {
+        Method descendants;
+        try {
+            descendants = Process.class.getMethod("descendants");
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+        Object stream = descendants.invoke(process);
+        Object[] handles = (Object[]) Class.forName("java.util.stream.Stream").getMethod("toArray").invoke(stream);
+        Method destroyForcibly = Class.forName("java.lang.ProcessHandle").getMethod("destroyForcibly");
+        for (Object handle : handles) {
+            destroyForcibly.invoke(handle);
+        }
+        return true;
+    }
+
+    private static void destroyChildrenWithPkill(Process process) throws Exception {
+        Field pid = process.getClass().getDeclaredField("pid");
+        pid.setAccessible(true);
+        new ProcessBuilder("pkill", "-KILL", "-P", String.valueOf(pid.get(process)))
+                .redirectErrorStream(true).start().waitFor();
+    }
+
+    /**
+     * Watches single process, see {@link #watch(Process, long)}
+     */
+    static class Watchdog {
+        private final Future<?> timeout;
+        private final Future<?> interruption;
+        private final AtomicBoolean timedOut;
+
+        private Watchdog(Future<?> timeout, Future<?> interruption, AtomicBoolean timedOut) {
+            this.timeout = timeout;
+            this.interruption = interruption;
+            this.timedOut = timedOut;
+        }
+
+        void stop() {
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            interruption.cancel(false);
+        }
+
+        /**
+         * If the process was killed because it exceeded the timeout
+         */
+        boolean isTimedOut() {
+            return timedOut.get();
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
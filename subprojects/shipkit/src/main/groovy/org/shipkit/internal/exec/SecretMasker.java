@@ -0,0 +1,200 @@
+package org.shipkit.internal.exec;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces all occurrences of secret values with "[SECRET]" in a single pass (Aho-Corasick automaton).
+ * The cost is linear in the size of the text regardless of the number of secret values.
+ * Text can be masked as a whole or as a stream, see {@link #mask(Reader)}.
+ * When secret values overlap, the one that ends first is masked.
+ */
+class SecretMasker {
+
+    static final String REPLACEMENT = "[SECRET]";
+
+    //automaton nodes, node 0 is the root
+    private final List<Map<Character, Integer>> transitions = new ArrayList<Map<Character, Integer>>();
+    private final List<Integer> failures = new ArrayList<Integer>();
+    //length of the prefix of a secret value represented by the node
+    private final List<Integer> depths = new ArrayList<Integer>();
+    //length of the longest secret value that ends at the node, 0 if none
+    private final List<Integer> matches = new ArrayList<Integer>();
+
+    /**
+     * @param secretValues values to mask, null and empty values are ignored
+     */
+    SecretMasker(Collection<String> secretValues) {
+        newNode(0);
+        for (String secret : secretValues) {
+            if (secret != null && !secret.isEmpty()) {
+                add(secret);
+            }
+        }
+        buildFailures();
+    }
+
+    /**
+     * If there are no secret values to mask
+     */
+    boolean isEmpty() {
+        return transitions.size() == 1;
+    }
+
+    String mask(String text) {
+        if (isEmpty() || text == null) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = consume(state, text.charAt(i), out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Masks the text while it is read. Only the characters that may be the beginning of a secret value are held back.
+     */
+    Reader mask(Reader reader) {
+        if (isEmpty()) {
+            return reader;
+        }
+        return new MaskingReader(reader);
+    }
+
+    /**
+     * Appends the character to the output, replacing secret value that ends with it
+     *
+     * @return next state of the automaton
+     */
+    private int consume(int state, char c, StringBuilder out) {
+        int next = next(state, c);
+        out.append(c);
+        int match = matches.get(next);
+        if (match > 0) {
+            out.setLength(out.length() - match);
+            out.append(REPLACEMENT);
+            //masked text does not take part in further matches
+            return 0;
+        }
+        return next;
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            Integer next = transitions.get(state).get(c);
+            if (next != null) {
+                return next;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = failures.get(state);
+        }
+    }
+
+    private void add(String secret) {
+        int node = 0;
+        for (int i = 0; i < secret.length(); i++) {
+            Integer next = transitions.get(node).get(secret.charAt(i));
+            if (next == null) {
+                next = newNode(i + 1);
+                transitions.get(node).put(secret.charAt(i), next);
+            }
+            node = next;
+        }
+        matches.set(node, secret.length());
+    }
+
+    private int newNode(int depth) {
+        transitions.add(new HashMap<Character, Integer>());
+        failures.add(0);
+        depths.add(depth);
+        matches.add(0);
+        return transitions.size() - 1;
+    }
+
+    private void buildFailures() {
+        LinkedList<Integer> queue = new LinkedList<Integer>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.removeFirst();
+            for (Map.Entry<Character, Integer> t : transitions.get(node).entrySet()) {
+                int child = t.getValue();
+                int failure = node == 0 ? 0 : next(failures.get(node), t.getKey());
+                failures.set(child, failure);
+                if (matches.get(child) == 0) {
+                    matches.set(child, matches.get(failure));
+                }
+                queue.add(child);
+            }
+        }
+    }
+
+    private class MaskingReader extends Reader {
+        private final Reader reader;
+        private final char[] chunk = new char[8192];
+        private final StringBuilder buffer = new StringBuilder();
+        //characters in the buffer before 'ready' are masked and can be returned
+        private int start;
+        private int ready;
+        private int state;
+        private boolean finished;
+
+        MaskingReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (start == ready && !finished) {
+                fill();
+            }
+            if (start == ready) {
+                return -1;
+            }
+            int count = Math.min(length, ready - start);
+            buffer.getChars(start, start + count, target, offset);
+            start += count;
+            return count;
+        }
+
+        private void fill() throws IOException {
+            //drop characters that were already returned
+            buffer.delete(0, start);
+            ready -= start;
+            start = 0;
+
+            int read = reader.read(chunk);
+            if (read == -1) {
+                finished = true;
+                ready = buffer.length();
+                return;
+            }
+            for (int i = 0; i < read; i++) {
+                state = consume(state, chunk[i], buffer);
+            }
+            //the characters matched so far may be the beginning of a secret value
+            ready = buffer.length() - depths.get(state);
+        }
+
+        @Override
+        public boolean ready() throws IOException {
+            return start < ready || reader.ready();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
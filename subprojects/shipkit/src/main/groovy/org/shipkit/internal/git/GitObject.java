@@ -0,0 +1,62 @@
+package org.shipkit.internal.git;
+
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Git object read from the object database: commit, tree, blob or tag
+ */
+class GitObject {
+
+    private static final String[] TYPES = {null, "commit", "tree", "blob", "tag"};
+
+    private final String type;
+    private final byte[] data;
+
+    GitObject(String type, byte[] data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    /**
+     * Name of the object type for the type number used in pack files
+     */
+    static String typeName(int type) {
+        if (type < 1 || type >= TYPES.length) {
+            throw new IllegalArgumentException("Unsupported git object type: " + type);
+        }
+        return TYPES[type];
+    }
+
+    String getType() {
+        return type;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    /**
+     * Header of commit or tag object, the lines before the message
+     */
+    String getHeader() {
+        try {
+            String text = new String(data, "UTF-8");
+            int end = text.indexOf("\n\n");
+            return end == -1 ? text : text.substring(0, end);
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Nullable, value of the first header line with given name, for example 'object' of a tag
+     */
+    String getHeaderValue(String name) {
+        for (String line : getHeader().split("\n")) {
+            if (line.startsWith(name + " ")) {
+                return line.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+}
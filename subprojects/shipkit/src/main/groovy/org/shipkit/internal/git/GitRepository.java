@@ -0,0 +1,393 @@
+package org.shipkit.internal.git;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Read-only access to a local git repository without forking off 'git' process.
+ * Reads HEAD, loose and packed refs, config and commit and tag objects (loose or stored in pack files).
+ * <p>
+ * Every query returns null when the answer cannot be read in-process, for example for revision expressions
+ * like 'HEAD~1', repositories with unsupported features or when the repository cannot be read.
+ * The callers fall back to 'git' command line in such case, which also reports the problems in a way users know.
+ */
+public class GitRepository {
+
+    private static final Logger LOG = Logging.getLogger(GitRepository.class);
+
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-f]{40}");
+    private static final Pattern PSEUDO_REF = Pattern.compile("[A-Z_]+");
+    private static final String TAGS = "refs/tags/";
+    private static final String HEADS = "refs/heads/";
+    private static final int MAX_INDIRECTIONS = 10;
+
+    //environment variables that change where and how 'git' finds the repository, the command line handles them
+    private static final String[] GIT_ENVIRONMENT = {"GIT_DIR", "GIT_WORK_TREE", "GIT_COMMON_DIR", "GIT_OBJECT_DIRECTORY",
+        "GIT_ALTERNATE_OBJECT_DIRECTORIES", "GIT_CEILING_DIRECTORIES", "GIT_CONFIG", "GIT_CONFIG_GLOBAL",
+        "GIT_CONFIG_SYSTEM", "GIT_CONFIG_COUNT", "GIT_NAMESPACE"};
+
+    private final File gitDir;
+    private final File commonDir;
+    private final String config;
+    private final ObjectDatabase objects;
+    private Map<String, PackedRef> packedRefs;
+
+    GitRepository(File gitDir, File commonDir, String config) {
+        this.gitDir = gitDir;
+        this.commonDir = commonDir;
+        this.config = config;
+        this.objects = new ObjectDatabase(new File(commonDir, "objects"));
+    }
+
+    /**
+     * Nullable, finds the repository the same way 'git' does: in the working dir or any of its parents.
+     * Supports '.git' directories and '.git' files used by worktrees and submodules.
+     * Returns null when there is no repository or when it cannot be read in-process.
+     */
+    public static GitRepository find(File workDir) {
+        for (String variable : GIT_ENVIRONMENT) {
+            if (System.getenv(variable) != null) {
+                LOG.debug("Environment variable {} is set, git repository will be accessed via git command line", variable);
+                return null;
+            }
+        }
+        try {
+            File dir = workDir.getAbsoluteFile();
+            while (dir != null) {
+                File dotGit = new File(dir, ".git");
+                if (dotGit.isDirectory()) {
+                    return open(dotGit);
+                }
+                if (dotGit.isFile()) {
+                    String content = IOUtil.readFully(dotGit).trim();
+                    if (!content.startsWith("gitdir: ")) {
+                        return null;
+                    }
+                    return open(relativeTo(dir, content.substring("gitdir: ".length())));
+                }
+                dir = dir.getParentFile();
+            }
+        } catch (Exception e) {
+            LOG.debug("Unable to open git repository in-process, work dir: " + workDir, e);
+        }
+        return null;
+    }
+
+    private static GitRepository open(File gitDir) throws IOException {
+        File commonDir = gitDir;
+        File commonDirFile = new File(gitDir, "commondir");
+        if (commonDirFile.isFile()) {
+            //linked worktree, HEAD is in the worktree git dir while refs and objects are shared
+            commonDir = relativeTo(gitDir, IOUtil.readFully(commonDirFile).trim());
+        }
+        if (!new File(gitDir, "HEAD").isFile()) {
+            return null;
+        }
+        String config = IOUtil.readFullyOrDefault(new File(commonDir, "config"), "");
+        String lowerCase = config.toLowerCase();
+        if (lowerCase.contains("objectformat") || lowerCase.contains("refstorage")) {
+            //SHA-256 object ids or reftable refs format
+            LOG.debug("Git repository {} uses unsupported extensions, it will be accessed via git command line", commonDir);
+            return null;
+        }
+        return new GitRepository(gitDir, commonDir, config);
+    }
+
+    private static File relativeTo(File dir, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(dir, path);
+    }
+
+    /**
+     * Nullable, the current branch like 'git rev-parse --abbrev-ref HEAD' returns it: branch name or 'HEAD' when detached
+     */
+    public String getCurrentBranch() {
+        try {
+            String head = IOUtil.readFully(new File(gitDir, "HEAD")).trim();
+            if (isObjectId(head)) {
+                return "HEAD";
+            }
+            if (!head.startsWith("ref: " + HEADS)) {
+                return null;
+            }
+            String ref = head.substring("ref: ".length());
+            String branch = ref.substring(HEADS.length());
+            //unborn branch or the short name is ambiguous, for example there is a tag with the same name
+            if (readRef(ref) == null || !ref.equals(findRef(branch))) {
+                return null;
+            }
+            return branch;
+        } catch (Exception e) {
+            LOG.debug("Unable to read current branch in-process", e);
+            return null;
+        }
+    }
+
+    /**
+     * Nullable, id of the commit given revision points to, like 'git rev-parse rev^{commit}'.
+     * Supports commit ids, 'HEAD' and names of refs (tags, branches, remote branches), annotated tags are peeled.
+     */
+    public String resolve(String rev) {
+        try {
+            String id;
+            if (isObjectId(rev)) {
+                id = rev;
+            } else {
+                String ref = findRef(rev);
+                id = ref == null ? null : readRef(ref);
+            }
+            return id == null ? null : peelToCommit(id);
+        } catch (Exception e) {
+            LOG.debug("Unable to resolve revision '" + rev + "' in-process", e);
+            return null;
+        }
+    }
+
+    /**
+     * Nullable, all tags (names without 'refs/tags/' prefix) and ids of the commits they point to.
+     * Tags that do not point to commits are not included.
+     */
+    public Map<String, String> getTagCommitIds() {
+        try {
+            Map<String, String> result = new TreeMap<String, String>();
+            for (Map.Entry<String, PackedRef> e : getPackedRefs().entrySet()) {
+                if (e.getKey().startsWith(TAGS) && !new File(commonDir, e.getKey()).isFile()) {
+                    PackedRef ref = e.getValue();
+                    putTag(result, e.getKey(), ref.peeled != null ? ref.peeled : peelToCommit(ref.id));
+                }
+            }
+            collectLooseTags(new File(commonDir, TAGS), TAGS, result);
+            return result;
+        } catch (Exception e) {
+            LOG.debug("Unable to read tags in-process", e);
+            return null;
+        }
+    }
+
+    private void collectLooseTags(File dir, String prefix, Map<String, String> result) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            if (f.isDirectory()) {
+                collectLooseTags(f, prefix + f.getName() + "/", result);
+            } else {
+                String id = readRef(prefix + f.getName());
+                putTag(result, prefix + f.getName(), id == null ? null : peelToCommit(id));
+            }
+        }
+    }
+
+    private static void putTag(Map<String, String> result, String ref, String commitId) {
+        if (commitId != null) {
+            result.put(ref.substring(TAGS.length()), commitId);
+        }
+    }
+
+    /**
+     * Nullable, author date of the commit, the date printed by 'git log --pretty=%ad'
+     */
+    public Date getAuthorDate(String commitId) {
+        try {
+            if (hasReplaceRefs()) {
+                //'git log' shows replacement commits, they are not supported here
+                return null;
+            }
+            GitObject commit = objects.read(commitId);
+            if (commit == null || !"commit".equals(commit.getType())) {
+                return null;
+            }
+            //format: 'Name <email> 1485706449 -0800'
+            String author = commit.getHeaderValue("author");
+            if (author == null) {
+                return null;
+            }
+            String[] fields = author.substring(author.lastIndexOf('>') + 1).trim().split(" ");
+            return new Date(Long.parseLong(fields[0]) * 1000);
+        } catch (Exception e) {
+            LOG.debug("Unable to read author date of commit " + commitId + " in-process", e);
+            return null;
+        }
+    }
+
+    /**
+     * Nullable, url of given remote, like 'git remote get-url' returns it.
+     * Returns null when the url may be rewritten by 'insteadOf' settings or the config uses includes.
+     */
+    public String getRemoteUrl(String remote) {
+        if (config.toLowerCase().contains("[include") || mayRewriteUrls()) {
+            return null;
+        }
+        String subsection = "\"" + remote + "\"]";
+        boolean inSection = false;
+        for (String line : config.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("[")) {
+                //section names are case insensitive, subsection names are case sensitive
+                inSection = trimmed.toLowerCase().startsWith("[remote ") && trimmed.substring("[remote ".length()).equals(subsection);
+            } else if (inSection) {
+                String[] keyValue = trimmed.split("=", 2);
+                if (keyValue.length == 2 && keyValue[0].trim().equalsIgnoreCase("url")) {
+                    String value = keyValue[1].trim();
+                    //quoted or escaped values and trailing comments are left to 'git'
+                    if (value.contains("\"") || value.contains("\\") || value.contains(";") || value.contains("#")) {
+                        return null;
+                    }
+                    return value;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean mayRewriteUrls() {
+        File home = new File(System.getProperty("user.home"));
+        String xdgConfigHome = System.getenv("XDG_CONFIG_HOME");
+        File[] configs = {new File(home, ".gitconfig"),
+            new File(xdgConfigHome != null ? new File(xdgConfigHome) : new File(home, ".config"), "git/config"),
+            new File("/etc/gitconfig")};
+        if (config.toLowerCase().contains("insteadof")) {
+            return true;
+        }
+        for (File c : configs) {
+            //unreadable config is treated as if it rewrote urls
+            if (c.isFile() && IOUtil.readFullyOrDefault(c, "insteadof").toLowerCase().contains("insteadof")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Nullable, full name of the ref the short name refers to, using the rules of 'git rev-parse'
+     */
+    private String findRef(String name) throws IOException {
+        if (name.equals("HEAD") || name.startsWith("refs/")) {
+            return readRef(name) != null ? name : null;
+        }
+        if (PSEUDO_REF.matcher(name).matches()) {
+            //FETCH_HEAD, ORIG_HEAD, etc.
+            return null;
+        }
+        String[] candidates = {"refs/" + name, TAGS + name, HEADS + name, "refs/remotes/" + name, "refs/remotes/" + name + "/HEAD"};
+        for (String candidate : candidates) {
+            if (readRef(candidate) != null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Nullable, object id the ref points to, symbolic refs are followed
+     */
+    private String readRef(String name) throws IOException {
+        for (int i = 0; i < MAX_INDIRECTIONS; i++) {
+            File loose = new File(name.equals("HEAD") ? gitDir : commonDir, name);
+            if (loose.isFile()) {
+                String content = IOUtil.readFully(loose).trim();
+                if (content.startsWith("ref: ")) {
+                    name = content.substring("ref: ".length());
+                    continue;
+                }
+                if (!isObjectId(content)) {
+                    throw new IOException("Unexpected content of ref " + name + ": " + content);
+                }
+                return content;
+            }
+            PackedRef packed = getPackedRefs().get(name);
+            return packed != null ? packed.id : null;
+        }
+        throw new IOException("Too many levels of symbolic refs: " + name);
+    }
+
+    /**
+     * Nullable, id of the commit the object points to, annotated tags are followed
+     */
+    private String peelToCommit(String id) throws IOException {
+        for (int i = 0; i < MAX_INDIRECTIONS; i++) {
+            GitObject object = objects.read(id);
+            if (object == null) {
+                return null;
+            } else if ("commit".equals(object.getType())) {
+                return id;
+            } else if (!"tag".equals(object.getType())) {
+                return null;
+            }
+            id = object.getHeaderValue("object");
+        }
+        throw new IOException("Too many levels of nested tags: " + id);
+    }
+
+    private boolean hasReplaceRefs() throws IOException {
+        String[] loose = new File(commonDir, "refs/replace").list();
+        if (loose != null && loose.length > 0) {
+            return true;
+        }
+        for (String name : getPackedRefs().keySet()) {
+            if (name.startsWith("refs/replace/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, PackedRef> getPackedRefs() throws IOException {
+        if (packedRefs == null) {
+            packedRefs = readPackedRefs(new File(commonDir, "packed-refs"));
+        }
+        return packedRefs;
+    }
+
+    /**
+     * Reads 'packed-refs' file: '<id> <ref name>' lines, each optionally followed by '^<peeled id>' line for annotated tags
+     */
+    static Map<String, PackedRef> readPackedRefs(File file) throws IOException {
+        Map<String, PackedRef> result = new HashMap<String, PackedRef>();
+        if (!file.isFile()) {
+            return result;
+        }
+        boolean fullyPeeled = false;
+        PackedRef previous = null;
+        for (String line : IOUtil.readFully(file).split("\n")) {
+            if (line.startsWith("#")) {
+                //'fully-peeled' means that every ref without peeled line does not point to a tag
+                fullyPeeled = line.startsWith("# pack-refs with:") && (line + " ").contains(" fully-peeled ");
+            } else if (line.startsWith("^") && previous != null) {
+                previous.peeled = line.substring(1).trim();
+            } else if (line.length() > 41 && isObjectId(line.substring(0, 40))) {
+                String id = line.substring(0, 40);
+                previous = new PackedRef(id, fullyPeeled ? id : null);
+                result.put(line.substring(41).trim(), previous);
+            } else if (!line.trim().isEmpty()) {
+                throw new IOException("Unexpected line in " + file + ": " + line);
+            }
+        }
+        return result;
+    }
+
+    static boolean isObjectId(String value) {
+        return OBJECT_ID.matcher(value).matches();
+    }
+
+    static class PackedRef {
+        private final String id;
+        //nullable, id of the object the ref points to after following annotated tags, usually a commit
+        private String peeled;
+
+        PackedRef(String id, String peeled) {
+            this.id = id;
+            this.peeled = peeled;
+        }
+    }
+}
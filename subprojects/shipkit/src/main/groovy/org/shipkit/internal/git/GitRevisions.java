@@ -0,0 +1,39 @@
+package org.shipkit.internal.git;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.exec.DefaultProcessRunner;
+
+import java.io.File;
+
+/**
+ * Resolves revisions to commit ids, for example to capture the state of the repository in task inputs.
+ */
+public class GitRevisions {
+
+    private static final Logger LOG = Logging.getLogger(GitRevisions.class);
+
+    /**
+     * Nullable, id of the commit the revision points to, or null when the revision does not exist.
+     * Reads the repository in-process when possible and falls back to 'git rev-parse' otherwise.
+     *
+     * @param workDir working dir of the repository
+     * @param rev revision to resolve, for example 'HEAD' or a tag name
+     */
+    public static String resolve(File workDir, String rev) {
+        GitRepository repository = GitRepository.find(workDir);
+        String commitId = repository != null ? repository.resolve(rev) : null;
+        if (commitId != null) {
+            return commitId;
+        }
+        try {
+            //resolved while Gradle captures task inputs, it should not clutter the build output
+            return new DefaultProcessRunner(workDir).setQuiet(true)
+                .run("git", "rev-parse", "--verify", "--quiet", rev + "^{commit}").trim();
+        } catch (RuntimeException e) {
+            //for example, the tag of the previous version does not exist yet
+            LOG.debug("Unable to resolve revision '" + rev + "' in " + workDir, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.shipkit.internal.git;
+
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads objects from '.git/objects', both loose objects and objects stored in pack files.
+ * Objects from alternate object databases are not supported.
+ */
+class ObjectDatabase {
+
+    private final File objectsDir;
+    private List<PackFile> packs;
+
+    ObjectDatabase(File objectsDir) {
+        this.objectsDir = objectsDir;
+    }
+
+    /**
+     * Nullable, the object or null when the object does not exist in this database
+     *
+     * @param id 40 characters hex id of the object
+     */
+    GitObject read(String id) throws IOException {
+        return read(fromHex(id));
+    }
+
+    GitObject read(byte[] id) throws IOException {
+        String hex = PackFile.toHex(id);
+        File loose = new File(objectsDir, hex.substring(0, 2) + "/" + hex.substring(2));
+        if (loose.isFile()) {
+            return readLoose(loose);
+        }
+        for (PackFile pack : getPacks()) {
+            GitObject object = pack.read(id);
+            if (object != null) {
+                return object;
+            }
+        }
+        return null;
+    }
+
+    private List<PackFile> getPacks() throws IOException {
+        if (packs == null) {
+            List<PackFile> result = new ArrayList<PackFile>();
+            File[] indexes = new File(objectsDir, "pack").listFiles();
+            if (indexes != null) {
+                for (File idx : indexes) {
+                    if (idx.getName().endsWith(".idx")) {
+                        result.add(new PackFile(idx, this));
+                    }
+                }
+            }
+            packs = result;
+        }
+        return packs;
+    }
+
+    private static GitObject readLoose(File file) throws IOException {
+        InputStream input = new InflaterInputStream(new FileInputStream(file));
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                content.write(buffer, 0, n);
+            }
+            //the content starts with a header: '<type> <size>\0'
+            byte[] bytes = content.toByteArray();
+            int space = indexOf(bytes, (byte) ' ');
+            int nul = indexOf(bytes, (byte) 0);
+            if (space == -1 || nul < space) {
+                throw new IOException("Corrupted loose object: " + file);
+            }
+            byte[] data = new byte[bytes.length - nul - 1];
+            System.arraycopy(bytes, nul + 1, data, 0, data.length);
+            return new GitObject(new String(bytes, 0, space, "US-ASCII"), data);
+        } finally {
+            IOUtil.close(input);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte b) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] fromHex(String id) {
+        if (!GitRepository.isObjectId(id)) {
+            throw new IllegalArgumentException("Invalid git object id: " + id);
+        }
+        byte[] result = new byte[20];
+        for (int i = 0; i < 20; i++) {
+            result[i] = (byte) Integer.parseInt(id.substring(i * 2, i * 2 + 2), 16);
+        }
+        return result;
+    }
+}
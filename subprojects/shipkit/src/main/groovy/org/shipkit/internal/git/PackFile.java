@@ -0,0 +1,240 @@
+package org.shipkit.internal.git;
+
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads objects from a git pack file using its version 2 index ('.idx' file).
+ * Delta objects are resolved, bases stored in other packs or as loose objects are read via {@link ObjectDatabase}.
+ * The index is read into memory instead of being memory mapped. A mapped file stays locked on Windows
+ * until the mapping is garbage collected, which would break 'git gc' and 'git fetch' running later in the build.
+ */
+class PackFile {
+
+    private static final int IDX_MAGIC = 0xff744f63;
+
+    private static final int OBJ_OFS_DELTA = 6;
+    private static final int OBJ_REF_DELTA = 7;
+
+    private final File pack;
+    private final ObjectDatabase database;
+    private final ByteBuffer index;
+    private final int objectCount;
+
+    PackFile(File idx, ObjectDatabase database) throws IOException {
+        this.pack = new File(idx.getParentFile(), idx.getName().replaceFirst("\\.idx$", ".pack"));
+        this.database = database;
+        this.index = readIndex(idx);
+        if (index.getInt(0) != IDX_MAGIC || index.getInt(4) != 2) {
+            throw new IOException("Unsupported pack index format: " + idx);
+        }
+        objectCount = index.getInt(8 + 255 * 4);
+    }
+
+    private static ByteBuffer readIndex(File idx) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(idx, "r");
+        try {
+            if (file.length() > Integer.MAX_VALUE) {
+                throw new IOException("Pack index too large: " + idx);
+            }
+            byte[] content = new byte[(int) file.length()];
+            file.readFully(content);
+            return ByteBuffer.wrap(content);
+        } finally {
+            IOUtil.close(file);
+        }
+    }
+
+    /**
+     * Nullable, the object or null when the object is not in this pack
+     */
+    GitObject read(byte[] id) throws IOException {
+        long offset = findOffset(id);
+        if (offset == -1) {
+            return null;
+        }
+        RandomAccessFile file = new RandomAccessFile(pack, "r");
+        try {
+            return read(file, offset);
+        } finally {
+            IOUtil.close(file);
+        }
+    }
+
+    private long findOffset(byte[] id) {
+        int first = id[0] & 0xff;
+        int low = first == 0 ? 0 : index.getInt(8 + (first - 1) * 4);
+        int high = index.getInt(8 + first * 4) - 1;
+        int namesStart = 8 + 256 * 4;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int c = compare(id, namesStart + middle * 20);
+            if (c == 0) {
+                return offset(middle);
+            } else if (c < 0) {
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(byte[] id, int position) {
+        for (int i = 0; i < 20; i++) {
+            int c = (id[i] & 0xff) - (index.get(position + i) & 0xff);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    private long offset(int n) {
+        int offsetsStart = 8 + 256 * 4 + objectCount * 24;
+        int offset = index.getInt(offsetsStart + n * 4);
+        if (offset >= 0) {
+            return offset;
+        }
+        //the most significant bit is set, the value is an index into the table of 64-bit offsets
+        int largeOffsetsStart = offsetsStart + objectCount * 4;
+        return index.getLong(largeOffsetsStart + (offset & 0x7fffffff) * 8);
+    }
+
+    private GitObject read(RandomAccessFile file, long offset) throws IOException {
+        file.seek(offset);
+        int c = file.readUnsignedByte();
+        int type = (c >> 4) & 7;
+        long size = c & 0x0f;
+        int shift = 4;
+        while ((c & 0x80) != 0) {
+            c = file.readUnsignedByte();
+            size |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        }
+
+        if (type == OBJ_OFS_DELTA) {
+            c = file.readUnsignedByte();
+            long baseDistance = c & 0x7f;
+            while ((c & 0x80) != 0) {
+                c = file.readUnsignedByte();
+                baseDistance = ((baseDistance + 1) << 7) | (c & 0x7f);
+            }
+            byte[] delta = inflate(file, size);
+            GitObject base = read(file, offset - baseDistance);
+            return new GitObject(base.getType(), applyDelta(base.getData(), delta));
+        } else if (type == OBJ_REF_DELTA) {
+            byte[] baseId = new byte[20];
+            file.readFully(baseId);
+            byte[] delta = inflate(file, size);
+            GitObject base = database.read(baseId);
+            if (base == null) {
+                throw new IOException("Base object " + toHex(baseId) + " of delta in " + pack + " not found");
+            }
+            return new GitObject(base.getType(), applyDelta(base.getData(), delta));
+        } else {
+            return new GitObject(GitObject.typeName(type), inflate(file, size));
+        }
+    }
+
+    private byte[] inflate(RandomAccessFile file, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Object too large: " + size + " bytes in " + pack);
+        }
+        byte[] result = new byte[(int) size];
+        byte[] input = new byte[8192];
+        Inflater inflater = new Inflater();
+        try {
+            int produced = 0;
+            //the end of the zlib stream does not need to be consumed, every object is read from its own offset
+            while (produced < result.length) {
+                if (inflater.finished() || inflater.needsDictionary()) {
+                    throw new IOException("Corrupted object in pack file: " + pack);
+                }
+                if (inflater.needsInput()) {
+                    int n = file.read(input);
+                    if (n == -1) {
+                        throw new IOException("Unexpected end of pack file: " + pack);
+                    }
+                    inflater.setInput(input, 0, n);
+                }
+                produced += inflater.inflate(result, produced, result.length - produced);
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted object in pack file: " + pack, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Applies git delta instructions (copy from base, insert literal data) to the base object
+     */
+    static byte[] applyDelta(byte[] base, byte[] delta) throws IOException {
+        ByteBuffer d = ByteBuffer.wrap(delta);
+        long baseSize = readVarint(d);
+        if (baseSize != base.length) {
+            throw new IOException("Delta base size mismatch, expected " + baseSize + " but was " + base.length);
+        }
+        byte[] result = new byte[(int) readVarint(d)];
+        int position = 0;
+        while (d.hasRemaining()) {
+            int cmd = d.get() & 0xff;
+            if ((cmd & 0x80) != 0) {
+                int copyOffset = 0;
+                int copySize = 0;
+                for (int i = 0; i < 4; i++) {
+                    if ((cmd & (1 << i)) != 0) {
+                        copyOffset |= (d.get() & 0xff) << (8 * i);
+                    }
+                }
+                for (int i = 0; i < 3; i++) {
+                    if ((cmd & (0x10 << i)) != 0) {
+                        copySize |= (d.get() & 0xff) << (8 * i);
+                    }
+                }
+                if (copySize == 0) {
+                    copySize = 0x10000;
+                }
+                System.arraycopy(base, copyOffset, result, position, copySize);
+                position += copySize;
+            } else if (cmd != 0) {
+                d.get(result, position, cmd);
+                position += cmd;
+            } else {
+                throw new IOException("Invalid delta instruction");
+            }
+        }
+        if (position != result.length) {
+            throw new IOException("Delta result size mismatch, expected " + result.length + " but was " + position);
+        }
+        return result;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        int c;
+        do {
+            c = buffer.get() & 0xff;
+            result |= (long) (c & 0x7f) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        return result;
+    }
+
+    static String toHex(byte[] id) {
+        StringBuilder sb = new StringBuilder(id.length * 2);
+        for (byte b : id) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+}
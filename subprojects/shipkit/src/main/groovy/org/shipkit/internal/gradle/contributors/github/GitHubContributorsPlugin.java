@@ -3,6 +3,8 @@ package org.shipkit.internal.gradle.contributors.github;
 import org.gradle.api.Action;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.specs.Spec;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
 import org.shipkit.gradle.notes.FetchGitHubContributorsTask;
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
@@ -21,12 +23,15 @@ import static org.shipkit.internal.gradle.util.BuildConventions.contributorsFile
  *
  * Adds tasks:
  * <ul>
- *     <li>fetchContributors - {@link FetchGitHubContributorsTask}</li>
+ *     <li>fetchContributors - {@link FetchGitHubContributorsTask}, lists all contributors again
+ *     when '-PfullContributorsSync' project property is set.
+ *     The task is up-to-date until there are new commits in the repository</li>
  * </ul>
  */
 public class GitHubContributorsPlugin implements Plugin<Project> {
 
     public final static String FETCH_CONTRIBUTORS = "fetchContributors";
+    static final String FULL_SYNC_PROJECT_PROPERTY = "fullContributorsSync";
 
     public void apply(final Project project) {
         final ShipkitConfiguration conf = project.getPlugins().apply(ShipkitConfigurationPlugin.class).getConfiguration();
@@ -44,5 +49,12 @@ public class GitHubContributorsPlugin implements Plugin<Project> {
         task.setApiUrl(conf.getGitHub().getApiUrl());
         task.setReadOnlyAuthToken(conf.getGitHub().getReadOnlyAuthToken());
         task.setRepository(conf.getGitHub().getRepository());
+        task.setFullSync(project.hasProperty(FULL_SYNC_PROJECT_PROPERTY));
+        //requested full synchronization needs to run even if nothing changed since the last build
+        task.getOutputs().upToDateWhen(new Spec<Task>() {
+            public boolean isSatisfiedBy(Task t) {
+                return !task.isFullSync();
+            }
+        });
     }
 }
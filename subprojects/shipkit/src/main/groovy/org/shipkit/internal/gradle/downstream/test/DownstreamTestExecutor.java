@@ -0,0 +1,167 @@
+package org.shipkit.internal.gradle.downstream.test;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs downstream tests using a pool of workers and measures wall-clock time of every test.
+ * With fail-fast, the first failure cancels the running tests (their processes are killed) and the tests not started yet.
+ */
+class DownstreamTestExecutor {
+
+    private static final Logger LOG = Logging.getLogger(DownstreamTestExecutor.class);
+
+    private final int workers;
+    private final boolean failFast;
+
+    /**
+     * @param workers maximum number of tests executed concurrently
+     * @param failFast if the first failure should cancel other tests
+     */
+    DownstreamTestExecutor(int workers, boolean failFast) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of workers must be at least 1 but was " + workers);
+        }
+        this.workers = workers;
+        this.failFast = failFast;
+    }
+
+    /**
+     * Runs the tests and waits until all of them complete
+     *
+     * @param tests tests by name, a test fails by throwing an exception or an error
+     * @return results in the same order as the tests
+     */
+    List<TestResult> execute(Map<String, Runnable> tests) {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, Math.max(tests.size(), 1)), new WorkerThreadFactory());
+        final Map<String, TestResult> results = new ConcurrentHashMap<String, TestResult>();
+        final AtomicBoolean aborted = new AtomicBoolean();
+        try {
+            for (final Map.Entry<String, Runnable> test : tests.entrySet()) {
+                executor.execute(new Runnable() {
+                    public void run() {
+                        if (aborted.get()) {
+                            return;
+                        }
+                        String name = test.getKey();
+                        long start = System.currentTimeMillis();
+                        try {
+                            test.getValue().run();
+                            results.put(name, new TestResult(name, Outcome.PASSED, System.currentTimeMillis() - start, null));
+                        } catch (Throwable e) {
+                            //errors (like AssertionError) fail the test too, without a result the test would be reported as skipped
+                            //a test failing after another test aborted the run was most likely cancelled
+                            boolean cancelled = aborted.get();
+                            results.put(name, new TestResult(name, cancelled ? Outcome.CANCELLED : Outcome.FAILED, System.currentTimeMillis() - start, e));
+                            if (!cancelled && failFast && aborted.compareAndSet(false, true)) {
+                                LOG.lifecycle("  Downstream test of {} failed, cancelling other tests (fail-fast)", name);
+                                executor.shutdownNow();
+                            }
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            throw new RuntimeException("Interrupted while waiting for downstream tests", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<TestResult> result = new ArrayList<TestResult>();
+        for (String name : tests.keySet()) {
+            TestResult r = results.get(name);
+            result.add(r != null ? r : new TestResult(name, Outcome.SKIPPED, 0, null));
+        }
+        return result;
+    }
+
+    /**
+     * Human readable summary with outcome and wall-clock time of every test
+     */
+    static String summary(List<TestResult> results) {
+        int width = 0;
+        for (TestResult r : results) {
+            width = Math.max(width, r.getName().length());
+        }
+        StringBuilder sb = new StringBuilder("Downstream tests summary:");
+        for (TestResult r : results) {
+            sb.append("\n  ").append(r.getName());
+            for (int i = r.getName().length(); i < width; i++) {
+                sb.append(' ');
+            }
+            sb.append("  ").append(r.getOutcome());
+            if (r.getOutcome() != Outcome.SKIPPED) {
+                sb.append(" in ").append(formatDuration(r.getDurationMillis()));
+            }
+        }
+        return sb.toString();
+    }
+
+    static String formatDuration(long millis) {
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(millis);
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        return (seconds / 60) + "m " + (seconds % 60) + "s";
+    }
+
+    enum Outcome {
+        PASSED, FAILED, CANCELLED, SKIPPED
+    }
+
+    static class TestResult {
+        private final String name;
+        private final Outcome outcome;
+        private final long durationMillis;
+        private final Throwable failure;
+
+        TestResult(String name, Outcome outcome, long durationMillis, Throwable failure) {
+            this.name = name;
+            this.outcome = outcome;
+            this.durationMillis = durationMillis;
+            this.failure = failure;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Outcome getOutcome() {
+            return outcome;
+        }
+
+        long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * Nullable, the exception thrown by failed or cancelled test
+         */
+        Throwable getFailure() {
+            return failure;
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "shipkit-downstream-test-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,9 +2,12 @@ package org.shipkit.internal.gradle.downstream.test;
 
 import org.gradle.api.Action;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
 import org.gradle.api.Task;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.TaskAction;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
 import org.shipkit.internal.exec.SilentExecTask;
 import org.shipkit.internal.gradle.git.CloneGitRepositoryTaskFactory;
@@ -13,7 +16,9 @@ import org.shipkit.internal.gradle.release.tasks.UploadGistsTask;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.shipkit.internal.gradle.util.StringUtil.capitalize;
@@ -26,10 +31,14 @@ import static org.shipkit.internal.util.RepositoryNameUtil.*;
  *  - execute 'testRelease' task using the newest Shipkit version inside the downstream clone
  *  - saves output logs to file or creates gists for them (see {@link UploadGistsTask})
  *
+ * This task runs the tests of all repositories using up to {@link #getMaxParallelTests()} workers
+ * and prints outcome and wall-clock time of every test. Each test writes its output to its own log file.
+ *
  * Adds tasks:
  * <ul>
  *     <li>clone$projectName - {@link CloneGitRepositoryTask}</li>
- *     <li>test$projectName - {@link SilentExecTask}</li>
+ *     <li>test$projectName - {@link SilentExecTask}, runs single downstream test,
+ *     it is skipped when this task runs because this task runs all the tests</li>
  * </ul>
  */
 public class TestDownstreamTask extends DefaultTask {
@@ -40,6 +49,10 @@ public class TestDownstreamTask extends DefaultTask {
     private File logsDirectory;
     private UploadGistsTask uploadGistsTask;
     private String gitHubUrl;
+    private int maxParallelTests = 1;
+    private boolean failFast;
+    //test tasks by repository name
+    private final Map<String, SilentExecTask> tests = new LinkedHashMap<String, SilentExecTask>();
 
     /**
      * Creates an e2e test, for @param #repositoryUrl of downstream service, that should be executed
@@ -55,10 +68,12 @@ public class TestDownstreamTask extends DefaultTask {
         String repoName = extractRepoNameFromGitHubUrl(gitHubRepoUrl);
         String camelCaseRepoName = repositoryNameToCamelCase(repoName);
         CloneGitRepositoryTask clone = CloneGitRepositoryTaskFactory.createCloneTask(getProject(), gitHubUrl, repoName);
-        createRunTestReleaseTask(camelCaseRepoName, clone);
+        tests.put(repoName, createRunTestReleaseTask(camelCaseRepoName, clone));
+        dependsOn(clone);
+        finalizedBy(uploadGistsTask);
     }
 
-    private void createRunTestReleaseTask(final String camelCaseRepoName, CloneGitRepositoryTask copy) {
+    private SilentExecTask createRunTestReleaseTask(final String camelCaseRepoName, CloneGitRepositoryTask copy) {
         final File buildOutputFile = new File(logsDirectory, camelCaseRepoName + "-build.log");
         SilentExecTask run = getProject().getTasks().create(
                 "test" + capitalize(camelCaseRepoName),
@@ -66,8 +81,12 @@ public class TestDownstreamTask extends DefaultTask {
         run.dependsOn(copy);
         run.finalizedBy(uploadGistsTask);
         run.setWorkDir(copy.getTargetDir());
-
-        dependsOn(run);
+        run.onlyIf(new Spec<Task>() {
+            public boolean isSatisfiedBy(Task task) {
+                //the test is run by this task
+                return !getProject().getGradle().getTaskGraph().hasTask(TestDownstreamTask.this);
+            }
+        });
 
         // Using Gradle's composite builds ("--include-build") so that we're picking up current version of tools
         run.setCommand(asList("./gradlew",
@@ -85,6 +104,35 @@ public class TestDownstreamTask extends DefaultTask {
                 LOG.lifecycle(testDownstreamLogMessage(camelCaseRepoName, buildOutputFile, uploadGistsTask.isEnabled(), uploadGistsTask.getName()));
             }
         });
+        return run;
+    }
+
+    @TaskAction
+    public void runTests() {
+        Map<String, Runnable> runs = new LinkedHashMap<String, Runnable>();
+        for (final Map.Entry<String, SilentExecTask> test : tests.entrySet()) {
+            runs.put(test.getKey(), new Runnable() {
+                public void run() {
+                    String camelCaseRepoName = repositoryNameToCamelCase(test.getKey());
+                    LOG.lifecycle(testDownstreamLogMessage(camelCaseRepoName, test.getValue().getBuildOutput(), uploadGistsTask.isEnabled(), uploadGistsTask.getName()));
+                    test.getValue().runTest();
+                }
+            });
+        }
+
+        List<DownstreamTestExecutor.TestResult> results = new DownstreamTestExecutor(maxParallelTests, failFast).execute(runs);
+        LOG.lifecycle(DownstreamTestExecutor.summary(results));
+
+        List<String> failed = new ArrayList<String>();
+        for (DownstreamTestExecutor.TestResult r : results) {
+            if (r.getOutcome() == DownstreamTestExecutor.Outcome.FAILED) {
+                LOG.info("Downstream test of " + r.getName() + " failed", r.getFailure());
+                failed.add(r.getName());
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new GradleException("Downstream tests failed: " + failed + ". See the summary above and the build logs in " + logsDirectory);
+        }
     }
 
     static String testDownstreamLogMessage(String camelCaseRepoName, File buildOutputFile, boolean gistsUploadEnabled, String uploadGistsTaskName) {
@@ -113,6 +161,36 @@ public class TestDownstreamTask extends DefaultTask {
         this.logsDirectory = logsDirectory;
     }
 
+    /**
+     * Maximum number of downstream tests executed concurrently. Default is 1, tests run one by one.
+     * Each test runs a separate Gradle build, consider memory and CPU of the machine when increasing the value.
+     */
+    public int getMaxParallelTests() {
+        return maxParallelTests;
+    }
+
+    /**
+     * See {@link #getMaxParallelTests()}
+     */
+    public void setMaxParallelTests(int maxParallelTests) {
+        this.maxParallelTests = maxParallelTests;
+    }
+
+    /**
+     * If the first failed test should cancel other tests. Default is false, all tests are executed
+     * and the task fails at the end when any test failed.
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * See {@link #isFailFast()}
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
     /**
      * UploadGistsTask that all test release tasks are finalized by
      */
@@ -92,6 +92,14 @@ public class ExecCommandFactory {
         return "[" + prefix + "] ";
     }
 
+    /**
+     * Exec command with custom logging prefix and setup action, it throws the exception when the command line fails.
+     * Useful when the output of the command needs to be told apart or processed, for example when commands run concurrently.
+     */
+    public static ExecCommand execCommand(String loggingPrefix, String description, List<String> commandLine, Action<ExecSpec> setupAction) {
+        return new ExecCommand(loggingPrefix, description, commandLine, setupAction, ensureSucceeded(loggingPrefix));
+    }
+
     /**
      * Exec command with custom result action.
      * Useful if the user needs custom behavior when command line finishes executing.
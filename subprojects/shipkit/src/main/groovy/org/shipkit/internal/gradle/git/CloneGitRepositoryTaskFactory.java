@@ -3,6 +3,7 @@ package org.shipkit.internal.gradle.git;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.shipkit.internal.gradle.git.tasks.CloneGitRepositoryTask;
+import org.shipkit.internal.gradle.util.BuildConventions;
 import org.shipkit.internal.gradle.util.TaskMaker;
 
 import java.io.File;
@@ -34,6 +35,7 @@ public class CloneGitRepositoryTaskFactory {
                     task.setDescription("Clones consumer repo " + consumerRepository + " into a temporary directory.");
                     task.setRepositoryUrl(gitHubUrl + "/" + consumerRepository);
                     task.setTargetDir(getConsumerRepoCloneDir(project, consumerRepository));
+                    task.setMirrorCacheDir(BuildConventions.gitMirrorCacheDir(project));
                 }
             });
     }
@@ -14,6 +14,7 @@ import org.shipkit.internal.util.ExposedForTesting;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.valueOf;
 
@@ -23,6 +24,8 @@ import static java.lang.String.valueOf;
  * The task execution is skipped if {@link #getTargetDir()} exists and is not empty.
  * If you want to always execute it, use clean task before calling this one.
  * Note that it's a heavy operation and therefore multiple executions in the same build should be avoided.
+ * When {@link #getMirrorCacheDir()} is set, the repository is cloned using a persistent local mirror,
+ * so that only new objects are downloaded.
  *
  * TODO ms - when you are ready, please move the new task types to the public packages,
  *   for example "org.shipkit.gradle.*". With 1.0 we need all task types to be public.
@@ -37,6 +40,8 @@ public class CloneGitRepositoryTask extends DefaultTask {
     private String repositoryUrl;
     private File targetDir;
     private int depth;
+    private File mirrorCacheDir;
+    private boolean partialClone;
 
     @TaskAction
     public void cloneRepository() {
@@ -48,13 +53,23 @@ public class CloneGitRepositoryTask extends DefaultTask {
         LOG.lifecycle("  Cloning repository {}\n    into {}", repositoryUrl, targetDir);
 
         getProject().getBuildDir().mkdirs();    // build dir can be not created yet
-        ProcessRunner processRunner = Exec.getProcessRunner(getProject().getBuildDir());
-        processRunner.run(getCloneCommand());
+        File mirror = mirrorCacheDir != null ? new GitMirrorCache(mirrorCacheDir, partialClone).getMirror(repositoryUrl) : null;
+        ProcessRunner processRunner = Exec.getProcessRunner(getProject().getBuildDir())
+            .setTimeout(Exec.REMOTE_GIT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        processRunner.run(getCloneCommand(mirror));
     }
 
     //TODO: WW investigate if this method can be removed from public API
     @ExposedForTesting
     List<String> getCloneCommand() {
+        return getCloneCommand(null);
+    }
+
+    /**
+     * @param mirror nullable, local mirror of the repository used as reference to avoid downloading objects
+     */
+    @ExposedForTesting
+    List<String> getCloneCommand(File mirror) {
         List<String> result = new ArrayList<String>();
         result.add("git");
         result.add("clone");
@@ -62,6 +77,15 @@ public class CloneGitRepositoryTask extends DefaultTask {
             result.add("--depth");
             result.add(valueOf(depth));
         }
+        if (partialClone) {
+            result.add("--filter=blob:none");
+        }
+        if (mirror != null) {
+            result.add("--reference");
+            result.add(mirror.getAbsolutePath());
+            //the clone outlives the build and the mirror is pruned, the clone must not depend on the mirror's objects
+            result.add("--dissociate");
+        }
         result.add(repositoryUrl);
         result.add(targetDir.getAbsolutePath());
         return result;
@@ -130,6 +154,40 @@ public class CloneGitRepositoryTask extends DefaultTask {
         this.depth = depth;
     }
 
+    /**
+     * Directory with persistent mirrors of cloned repositories, shared between builds.
+     * Optional, when not set the repository is cloned without a mirror.
+     * Objects are copied from the mirror to the clone ('git clone --reference --dissociate'),
+     * the clone does not depend on the mirror afterwards.
+     */
+    public File getMirrorCacheDir() {
+        return mirrorCacheDir;
+    }
+
+    /**
+     * See {@link #getMirrorCacheDir()}
+     */
+    public void setMirrorCacheDir(File mirrorCacheDir) {
+        this.mirrorCacheDir = mirrorCacheDir;
+    }
+
+    /**
+     * If the repository should be a partial clone ('--filter=blob:none'): file contents are downloaded on demand
+     * when they are checked out. Speeds up cloning of repositories with large history. Default is false.
+     */
+    public boolean isPartialClone() {
+        return partialClone;
+    }
+
+    /**
+     * See {@link #isPartialClone()}
+     */
+    @Optional
+    @Input
+    public void setPartialClone(boolean partialClone) {
+        this.partialClone = partialClone;
+    }
+
     private boolean isTargetEmpty() {
         return !targetDir.exists() || targetDir.list().length == 0;
     }
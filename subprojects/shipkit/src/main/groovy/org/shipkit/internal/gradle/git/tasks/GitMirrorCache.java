@@ -0,0 +1,107 @@
+package org.shipkit.internal.gradle.git.tasks;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.exec.Exec;
+import org.shipkit.internal.util.HashUtil;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent bare mirrors of remote repositories, one mirror per repository url and partial clone mode.
+ * A mirror is created with 'git clone --mirror' once and then updated with incremental 'git fetch'.
+ * Clones use the mirror via 'git clone --reference --dissociate' so that only the objects missing in the mirror are downloaded.
+ * <p>
+ * The cache is an optimization, when a mirror cannot be created or updated the repository is cloned without it.
+ */
+class GitMirrorCache {
+
+    private static final Logger LOG = Logging.getLogger(GitMirrorCache.class);
+
+    private final File cacheDir;
+    private final boolean partialClone;
+
+    /**
+     * @param cacheDir directory with the mirrors
+     * @param partialClone if the mirrors should be partial clones without file contents ('--filter=blob:none'),
+     *                     file contents are downloaded on demand
+     */
+    GitMirrorCache(File cacheDir, boolean partialClone) {
+        this.cacheDir = cacheDir;
+        this.partialClone = partialClone;
+    }
+
+    /**
+     * Nullable, creates or updates the mirror of the repository and returns its directory.
+     * Returns null when the mirror is not available.
+     */
+    File getMirror(String repositoryUrl) {
+        File mirror = getMirrorDir(repositoryUrl);
+        try {
+            if (new File(mirror, "HEAD").isFile()) {
+                LOG.lifecycle("  Updating mirror of repository {}\n    in {}", repositoryUrl, mirror);
+                Exec.getProcessRunner(mirror).setTimeout(Exec.REMOTE_GIT_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                    .run("git", "fetch", "--prune", "origin");
+            } else {
+                createMirror(repositoryUrl, mirror);
+            }
+            return mirror;
+        } catch (Exception e) {
+            LOG.lifecycle("  Problems updating mirror of repository {}, cloning without the mirror (run with -i or -d for more info)", repositoryUrl);
+            LOG.debug("  Problems updating mirror of repository " + repositoryUrl, e);
+            return null;
+        }
+    }
+
+    /**
+     * Partial and full mirrors of the same repository are kept apart,
+     * a full clone must not use a mirror that lacks file contents as its reference
+     */
+    File getMirrorDir(String repositoryUrl) {
+        return new File(cacheDir, HashUtil.sha1(repositoryUrl) + (partialClone ? "-blobless" : "") + ".git");
+    }
+
+    private void createMirror(String repositoryUrl, File mirror) {
+        LOG.lifecycle("  Creating mirror of repository {}\n    in {}", repositoryUrl, mirror);
+        cacheDir.mkdirs();
+        //the mirror is cloned to a temporary dir and moved, so that other builds never see incomplete mirror
+        File temp = new File(cacheDir, mirror.getName() + "-" + UUID.randomUUID() + ".tmp");
+        try {
+            Exec.getProcessRunner(cacheDir).setTimeout(Exec.REMOTE_GIT_TIMEOUT_MINUTES, TimeUnit.MINUTES)
+                .run(getMirrorCommand(repositoryUrl, temp));
+            if (!temp.renameTo(mirror) && !new File(mirror, "HEAD").isFile()) {
+                throw new RuntimeException("Unable to move mirror of repository " + repositoryUrl + " to " + mirror);
+            }
+        } finally {
+            //nothing to delete when the mirror was moved, otherwise another build created the mirror meanwhile
+            delete(temp);
+        }
+    }
+
+    List<String> getMirrorCommand(String repositoryUrl, File dir) {
+        List<String> result = new ArrayList<String>();
+        result.add("git");
+        result.add("clone");
+        result.add("--mirror");
+        if (partialClone) {
+            result.add("--filter=blob:none");
+        }
+        result.add(repositoryUrl);
+        result.add(dir.getAbsolutePath());
+        return result;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -1,6 +1,7 @@
 package org.shipkit.internal.gradle.git.tasks;
 
 import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.git.GitRepository;
 
 import java.util.Arrays;
 import java.util.List;
@@ -8,9 +9,18 @@ import java.util.List;
 class GitOriginRepoProvider {
 
     private final ProcessRunner processRunner;
+    private final GitRepository repository;
 
     public GitOriginRepoProvider(ProcessRunner processRunner) {
+        this(processRunner, null);
+    }
+
+    /**
+     * @param repository nullable, used to read the url without forking off 'git' process
+     */
+    public GitOriginRepoProvider(ProcessRunner processRunner, GitRepository repository) {
         this.processRunner = processRunner;
+        this.repository = repository;
     }
 
     /**
@@ -18,8 +28,11 @@ class GitOriginRepoProvider {
      */
     public String getOriginGitRepo() {
         // for GitHub returns git@github.com:user/repo.git or https://github.com/user/repo.git
-        List<String> command = Arrays.asList("git", "remote", "get-url", "origin");
-        String output = processRunner.run(command).trim();
+        String output = repository != null ? repository.getRemoteUrl("origin") : null;
+        if (output == null) {
+            List<String> command = Arrays.asList("git", "remote", "get-url", "origin");
+            output = processRunner.run(command).trim();
+        }
 
         if (output.startsWith("git")) {
             return output
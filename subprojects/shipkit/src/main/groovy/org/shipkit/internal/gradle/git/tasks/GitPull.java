@@ -1,9 +1,11 @@
 package org.shipkit.internal.gradle.git.tasks;
 
 import org.shipkit.internal.exec.DefaultProcessRunner;
+import org.shipkit.internal.exec.Exec;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for configuring git pull task with the correct git pull arguments.
@@ -14,6 +16,7 @@ public class GitPull {
         TokenAvailabilityMessage.logMessage("git pull", task.getSecretValue());
         new DefaultProcessRunner(task.getProject().getProjectDir())
             .setSecretValue(task.getSecretValue())
+            .setTimeout(Exec.REMOTE_GIT_TIMEOUT_MINUTES, TimeUnit.MINUTES)
             .run(gitPullArgs(task.getUrl(), task.getRev(), task.isDryRun()));
     }
 
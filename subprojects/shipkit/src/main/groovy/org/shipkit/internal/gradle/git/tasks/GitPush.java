@@ -2,10 +2,12 @@ package org.shipkit.internal.gradle.git.tasks;
 
 import org.shipkit.gradle.git.GitPushTask;
 import org.shipkit.internal.exec.DefaultProcessRunner;
+import org.shipkit.internal.exec.Exec;
 import org.shipkit.internal.gradle.util.handler.GitPushExceptionHandler;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.shipkit.internal.gradle.util.handler.ExceptionHandling.withExceptionHandling;
 
@@ -35,6 +37,7 @@ public class GitPush {
             public void run() {
                 new DefaultProcessRunner(task.getProject().getProjectDir())
                     .setSecretValue(task.getSecretValue())
+                    .setTimeout(Exec.REMOTE_GIT_TIMEOUT_MINUTES, TimeUnit.MINUTES)
                     .run(GitPush.gitPushArgs(task.getUrl(), task.getTargets(), task.isDryRun()));
             }
         };
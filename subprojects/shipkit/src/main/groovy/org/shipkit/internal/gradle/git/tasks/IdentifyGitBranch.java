@@ -4,20 +4,43 @@ import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.shipkit.gradle.git.IdentifyGitBranchTask;
 import org.shipkit.internal.exec.Exec;
+import org.shipkit.internal.git.GitRepository;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
 
 public class IdentifyGitBranch {
 
+    /**
+     * Default command line used to identify the branch, see {@link IdentifyGitBranchTask#getCommandLine()}
+     */
+    public static final List<String> DEFAULT_COMMAND_LINE = Collections.unmodifiableList(asList("git", "rev-parse", "--abbrev-ref", "HEAD"));
+
     private final Logger LOG = Logging.getLogger(IdentifyGitBranchTask.class);
 
     public void identifyBranch(IdentifyGitBranchTask task, String branch) {
         if (branch == null) {
-            task.setBranch(Exec.getProcessRunner(task.getWorkDir())
-                .run(task.getCommandLine())
-                .trim());
+            task.setBranch(readBranch(task));
         }
         LOG.lifecycle("  Identified current branch: " + task.getBranch());
     }
 
+    private String readBranch(IdentifyGitBranchTask task) {
+        if (DEFAULT_COMMAND_LINE.equals(task.getCommandLine())) {
+            //reading the branch in-process avoids forking off 'git' process, custom command lines are always executed
+            GitRepository repository = GitRepository.find(task.getWorkDir());
+            String branch = repository != null ? repository.getCurrentBranch() : null;
+            if (branch != null) {
+                return branch;
+            }
+        }
+        return Exec.getProcessRunner(task.getWorkDir())
+            .run(task.getCommandLine())
+            .trim();
+    }
+
     public String getBranch(String branch) {
         if (branch == null) {
             throw new IdentifyGitBranchTask.BranchNotAvailableException("Don't know the branch yet because the task was not executed yet!");
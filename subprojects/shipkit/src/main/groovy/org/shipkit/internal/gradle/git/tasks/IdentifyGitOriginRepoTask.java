@@ -7,10 +7,12 @@ import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.tasks.TaskAction;
 import org.shipkit.internal.exec.DefaultProcessRunner;
+import org.shipkit.internal.git.GitRepository;
 import org.shipkit.internal.gradle.git.GitOriginPlugin;
 import org.shipkit.internal.util.ExposedForTesting;
 
 import javax.inject.Inject;
+import java.io.File;
 
 /**
  * Task that identifies git origin repository.
@@ -27,7 +29,8 @@ public class IdentifyGitOriginRepoTask extends DefaultTask {
 
     @Inject
     public IdentifyGitOriginRepoTask() {
-        originRepoProvider = new GitOriginRepoProvider(new DefaultProcessRunner(getProject().getProjectDir()));
+        File projectDir = getProject().getProjectDir();
+        originRepoProvider = new GitOriginRepoProvider(new DefaultProcessRunner(projectDir), GitRepository.find(projectDir));
     }
 
     @TaskAction
@@ -0,0 +1,321 @@
+package org.shipkit.internal.gradle.java.tasks;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.notes.util.IOUtil;
+import org.shipkit.internal.util.HashUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed local cache of released artifacts.
+ * A released artifact never changes, so it is downloaded once and shared by all projects and builds.
+ * <p>
+ * Layout of the cache directory:
+ * <ul>
+ *     <li>'blobs/SHA1' - content of the artifacts, named after their SHA-1 checksum</li>
+ *     <li>'urls/SHA1-OF-URL' - SHA-1 checksum of the artifact downloaded from the url</li>
+ *     <li>'downloads/SHA1-OF-URL.part' - partially downloaded artifacts, downloads are resumed when possible</li>
+ *     <li>'downloads/SHA1-OF-URL.part.validator' - ETag or Last-Modified of the partially downloaded artifact</li>
+ *     <li>'locks/SHA1-OF-URL' - locked while the artifact is downloaded, builds download the same artifact one at a time</li>
+ * </ul>
+ * Downloaded artifacts are verified against the '.sha1' checksum file published next to the artifact.
+ * Artifacts without checksum are downloaded every time and are not cached, corrupted content could not be detected.
+ * Downloads are resumed only when the artifact has a checksum, otherwise resumed bytes could not be verified.
+ */
+public class ArtifactCache {
+
+    private static final Logger LOG = Logging.getLogger(ArtifactCache.class);
+
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+    private static final long LOCK_POLL_MILLIS = 100;
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-\\d+/(\\d+|\\*)");
+
+    private final File cacheDir;
+
+    /**
+     * @param cacheDir directory where the artifacts are stored
+     */
+    public ArtifactCache(File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Makes the artifact available in given file. The artifact is downloaded only if it is not cached yet.
+     *
+     * @param url resolved url of the artifact
+     * @param target the file to copy the artifact to
+     */
+    public void get(String url, File target) throws IOException {
+        String key = HashUtil.sha1(url);
+        File urlFile = new File(cacheDir, "urls/" + key);
+
+        File cached = getCachedArtifact(urlFile);
+        if (cached != null) {
+            LOG.lifecycle("  Using cached artifact {}", cached);
+            copy(cached, target);
+            return;
+        }
+
+        File partial = new File(cacheDir, "downloads/" + key + ".part");
+        //other builds and threads of this build may download the same artifact into the same partial file
+        FileLock lock = lock(new File(cacheDir, "locks/" + key));
+        try {
+            //the artifact may have been downloaded while waiting for the lock
+            cached = getCachedArtifact(urlFile);
+            if (cached != null) {
+                LOG.lifecycle("  Using cached artifact {}", cached);
+            } else {
+                cached = download(url, partial, target);
+                if (cached != null) {
+                    writeAtomically(urlFile, cached.getName());
+                }
+            }
+        } finally {
+            release(lock);
+        }
+        if (cached != null) {
+            copy(cached, target);
+        }
+    }
+
+    private File getCachedArtifact(File urlFile) {
+        if (!urlFile.isFile()) {
+            return null;
+        }
+        File artifact = new File(cacheDir, "blobs/" + IOUtil.readFully(urlFile).trim());
+        return artifact.isFile() ? artifact : null;
+    }
+
+    /**
+     * Nullable, returns the verified artifact stored in the cache.
+     * Returns null when the artifact cannot be verified, it is only copied to the target then, not cached.
+     */
+    private File download(String url, File partial, File target) throws IOException {
+        String expected = fetchChecksum(url);
+        transfer(url, partial, expected != null);
+
+        if (expected == null) {
+            //without checksum, corrupted content would stay in the cache forever
+            copy(partial, target);
+            deletePartial(partial);
+            return null;
+        }
+
+        String actual = HashUtil.sha1(partial);
+        if (!expected.equalsIgnoreCase(actual)) {
+            deletePartial(partial);
+            throw new IOException("Checksum verification failed for " + url
+                + ", expected SHA-1: " + expected + ", actual: " + actual);
+        }
+        validatorFile(partial).delete();
+
+        File artifact = new File(cacheDir, "blobs/" + actual);
+        IOUtil.createParentDirectory(artifact);
+        //the same content may have been already downloaded from a different url
+        if (artifact.isFile()) {
+            partial.delete();
+        } else if (!partial.renameTo(artifact)) {
+            copy(partial, artifact);
+            partial.delete();
+        }
+        return artifact;
+    }
+
+    /**
+     * Downloads the url to the file using channel transfer. If the file contains part of the content
+     * downloaded previously and the server supports range requests, only the remaining part is downloaded.
+     * The download is resumed only if the server confirms that the artifact did not change since the partial download
+     * (the ETag or Last-Modified stored with the partial file is sent in 'If-Range' header)
+     * and it answers with the range that continues the partial file.
+     *
+     * @param resumable if the partial file can be resumed, it should be false when the content cannot be verified
+     */
+    static void transfer(String url, File partial, boolean resumable) throws IOException {
+        IOUtil.createParentDirectory(partial);
+        File validatorFile = validatorFile(partial);
+        String validator = validatorFile.isFile() ? IOUtil.readFully(validatorFile).trim() : "";
+        long existing = resumable && partial.isFile() && !validator.isEmpty() ? partial.length() : 0;
+
+        URLConnection connection = new URL(url).openConnection();
+        boolean resume = false;
+        if (existing > 0 && connection instanceof HttpURLConnection) {
+            connection.setRequestProperty("Range", "bytes=" + existing + "-");
+            //the server sends the complete artifact instead of the range if the artifact changed
+            connection.setRequestProperty("If-Range", validator);
+            int code = ((HttpURLConnection) connection).getResponseCode();
+            if (code == HttpURLConnection.HTTP_PARTIAL && continuesAt(connection.getHeaderField("Content-Range"), existing)) {
+                LOG.lifecycle("  Resuming download of {} from {} bytes", url, existing);
+                resume = true;
+            } else if (code == HttpURLConnection.HTTP_PARTIAL || code == 416) {
+                //unexpected range or requested range not satisfiable, the partial file is not usable
+                LOG.lifecycle("  Unable to resume download of {}, downloading it again", url);
+                ((HttpURLConnection) connection).disconnect();
+                deletePartial(partial);
+                transfer(url, partial, false);
+                return;
+            }
+        }
+        if (!resume) {
+            //the content is downloaded from the beginning, the validator allows resuming this download later
+            String newValidator = getValidator(connection);
+            if (newValidator != null) {
+                writeAtomically(validatorFile, newValidator);
+            } else {
+                validatorFile.delete();
+            }
+        }
+
+        InputStream input = connection.getInputStream();
+        ReadableByteChannel source = Channels.newChannel(input);
+        FileOutputStream output = new FileOutputStream(partial, resume);
+        try {
+            FileChannel target = output.getChannel();
+            long position = resume ? existing : 0;
+            long count;
+            while ((count = target.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += count;
+            }
+        } finally {
+            IOUtil.closeQuietly(output);
+            IOUtil.closeQuietly(input);
+        }
+    }
+
+    /**
+     * If 'Content-Range' response header describes the range starting at given position, e.g. 'bytes 100-199/200'
+     */
+    static boolean continuesAt(String contentRange, long position) {
+        if (contentRange == null) {
+            return false;
+        }
+        Matcher matcher = CONTENT_RANGE.matcher(contentRange.trim());
+        return matcher.matches() && Long.parseLong(matcher.group(1)) == position;
+    }
+
+    /**
+     * Nullable, returns strong ETag or Last-Modified of the response, suitable for 'If-Range' request header
+     */
+    private static String getValidator(URLConnection connection) {
+        if (!(connection instanceof HttpURLConnection)) {
+            return null;
+        }
+        String etag = connection.getHeaderField("ETag");
+        //weak ETags cannot be used for range requests
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return connection.getHeaderField("Last-Modified");
+    }
+
+    /**
+     * Blocks until other processes and threads release the lock file. The lock file is never deleted,
+     * deleting it would allow two processes to lock different files of the same name.
+     */
+    private static FileLock lock(File lockFile) throws IOException {
+        IOUtil.createParentDirectory(lockFile);
+        FileChannel channel = new RandomAccessFile(lockFile, "rw").getChannel();
+        try {
+            while (true) {
+                try {
+                    return channel.lock();
+                } catch (OverlappingFileLockException e) {
+                    //file locks are held by the whole JVM, another thread of this JVM holds the lock
+                    Thread.sleep(LOCK_POLL_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            IOUtil.closeQuietly(channel);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the lock " + lockFile);
+        } catch (IOException e) {
+            IOUtil.closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    private static void release(FileLock lock) throws IOException {
+        try {
+            lock.release();
+        } finally {
+            IOUtil.close(lock.channel());
+        }
+    }
+
+    private static File validatorFile(File partial) {
+        return new File(partial.getPath() + ".validator");
+    }
+
+    private static void deletePartial(File partial) {
+        partial.delete();
+        validatorFile(partial).delete();
+    }
+
+    /**
+     * Nullable, returns SHA-1 published next to the artifact or null if there is none
+     */
+    private static String fetchChecksum(String url) {
+        InputStream input = null;
+        try {
+            input = new URL(url + ".sha1").openStream();
+            //the file may contain the checksum followed by the file name
+            String content = IOUtil.readFully(input).trim();
+            String checksum = content.split("\\s+")[0];
+            return checksum.matches("[0-9a-fA-F]{40}") ? checksum : null;
+        } catch (Exception e) {
+            LOG.info("  Checksum of {} is not available, the artifact will not be verified: {}", url, e.toString());
+            return null;
+        } finally {
+            IOUtil.closeQuietly(input);
+        }
+    }
+
+    private static void writeAtomically(File file, String content) {
+        File tmp = new File(file.getPath() + ".tmp");
+        IOUtil.writeFile(tmp, content);
+        if (!tmp.renameTo(file)) {
+            //on some platforms rename does not replace existing files
+            file.delete();
+            if (!tmp.renameTo(file)) {
+                throw new RuntimeException("Problems writing text to file: " + file);
+            }
+        }
+    }
+
+    private static void copy(File source, File target) throws IOException {
+        IOUtil.createParentDirectory(target);
+        FileInputStream input = new FileInputStream(source);
+        try {
+            FileOutputStream output = new FileOutputStream(target);
+            try {
+                FileChannel in = input.getChannel();
+                FileChannel out = output.getChannel();
+                long position = 0;
+                long size = in.size();
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+            } finally {
+                IOUtil.close(output);
+            }
+        } finally {
+            IOUtil.close(input);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.shipkit.internal.comparison.StringComparator;
 import org.shipkit.internal.comparison.ZipComparator;
 import org.shipkit.internal.comparison.diff.Diff;
 import org.shipkit.internal.gradle.java.ComparePublicationsPlugin;
+import org.shipkit.internal.gradle.util.ZipIndex;
 import org.shipkit.internal.gradle.util.ZipUtil;
 import org.shipkit.internal.notes.util.IOUtil;
 
@@ -33,13 +34,25 @@ public class ComparePublications {
         LOG.lifecycle("{} - about to compare publications",
                 task.getPath());
 
-        Diff depInfoDiff = getDependencyInfoDiff(task, currentVersionSourcesJarFile);
-
-        LOG.lifecycle("{} - {} files equal: {}", task.getPath(), DEPENDENCY_INFO_FILEPATH, depInfoDiff.areFilesEqual());
-
-        ZipComparator sourcesJarComparator = new ZipComparator();
-        Diff jarsDiff = sourcesJarComparator.areEqual(task.getPreviousSourcesJar(), currentVersionSourcesJarFile);
-        LOG.lifecycle("{} - source jars equal: {}", task.getPath(), jarsDiff.areFilesEqual());
+        Diff depInfoDiff;
+        Diff jarsDiff;
+        //each jar is opened once and shared by all comparisons
+        ZipIndex previousJar = null;
+        ZipIndex currentJar = null;
+        try {
+            previousJar = ZipIndex.open(task.getPreviousSourcesJar());
+            currentJar = ZipIndex.open(currentVersionSourcesJarFile);
+
+            depInfoDiff = getDependencyInfoDiff(task, previousJar, currentJar);
+            LOG.lifecycle("{} - {} files equal: {}", task.getPath(), DEPENDENCY_INFO_FILEPATH, depInfoDiff.areFilesEqual());
+
+            ZipComparator sourcesJarComparator = new ZipComparator();
+            jarsDiff = sourcesJarComparator.areEqual(previousJar, currentJar);
+            LOG.lifecycle("{} - source jars equal: {}", task.getPath(), jarsDiff.areFilesEqual());
+        } finally {
+            ZipUtil.closeZipIndex(previousJar);
+            ZipUtil.closeZipIndex(currentJar);
+        }
 
         String comparisonResult = new ComparePublicationsResultFormatter().formatResults(
             task.getPreviousSourcesJar(), currentVersionSourcesJarFile, jarsDiff, depInfoDiff);
@@ -49,8 +62,8 @@ public class ComparePublications {
         IOUtil.writeFile(task.getComparisonResult(), comparisonResult);
     }
 
-    private Diff getDependencyInfoDiff(ComparePublicationsTask task, File currentVersionSourcesJarFile) {
-        if (!ZipUtil.fileContainsEntry(task.getPreviousSourcesJar(), DEPENDENCY_INFO_FILEPATH)) {
+    private Diff getDependencyInfoDiff(ComparePublicationsTask task, ZipIndex previousJar, ZipIndex currentJar) {
+        if (!previousJar.containsEntry(DEPENDENCY_INFO_FILEPATH)) {
             LOG.lifecycle("{} - previous {} file not found, nothing to compare", task.getPath(), DEPENDENCY_INFO_FILEPATH);
             return Diff.ofEqualFiles();
         }
@@ -58,7 +71,7 @@ public class ComparePublications {
         StringComparator stringComparator = new StringComparator();
 
         return stringComparator.areEqual(
-            ZipUtil.readEntryContent(task.getPreviousSourcesJar(), DEPENDENCY_INFO_FILEPATH),
-            ZipUtil.readEntryContent(currentVersionSourcesJarFile, DEPENDENCY_INFO_FILEPATH));
+            previousJar.readEntryContent(DEPENDENCY_INFO_FILEPATH),
+            currentJar.readEntryContent(DEPENDENCY_INFO_FILEPATH));
     }
 }
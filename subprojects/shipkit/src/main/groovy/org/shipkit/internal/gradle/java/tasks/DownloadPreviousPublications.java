@@ -12,16 +12,20 @@ public class DownloadPreviousPublications {
     private static final Logger LOG = Logging.getLogger(DownloadPreviousPublications.class);
 
     public void downloadPreviousPublications(DownloadPreviousPublicationsTask task) {
-        downloadRemoteFile(task.getPreviousSourcesJarUrl(), task.getPreviousSourcesJarFile());
+        downloadRemoteFile(task.getPreviousSourcesJarUrl(), task.getPreviousSourcesJarFile(), task.getArtifactCacheDir());
     }
 
-    private void downloadRemoteFile(String remoteUrl, File localFile) {
+    private void downloadRemoteFile(String remoteUrl, File localFile, File artifactCacheDir) {
         LOG.lifecycle("  Downloading remote artifact\n" +
                 "  - from {}\n" +
                 "  - and saving it to {}", remoteUrl, localFile);
 
         try {
-            IOUtil.downloadToFile(remoteUrl, localFile);
+            if (artifactCacheDir != null) {
+                new ArtifactCache(artifactCacheDir).get(remoteUrl, localFile);
+            } else {
+                IOUtil.downloadToFile(remoteUrl, localFile);
+            }
         } catch (Exception e) {
             LOG.lifecycle("  Unable to download, ignoring. Run with '-d' for stack trace.\n " +
                 "  If the download URL is incorrect you may need to configure the URL manually.\n" +
@@ -5,6 +5,7 @@ import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.shipkit.gradle.configuration.ShipkitConfiguration;
+import org.shipkit.gradle.notes.AssembleReleaseNotesTask;
 import org.shipkit.gradle.notes.FetchReleaseNotesTask;
 import org.shipkit.gradle.notes.UpdateReleaseNotesTask;
 import org.shipkit.internal.gradle.configuration.ShipkitConfigurationPlugin;
@@ -17,6 +18,7 @@ import org.shipkit.version.VersionInfo;
 import java.io.File;
 
 import static java.util.Collections.singletonList;
+import static org.shipkit.internal.gradle.configuration.LazyConfiguration.lazyConfiguration;
 
 /**
  * Adds and configures tasks for generating release notes.
@@ -33,6 +35,7 @@ import static java.util.Collections.singletonList;
  * <ul>
  * <li>fetchReleaseNotes - fetches release notes data, see {@link FetchReleaseNotesTask}</li>
  * <li>updateReleaseNotes - updates release notes file in place, or only displays preview if project property 'preview' exists, see {@link UpdateReleaseNotesTask}</li>
+ * <li>assembleReleaseNotes - assembles release notes file from release notes fragments, see {@link AssembleReleaseNotesTask}</li>
  * </ul>
  * <p>
  * It also adds updates release notes changes if {@link GitPlugin} applied
@@ -42,6 +45,7 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
     public static final String PREVIEW_PROJECT_PROPERTY = "preview";
     private static final String FETCH_NOTES_TASK = "fetchReleaseNotes";
     public static final String UPDATE_NOTES_TASK = "updateReleaseNotes";
+    public static final String ASSEMBLE_NOTES_TASK = "assembleReleaseNotes";
 
     public void apply(final Project project) {
         final ShipkitConfiguration conf = project.getPlugins().apply(ShipkitConfigurationPlugin.class).getConfiguration();
@@ -66,7 +70,7 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
 
         final Task contributorsFetcher = project.getTasks().getByName(GitHubContributorsPlugin.FETCH_CONTRIBUTORS);
 
-        TaskMaker.task(project, UPDATE_NOTES_TASK, UpdateReleaseNotesTask.class, new Action<UpdateReleaseNotesTask>() {
+        final UpdateReleaseNotesTask updateNotes = TaskMaker.task(project, UPDATE_NOTES_TASK, UpdateReleaseNotesTask.class, new Action<UpdateReleaseNotesTask>() {
             public void execute(final UpdateReleaseNotesTask t) {
                 t.setDescription("Updates release notes file. Run with '-Ppreview' if you only want to see the preview.");
 
@@ -76,13 +80,32 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
                 t.setPreviewMode(previewMode);
 
                 if (!previewMode) {
-                    File releaseNotesFile = project.file(conf.getReleaseNotes().getFile());
+                    //with fragments, only the fragments directory changes
+                    File releaseNotes = t.getFragmentsDir() != null ? t.getFragmentsDir() : project.file(conf.getReleaseNotes().getFile());
                     GitPlugin.registerChangesForCommitIfApplied(
-                        singletonList(releaseNotesFile), "release notes updated", t);
-                    t.getOutputs().file(releaseNotesFile);
+                        singletonList(releaseNotes), "release notes updated", t);
+                    if (t.getFragmentsDir() != null) {
+                        t.getOutputs().dir(releaseNotes);
+                    } else {
+                        t.getOutputs().file(releaseNotes);
+                    }
                 }
             }
         });
+
+        TaskMaker.task(project, ASSEMBLE_NOTES_TASK, AssembleReleaseNotesTask.class, new Action<AssembleReleaseNotesTask>() {
+            public void execute(final AssembleReleaseNotesTask t) {
+                t.setDescription("Assembles release notes file from release notes fragments, see 'shipkit.releaseNotes.fragmentsDir'.");
+                t.setOutputFile(project.file(conf.getReleaseNotes().getFile()));
+                //the same fragments and header as the update task, including changes made to the update task by the user
+                lazyConfiguration(t, new Runnable() {
+                    public void run() {
+                        t.setFragmentsDir(updateNotes.getFragmentsDir());
+                        t.setHeader(updateNotes.getHeader());
+                    }
+                });
+            }
+        });
     }
 
     private static void configureDetailedNotes(final UpdateReleaseNotesTask task,
@@ -106,6 +129,8 @@ public class ReleaseNotesPlugin implements Plugin<Project> {
 
         task.setGitHubLabelMapping(conf.getReleaseNotes().getLabelMapping());
         task.setReleaseNotesFile(project.file(conf.getReleaseNotes().getFile()));
+        String fragmentsDir = conf.getLenient().getReleaseNotes().getFragmentsDir();
+        task.setFragmentsDir(fragmentsDir != null ? project.file(fragmentsDir) : null);
         task.setGitHubUrl(conf.getGitHub().getUrl());
         task.setPreviousVersion(project.getExtensions().getByType(VersionInfo.class).getPreviousVersion());
 
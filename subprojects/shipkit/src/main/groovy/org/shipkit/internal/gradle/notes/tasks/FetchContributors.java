@@ -7,7 +7,15 @@ import org.shipkit.internal.notes.contributors.ContributorsProvider;
 import org.shipkit.internal.notes.contributors.ProjectContributorsSerializer;
 import org.shipkit.internal.notes.contributors.ProjectContributorsSet;
 import org.shipkit.internal.notes.contributors.github.Contributors;
+import org.shipkit.internal.notes.contributors.github.ContributorsCheckpoint;
+import org.shipkit.internal.notes.contributors.github.GitHubUserCache;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
+import org.shipkit.internal.notes.util.GitHubResponseCache;
 import org.shipkit.internal.notes.util.IOUtil;
+import org.shipkit.internal.util.HashUtil;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 public class FetchContributors {
 
@@ -15,10 +23,23 @@ public class FetchContributors {
 
     public void fetchContributors(FetchGitHubContributorsTask task) {
         LOG.lifecycle("  Fetching all GitHub contributors of {}", task.getRepository());
-        ContributorsProvider contributorsProvider = Contributors.getGitHubContributorsProvider(
-            task.getApiUrl(), task.getRepository(), task.getReadOnlyAuthToken());
+        GitHubResponseCache cache = new GitHubResponseCache(task.getGitHubResponseCacheDir());
+        GitHubRequestExecutor requestExecutor = new GitHubRequestExecutor(cache, task.getMaxConcurrentGitHubRequests());
+        GitHubUserCache userCache = new GitHubUserCache(task.getGitHubUserCacheFile());
+        ContributorsCheckpoint checkpoint = new ContributorsCheckpoint(checkpointFile(task), task.isFullSync(),
+            TimeUnit.DAYS.toMillis(task.getFullSyncIntervalDays()));
+        ProjectContributorsSet contributors;
+        try {
+            ContributorsProvider contributorsProvider = Contributors.getGitHubContributorsProvider(
+                task.getApiUrl(), task.getRepository(), task.getReadOnlyAuthToken(), requestExecutor, userCache, checkpoint);
 
-        ProjectContributorsSet contributors = contributorsProvider.getAllContributorsForProject();
+            contributors = contributorsProvider.getAllContributorsForProject();
+        } finally {
+            requestExecutor.shutdown();
+        }
+        userCache.save();
+        LOG.lifecycle("  GitHub response cache: {}", cache.getSummary());
+        LOG.lifecycle("  GitHub user cache: {}", userCache.getSummary());
 
         ProjectContributorsSerializer serializer = new ProjectContributorsSerializer();
         final String json = serializer.serialize(contributors);
@@ -26,4 +47,12 @@ public class FetchContributors {
 
         LOG.lifecycle("  Serialized contributors information: {}", task.getProject().relativePath(task.getOutputs().getFiles().getSingleFile()));
     }
+
+    private static File checkpointFile(FetchGitHubContributorsTask task) {
+        if (task.getCheckpointDir() == null) {
+            return null;
+        }
+        //the same repository can be hosted by different GitHub instances
+        return new File(task.getCheckpointDir(), HashUtil.sha1(task.getApiUrl() + "/" + task.getRepository()) + ".json");
+    }
 }
@@ -1,13 +1,21 @@
 package org.shipkit.internal.gradle.notes.tasks;
 
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.shipkit.gradle.notes.FetchReleaseNotesTask;
 import org.shipkit.internal.gradle.util.ReleaseNotesSerializer;
 import org.shipkit.internal.notes.generator.ReleaseNotesGenerator;
 import org.shipkit.internal.notes.generator.ReleaseNotesGenerators;
+import org.shipkit.internal.notes.generator.ReleaseNotesStore;
 import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
+import org.shipkit.internal.notes.util.GitHubResponseCache;
 import org.shipkit.internal.notes.util.IOUtil;
 import org.shipkit.internal.notes.vcs.IgnoredCommit;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -15,17 +23,47 @@ import java.util.List;
 import static java.util.Collections.singletonList;
 
 public class FetchReleaseNotes {
+
+    private static final Logger LOG = Logging.getLogger(FetchReleaseNotes.class);
+
     public void fetchReleaseNotes(FetchReleaseNotesTask task) {
-        ReleaseNotesGenerator generator = ReleaseNotesGenerators.releaseNotesGenerator(
-            task.getGitWorkDir(), task.getGitHubApiUrl(), task.getGitHubRepository(),
-            task.getGitHubReadOnlyAuthToken(), new IgnoredCommit(task.getIgnoreCommitsContaining()));
+        GitHubResponseCache cache = new GitHubResponseCache(task.getGitHubResponseCacheDir());
+        GitHubRequestExecutor requestExecutor = new GitHubRequestExecutor(cache, task.getMaxConcurrentGitHubRequests());
+        ReleaseNotesStore store = getStore(task);
+        Collection<ReleaseNotesData> releaseNotes;
+        try {
+            ReleaseNotesGenerator generator = ReleaseNotesGenerators.releaseNotesGenerator(
+                task.getGitWorkDir(), task.getGitHubApiUrl(), task.getGitHubRepository(),
+                task.getGitHubReadOnlyAuthToken(), new IgnoredCommit(task.getIgnoreCommitsContaining()), requestExecutor, store);
 
-        List<String> targetVersions = task.getPreviousVersion() == null ? new ArrayList<String>() : singletonList(task.getPreviousVersion());
-        Collection<ReleaseNotesData> releaseNotes = generator.generateReleaseNotesData(
-            task.getVersion(), targetVersions, task.getTagPrefix(), task.getGitHubLabels(), task.isOnlyPullRequests());
+            List<String> targetVersions = task.getPreviousVersion() == null ? new ArrayList<String>() : singletonList(task.getPreviousVersion());
+            releaseNotes = generator.generateReleaseNotesData(
+                task.getVersion(), targetVersions, task.getTagPrefix(), task.getGitHubLabels(), task.isOnlyPullRequests());
+        } finally {
+            requestExecutor.shutdown();
+        }
+        LOG.lifecycle("  GitHub response cache: {}", cache.getSummary());
+        LOG.lifecycle("  Release notes store: {}", store.getSummary());
+
+        Writer writer = IOUtil.bufferedWriter(task.getOutputFile());
+        try {
+            new ReleaseNotesSerializer().serialize(releaseNotes, writer);
+        } catch (IOException e) {
+            throw new RuntimeException("Problems writing release notes data to file: " + task.getOutputFile(), e);
+        } finally {
+            IOUtil.close(writer);
+        }
+    }
 
-        ReleaseNotesSerializer releaseNotesSerializer = new ReleaseNotesSerializer();
-        final String serializedData = releaseNotesSerializer.serialize(releaseNotes);
-        IOUtil.writeFile(task.getOutputFile(), serializedData);
+    private static ReleaseNotesStore getStore(FetchReleaseNotesTask task) {
+        if (task.getReleaseNotesStoreDir() == null) {
+            return ReleaseNotesStore.disabled();
+        }
+        //one store file per repository, settings that affect the data are part of the keys of stored entries
+        File storeFile = new File(task.getReleaseNotesStoreDir(), task.getGitHubRepository().replace('/', '-') + ".json");
+        String context = task.getGitHubApiUrl() + " " + task.getGitHubRepository() + " " + task.getTagPrefix()
+            + " labels: " + task.getGitHubLabels() + " onlyPullRequests: " + task.isOnlyPullRequests()
+            + " ignoreCommitsContaining: " + task.getIgnoreCommitsContaining();
+        return new ReleaseNotesStore(storeFile, context);
     }
 }
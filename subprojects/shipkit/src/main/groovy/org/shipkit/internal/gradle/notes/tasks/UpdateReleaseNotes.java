@@ -4,6 +4,7 @@ import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.shipkit.gradle.notes.UpdateReleaseNotesTask;
 import org.shipkit.internal.gradle.util.FileUtil;
+import org.shipkit.internal.gradle.util.ReleaseNotesFragments;
 import org.shipkit.internal.gradle.util.ReleaseNotesSerializer;
 import org.shipkit.internal.gradle.util.team.TeamMember;
 import org.shipkit.internal.gradle.util.team.TeamParser;
@@ -19,6 +20,10 @@ import org.shipkit.internal.notes.model.ReleaseNotesData;
 import org.shipkit.internal.notes.util.IOUtil;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,10 +33,22 @@ public class UpdateReleaseNotes {
     private static final Logger LOG = Logging.getLogger(UpdateReleaseNotesTask.class);
 
     public void updateReleaseNotes(UpdateReleaseNotesTask task, HeaderProvider headerProvider) {
+        if (task.getFragmentsDir() != null && !task.isPreviewMode()) {
+            //the header is added when the fragments are assembled
+            String newContent = generateNewContent(task, "");
+            updateFragments(new ReleaseNotesFragments(task.getFragmentsDir()), task.getReleaseNotesFile(), task.getVersion(), newContent);
+            return;
+        }
         String newContent = generateNewContent(task, headerProvider);
         updateReleaseNotes(task.isPreviewMode(), task.getReleaseNotesFile(), newContent);
     }
 
+    void updateFragments(ReleaseNotesFragments fragments, File releaseNotesFile, String version, String newContent) {
+        fragments.importReleaseNotes(releaseNotesFile);
+        File fragment = fragments.addVersion(version, newContent);
+        LOG.lifecycle("  Successfully added release notes fragment: {}", fragment);
+    }
+
     void updateReleaseNotes(boolean previewMode, File releaseNotesFile, String newContent) {
         if (previewMode) {
             LOG.lifecycle("  Preview of release notes update:\n" +
@@ -64,11 +81,37 @@ public class UpdateReleaseNotes {
     }
 
     public String generateNewContent(UpdateReleaseNotesTask task, HeaderProvider headerProvider) {
-        LOG.lifecycle("  Building new release notes based on {}", task.getReleaseNotesFile());
+        return generateNewContent(task, headerProvider.getHeader(task.getHeader()));
+    }
+
+    private String generateNewContent(UpdateReleaseNotesTask task, String headerMessage) {
+        StringWriter content = new StringWriter();
+        try {
+            writeNewContent(task, headerMessage, content);
+        } catch (IOException e) {
+            //StringWriter does not throw IOException
+            throw new RuntimeException("Problems generating release notes", e);
+        }
+        return content.toString();
+    }
+
+    /**
+     * Writes new release notes content to the output as it is formatted, see {@link #generateNewContent(UpdateReleaseNotesTask, HeaderProvider)}
+     */
+    public void writeNewContent(UpdateReleaseNotesTask task, HeaderProvider headerProvider, Writer output) throws IOException {
+        writeNewContent(task, headerProvider.getHeader(task.getHeader()), output);
+    }
 
-        String headerMessage = headerProvider.getHeader(task.getHeader());
+    private void writeNewContent(UpdateReleaseNotesTask task, String headerMessage, Writer output) throws IOException {
+        LOG.lifecycle("  Building new release notes based on {}", task.getReleaseNotesFile());
 
-        Collection<ReleaseNotesData> data = new ReleaseNotesSerializer().deserialize(IOUtil.readFully(task.getReleaseNotesData()));
+        Collection<ReleaseNotesData> data;
+        Reader reader = IOUtil.bufferedReader(task.getReleaseNotesData());
+        try {
+            data = new ReleaseNotesSerializer().deserialize(reader);
+        } finally {
+            IOUtil.close(reader);
+        }
 
         String vcsCommitTemplate = getVcsCommitTemplate(task);
 
@@ -82,11 +125,11 @@ public class UpdateReleaseNotes {
         }
 
         Map<String, Contributor> contributorsMap = contributorsMap(task.getContributors(), contributorsFromGitHub, task.getDevelopers());
-        String notes = ReleaseNotesFormatters.detailedFormatter(headerMessage,
+        ReleaseNotesFormatters.detailedFormatter(headerMessage,
             "", task.getGitHubLabelMapping(), vcsCommitTemplate, task.getPublicationRepository(), contributorsMap, task.isEmphasizeVersion())
-            .formatReleaseNotes(data);
+            .formatReleaseNotes(data, output);
 
-        return notes + "\n\n";
+        output.write("\n\n");
     }
 
     private String getVcsCommitTemplate(UpdateReleaseNotesTask task) {
@@ -99,6 +142,8 @@ public class UpdateReleaseNotes {
     }
 
     public String getReleaseNotesUrl(UpdateReleaseNotesTask task, String branch) {
-        return  task.getGitHubUrl() + "/" + task.getGitHubRepository() + "/blob/" + branch + "/" + task.getProject().relativePath(task.getReleaseNotesFile());
+        File releaseNotes = task.getFragmentsDir() != null ?
+            new ReleaseNotesFragments(task.getFragmentsDir()).getFragmentFile(task.getVersion()) : task.getReleaseNotesFile();
+        return  task.getGitHubUrl() + "/" + task.getGitHubRepository() + "/blob/" + branch + "/" + task.getProject().relativePath(releaseNotes);
     }
 }
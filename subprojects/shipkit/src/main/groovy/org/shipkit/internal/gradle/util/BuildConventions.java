@@ -16,6 +16,62 @@ public class BuildConventions {
         return outputFile(project.getRootProject(), "all-contributors.json");
     }
 
+    /**
+     * Returns directory for caching GitHub API responses.
+     * It is located in Gradle user home so that the cache survives 'clean' and is shared between projects.
+     */
+    public static File gitHubResponseCacheDir(Project project) {
+        return new File(project.getGradle().getGradleUserHomeDir(), "caches/shipkit/github-responses");
+    }
+
+    /**
+     * Returns file for caching GitHub user profiles of contributors.
+     * It is located in Gradle user home so that the cache survives 'clean' and is shared between projects.
+     */
+    public static File gitHubUserCacheFile(Project project) {
+        return new File(project.getGradle().getGradleUserHomeDir(), "caches/shipkit/github-users.json");
+    }
+
+    /**
+     * Returns directory for checkpoints of contributors synchronization with GitHub.
+     * It is located in Gradle user home so that the checkpoints survive 'clean'.
+     */
+    public static File contributorsCheckpointDir(Project project) {
+        return new File(project.getGradle().getGradleUserHomeDir(), "caches/shipkit/contributors");
+    }
+
+    /**
+     * Returns directory for caching artifacts of previous releases.
+     * It is located in Gradle user home so that released artifacts are downloaded once and shared between projects.
+     */
+    public static File artifactCacheDir(Project project) {
+        return new File(project.getGradle().getGradleUserHomeDir(), "caches/shipkit/artifacts");
+    }
+
+    /**
+     * Returns directory for mirrors of cloned git repositories.
+     * It is located in Gradle user home so that the repositories are downloaded once and updated incrementally.
+     */
+    public static File gitMirrorCacheDir(Project project) {
+        return new File(project.getGradle().getGradleUserHomeDir(), "caches/shipkit/git-mirrors");
+    }
+
+    /**
+     * Returns directory for storing release notes data of already released versions.
+     * It is located in Gradle user home so that the data survives 'clean'.
+     */
+    public static File releaseNotesStoreDir(Project project) {
+        return new File(project.getGradle().getGradleUserHomeDir(), "caches/shipkit/release-notes");
+    }
+
+    /**
+     * Returns file that builds creating pull requests use to space out the requests.
+     * It is located in Gradle user home so that it is shared by builds running concurrently.
+     */
+    public static File pullRequestPacingFile(Project project) {
+        return new File(project.getGradle().getGradleUserHomeDir(), "caches/shipkit/pull-request-pacing.bin");
+    }
+
     /**
      * Returns file object in a standard location where we put other output files generated during the build.
      */
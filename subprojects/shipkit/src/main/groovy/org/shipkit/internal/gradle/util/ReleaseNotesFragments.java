@@ -0,0 +1,140 @@
+package org.shipkit.internal.gradle.util;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.notes.header.HeaderRemover;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Release notes kept as separate fragment files, one per version, instead of a single markdown file.
+ * Adding release notes of a new version writes only the new fragment and appends a line to the index,
+ * existing release notes are not read nor rewritten.
+ * The complete release notes are assembled by streaming the fragments, see {@link #writeAll(Writer)}.
+ * <p>
+ * Layout of the fragments directory:
+ * <ul>
+ *     <li>'{version}.md' - release notes of the version</li>
+ *     <li>'index.txt' - names of the fragments, one per line, the oldest version first</li>
+ * </ul>
+ */
+public class ReleaseNotesFragments {
+
+    private static final Logger LOG = Logging.getLogger(ReleaseNotesFragments.class);
+
+    static final String INDEX_FILE = "index.txt";
+    static final String PREVIOUS_RELEASES_FRAGMENT = "previous-releases.md";
+
+    private final File fragmentsDir;
+
+    public ReleaseNotesFragments(File fragmentsDir) {
+        this.fragmentsDir = fragmentsDir;
+    }
+
+    /**
+     * Fragment file with release notes of given version
+     */
+    public File getFragmentFile(String version) {
+        //versions are simple strings like "1.2.3" but the file name should be safe regardless
+        return new File(fragmentsDir, version.replaceAll("[^A-Za-z0-9._-]", "_") + ".md");
+    }
+
+    /**
+     * Moves release notes from the single release notes file to the oldest fragment, so that they are not lost
+     * when a project switches to fragments. Does nothing when the fragments already exist or the file does not exist.
+     */
+    public void importReleaseNotes(File releaseNotesFile) {
+        if (getIndexFile().isFile() || !releaseNotesFile.isFile()) {
+            return;
+        }
+        String content = HeaderRemover.removeHeaderIfExist(IOUtil.readFully(releaseNotesFile));
+        if (content.trim().isEmpty()) {
+            return;
+        }
+        LOG.lifecycle("  Importing existing release notes from {} to {}", releaseNotesFile, fragmentsDir);
+        IOUtil.writeFile(new File(fragmentsDir, PREVIOUS_RELEASES_FRAGMENT), content);
+        appendToIndex(PREVIOUS_RELEASES_FRAGMENT);
+    }
+
+    /**
+     * Writes release notes of the version to its fragment and appends the fragment to the index.
+     * If the version already has a fragment (for example, the release is repeated), the fragment is replaced.
+     *
+     * @return the fragment file
+     */
+    public File addVersion(String version, String content) {
+        File fragment = getFragmentFile(version);
+        boolean exists = fragment.isFile();
+        IOUtil.writeFile(fragment, content);
+        if (!exists) {
+            appendToIndex(fragment.getName());
+        }
+        return fragment;
+    }
+
+    /**
+     * Writes release notes of all versions to the output, the newest version first.
+     * Fragments are streamed one by one, they are never loaded to memory together.
+     * The output is not closed.
+     */
+    public void writeAll(Writer output) throws IOException {
+        List<String> fragments = readIndex();
+        char[] buffer = new char[8192];
+        for (int i = fragments.size() - 1; i >= 0; i--) {
+            File fragment = new File(fragmentsDir, fragments.get(i));
+            if (!fragment.isFile()) {
+                LOG.warn("Release notes fragment {} listed in {} does not exist, skipping it", fragment, getIndexFile());
+                continue;
+            }
+            Reader reader = IOUtil.bufferedReader(fragment);
+            try {
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    output.write(buffer, 0, read);
+                }
+            } finally {
+                IOUtil.close(reader);
+            }
+        }
+    }
+
+    private List<String> readIndex() {
+        List<String> result = new ArrayList<String>();
+        if (!getIndexFile().isFile()) {
+            return result;
+        }
+        for (String line : IOUtil.readFully(getIndexFile()).split("\n")) {
+            //the line may be incomplete when the build was killed while appending
+            if (!line.trim().isEmpty()) {
+                result.add(line.trim());
+            }
+        }
+        return result;
+    }
+
+    private void appendToIndex(String fragmentName) {
+        File index = getIndexFile();
+        Writer writer = null;
+        try {
+            index.getParentFile().mkdirs();
+            writer = new OutputStreamWriter(new FileOutputStream(index, true), "UTF-8");
+            writer.write(fragmentName + "\n");
+        } catch (IOException e) {
+            throw new RuntimeException("Problems appending to release notes index: " + index, e);
+        } finally {
+            IOUtil.close(writer);
+        }
+    }
+
+    private File getIndexFile() {
+        return new File(fragmentsDir, INDEX_FILE);
+    }
+}
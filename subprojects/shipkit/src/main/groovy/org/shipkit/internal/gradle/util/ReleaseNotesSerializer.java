@@ -9,8 +9,14 @@ import org.shipkit.internal.notes.internal.DefaultReleaseNotesData;
 import org.shipkit.internal.notes.model.ContributionSet;
 import org.shipkit.internal.notes.model.Improvement;
 import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.util.JsonArrayReader;
+import org.shipkit.internal.notes.util.JsonUtil;
 import org.shipkit.internal.notes.vcs.DefaultContributionSetSerializer;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
@@ -30,17 +36,21 @@ public class ReleaseNotesSerializer {
     }
 
     public String serialize(Collection<ReleaseNotesData> releaseNotes) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("[");
-        final Iterator<ReleaseNotesData> iterator = releaseNotes.iterator();
-        while (iterator.hasNext()) {
-            stringBuilder.append(iterator.next().toJson());
-            if (iterator.hasNext()) {
-                stringBuilder.append(",");
-            }
+        StringWriter writer = new StringWriter();
+        try {
+            serialize(releaseNotes, writer);
+        } catch (IOException e) {
+            //StringWriter does not throw IOException
+            throw new RuntimeException(e);
         }
-        stringBuilder.append("]");
-        return stringBuilder.toString();
+        return writer.toString();
+    }
+
+    /**
+     * Writes release notes data straight to the writer, without building the whole JSON in memory
+     */
+    public void serialize(Collection<ReleaseNotesData> releaseNotes, Writer writer) throws IOException {
+        JsonUtil.writeArray(releaseNotes, writer);
     }
 
     public Collection<ReleaseNotesData> deserialize(String jsonData) {
@@ -52,27 +62,48 @@ public class ReleaseNotesSerializer {
         }
     }
 
+    /**
+     * Reads release notes data element by element, without building the whole {@link JsonArray} in memory
+     */
+    public Collection<ReleaseNotesData> deserialize(Reader reader) {
+        Collection<ReleaseNotesData> result = new LinkedList<ReleaseNotesData>();
+        JsonArrayReader arrayReader = new JsonArrayReader(reader);
+        String element = null;
+        try {
+            while ((element = arrayReader.nextElement()) != null) {
+                result.add(deserialize((JsonObject) Jsoner.deserialize(element)));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Can't read release notes data", e);
+        } catch (DeserializationException e) {
+            throw new RuntimeException("Can't deserialize JSON: " + element, e);
+        }
+        return result;
+    }
+
     public Collection<ReleaseNotesData> deserialize(JsonArray jsonArray) {
         Collection<ReleaseNotesData> result = new LinkedList<ReleaseNotesData>();
         final Iterator<Object> iterator = jsonArray.iterator();
         while (iterator.hasNext()) {
-            final JsonObject jsonObject = (JsonObject) iterator.next();
-            String version = jsonObject.getString("version");
-            Date date = new Date(jsonObject.getLong("date"));
-            ContributionSet contributionSet = defaultContributionSetSerializer.deserialize((JsonObject) jsonObject.get("contributions"));
-            final Collection<JsonObject> improvementsJsonObjectCollection = jsonObject.getCollection("improvements");
-            final Iterator<JsonObject> improvementsIterator = improvementsJsonObjectCollection.iterator();
-            Collection<Improvement> improvements = new LinkedList<Improvement>();
-            while (improvementsIterator.hasNext()) {
-                final JsonObject next = improvementsIterator.next();
-                improvements.add(defaultImprovementSerializer.deserialize(next));
-            }
-            String previousVersionTag = jsonObject.getString("previousVersionTag");
-            String thisVersionTag = jsonObject.getString("thisVersionTag");
-
-            final DefaultReleaseNotesData releaseNotesData = new DefaultReleaseNotesData(version, date, contributionSet, improvements, previousVersionTag, thisVersionTag);
-            result.add(releaseNotesData);
+            result.add(deserialize((JsonObject) iterator.next()));
         }
         return result;
     }
+
+    public ReleaseNotesData deserialize(JsonObject jsonObject) {
+        String version = jsonObject.getString("version");
+        Date date = new Date(jsonObject.getLong("date"));
+        ContributionSet contributionSet = defaultContributionSetSerializer.deserialize((JsonObject) jsonObject.get("contributions"));
+        final Collection<JsonObject> improvementsJsonObjectCollection = jsonObject.getCollection("improvements");
+        final Iterator<JsonObject> improvementsIterator = improvementsJsonObjectCollection.iterator();
+        Collection<Improvement> improvements = new LinkedList<Improvement>();
+        while (improvementsIterator.hasNext()) {
+            final JsonObject next = improvementsIterator.next();
+            improvements.add(defaultImprovementSerializer.deserialize(next));
+        }
+        String previousVersionTag = jsonObject.getString("previousVersionTag");
+        String thisVersionTag = jsonObject.getString("thisVersionTag");
+
+        return new DefaultReleaseNotesData(version, date, contributionSet, improvements, previousVersionTag, thisVersionTag);
+    }
 }
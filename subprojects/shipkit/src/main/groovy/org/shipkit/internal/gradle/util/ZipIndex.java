@@ -0,0 +1,410 @@
+package org.shipkit.internal.gradle.util;
+
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Lightweight, read-only index of a zip archive.
+ * Only the central directory is read and parsed when the index is opened.
+ * Entry content is read on demand with positional reads of the file channel.
+ * The archive is not memory mapped so that the file is released as soon as the index is closed,
+ * memory mapped files stay locked on Windows until the mapping is garbage collected.
+ * <p>
+ * Unlike {@link java.util.zip.ZipFile}, one index can be shared by all code that needs to read the same archive
+ * and it can be read concurrently by many threads.
+ */
+public class ZipIndex implements Closeable {
+
+    public static final int STORED = 0;
+    public static final int DEFLATED = 8;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_FIELD = 0x0001;
+
+    private static final int LOCAL_HEADER_LENGTH = 30;
+    private static final int CENTRAL_HEADER_LENGTH = 46;
+    private static final int END_LENGTH = 22;
+    private static final int ZIP64_LOCATOR_LENGTH = 20;
+    private static final int ZIP64_END_LENGTH = 56;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final String name;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final Map<String, Entry> entries;
+
+    private ZipIndex(String name, RandomAccessFile file) throws IOException {
+        this.name = name;
+        this.file = file;
+        this.channel = file.getChannel();
+        try {
+            this.entries = readCentralDirectory();
+        } catch (IndexOutOfBoundsException e) {
+            throw new ZipException("Malformed central directory of " + name);
+        }
+    }
+
+    /**
+     * Opens the index of given zip archive. Close the index when done.
+     */
+    public static ZipIndex open(File zipFile) {
+        RandomAccessFile file = null;
+        try {
+            file = new RandomAccessFile(zipFile, "r");
+            return new ZipIndex(zipFile.getPath(), file);
+        } catch (IOException e) {
+            IOUtil.closeQuietly(file);
+            throw new RuntimeException("Could not open zip file " + zipFile, e);
+        }
+    }
+
+    /**
+     * Path of the archive
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Names of all entries, in the order of the central directory
+     */
+    public Set<String> getEntryNames() {
+        return new LinkedHashSet<String>(entries.keySet());
+    }
+
+    /**
+     * Nullable, returns the entry with given name or null if the archive does not contain it
+     */
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    public boolean containsEntry(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Returns the stream of raw (compressed, unless the entry is {@link #STORED}) content of the entry.
+     * The content is read in chunks as the stream is consumed, streams of many entries can be read concurrently.
+     * The caller is responsible for closing the stream.
+     */
+    public InputStream getRawInputStream(Entry entry) throws IOException {
+        return new RawInputStream(entry, getContentOffset(entry), false);
+    }
+
+    /**
+     * Returns the stream of uncompressed content of the entry. The caller is responsible for closing the stream.
+     */
+    public InputStream getInputStream(Entry entry) throws IOException {
+        if (entry.method == STORED) {
+            return getRawInputStream(entry);
+        }
+        if (entry.method == DEFLATED) {
+            //'nowrap' inflater needs an extra dummy byte at the end of the input
+            return new EntryInputStream(new RawInputStream(entry, getContentOffset(entry), true), new Inflater(true));
+        }
+        throw new ZipException("Unsupported compression method " + entry.method + " of entry " + entry.name + " in " + name);
+    }
+
+    /**
+     * Reads content of the entry as UTF-8 text
+     */
+    public String readEntryContent(String entryName) {
+        Entry entry = getEntry(entryName);
+        if (entry == null) {
+            throw new RuntimeException("Could not find entry " + entryName + " in file " + name);
+        }
+        try {
+            return IOUtil.readFully(getInputStream(entry));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read entry " + entryName + " in file " + name, e);
+        }
+    }
+
+    /**
+     * Closes the file
+     */
+    public void close() throws IOException {
+        file.close();
+    }
+
+    /**
+     * Content of the entry follows its local header, which may have different extra fields than the central directory
+     */
+    private long getContentOffset(Entry entry) throws IOException {
+        ByteBuffer header = read(entry.localHeaderOffset, LOCAL_HEADER_LENGTH);
+        if (header == null || header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local header of entry " + entry.name + " in " + name);
+        }
+        int nameLength = header.getShort(26) & 0xFFFF;
+        int extraLength = header.getShort(28) & 0xFFFF;
+        return entry.localHeaderOffset + LOCAL_HEADER_LENGTH + nameLength + extraLength;
+    }
+
+    /**
+     * Nullable, reads given number of bytes at the position of the archive to a new buffer.
+     * Returns null when the archive ends before. Positional reads do not affect other threads reading the archive.
+     */
+    private ByteBuffer read(long position, int length) throws IOException {
+        if (position < 0) {
+            return null;
+        }
+        ByteBuffer b = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (b.hasRemaining()) {
+            if (channel.read(b, position + b.position()) == -1) {
+                return null;
+            }
+        }
+        b.flip();
+        return b;
+    }
+
+    private Map<String, Entry> readCentralDirectory() throws IOException {
+        //only the end of the archive and the central directory are read, not the content of the entries
+        long size = channel.size();
+        int tailLength = (int) Math.min(size, END_LENGTH + MAX_COMMENT_LENGTH + ZIP64_LOCATOR_LENGTH);
+        long tailStart = size - tailLength;
+        ByteBuffer tail = read(tailStart, tailLength);
+        int end = findEnd(tail);
+        long centralDirectorySize = tail.getInt(end + 12) & ZIP64_MAGIC;
+        long centralDirectoryOffset = tail.getInt(end + 16) & ZIP64_MAGIC;
+
+        int locator = end - ZIP64_LOCATOR_LENGTH;
+        if (locator >= 0 && tail.getInt(locator) == ZIP64_LOCATOR_SIGNATURE) {
+            ByteBuffer zip64End = read(tail.getLong(locator + 8), ZIP64_END_LENGTH);
+            if (zip64End == null || zip64End.getInt(0) != ZIP64_END_SIGNATURE) {
+                throw new ZipException("Invalid zip64 end of central directory record in " + name);
+            }
+            centralDirectorySize = zip64End.getLong(40);
+            centralDirectoryOffset = zip64End.getLong(48);
+        }
+
+        ByteBuffer b = read(centralDirectoryOffset, toInt(centralDirectorySize));
+        if (b == null) {
+            throw new ZipException("Invalid central directory of " + name);
+        }
+        Map<String, Entry> result = new LinkedHashMap<String, Entry>();
+        int position = 0;
+        int centralDirectoryEnd = b.limit();
+        while (position + CENTRAL_HEADER_LENGTH <= centralDirectoryEnd) {
+            if (b.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("Invalid central directory header at offset " + (centralDirectoryOffset + position) + " in " + name);
+            }
+            int method = b.getShort(position + 10) & 0xFFFF;
+            long crc = b.getInt(position + 16) & ZIP64_MAGIC;
+            long compressedSize = b.getInt(position + 20) & ZIP64_MAGIC;
+            long entrySize = b.getInt(position + 24) & ZIP64_MAGIC;
+            int nameLength = b.getShort(position + 28) & 0xFFFF;
+            int extraLength = b.getShort(position + 30) & 0xFFFF;
+            int commentLength = b.getShort(position + 32) & 0xFFFF;
+            long localHeaderOffset = b.getInt(position + 42) & ZIP64_MAGIC;
+
+            int nameStart = position + CENTRAL_HEADER_LENGTH;
+            String entryName = decode(b, nameStart, nameLength);
+
+            //zip64 extra field contains only the values that did not fit, in this order
+            int extra = findExtraField(b, nameStart + nameLength, extraLength, ZIP64_EXTRA_FIELD);
+            if (extra != -1) {
+                if (entrySize == ZIP64_MAGIC) {
+                    entrySize = b.getLong(extra);
+                    extra += 8;
+                }
+                if (compressedSize == ZIP64_MAGIC) {
+                    compressedSize = b.getLong(extra);
+                    extra += 8;
+                }
+                if (localHeaderOffset == ZIP64_MAGIC) {
+                    localHeaderOffset = b.getLong(extra);
+                }
+            }
+
+            if (!result.containsKey(entryName)) {
+                result.put(entryName, new Entry(entryName, method, crc, compressedSize, entrySize, localHeaderOffset));
+            }
+            position = nameStart + nameLength + extraLength + commentLength;
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private int findEnd(ByteBuffer b) throws ZipException {
+        int lowest = Math.max(0, b.limit() - END_LENGTH - MAX_COMMENT_LENGTH);
+        for (int i = b.limit() - END_LENGTH; i >= lowest; i--) {
+            if (b.getInt(i) == END_SIGNATURE) {
+                return i;
+            }
+        }
+        throw new ZipException("End of central directory not found, " + name + " is not a zip file");
+    }
+
+    /**
+     * Returns the position of the data of given extra field or -1 when the field is not present
+     */
+    private static int findExtraField(ByteBuffer b, int start, int length, int id) {
+        int position = start;
+        while (position + 4 <= start + length) {
+            int fieldId = b.getShort(position) & 0xFFFF;
+            int fieldLength = b.getShort(position + 2) & 0xFFFF;
+            if (fieldId == id) {
+                return position + 4;
+            }
+            position += 4 + fieldLength;
+        }
+        return -1;
+    }
+
+    private static String decode(ByteBuffer b, int start, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer d = b.duplicate();
+        d.position(start);
+        d.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private int toInt(long value) throws ZipException {
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new ZipException("Offset " + value + " is out of supported range in " + name);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Entry of the central directory
+     */
+    public static class Entry {
+        private final String name;
+        private final int method;
+        private final long crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        Entry(String name, int method, long crc, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Compression method, {@link #STORED} or {@link #DEFLATED}
+         */
+        public int getMethod() {
+            return method;
+        }
+
+        public long getCrc() {
+            return crc;
+        }
+
+        public long getCompressedSize() {
+            return compressedSize;
+        }
+
+        /**
+         * Uncompressed size
+         */
+        public long getSize() {
+            return size;
+        }
+
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Reads the content directly to the caller's array with positional reads,
+     * so that no other buffer is needed and other threads reading the archive are not affected
+     */
+    private class RawInputStream extends InputStream {
+        private final Entry entry;
+        private final long end;
+        private long position;
+        private boolean dummyByte;
+
+        RawInputStream(Entry entry, long start, boolean dummyByte) {
+            this.entry = entry;
+            this.position = start;
+            this.end = start + entry.compressedSize;
+            this.dummyByte = dummyByte;
+        }
+
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= end) {
+                if (dummyByte) {
+                    dummyByte = false;
+                    bytes[offset] = 0;
+                    return 1;
+                }
+                return -1;
+            }
+            int count = (int) Math.min(length, end - position);
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, count), position);
+            if (read == -1) {
+                throw new ZipException("Truncated content of entry " + entry.name + " in " + name);
+            }
+            position += read;
+            return read;
+        }
+
+        public int available() {
+            return (int) Math.min(end - position, Integer.MAX_VALUE);
+        }
+    }
+
+    private static class EntryInputStream extends InflaterInputStream {
+        private final Inflater inflater;
+        private boolean closed;
+
+        EntryInputStream(InputStream in, Inflater inflater) {
+            super(in, inflater, 8192);
+            this.inflater = inflater;
+        }
+
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                super.close();
+                inflater.end();
+            }
+        }
+    }
+}
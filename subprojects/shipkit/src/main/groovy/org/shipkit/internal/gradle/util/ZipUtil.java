@@ -1,7 +1,5 @@
 package org.shipkit.internal.gradle.util;
 
-import org.shipkit.internal.notes.util.IOUtil;
-
 import java.io.File;
 import java.io.IOException;
 import java.util.Enumeration;
@@ -21,18 +19,12 @@ public class ZipUtil {
     }
 
     public static boolean fileContainsEntry(File file, String entry) {
-        ZipFile zip = null;
+        ZipIndex zip = null;
         try {
-            zip = openZipFile(file);
-            return zip.getEntry(entry) != null;
+            zip = ZipIndex.open(file);
+            return zip.containsEntry(entry);
         } finally {
-            if (zip != null) {
-                try {
-                    zip.close();
-                } catch (IOException e) {
-                    throw new RuntimeException("Could not close zip file " + file, e);
-                }
-            }
+            closeZipIndex(zip);
         }
     }
 
@@ -46,6 +38,16 @@ public class ZipUtil {
         }
     }
 
+    public static void closeZipIndex(ZipIndex index) {
+        try {
+            if (index != null) {
+                index.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not close zip file " + index.getName(), e);
+        }
+    }
+
     public static Set<String> extractEntries(ZipFile file) {
         Set<String> set = new LinkedHashSet<String>();
         for (Enumeration e = file.entries(); e.hasMoreElements();) {
@@ -55,15 +57,12 @@ public class ZipUtil {
     }
 
     public static String readEntryContent(File file, String entry) {
-        ZipFile zip = null;
+        ZipIndex zip = null;
         try {
-            zip = openZipFile(file);
-            return IOUtil.readFully(zip.getInputStream(zip.getEntry(entry)));
-        } catch (IOException e) {
-            throw new RuntimeException("Could not read entry " + entry + " in file " + file, e);
+            zip = ZipIndex.open(file);
+            return zip.readEntryContent(entry);
         } finally {
-            ZipUtil.closeZipFile(zip);
-
+            closeZipIndex(zip);
         }
     }
 }
@@ -11,11 +11,14 @@ class CreatePullRequest {
 
     private static final Logger LOG = Logging.getLogger(CreatePullRequest.class);
 
+    //also used to detect created pull request in the output of downstream upgrade build
+    static final String CREATING_PULL_REQUEST = "Creating a pull request";
+
     public void createPullRequest(CreatePullRequestTask task) throws IOException {
         createPullRequest(task, new GitHubApi(task.getGitHubApiUrl(), task.getAuthToken()));
     }
 
-    public void createPullRequest(CreatePullRequestTask task, GitHubApi gitHubApi) throws IOException {
+    public void createPullRequest(final CreatePullRequestTask task, final GitHubApi gitHubApi) throws IOException {
         if (task.isDryRun()) {
             LOG.lifecycle("  Skipping pull request creation due to dryRun = true");
             return;
@@ -24,10 +27,10 @@ class CreatePullRequest {
         String headBranch = getHeadBranch(task.getForkRepositoryName(), task.getVersionBranch());
 
         IncubatingWarning.warn("creating pull requests");
-        LOG.lifecycle("  Creating a pull request of title '{}' in repository '{}' between base = '{}' and head = '{}'.",
+        LOG.lifecycle("  " + CREATING_PULL_REQUEST + " of title '{}' in repository '{}' between base = '{}' and head = '{}'.",
             task.getPullRequestTitle(), task.getUpstreamRepositoryName(), task.getVersionUpgrade().getBaseBranch(), headBranch);
 
-        String body = "{" +
+        final String body = "{" +
             "  \"title\": \"" + task.getPullRequestTitle() + "\"," +
             "  \"body\": \"" + task.getPullRequestDescription() + "\"," +
             "  \"head\": \"" + headBranch + "\"," +
@@ -35,7 +38,16 @@ class CreatePullRequest {
             "  \"maintainer_can_modify\": true" +
             "}";
 
-        gitHubApi.post("/repos/" + task.getUpstreamRepositoryName() + "/pulls", body);
+        PullRequestPacer.Request<String> request = new PullRequestPacer.Request<String>() {
+            public String run() throws IOException {
+                return gitHubApi.post("/repos/" + task.getUpstreamRepositoryName() + "/pulls", body);
+            }
+        };
+        if (task.getPacingFile() != null) {
+            new PullRequestPacer(task.getPacingFile(), PullRequestPacer.DEFAULT_INTERVAL_MILLIS).pace(request);
+        } else {
+            request.run();
+        }
     }
 
 
@@ -4,6 +4,7 @@ import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.TaskAction;
 
+import java.io.File;
 import java.io.IOException;
 
 /**
@@ -27,6 +28,7 @@ public class CreatePullRequestTask extends DefaultTask {
 
     private boolean dryRun;
     private UpgradeDependencyExtension versionUpgrade;
+    private File pacingFile;
 
     @TaskAction
     public void createPullRequest() throws IOException {
@@ -154,5 +156,18 @@ public class CreatePullRequestTask extends DefaultTask {
         this.pullRequestTitle = pullRequestTitle;
     }
 
+    /**
+     * Nullable, file that builds creating pull requests concurrently use to space out the requests
+     * so that GitHub abuse rate limit is not hit. When null, the pull request is created right away.
+     */
+    public File getPacingFile() {
+        return pacingFile;
+    }
 
+    /**
+     * See {@link #getPacingFile()}
+     */
+    public void setPacingFile(File pacingFile) {
+        this.pacingFile = pacingFile;
+    }
 }
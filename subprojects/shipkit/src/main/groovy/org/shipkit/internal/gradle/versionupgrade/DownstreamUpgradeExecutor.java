@@ -0,0 +1,176 @@
+package org.shipkit.internal.gradle.versionupgrade;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs upgrades of downstream repositories using a pool of workers and measures wall-clock time of every upgrade.
+ * Upgrades are independent, a failed upgrade does not stop the other ones.
+ */
+class DownstreamUpgradeExecutor {
+
+    private final int workers;
+
+    /**
+     * @param workers maximum number of upgrades executed concurrently
+     */
+    DownstreamUpgradeExecutor(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of workers must be at least 1 but was " + workers);
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * Runs the upgrades and waits until all of them complete
+     *
+     * @param upgrades upgrades by repository name, an upgrade fails by throwing an exception or an error
+     * @return results in the same order as the upgrades
+     */
+    List<UpgradeResult> execute(Map<String, Callable<Outcome>> upgrades) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, Math.max(upgrades.size(), 1)), new WorkerThreadFactory());
+        try {
+            List<Future<UpgradeResult>> futures = new ArrayList<Future<UpgradeResult>>();
+            for (final Map.Entry<String, Callable<Outcome>> upgrade : upgrades.entrySet()) {
+                futures.add(executor.submit(new Callable<UpgradeResult>() {
+                    public UpgradeResult call() {
+                        long start = System.currentTimeMillis();
+                        try {
+                            Outcome outcome = upgrade.getValue().call();
+                            return new UpgradeResult(upgrade.getKey(), outcome, System.currentTimeMillis() - start, null);
+                        } catch (Throwable e) {
+                            //errors (like AssertionError) fail only this upgrade, results of the other upgrades are kept
+                            return new UpgradeResult(upgrade.getKey(), Outcome.FAILED, System.currentTimeMillis() - start, e);
+                        }
+                    }
+                }));
+            }
+            List<UpgradeResult> results = new ArrayList<UpgradeResult>();
+            for (Future<UpgradeResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for downstream upgrades", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unexpected failure of downstream upgrade", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Human readable table with outcome and wall-clock time of every upgrade
+     */
+    static String summary(List<UpgradeResult> results) {
+        int width = "Repository".length();
+        for (UpgradeResult r : results) {
+            width = Math.max(width, r.getName().length());
+        }
+        int outcomeWidth = 0;
+        for (Outcome o : Outcome.values()) {
+            outcomeWidth = Math.max(outcomeWidth, o.toString().length());
+        }
+        StringBuilder sb = new StringBuilder("Downstream upgrades summary:");
+        row(sb, width, outcomeWidth, "Repository", "Result", "Duration");
+        for (UpgradeResult r : results) {
+            row(sb, width, outcomeWidth, r.getName(), r.getOutcome().toString(), formatDuration(r.getDurationMillis()));
+        }
+        return sb.toString();
+    }
+
+    private static void row(StringBuilder sb, int width, int outcomeWidth, String name, String outcome, String duration) {
+        sb.append("\n  ");
+        pad(sb, name, width);
+        sb.append("  ");
+        pad(sb, outcome, outcomeWidth);
+        sb.append("  ").append(duration);
+    }
+
+    private static void pad(StringBuilder sb, String value, int width) {
+        sb.append(value);
+        for (int i = value.length(); i < width; i++) {
+            sb.append(' ');
+        }
+    }
+
+    static String formatDuration(long millis) {
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(millis);
+        if (seconds < 60) {
+            return seconds + "s";
+        }
+        return (seconds / 60) + "m " + (seconds % 60) + "s";
+    }
+
+    enum Outcome {
+        PR_CREATED("PR created"),
+        PR_REUSED("PR reused"),
+        //the upgrade did not need a pull request, for example in dry run
+        NO_PR("no PR"),
+        FAILED("FAILED");
+
+        private final String description;
+
+        Outcome(String description) {
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    static class UpgradeResult {
+        private final String name;
+        private final Outcome outcome;
+        private final long durationMillis;
+        private final Throwable failure;
+
+        UpgradeResult(String name, Outcome outcome, long durationMillis, Throwable failure) {
+            this.name = name;
+            this.outcome = outcome;
+            this.durationMillis = durationMillis;
+            this.failure = failure;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Outcome getOutcome() {
+            return outcome;
+        }
+
+        long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * Nullable, the exception thrown by failed upgrade
+         */
+        Throwable getFailure() {
+            return failure;
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "shipkit-downstream-upgrade-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -14,6 +14,9 @@ class FindOpenPullRequest {
 
     private static final Logger LOG = Logging.getLogger(FindOpenPullRequest.class);
 
+    //also used to detect reused pull request in the output of downstream upgrade build
+    static final String FOUND_OPEN_PULL_REQUEST = "Found an open pull request";
+
     public String findOpenPullRequest(FindOpenPullRequestTask task) throws IOException, DeserializationException {
         return findOpenPullRequest(task.getUpstreamRepositoryName(), task.getVersionBranchRegex(),
             new GitHubApi(task.getGitHubApiUrl(), task.getAuthToken()));
@@ -28,7 +31,7 @@ class FindOpenPullRequest {
             JsonObject head = (JsonObject) ((JsonObject) pullRequest).get("head");
             String branchName = head.getString("ref");
             if (branchName.matches(versionBranchRegex)) {
-                LOG.lifecycle("  Found an open pull request with version upgrade on branch {}", branchName);
+                LOG.lifecycle("  " + FOUND_OPEN_PULL_REQUEST + " with version upgrade on branch {}", branchName);
                 return head.getString("ref");
             }
         }
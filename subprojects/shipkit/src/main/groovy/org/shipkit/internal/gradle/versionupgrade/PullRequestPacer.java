@@ -0,0 +1,88 @@
+package org.shipkit.internal.gradle.versionupgrade;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out pull request creations, also when they are made by concurrent builds,
+ * for example by downstream upgrades running in parallel (see {@link UpgradeDownstreamTask}).
+ * GitHub asks to create content serially and to wait at least a second between the requests,
+ * otherwise the requests are rejected by the abuse rate limit.
+ * <p>
+ * The builds coordinate through a lock on the shared state file that keeps the time of the last pull request creation.
+ */
+class PullRequestPacer {
+
+    private static final Logger LOG = Logging.getLogger(PullRequestPacer.class);
+
+    static final long DEFAULT_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(3);
+
+    //file locks are held by the whole JVM, threads of the same JVM need to be serialized separately
+    private static final Object JVM_LOCK = new Object();
+
+    private final File stateFile;
+    private final long intervalMillis;
+
+    /**
+     * @param stateFile file shared by the builds, keeps the time of the last pull request creation
+     * @param intervalMillis minimum time between pull request creations
+     */
+    PullRequestPacer(File stateFile, long intervalMillis) {
+        this.stateFile = stateFile;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Runs the request once the interval since the last request elapsed.
+     * Requests run one at a time, other builds wait until the request completes.
+     */
+    <T> T pace(Request<T> request) throws IOException {
+        synchronized (JVM_LOCK) {
+            stateFile.getParentFile().mkdirs();
+            RandomAccessFile file = new RandomAccessFile(stateFile, "rw");
+            try {
+                FileLock lock = file.getChannel().lock();
+                try {
+                    long last = file.length() >= 8 ? file.readLong() : 0;
+                    waitUntil(last + intervalMillis);
+                    try {
+                        return request.run();
+                    } finally {
+                        file.seek(0);
+                        file.writeLong(System.currentTimeMillis());
+                    }
+                } finally {
+                    lock.release();
+                }
+            } finally {
+                file.close();
+            }
+        }
+    }
+
+    private void waitUntil(long time) throws InterruptedIOException {
+        long wait = time - System.currentTimeMillis();
+        //a clock that moved back should not block for long
+        if (wait <= 0 || wait > intervalMillis) {
+            return;
+        }
+        LOG.lifecycle("  Waiting {} ms before creating pull request, to respect GitHub API rate limits", wait);
+        try {
+            Thread.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to create pull request");
+        }
+    }
+
+    public interface Request<T> {
+        T run() throws IOException;
+    }
+}
@@ -12,6 +12,7 @@ import org.shipkit.internal.gradle.git.GitOriginPlugin;
 import org.shipkit.internal.gradle.git.GitUrlInfo;
 import org.shipkit.internal.gradle.git.tasks.GitCheckOutTask;
 import org.shipkit.internal.gradle.git.tasks.GitPullTask;
+import org.shipkit.internal.gradle.util.BuildConventions;
 import org.shipkit.internal.gradle.util.GitUtil;
 import org.shipkit.internal.gradle.util.TaskMaker;
 import org.shipkit.internal.util.IncubatingWarning;
@@ -232,6 +233,7 @@ public class UpgradeDependencyPlugin implements Plugin<Project> {
                 task.setVersionUpgrade(upgradeDependencyExtension);
                 task.setPullRequestTitle(getPullRequestTitle(task));
                 task.setPullRequestDescription(getPullRequestDescription(task));
+                task.setPacingFile(BuildConventions.pullRequestPacingFile(project));
 
                 gitOriginPlugin.provideOriginRepo(task, new Action<String>() {
                     @Override
@@ -7,6 +7,7 @@ import java.util.List;
  */
 public class UpgradeDownstreamExtension {
     private List<String> repositories;
+    private int maxParallelUpgrades = 1;
 
     /**
      * List of all consumers repositories names, for which version upgrade should be produced.
@@ -22,4 +23,19 @@ public class UpgradeDownstreamExtension {
     public void setRepositories(List<String> repositories) {
         this.repositories = repositories;
     }
+
+    /**
+     * Maximum number of downstream repositories upgraded concurrently. Default is 1, repositories are upgraded one by one.
+     * See {@link UpgradeDownstreamTask#getMaxParallelUpgrades()}
+     */
+    public int getMaxParallelUpgrades() {
+        return maxParallelUpgrades;
+    }
+
+    /**
+     * See {@link #getMaxParallelUpgrades()}
+     */
+    public void setMaxParallelUpgrades(int maxParallelUpgrades) {
+        this.maxParallelUpgrades = maxParallelUpgrades;
+    }
 }
@@ -30,7 +30,8 @@ import static org.shipkit.internal.util.RepositoryNameUtil.repositoryNameToCapit
  * <ul>
  *     <li>clone{consumerRepository} - clones consumer repository into temporary directory</li>
  *     <li>upgrade{consumerRepository} - runs task performVersionUpgrade on consumerRepository</li>
- *     <li>upgradeDownstream - task aggregating all of the upgrade{consumerRepository} tasks</li>
+ *     <li>upgradeDownstream - {@link UpgradeDownstreamTask}, performs the upgrades of all consumer repositories,
+ *     up to 'maxParallelUpgrades' of them concurrently, and prints the results</li>
  * </ul>
  *
  * Plugin performs a version upgrade of the project that it's applied in, for all consumer repositories defined.
@@ -42,6 +43,8 @@ import static org.shipkit.internal.util.RepositoryNameUtil.repositoryNameToCapit
  *
  *      upgradeDownstream{
  *          repositories = ['wwilk/shipkit', 'wwilk/mockito']
+ *          //optional, number of repositories upgraded concurrently, default is 1
+ *          maxParallelUpgrades = 2
  *      }
  *
  * and then call:
@@ -60,9 +63,9 @@ public class UpgradeDownstreamPlugin implements Plugin<Project> {
 
         upgradeDownstreamExtension = project.getExtensions().create("upgradeDownstream", UpgradeDownstreamExtension.class);
 
-        final Task performAllUpdates = TaskMaker.task(project, UPGRADE_DOWNSTREAM_TASK, new Action<Task>() {
+        final UpgradeDownstreamTask performAllUpdates = TaskMaker.task(project, UPGRADE_DOWNSTREAM_TASK, UpgradeDownstreamTask.class, new Action<UpgradeDownstreamTask>() {
             @Override
-            public void execute(final Task task) {
+            public void execute(final UpgradeDownstreamTask task) {
                 task.setDescription("Performs dependency upgrade in all downstream repositories.");
             }
         });
@@ -72,17 +75,19 @@ public class UpgradeDownstreamPlugin implements Plugin<Project> {
             public void run() {
                 notNull(upgradeDownstreamExtension.getRepositories(),
                     "'upgradeDownstream.repositories'");
+                performAllUpdates.setMaxParallelUpgrades(upgradeDownstreamExtension.getMaxParallelUpgrades());
                 for (String consumerRepositoryName : upgradeDownstreamExtension.getRepositories()) {
                     Task cloneTask = CloneGitRepositoryTaskFactory.createCloneTask(project, conf.getGitHub().getUrl(), consumerRepositoryName);
-                    Task performUpdate = createProduceUpgradeTask(project, consumerRepositoryName);
+                    ShipkitExecTask performUpdate = createProduceUpgradeTask(project, consumerRepositoryName);
                     performUpdate.dependsOn(cloneTask);
                     performAllUpdates.dependsOn(performUpdate);
+                    performAllUpdates.addUpgrade(consumerRepositoryName, performUpdate);
                 }
             }
         });
     }
 
-    private Task createProduceUpgradeTask(final Project project, final String consumerRepository) {
+    private ShipkitExecTask createProduceUpgradeTask(final Project project, final String consumerRepository) {
         return TaskMaker.task(project, "upgrade" + repositoryNameToCapitalizedCamelCase(consumerRepository), ShipkitExecTask.class, new Action<ShipkitExecTask>() {
             @Override
             public void execute(final ShipkitExecTask task) {
@@ -0,0 +1,124 @@
+package org.shipkit.internal.gradle.versionupgrade;
+
+import org.gradle.api.Action;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.process.ExecSpec;
+import org.shipkit.gradle.exec.ExecCommand;
+import org.shipkit.gradle.exec.ShipkitExecTask;
+import org.shipkit.internal.exec.ExternalProcessStream;
+import org.shipkit.internal.gradle.exec.ExecCommandFactory;
+import org.shipkit.internal.gradle.exec.ShipkitExec;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Performs dependency upgrade in all downstream repositories using up to {@link #getMaxParallelUpgrades()} workers.
+ * Prints a table with the result of every upgrade (pull request created, reused or failed) and its wall-clock time.
+ * The task fails at the end when any upgrade failed.
+ * <p>
+ * Each upgrade runs a separate build that creates or updates the pull request.
+ * The builds space out pull request creations so that GitHub abuse rate limit is not hit,
+ * see {@link CreatePullRequestTask#getPacingFile()}.
+ */
+public class UpgradeDownstreamTask extends DefaultTask {
+
+    private static final Logger LOG = Logging.getLogger(UpgradeDownstreamTask.class);
+
+    private int maxParallelUpgrades = 1;
+    //upgrade tasks by repository name
+    private final Map<String, ShipkitExecTask> upgrades = new LinkedHashMap<String, ShipkitExecTask>();
+
+    /**
+     * Adds upgrade of the downstream repository. The upgrade task is skipped when this task runs
+     * because this task performs all the upgrades.
+     */
+    public void addUpgrade(String repositoryName, ShipkitExecTask upgrade) {
+        upgrades.put(repositoryName, upgrade);
+        upgrade.onlyIf(new Spec<Task>() {
+            public boolean isSatisfiedBy(Task task) {
+                return !getProject().getGradle().getTaskGraph().hasTask(UpgradeDownstreamTask.this);
+            }
+        });
+    }
+
+    @TaskAction
+    public void upgradeDownstream() {
+        //the project is looked up here, upgrades run in worker threads
+        final Project project = getProject();
+        Map<String, Callable<DownstreamUpgradeExecutor.Outcome>> runs = new LinkedHashMap<String, Callable<DownstreamUpgradeExecutor.Outcome>>();
+        for (final Map.Entry<String, ShipkitExecTask> upgrade : upgrades.entrySet()) {
+            runs.put(upgrade.getKey(), new Callable<DownstreamUpgradeExecutor.Outcome>() {
+                public DownstreamUpgradeExecutor.Outcome call() throws IOException {
+                    return runUpgrade(project, upgrade.getKey(), upgrade.getValue());
+                }
+            });
+        }
+
+        List<DownstreamUpgradeExecutor.UpgradeResult> results = new DownstreamUpgradeExecutor(maxParallelUpgrades).execute(runs);
+        LOG.lifecycle(DownstreamUpgradeExecutor.summary(results));
+
+        List<String> failed = new ArrayList<String>();
+        for (DownstreamUpgradeExecutor.UpgradeResult r : results) {
+            if (r.getOutcome() == DownstreamUpgradeExecutor.Outcome.FAILED) {
+                LOG.info("Upgrade of " + r.getName() + " failed", r.getFailure());
+                failed.add(r.getName());
+            }
+        }
+        if (!failed.isEmpty()) {
+            throw new GradleException("Downstream upgrades failed: " + failed + ". See the summary and the output of the upgrades above.");
+        }
+    }
+
+    private static DownstreamUpgradeExecutor.Outcome runUpgrade(Project project, String repositoryName, ShipkitExecTask upgrade) throws IOException {
+        //output of each upgrade is prefixed with the repository name so that concurrent upgrades can be told apart
+        final String prefix = "[" + repositoryName + "] ";
+        final UpgradeOutputScanner output = new UpgradeOutputScanner(new ExternalProcessStream(prefix, System.out));
+        final UpgradeOutputScanner error = new UpgradeOutputScanner(new ExternalProcessStream(prefix, System.err));
+
+        List<ExecCommand> commands = new ArrayList<ExecCommand>();
+        for (final ExecCommand command : upgrade.getExecCommands()) {
+            commands.add(ExecCommandFactory.execCommand(prefix, command.getDescription(),
+                new ArrayList<String>(command.getCommandLine()), new Action<ExecSpec>() {
+                    public void execute(ExecSpec spec) {
+                        command.getSetupAction().execute(spec);
+                        spec.setStandardOutput(output);
+                        spec.setErrorOutput(error);
+                    }
+                }));
+        }
+        try {
+            new ShipkitExec().execCommands(commands, project);
+        } finally {
+            output.close();
+            error.close();
+        }
+        return output.getOutcome();
+    }
+
+    /**
+     * Maximum number of downstream upgrades executed concurrently. Default is 1, upgrades run one by one.
+     * Each upgrade runs a separate Gradle build, consider memory and CPU of the machine when increasing the value.
+     */
+    public int getMaxParallelUpgrades() {
+        return maxParallelUpgrades;
+    }
+
+    /**
+     * See {@link #getMaxParallelUpgrades()}
+     */
+    public void setMaxParallelUpgrades(int maxParallelUpgrades) {
+        this.maxParallelUpgrades = maxParallelUpgrades;
+    }
+}
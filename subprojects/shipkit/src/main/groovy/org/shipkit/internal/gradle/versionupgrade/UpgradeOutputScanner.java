@@ -0,0 +1,66 @@
+package org.shipkit.internal.gradle.versionupgrade;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Scans the output of downstream upgrade build to find out if the pull request was created or reused.
+ * Output is passed to the delegate line by line so that lines of upgrades running concurrently do not get mixed.
+ */
+class UpgradeOutputScanner extends OutputStream {
+
+    //shared by all scanners so that whole lines are written
+    private static final Object OUTPUT_LOCK = new Object();
+
+    private final OutputStream delegate;
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private volatile boolean created;
+    private volatile boolean reused;
+
+    UpgradeOutputScanner(OutputStream delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void write(int b) throws IOException {
+        line.write(b);
+        if (b == '\n') {
+            writeLine();
+        }
+    }
+
+    /**
+     * Writes the last line that has no line separator
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (line.size() > 0) {
+            writeLine();
+        }
+    }
+
+    private void writeLine() throws IOException {
+        String text = line.toString();
+        if (text.contains(FindOpenPullRequest.FOUND_OPEN_PULL_REQUEST)) {
+            reused = true;
+        } else if (text.contains(CreatePullRequest.CREATING_PULL_REQUEST)) {
+            created = true;
+        }
+        synchronized (OUTPUT_LOCK) {
+            line.writeTo(delegate);
+            delegate.flush();
+        }
+        line.reset();
+    }
+
+    /**
+     * Outcome of the upgrade, based on the output scanned so far
+     */
+    DownstreamUpgradeExecutor.Outcome getOutcome() {
+        if (reused) {
+            return DownstreamUpgradeExecutor.Outcome.PR_REUSED;
+        }
+        return created ? DownstreamUpgradeExecutor.Outcome.PR_CREATED : DownstreamUpgradeExecutor.Outcome.NO_PR;
+    }
+}
@@ -1,6 +1,7 @@
 package org.shipkit.internal.notes.contributors.github;
 
 import org.shipkit.internal.notes.contributors.ContributorsSerializer;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 
 import java.io.File;
 
@@ -17,7 +18,33 @@ public class Contributors {
      * @param readOnlyAuthToken the GitHub auth token
      */
     public static GitHubContributorsProvider getGitHubContributorsProvider(String apiUrl, String repository, String readOnlyAuthToken) {
-        return new GitHubContributorsProvider(apiUrl, repository, readOnlyAuthToken);
+        return getGitHubContributorsProvider(apiUrl, repository, readOnlyAuthToken, new GitHubRequestExecutor());
+    }
+
+    /**
+     * Fetches contributors from GitHub, requests are executed by given executor which caches the responses and obeys the rate limit.
+     * See {@link #getGitHubContributorsProvider(String, String, String)}
+     *
+     * @param requestExecutor executes GitHub API requests
+     */
+    public static GitHubContributorsProvider getGitHubContributorsProvider(String apiUrl, String repository, String readOnlyAuthToken,
+                                                                           GitHubRequestExecutor requestExecutor) {
+        return getGitHubContributorsProvider(apiUrl, repository, readOnlyAuthToken, requestExecutor,
+            GitHubUserCache.disabled(), ContributorsCheckpoint.disabled());
+    }
+
+    /**
+     * Fetches contributors from GitHub, users found in the cache are not fetched
+     * and only the commits since the checkpoint are fetched when possible.
+     * See {@link #getGitHubContributorsProvider(String, String, String, GitHubRequestExecutor)}
+     *
+     * @param userCache cache of GitHub users, the caller needs to {@link GitHubUserCache#save()} it
+     * @param checkpoint checkpoint of the previous synchronization with GitHub
+     */
+    public static GitHubContributorsProvider getGitHubContributorsProvider(String apiUrl, String repository, String readOnlyAuthToken,
+                                                                           GitHubRequestExecutor requestExecutor, GitHubUserCache userCache,
+                                                                           ContributorsCheckpoint checkpoint) {
+        return new GitHubContributorsProvider(apiUrl, repository, readOnlyAuthToken, requestExecutor, userCache, checkpoint);
     }
 
     /**
@@ -0,0 +1,159 @@
+package org.shipkit.internal.notes.contributors.github;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.json.simple.JsonObject;
+import org.json.simple.Jsoner;
+import org.shipkit.internal.notes.contributors.ProjectContributorsSerializer;
+import org.shipkit.internal.notes.contributors.ProjectContributorsSet;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local checkpoint of contributors synchronization with GitHub. It keeps all contributors of the project,
+ * the newest commit they were synchronized up to and the time of the last full synchronization.
+ * <p>
+ * Full synchronization lists all contributors of the project, it is expensive for big projects.
+ * Between full synchronizations only the commits since the checkpoint are listed
+ * and their authors are added to the contributors, see {@link GitHubContributorsProvider}.
+ * The contributors endpoint does not return information about the number of contributions
+ * of recent contributors anyway, so the full synchronization only needs to run once in a while.
+ */
+public class ContributorsCheckpoint {
+
+    private static final Logger LOG = Logging.getLogger(ContributorsCheckpoint.class);
+
+    /**
+     * Default time after which all contributors are listed again
+     */
+    public static final long DEFAULT_FULL_SYNC_INTERVAL_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private static final String FORMAT = "{ \"commitSha\": %s, \"commitDate\": %s, \"fullSyncDate\": %s, \"contributors\": %s }";
+
+    private final File checkpointFile;
+    private final boolean forceFullSync;
+    private final long fullSyncIntervalMillis;
+
+    /**
+     * @param checkpointFile file where the checkpoint is stored, can be null - full synchronization happens every time then
+     * @param forceFullSync if all contributors should be listed regardless of the checkpoint
+     * @param fullSyncIntervalMillis time after which all contributors are listed again
+     */
+    public ContributorsCheckpoint(File checkpointFile, boolean forceFullSync, long fullSyncIntervalMillis) {
+        this.checkpointFile = checkpointFile;
+        this.forceFullSync = forceFullSync;
+        this.fullSyncIntervalMillis = fullSyncIntervalMillis;
+    }
+
+    /**
+     * Checkpoint that is never stored, all contributors are listed every time
+     */
+    public static ContributorsCheckpoint disabled() {
+        return new ContributorsCheckpoint(null, true, 0);
+    }
+
+    /**
+     * Nullable, returns the stored state or null if there is no state that can be synchronized incrementally
+     * and full synchronization is needed.
+     */
+    State load(Date now) {
+        if (checkpointFile == null || !checkpointFile.isFile()) {
+            return null;
+        }
+        if (forceFullSync) {
+            LOG.lifecycle("  Full synchronization of contributors was requested");
+            return null;
+        }
+        State state;
+        try {
+            JsonObject json = (JsonObject) Jsoner.deserialize(IOUtil.readFully(checkpointFile));
+            state = new State(new ProjectContributorsSerializer().deserialize(Jsoner.serialize(json.get("contributors"))),
+                json.getString("commitSha"), toDate(json.getLong("commitDate")), toDate(json.getLong("fullSyncDate")));
+        } catch (Exception e) {
+            LOG.info("Ignoring malformed contributors checkpoint " + checkpointFile, e);
+            return null;
+        }
+        if (state.getFullSyncDate() == null || now.getTime() - state.getFullSyncDate().getTime() > fullSyncIntervalMillis) {
+            LOG.lifecycle("  Last full synchronization of contributors is older than {} days", TimeUnit.MILLISECONDS.toDays(fullSyncIntervalMillis));
+            return null;
+        }
+        return state;
+    }
+
+    /**
+     * Stores the state, the next synchronization continues from it
+     */
+    void save(State state) {
+        if (checkpointFile == null) {
+            return;
+        }
+        String content = String.format(FORMAT,
+            state.getCommitSha() != null ? "\"" + Jsoner.escape(state.getCommitSha()) + "\"" : "null",
+            toJson(state.getCommitDate()), toJson(state.getFullSyncDate()),
+            new ProjectContributorsSerializer().serialize(state.getContributors()));
+        //the checkpoint is written to a temporary file and moved so that other builds never read incomplete file
+        File temp = new File(checkpointFile.getParentFile(), checkpointFile.getName() + "-" + UUID.randomUUID() + ".tmp");
+        try {
+            IOUtil.writeFile(temp, content);
+            checkpointFile.delete();
+            if (!temp.renameTo(checkpointFile)) {
+                throw new RuntimeException("Unable to move " + temp + " to " + checkpointFile);
+            }
+        } catch (RuntimeException e) {
+            //the checkpoint only speeds things up, the build should not fail when it cannot be written
+            LOG.warn("Unable to write contributors checkpoint: {}", checkpointFile, e);
+            temp.delete();
+        }
+    }
+
+    private static Date toDate(Long millis) {
+        return millis != null ? new Date(millis) : null;
+    }
+
+    private static String toJson(Date date) {
+        return date != null ? Long.toString(date.getTime()) : "null";
+    }
+
+    static class State {
+        private final ProjectContributorsSet contributors;
+        private final String commitSha;
+        private final Date commitDate;
+        private final Date fullSyncDate;
+
+        State(ProjectContributorsSet contributors, String commitSha, Date commitDate, Date fullSyncDate) {
+            this.contributors = contributors;
+            this.commitSha = commitSha;
+            this.commitDate = commitDate;
+            this.fullSyncDate = fullSyncDate;
+        }
+
+        ProjectContributorsSet getContributors() {
+            return contributors;
+        }
+
+        /**
+         * Nullable, id of the newest synchronized commit
+         */
+        String getCommitSha() {
+            return commitSha;
+        }
+
+        /**
+         * Nullable, committer date of the newest synchronized commit
+         */
+        Date getCommitDate() {
+            return commitDate;
+        }
+
+        /**
+         * Nullable, when all contributors were listed the last time
+         */
+        Date getFullSyncDate() {
+            return fullSyncDate;
+        }
+    }
+}
@@ -3,12 +3,24 @@ package org.shipkit.internal.notes.contributors.github;
 import org.json.simple.JsonObject;
 import org.shipkit.internal.notes.contributors.DefaultProjectContributor;
 import org.shipkit.internal.notes.model.ProjectContributor;
+import org.shipkit.internal.notes.util.JsonProjection;
 
 /**
  * Provides means to parse JsonObjects returned from calling GitHub API.
  */
 public class GitHubAllContributorsJson {
 
+    /**
+     * Fields of the project contribution that are used by {@link #toContributor(JsonObject, JsonObject)}
+     * and to fetch the user, by url or by login
+     */
+    static final JsonProjection CONTRIBUTOR_FIELDS = JsonProjection.fields("url", "login", "html_url", "contributions");
+
+    /**
+     * Fields of the user that are used by {@link #toContributor(JsonObject, JsonObject)}
+     */
+    static final JsonProjection USER_FIELDS = JsonProjection.fields("name", "login");
+
     /**
      * Parses GitHub JsonObject in accordance to the API
      * @param contributor Represent project contribution: https://developer.github.com/v3/repos/#list-contributors and
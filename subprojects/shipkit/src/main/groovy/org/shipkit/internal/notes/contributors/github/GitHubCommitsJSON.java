@@ -3,14 +3,29 @@ package org.shipkit.internal.notes.contributors.github;
 import org.json.simple.JsonObject;
 import org.shipkit.internal.notes.contributors.DefaultContributor;
 import org.shipkit.internal.notes.model.Contributor;
+import org.shipkit.internal.notes.util.JsonProjection;
 
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.Map;
+import java.util.TimeZone;
 
 /**
  * Provides means to parse JsonObjects returned from calling GitHub API.
  */
 public class GitHubCommitsJSON {
 
+    /**
+     * Fields of the commit that are used by {@link #toContributor(JsonObject)}, {@link #getSha(JsonObject)}
+     * and {@link #getCommitDate(JsonObject)}
+     */
+    static final JsonProjection COMMIT_FIELDS = JsonProjection.fields("sha")
+            .with("commit", JsonProjection.fields()
+                .with("author", JsonProjection.fields("name"))
+                .with("committer", JsonProjection.fields("date")))
+            .with("author", JsonProjection.fields("login", "html_url"));
+
     /**
      * Parses GitHub JsonObject in accordance to the API (https://developer.github.com/v3/repos/commits)
      */
@@ -25,4 +40,28 @@ public class GitHubCommitsJSON {
             return null;
         }
     }
+
+    /**
+     * Nullable, commit id
+     */
+    static String getSha(JsonObject commit) {
+        return commit.getString("sha");
+    }
+
+    /**
+     * Nullable, committer date of the commit, GitHub filters commits by this date
+     */
+    static Date getCommitDate(JsonObject commit) {
+        try {
+            String date = (String) ((Map) ((Map) commit.get("commit")).get("committer")).get("date");
+            //ISO 8601 in UTC, for example: 2017-05-05T14:22:03Z
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            return format.parse(date);
+        } catch (NullPointerException e) {
+            return null;
+        } catch (ParseException e) {
+            return null;
+        }
+    }
 }
@@ -2,35 +2,64 @@ package org.shipkit.internal.notes.contributors.github;
 
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
-import org.json.simple.DeserializationException;
 import org.json.simple.JsonObject;
-import org.shipkit.internal.notes.contributors.ConcurrentDispatcher;
 import org.shipkit.internal.notes.contributors.DefaultProjectContributorsSet;
 import org.shipkit.internal.notes.contributors.ProjectContributorsSet;
 import org.shipkit.internal.notes.model.ProjectContributor;
 import org.shipkit.internal.notes.util.Function;
 import org.shipkit.internal.notes.util.GitHubListFetcher;
 import org.shipkit.internal.notes.util.GitHubObjectFetcher;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Gets all contributors from the repository
  * https://developer.github.com/v3/repos/#list-contributors
+ * <p>
+ * Names of the contributors are taken from {@link GitHubUserCache} first.
+ * Users that are not cached are fetched with GitHub GraphQL API, one request for the whole page of contributors.
+ * When GraphQL API is not available (or it does not know the user) the users are fetched one by one with REST API.
  */
 class GitHubContributorsFetcher {
 
     private static final Logger LOG = Logging.getLogger(GitHubContributorsFetcher.class);
 
+    private final GitHubRequestExecutor requestExecutor;
+    private final GitHubUserCache userCache;
+    //null when GraphQL API is not used
+    private GitHubGraphQLUsersFetcher usersFetcher;
+
+    /**
+     * Fetcher that gets names of the contributors using REST API only, without caching
+     */
+    GitHubContributorsFetcher(GitHubRequestExecutor requestExecutor) {
+        this(requestExecutor, null, GitHubUserCache.disabled());
+    }
+
+    /**
+     * @param usersFetcher nullable, fetches names of the contributors in batches, REST API is used when null
+     * @param userCache cache of the users, consulted before any request is made
+     */
+    GitHubContributorsFetcher(GitHubRequestExecutor requestExecutor, GitHubGraphQLUsersFetcher usersFetcher, GitHubUserCache userCache) {
+        this.requestExecutor = requestExecutor;
+        this.usersFetcher = usersFetcher;
+        this.userCache = userCache;
+    }
+
     ProjectContributorsSet fetchContributorsForProject(String apiUrl, String repository, String readOnlyAuthToken) {
         LOG.lifecycle("  Querying GitHub API for all contributors for project");
         ProjectContributorsSet result = new DefaultProjectContributorsSet();
 
         try {
             GitHubProjectContributors contributors =
-                    GitHubProjectContributors.authenticatingWith(apiUrl, repository, readOnlyAuthToken).build();
+                    GitHubProjectContributors.authenticatingWith(apiUrl, repository, readOnlyAuthToken).build(requestExecutor);
 
             while (contributors.hasNextPage()) {
                 List<JsonObject> page = contributors.nextPage();
@@ -43,13 +72,80 @@ class GitHubContributorsFetcher {
         return result;
     }
 
-    private Set<ProjectContributor> extractContributors(List<JsonObject> page, final String readOnlyAuthToken) throws IOException, DeserializationException {
+    private Set<ProjectContributor> extractContributors(List<JsonObject> page, final String readOnlyAuthToken) {
         //Since returned contributor does not have 'name' element, we need to fetch the user data to get his name
-        //TODO (maybe) add static caching of this. Names don't change that often, let's just cache this forever in build cache.
-        GitHubObjectFetcher objectFetcher = new GitHubObjectFetcher(readOnlyAuthToken);
-        Function<JsonObject, ProjectContributor> projectContributorFetcherFunction = new ProjectContributorFetcherFunction(objectFetcher);
+        Set<ProjectContributor> result = new HashSet<ProjectContributor>();
+        List<JsonObject> remaining = extractCachedContributors(page, result);
+        if (usersFetcher != null && !remaining.isEmpty()) {
+            remaining = extractContributorsInBatch(remaining, result);
+        }
+        if (remaining.isEmpty()) {
+            return result;
+        }
+
+        GitHubObjectFetcher objectFetcher = new GitHubObjectFetcher(readOnlyAuthToken, requestExecutor);
+        //the cache was already consulted, looking the users up again would count the misses twice
+        Function<JsonObject, ProjectContributor> projectContributorFetcherFunction =
+            new ProjectContributorFetcherFunction(objectFetcher, GitHubUserCache.disabled(), userCache);
+
+        result.addAll(requestExecutor.dispatch(projectContributorFetcherFunction, remaining));
+        return result;
+    }
+
+    /**
+     * Adds contributors whose users are cached to the result.
+     *
+     * @return contributors whose users need to be fetched
+     */
+    private List<JsonObject> extractCachedContributors(List<JsonObject> page, Set<ProjectContributor> result) {
+        List<JsonObject> remaining = new ArrayList<JsonObject>();
+        for (JsonObject contributor : page) {
+            JsonObject user = userCache.getUser(contributor.getString("login"));
+            if (user != null) {
+                result.add(GitHubAllContributorsJson.toContributor(contributor, user));
+            } else {
+                remaining.add(contributor);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Adds contributors whose users were fetched with GraphQL API to the result.
+     *
+     * @return contributors whose users need to be fetched with REST API
+     */
+    private List<JsonObject> extractContributorsInBatch(List<JsonObject> page, Set<ProjectContributor> result) {
+        Map<String, JsonObject> contributorsByLogin = new LinkedHashMap<String, JsonObject>();
+        for (JsonObject contributor : page) {
+            String login = contributor.getString("login");
+            if (login != null) {
+                contributorsByLogin.put(login, contributor);
+            }
+        }
 
-        return new ConcurrentDispatcher().dispatch(projectContributorFetcherFunction, page);
+        Map<String, JsonObject> users;
+        try {
+            users = usersFetcher.fetchUsers(contributorsByLogin.keySet());
+        } catch (Exception e) {
+            LOG.lifecycle("  Unable to fetch contributors using GitHub GraphQL API, fetching them one by one (run with -i for more info)");
+            LOG.info("  Problems fetching contributors using GitHub GraphQL API", e);
+            //no point trying again with the next page
+            usersFetcher = null;
+            return page;
+        }
+
+        List<JsonObject> remaining = new ArrayList<JsonObject>();
+        for (JsonObject contributor : page) {
+            JsonObject user = users.get(contributor.getString("login"));
+            if (user != null) {
+                userCache.putUser(user, contributor.getString("html_url"));
+                result.add(GitHubAllContributorsJson.toContributor(contributor, user));
+            } else {
+                remaining.add(contributor);
+            }
+        }
+        return remaining;
     }
 
     private static class GitHubProjectContributors {
@@ -60,16 +156,16 @@ class GitHubContributorsFetcher {
             return new GitHubProjectContributorsBuilder(apiUrl, repository, readOnlyAuthToken);
         }
 
-        private GitHubProjectContributors(String nextPageUrl) {
-            fetcher = new GitHubListFetcher(nextPageUrl);
+        private GitHubProjectContributors(String nextPageUrl, GitHubRequestExecutor requestExecutor) {
+            fetcher = new GitHubListFetcher(nextPageUrl, requestExecutor);
         }
 
         public boolean hasNextPage() {
             return fetcher.hasNextPage();
         }
 
-        public List<JsonObject> nextPage() throws IOException, DeserializationException {
-            lastFetchedPage = fetcher.nextPage();
+        public List<JsonObject> nextPage() throws IOException {
+            lastFetchedPage = fetcher.nextPage(GitHubAllContributorsJson.CONTRIBUTOR_FIELDS);
             return lastFetchedPage;
         }
     }
@@ -86,12 +182,12 @@ class GitHubContributorsFetcher {
             this.readOnlyAuthToken = readOnlyAuthToken;
         }
 
-        GitHubProjectContributors build() {
+        GitHubProjectContributors build(GitHubRequestExecutor requestExecutor) {
             // see API doc: https://developer.github.com/v3/repos/#list-contributors
             String nextPageUrl = apiUrl + "/repos/" + repository + "/contributors" +
                     "?access_token=" + readOnlyAuthToken +
                     "&per_page=100";
-            return new GitHubProjectContributors(nextPageUrl);
+            return new GitHubProjectContributors(nextPageUrl, requestExecutor);
         }
     }
 }
@@ -1,29 +1,118 @@
 package org.shipkit.internal.notes.contributors.github;
 
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.shipkit.internal.notes.contributors.ContributorsProvider;
 import org.shipkit.internal.notes.contributors.DefaultProjectContributor;
 import org.shipkit.internal.notes.contributors.ProjectContributorsSet;
 import org.shipkit.internal.notes.model.Contributor;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 
 import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
+import static org.shipkit.internal.util.DateUtil.yesterday;
+
+/**
+ * Provides all contributors of the GitHub project. Recent contributors are always fetched using the commits endpoint
+ * because the contributors endpoint may return information a few hours old.
+ * <p>
+ * When {@link ContributorsCheckpoint} has the contributors from the previous synchronization
+ * only the commits reachable from the head but not from the checkpoint commit are fetched using the compare endpoint,
+ * so old commits merged after the checkpoint are included. The contributors endpoint is listed once in a while.
+ */
 public class GitHubContributorsProvider implements ContributorsProvider {
 
+    private static final Logger LOG = Logging.getLogger(GitHubContributorsProvider.class);
+
+    /**
+     * Time commits are fetched before the checkpoint that has no commit, see {@link #getIncrementalSyncSince(Date)}
+     */
+    static final long CHECKPOINT_OVERLAP_MILLIS = TimeUnit.HOURS.toMillis(1);
+
     private final String apiUrl;
     private final String repository;
     private final String readOnlyAuthToken;
+    private final GitHubRequestExecutor requestExecutor;
+    private final GitHubUserCache userCache;
+    private final ContributorsCheckpoint checkpoint;
 
-    GitHubContributorsProvider(String apiUrl, String repository, String readOnlyAuthToken) {
+    GitHubContributorsProvider(String apiUrl, String repository, String readOnlyAuthToken, GitHubRequestExecutor requestExecutor,
+                               GitHubUserCache userCache, ContributorsCheckpoint checkpoint) {
         this.apiUrl = apiUrl;
         this.repository = repository;
         this.readOnlyAuthToken = readOnlyAuthToken;
+        this.requestExecutor = requestExecutor;
+        this.userCache = userCache;
+        this.checkpoint = checkpoint;
     }
 
     @Override
     public ProjectContributorsSet getAllContributorsForProject() {
-        ProjectContributorsSet contributors = new GitHubContributorsFetcher().fetchContributorsForProject(apiUrl, repository, readOnlyAuthToken);
-        Collection<Contributor> recent = new RecentContributorsFetcher().fetchContributorsSinceYesterday(apiUrl, repository, readOnlyAuthToken);
-        return mergeContributors(contributors, recent);
+        return getAllContributorsForProject(
+            new GitHubContributorsFetcher(requestExecutor, new GitHubGraphQLUsersFetcher(apiUrl, readOnlyAuthToken), userCache),
+            new RecentContributorsFetcher(requestExecutor), new Date());
+    }
+
+    ProjectContributorsSet getAllContributorsForProject(GitHubContributorsFetcher contributorsFetcher,
+                                                        RecentContributorsFetcher recentContributorsFetcher, Date now) {
+        ContributorsCheckpoint.State state = checkpoint.load(now);
+        RecentContributorsFetcher.RecentContributors recent = null;
+        if (state != null) {
+            recent = fetchIncrementally(recentContributorsFetcher, state);
+        }
+
+        ProjectContributorsSet contributors;
+        Date fullSyncDate;
+        if (recent != null) {
+            contributors = state.getContributors();
+            fullSyncDate = state.getFullSyncDate();
+        } else {
+            contributors = contributorsFetcher.fetchContributorsForProject(apiUrl, repository, readOnlyAuthToken);
+            recent = recentContributorsFetcher.fetchRecentContributors(apiUrl, repository, readOnlyAuthToken, yesterday(), null);
+            fullSyncDate = now;
+            state = null;
+        }
+        mergeContributors(contributors, recent.getContributors());
+
+        if (recent.getNewestCommitSha() != null) {
+            checkpoint.save(new ContributorsCheckpoint.State(contributors, recent.getNewestCommitSha(), recent.getNewestCommitDate(), fullSyncDate));
+        } else {
+            //no new commits, the checkpoint stays at the same commit
+            checkpoint.save(new ContributorsCheckpoint.State(contributors,
+                state != null ? state.getCommitSha() : null, state != null ? state.getCommitDate() : null, fullSyncDate));
+        }
+        return contributors;
+    }
+
+    /**
+     * Nullable, contributors of the commits since the checkpoint or null if full synchronization is needed
+     * because the checkpoint commit is not known to GitHub anymore.
+     */
+    private RecentContributorsFetcher.RecentContributors fetchIncrementally(RecentContributorsFetcher recentContributorsFetcher,
+                                                                            ContributorsCheckpoint.State state) {
+        if (state.getCommitSha() == null) {
+            //there were no commits to keep the checkpoint at, the commit date cannot be avoided then
+            LOG.lifecycle("  Fetching contributors incrementally, since {}", state.getFullSyncDate());
+            return recentContributorsFetcher.fetchRecentContributors(apiUrl, repository, readOnlyAuthToken,
+                getIncrementalSyncSince(state.getFullSyncDate()), null);
+        }
+        LOG.lifecycle("  Fetching contributors incrementally, since commit {} ({})", state.getCommitSha(), state.getCommitDate());
+        RecentContributorsFetcher.RecentContributors recent =
+            recentContributorsFetcher.fetchContributorsSinceCommit(apiUrl, repository, readOnlyAuthToken, state.getCommitSha());
+        if (recent == null) {
+            LOG.lifecycle("  Commit {} of the contributors checkpoint was not found on GitHub, listing all contributors", state.getCommitSha());
+        }
+        return recent;
+    }
+
+    /**
+     * Used only when the checkpoint has no commit. Commits are filtered by the committer date and clocks
+     * of the committers can be skewed, so the commits are fetched a bit before the checkpoint.
+     */
+    Date getIncrementalSyncSince(Date checkpointDate) {
+        return new Date(checkpointDate.getTime() - CHECKPOINT_OVERLAP_MILLIS);
     }
 
     static ProjectContributorsSet mergeContributors(ProjectContributorsSet contributors, Collection<Contributor> recent) {
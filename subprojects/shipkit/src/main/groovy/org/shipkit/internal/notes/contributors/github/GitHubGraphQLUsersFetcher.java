@@ -0,0 +1,104 @@
+package org.shipkit.internal.notes.contributors.github;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.json.simple.DeserializationException;
+import org.json.simple.JsonObject;
+import org.json.simple.Jsoner;
+import org.shipkit.internal.util.GitHubApi;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches user profiles using GitHub GraphQL API, up to {@link #MAX_LOGINS_PER_QUERY} users with a single request.
+ * Every user is queried with aliased 'user(login:)' field, for example:
+ * <pre>
+ *     query { u0: user(login: "mockito") { login name } u1: user(login: "szczepiq") { login name } }
+ * </pre>
+ * See https://developer.github.com/v4/
+ */
+class GitHubGraphQLUsersFetcher {
+
+    private static final Logger LOG = Logging.getLogger(GitHubGraphQLUsersFetcher.class);
+
+    /**
+     * GitHub limits the number of nodes requested by single query, 100 is safely below the limit
+     */
+    static final int MAX_LOGINS_PER_QUERY = 100;
+
+    private final GitHubApi gitHubApi;
+
+    /**
+     * @param apiUrl address of GitHub REST api endpoint, for example: "https://api.github.com"
+     *               or "https://github.example.com/api/v3" for GitHub Enterprise
+     * @param readOnlyAuthToken the GitHub auth token, GraphQL API does not work without it
+     */
+    GitHubGraphQLUsersFetcher(String apiUrl, String readOnlyAuthToken) {
+        this(new GitHubApi(graphQLRootUrl(apiUrl), readOnlyAuthToken));
+    }
+
+    GitHubGraphQLUsersFetcher(GitHubApi gitHubApi) {
+        this.gitHubApi = gitHubApi;
+    }
+
+    /**
+     * Fetches the users with given logins.
+     *
+     * @return users by login, each user has 'login' and 'name' fields like the user returned by REST API.
+     * Users that were not found are not included.
+     */
+    Map<String, JsonObject> fetchUsers(Collection<String> logins) throws IOException, DeserializationException {
+        Map<String, JsonObject> result = new HashMap<String, JsonObject>();
+        List<String> batch = new ArrayList<String>(MAX_LOGINS_PER_QUERY);
+        for (String login : logins) {
+            batch.add(login);
+            if (batch.size() == MAX_LOGINS_PER_QUERY) {
+                fetchBatch(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            fetchBatch(batch, result);
+        }
+        return result;
+    }
+
+    private void fetchBatch(List<String> logins, Map<String, JsonObject> result) throws IOException, DeserializationException {
+        LOG.info("GitHub GraphQL API querying {} users", logins.size());
+        String response = gitHubApi.post("/graphql", "{\"query\": \"" + Jsoner.escape(query(logins)) + "\"}");
+
+        JsonObject data = Jsoner.deserialize(response, new JsonObject()).getMap("data");
+        if (data == null) {
+            throw new IOException("GitHub GraphQL API response does not contain data:\n" + response);
+        }
+        for (Object user : data.values()) {
+            //users that do not exist are null
+            if (user instanceof JsonObject) {
+                JsonObject u = (JsonObject) user;
+                result.put(u.getString("login"), u);
+            }
+        }
+    }
+
+    static String query(List<String> logins) {
+        StringBuilder sb = new StringBuilder("query {");
+        for (int i = 0; i < logins.size(); i++) {
+            sb.append(" u").append(i).append(": user(login: \"").append(Jsoner.escape(logins.get(i))).append("\") { login name }");
+        }
+        return sb.append(" }").toString();
+    }
+
+    /**
+     * GraphQL endpoint is '/graphql' on github.com api host, on GitHub Enterprise it is '/api/graphql'
+     * while REST endpoints are under '/api/v3'
+     */
+    static String graphQLRootUrl(String apiUrl) {
+        String url = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+        return url.endsWith("/v3") ? url.substring(0, url.length() - "/v3".length()) : url;
+    }
+}
@@ -0,0 +1,191 @@
+package org.shipkit.internal.notes.contributors.github;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.json.simple.DeserializationException;
+import org.json.simple.JsonObject;
+import org.json.simple.Jsoner;
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local cache of GitHub user profiles (name and profile url by login), so that contributors
+ * do not need to be fetched from GitHub on every build. Names don't change that often.
+ * <p>
+ * Every entry expires after given time to live, then the user is fetched again.
+ * The cache is bounded by the number of entries, least recently used entries are evicted first.
+ * <p>
+ * The cache file contains one JSON object per line, least recently used entry first.
+ * It is rewritten by {@link #save()}, lines that cannot be parsed are ignored.
+ */
+public class GitHubUserCache {
+
+    private static final Logger LOG = Logging.getLogger(GitHubUserCache.class);
+
+    /**
+     * Default time after which the user is fetched again
+     */
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.DAYS.toMillis(14);
+
+    /**
+     * Default maximum number of cached users
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private final File cacheFile;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private Map<String, JsonObject> entries;
+    private boolean modified;
+    private int hits;
+    private int misses;
+
+    /**
+     * @param cacheFile file where the users are stored, can be null - no caching happens then
+     * @param ttlMillis time after which the user is fetched again
+     * @param maxEntries maximum number of cached users
+     */
+    public GitHubUserCache(File cacheFile, long ttlMillis, int maxEntries) {
+        this.cacheFile = cacheFile;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Calls {@link #GitHubUserCache(File, long, int)} with {@link #DEFAULT_TTL_MILLIS} and {@link #DEFAULT_MAX_ENTRIES}
+     */
+    public GitHubUserCache(File cacheFile) {
+        this(cacheFile, DEFAULT_TTL_MILLIS, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Cache that never stores anything, useful when caching is not configured
+     */
+    public static GitHubUserCache disabled() {
+        return new GitHubUserCache(null);
+    }
+
+    /**
+     * Nullable, returns the cached user with 'login', 'name' and 'html_url' fields like the user returned by GitHub API.
+     * Returns null when the user is not cached or the entry expired.
+     */
+    public synchronized JsonObject getUser(String login) {
+        if (cacheFile == null || login == null) {
+            return null;
+        }
+        JsonObject user = getEntries().get(login);
+        if (user == null || isExpired(user, System.currentTimeMillis())) {
+            misses++;
+            return null;
+        }
+        hits++;
+        //access order changed
+        modified = true;
+        return user;
+    }
+
+    /**
+     * Caches the user
+     *
+     * @param user user returned by GitHub API, with 'login' and 'name' fields
+     * @param profileUrl nullable, url of user's profile
+     */
+    public synchronized void putUser(JsonObject user, String profileUrl) {
+        String login = user.getString("login");
+        if (cacheFile == null || login == null) {
+            return;
+        }
+        JsonObject entry = new JsonObject();
+        entry.put("login", login);
+        entry.put("name", user.getString("name"));
+        entry.put("html_url", profileUrl);
+        entry.put("fetched", System.currentTimeMillis());
+        getEntries().put(login, entry);
+        modified = true;
+    }
+
+    /**
+     * Writes the cache to the file if it changed
+     */
+    public synchronized void save() {
+        if (cacheFile == null || !modified) {
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        for (JsonObject entry : getEntries().values()) {
+            content.append(entry.toJson()).append("\n");
+        }
+        //the cache is written to a temporary file and moved so that other builds never read incomplete file
+        File temp = new File(cacheFile.getParentFile(), cacheFile.getName() + "-" + UUID.randomUUID() + ".tmp");
+        try {
+            IOUtil.writeFile(temp, content.toString());
+            cacheFile.delete();
+            if (!temp.renameTo(cacheFile)) {
+                throw new RuntimeException("Unable to move " + temp + " to " + cacheFile);
+            }
+            modified = false;
+        } catch (RuntimeException e) {
+            //the cache only speeds things up, the build should not fail when it cannot be written
+            LOG.warn("Unable to write GitHub user cache: {}", cacheFile, e);
+            temp.delete();
+        }
+    }
+
+    /**
+     * Human readable summary of the cache usage, suitable for logging
+     */
+    public synchronized String getSummary() {
+        if (cacheFile == null) {
+            return "disabled";
+        }
+        return hits + " hit(s), " + misses + " miss(es), file: " + cacheFile;
+    }
+
+    private boolean isExpired(JsonObject user, long now) {
+        Long fetched = user.getLong("fetched");
+        return fetched == null || now - fetched > ttlMillis;
+    }
+
+    private Map<String, JsonObject> getEntries() {
+        if (entries == null) {
+            entries = readEntries();
+        }
+        return entries;
+    }
+
+    private Map<String, JsonObject> readEntries() {
+        //access order, the least recently used entry is the eldest
+        Map<String, JsonObject> result = new LinkedHashMap<String, JsonObject>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JsonObject> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        if (!cacheFile.isFile()) {
+            return result;
+        }
+        for (String line : IOUtil.readFully(cacheFile).split("\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                JsonObject entry = (JsonObject) Jsoner.deserialize(line);
+                String login = entry.getString("login");
+                if (login != null) {
+                    result.put(login, entry);
+                }
+            } catch (DeserializationException e) {
+                LOG.info("Ignoring malformed entry of GitHub user cache {}: {}", cacheFile, e.getMessage());
+            } catch (RuntimeException e) {
+                LOG.info("Ignoring malformed entry of GitHub user cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+        return result;
+    }
+}
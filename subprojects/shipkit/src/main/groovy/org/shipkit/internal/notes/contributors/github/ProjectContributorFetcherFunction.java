@@ -7,25 +7,47 @@ import org.shipkit.internal.notes.util.GitHubObjectFetcher;
 
 /**
  * Extracts the url form a given {@link JsonObject} and fetches the {@link ProjectContributor} info using the extracted
- * url.
+ * url. Users found in {@link GitHubUserCache} are not fetched, fetched users are added to the cache.
  */
 class ProjectContributorFetcherFunction implements Function<JsonObject, ProjectContributor> {
 
     private final GitHubObjectFetcher objectFetcher;
+    private final GitHubUserCache lookupCache;
+    private final GitHubUserCache userCache;
 
     public ProjectContributorFetcherFunction(GitHubObjectFetcher objectFetcher) {
+        this(objectFetcher, GitHubUserCache.disabled());
+    }
+
+    public ProjectContributorFetcherFunction(GitHubObjectFetcher objectFetcher, GitHubUserCache userCache) {
+        this(objectFetcher, userCache, userCache);
+    }
+
+    /**
+     * @param lookupCache cache consulted before the user is fetched, use {@link GitHubUserCache#disabled()}
+     *                    when the caller already consulted the cache
+     * @param userCache cache the fetched users are added to
+     */
+    public ProjectContributorFetcherFunction(GitHubObjectFetcher objectFetcher, GitHubUserCache lookupCache, GitHubUserCache userCache) {
         this.objectFetcher = objectFetcher;
+        this.lookupCache = lookupCache;
+        this.userCache = userCache;
     }
 
     @Override
     public ProjectContributor apply(JsonObject contributor) {
+        JsonObject user = lookupCache.getUser((String) contributor.get("login"));
+        if (user != null) {
+            return GitHubAllContributorsJson.toContributor(contributor, user);
+        }
+
         String url = (String) contributor.get("url");
-        JsonObject user;
         try {
-            user = objectFetcher.getPage(url);
+            user = objectFetcher.getPage(url, GitHubAllContributorsJson.USER_FIELDS);
         } catch (Exception e) {
             throw new RuntimeException("Error occurred while fetching contributor using " + url + "!", e);
         }
+        userCache.putUser(user, (String) contributor.get("html_url"));
 
         return GitHubAllContributorsJson.toContributor(contributor, user);
     }
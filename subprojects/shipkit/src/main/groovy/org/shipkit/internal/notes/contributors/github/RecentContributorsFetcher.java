@@ -2,11 +2,12 @@ package org.shipkit.internal.notes.contributors.github;
 
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
-import org.json.simple.DeserializationException;
 import org.json.simple.JsonObject;
 import org.shipkit.internal.notes.model.Contributor;
 import org.shipkit.internal.notes.util.GitHubListFetcher;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
 
@@ -15,7 +16,7 @@ import static org.shipkit.internal.util.DateUtil.forGitHub;
 import static org.shipkit.internal.util.DateUtil.yesterday;
 
 /**
- * Fetches recent contributors from GitHub using the "commit" end point.
+ * Fetches recent contributors from GitHub using the "commit" and "compare" end points.
  * Uses https://developer.github.com/v3/repos/commits/
  * We use it because the "contributors" endpoint does not return the most recent contributors as documented
  * (see {@link GitHubContributorsFetcher}).
@@ -24,6 +25,16 @@ class RecentContributorsFetcher {
 
     private static final Logger LOG = Logging.getLogger(RecentContributorsFetcher.class);
 
+    private final GitHubRequestExecutor requestExecutor;
+
+    RecentContributorsFetcher() {
+        this(new GitHubRequestExecutor());
+    }
+
+    RecentContributorsFetcher(GitHubRequestExecutor requestExecutor) {
+        this.requestExecutor = requestExecutor;
+    }
+
     /**
      * Contributors that pushed commits to the repo withing the last 24hrs
      */
@@ -37,23 +48,72 @@ class RecentContributorsFetcher {
      * @param dateUntil - can be null, it means there is no end date
      */
     public Collection<Contributor> fetchContributors(String apiUrl, String repository, String readOnlyAuthToken, Date dateSince, Date dateUntil) {
+        return fetchRecentContributors(apiUrl, repository, readOnlyAuthToken, dateSince, dateUntil).getContributors();
+    }
+
+    /**
+     * Contributors that pushed commits to the repo within the time span, together with the newest commit in the time span.
+     * See {@link #fetchContributors(String, String, String, Date, Date)}
+     */
+    RecentContributors fetchRecentContributors(String apiUrl, String repository, String readOnlyAuthToken, Date dateSince, Date dateUntil) {
         LOG.info("Querying GitHub API for commits (for contributors)");
-        Set<Contributor> contributors = new LinkedHashSet<Contributor>();
+        RecentContributors result = new RecentContributors();
 
         try {
             GitHubCommits commits = GitHubCommits
                     .with(apiUrl, repository, readOnlyAuthToken, dateSince, dateUntil)
-                    .build();
+                    .build(requestExecutor);
 
             while (commits.hasNextPage()) {
                 List<JsonObject> page = commits.nextPage();
-                contributors.addAll(extractContributors(page));
+                //commits are listed newest first
+                if (result.newestCommitSha == null && !page.isEmpty()) {
+                    result.newestCommitSha = GitHubCommitsJSON.getSha(page.get(0));
+                    result.newestCommitDate = GitHubCommitsJSON.getCommitDate(page.get(0));
+                }
+                result.contributors.addAll(extractContributors(page));
             }
         } catch (Exception e) {
             throw new RuntimeException("Problems fetching commits from GitHub", e);
         }
 
-        return contributors;
+        return result;
+    }
+
+    /**
+     * Nullable, contributors of the commits that are reachable from the head of the repository but not from given commit,
+     * together with the newest of the commits. Unlike the time span, this includes old commits merged after given commit.
+     * Returns null when GitHub does not know given commit, for example because the history was rewritten.
+     */
+    RecentContributors fetchContributorsSinceCommit(String apiUrl, String repository, String readOnlyAuthToken, String commitSha) {
+        notNull(apiUrl, "apiUrl", repository, "repository", readOnlyAuthToken, "readOnlyAuthToken", commitSha, "commitSha");
+        LOG.info("Querying GitHub API for commits since {} (for contributors)", commitSha);
+        RecentContributors result = new RecentContributors();
+
+        // see API doc: https://developer.github.com/v3/repos/commits/#compare-two-commits
+        String firstPageUrl = apiUrl + "/repos/" + repository + "/compare/" + commitSha + "...HEAD"
+                + "?access_token=" + readOnlyAuthToken
+                + "&page=1&per_page=100";
+        GitHubListFetcher fetcher = new GitHubListFetcher(firstPageUrl, requestExecutor);
+        try {
+            while (fetcher.hasNextPage()) {
+                List<JsonObject> page = fetcher.nextPage("commits", GitHubCommitsJSON.COMMIT_FIELDS);
+                //commits are listed oldest first
+                if (!page.isEmpty()) {
+                    JsonObject newest = page.get(page.size() - 1);
+                    result.newestCommitSha = GitHubCommitsJSON.getSha(newest);
+                    result.newestCommitDate = GitHubCommitsJSON.getCommitDate(newest);
+                }
+                result.contributors.addAll(extractContributors(page));
+            }
+        } catch (FileNotFoundException e) {
+            LOG.info("GitHub API does not know commit {}: {}", commitSha, e.getMessage());
+            return null;
+        } catch (Exception e) {
+            throw new RuntimeException("Problems fetching commits from GitHub", e);
+        }
+
+        return result;
     }
 
     private Set<Contributor> extractContributors(List<JsonObject> commits) {
@@ -67,21 +127,45 @@ class RecentContributorsFetcher {
         return result;
     }
 
+    static class RecentContributors {
+        private final Set<Contributor> contributors = new LinkedHashSet<Contributor>();
+        private String newestCommitSha;
+        private Date newestCommitDate;
+
+        Set<Contributor> getContributors() {
+            return contributors;
+        }
+
+        /**
+         * Nullable, id of the newest commit or null if there were no commits
+         */
+        String getNewestCommitSha() {
+            return newestCommitSha;
+        }
+
+        /**
+         * Nullable, committer date of the newest commit or null if there were no commits
+         */
+        Date getNewestCommitDate() {
+            return newestCommitDate;
+        }
+    }
+
     private static class GitHubCommits {
 
         private final GitHubListFetcher fetcher;
         private List<JsonObject> lastFetchedPage;
 
-        private GitHubCommits(String nextPageUrl) {
-            fetcher = new GitHubListFetcher(nextPageUrl);
+        private GitHubCommits(String nextPageUrl, GitHubRequestExecutor requestExecutor) {
+            fetcher = new GitHubListFetcher(nextPageUrl, requestExecutor);
         }
 
         boolean hasNextPage() {
             return fetcher.hasNextPage();
         }
 
-        List<JsonObject> nextPage() throws IOException, DeserializationException {
-            lastFetchedPage = fetcher.nextPage();
+        List<JsonObject> nextPage() throws IOException {
+            lastFetchedPage = fetcher.nextPage(GitHubCommitsJSON.COMMIT_FIELDS);
             return lastFetchedPage;
         }
 
@@ -105,14 +189,14 @@ class RecentContributorsFetcher {
                 this.dateUntil = dateUntil;
             }
 
-            GitHubCommits build() {
+            GitHubCommits build(GitHubRequestExecutor requestExecutor) {
                 // see API doc: https://developer.github.com/v3/repos/commits/#list-commits-on-a-repository
                 String nextPageUrl = apiUrl + "/repos/" + repository + "/commits"
                         + "?access_token=" + readOnlyAuthToken
                         + "&since=" + forGitHub(dateSince)
                         + ((dateUntil != null) ? "&until=" + forGitHub(dateUntil) : "")
                         + "&page=1&per_page=100";
-                return new GitHubCommits(nextPageUrl);
+                return new GitHubCommits(nextPageUrl, requestExecutor);
             }
         }
     }
@@ -1,6 +1,12 @@
 package org.shipkit.internal.notes.format;
 
 import org.shipkit.internal.notes.model.Improvement;
+import org.shipkit.internal.notes.model.ReleaseNotesData;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Collection;
 
 /**
  * Shared formatting
@@ -10,4 +16,26 @@ class CommonFormatting {
     static String format(Improvement improvement) {
         return improvement.getTitle() + " [(#" + improvement.getId() + ")](" + improvement.getUrl() + ")";
     }
+
+    /**
+     * Writes the same text as {@link #format(Improvement)}
+     */
+    static void format(Improvement improvement, Writer output) throws IOException {
+        output.append(improvement.getTitle()).append(" [(#").append(String.valueOf(improvement.getId()))
+            .append(")](").append(improvement.getUrl()).append(")");
+    }
+
+    /**
+     * Formats release notes using the streaming {@link MultiReleaseNotesFormatter#formatReleaseNotes(Collection, Writer)}
+     */
+    static String formatToString(MultiReleaseNotesFormatter formatter, Collection<ReleaseNotesData> data) {
+        StringWriter output = new StringWriter();
+        try {
+            formatter.formatReleaseNotes(data, output);
+        } catch (IOException e) {
+            //StringWriter does not throw IOException
+            throw new RuntimeException("Problems formatting release notes", e);
+        }
+        return output.toString();
+    }
 }
@@ -3,9 +3,11 @@ package org.shipkit.internal.notes.format;
 import org.shipkit.internal.comparison.artifact.DefaultArtifactUrlResolverFactory;
 import org.shipkit.internal.gradle.util.StringUtil;
 import org.shipkit.internal.util.DateUtil;
-import org.shipkit.internal.util.MultiMap;
 import org.shipkit.internal.notes.model.*;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.text.MessageFormat;
 import java.util.*;
 
@@ -17,58 +19,66 @@ class DetailedFormatter implements MultiReleaseNotesFormatter {
     private static final int MAX_AUTHORS = 3;
     private static final String NO_LABEL = "Remaining changes";
     private final String introductionText;
-    private final Map<String, String> labelMapping;
-    private final String vcsCommitsLinkTemplate;
+    private final LabelSections labelSections;
+    private final MessageFormat vcsCommitsLinkFormat;
     private final String publicationRepository;
     private final Map<String, Contributor> contributors;
-    private final boolean emphasizeVersion;
+    private final String versionHeaderPrefix;
     private final String header;
 
     DetailedFormatter(String header, String introductionText, Map<String, String> labelMapping, String vcsCommitsLinkTemplate,
                       String publicationRepository, Map<String, Contributor> contributors, boolean emphasizeVersion) {
         this.header = header;
         this.introductionText = introductionText;
-        this.labelMapping = labelMapping;
-        this.vcsCommitsLinkTemplate = vcsCommitsLinkTemplate;
+        //templates are compiled once, not for every release
+        this.labelSections = new LabelSections(labelMapping);
+        this.vcsCommitsLinkFormat = new MessageFormat(vcsCommitsLinkTemplate);
         this.publicationRepository = publicationRepository;
         this.contributors = contributors;
-        this.emphasizeVersion = emphasizeVersion;
+        this.versionHeaderPrefix = headerPrefix(emphasizeVersion);
     }
 
     @Override
     public String formatReleaseNotes(Collection<ReleaseNotesData> data) {
-        StringBuilder sb = new StringBuilder(header);
-        sb.append(introductionText == null ? "" : introductionText);
+        return CommonFormatting.formatToString(this, data);
+    }
+
+    @Override
+    public void formatReleaseNotes(Collection<ReleaseNotesData> data, Writer output) throws IOException {
         if (data.isEmpty()) {
-            sb.append("No release information.");
-            return sb.toString();
+            output.write(header);
+            output.write(introductionText == null ? "" : introductionText);
+            output.write("No release information.");
+            return;
         }
 
+        //release notes are trimmed
+        Writer out = new TrimmingWriter(output);
+        out.write(header);
+        out.write(introductionText == null ? "" : introductionText);
+
         for (ReleaseNotesData d : data) {
-            sb.append(header(d.getVersion(), emphasizeVersion));
-            String vcsCommitsLink = MessageFormat.format(vcsCommitsLinkTemplate, d.getPreviousVersionVcsTag(), d.getVcsTag());
-            sb.append("\n");
-            sb.append(releaseSummary(d.getDate(), d.getVersion(), d.getContributions(), contributors, vcsCommitsLink,
+            out.append(versionHeaderPrefix).append(d.getVersion());
+            String vcsCommitsLink = vcsCommitsLinkFormat.format(new Object[]{d.getPreviousVersionVcsTag(), d.getVcsTag()});
+            out.write("\n");
+            out.write(releaseSummary(d.getDate(), d.getVersion(), d.getContributions(), contributors, vcsCommitsLink,
                 publicationRepository));
 
             if (!d.getContributions().getContributions().isEmpty()) {
                 //no point printing any improvements information if there are no code changes
-                sb.append(formatImprovements(d.getImprovements(), labelMapping));
+                labelSections.writeImprovements(d.getImprovements(), out);
             }
 
-            sb.append("\n");
+            out.write("\n");
         }
-
-        return sb.toString().trim();
     }
 
     static String header(String version, boolean emphasizeVersion) {
-        return emphasizeVersion ? buildHeader(version, "# ")
-            : buildHeader(version, "#### ");
+        return headerPrefix(emphasizeVersion) + version;
     }
 
-    private static String buildHeader(String version, String prefix) {
-        return prefix + version;
+    private static String headerPrefix(boolean emphasizeVersion) {
+        return emphasizeVersion ? "# " : "#### ";
     }
 
     static String releaseSummary(Date date, String version, ContributionSet contributions, Map<String, Contributor>
@@ -100,50 +110,115 @@ class DetailedFormatter implements MultiReleaseNotesFormatter {
     }
 
     static String formatImprovements(Collection<Improvement> improvements, Map<String, String> labelMapping) {
-        if (improvements.isEmpty()) {
-            return " - No pull requests referenced in commit messages.";
+        StringWriter output = new StringWriter();
+        try {
+            new LabelSections(labelMapping).writeImprovements(improvements, output);
+        } catch (IOException e) {
+            //StringWriter does not throw IOException
+            throw new RuntimeException("Problems formatting improvements", e);
         }
+        return output.toString();
+    }
 
-        StringBuilder sb = new StringBuilder();
-        MultiMap<String, Improvement> sorted = sortImprovements(improvements, labelMapping);
+    /**
+     * Sections of improvements, by descriptive label. The order of sections and the order of improvements in every section
+     * follow the order of label mapping, improvements without mapped label are in {@link #NO_LABEL} section.
+     * Sections are computed once from the label mapping, improvements are assigned to the sections in a single pass.
+     */
+    private static class LabelSections {
+
+        //index of the label in the label mapping
+        private final Map<String, Integer> labelIndexes = new HashMap<String, Integer>();
+        //by label index, the last index is for improvements without mapped label
+        private final String[] prefixes;
+        private final int[] sections;
+        //label indexes of every section, several labels can be mapped to the same section
+        private final List<List<Integer>> sectionLabels = new ArrayList<List<Integer>>();
 
-        for (String label: sorted.keySet()) {
-            for (Improvement i : sorted.get(label)) {
-                String labelPrefix = label.equals(NO_LABEL) ? "" : "[" + label + "] ";
-                sb.append(" - ").append(labelPrefix).append(formatImprovement(i)).append("\n");
+        LabelSections(Map<String, String> labelMapping) {
+            int labels = labelMapping.size();
+            prefixes = new String[labels + 1];
+            sections = new int[labels + 1];
+            Map<String, Integer> sectionIndexes = new HashMap<String, Integer>();
+            int i = 0;
+            for (Map.Entry<String, String> label : labelMapping.entrySet()) {
+                labelIndexes.put(label.getKey(), i);
+                prefixes[i] = label.getValue().equals(NO_LABEL) ? "" : "[" + label.getValue() + "] ";
+                sections[i] = section(sectionIndexes, label.getValue(), i);
+                i++;
             }
+            prefixes[labels] = "";
+            sections[labels] = section(sectionIndexes, NO_LABEL, labels);
         }
 
-        return " " + sb.toString().trim();
-    }
+        private int section(Map<String, Integer> sectionIndexes, String section, int labelIndex) {
+            Integer index = sectionIndexes.get(section);
+            if (index == null) {
+                index = sectionLabels.size();
+                sectionIndexes.put(section, index);
+                sectionLabels.add(new ArrayList<Integer>());
+            }
+            sectionLabels.get(index).add(labelIndex);
+            return index;
+        }
 
-    private static String formatImprovement(Improvement i) {
-        return i.getTitle() +
-                " [(#" + i.getId() + ")](" +
-                i.getUrl() + ")";
-    }
+        void writeImprovements(Collection<Improvement> improvements, Writer output) throws IOException {
+            if (improvements.isEmpty()) {
+                output.write(" - No pull requests referenced in commit messages.");
+                return;
+            }
 
-    private static MultiMap<String, Improvement> sortImprovements(Collection<Improvement> improvements, Map<String, String> labelMapping) {
-        MultiMap<String, Improvement> byLabel = new MultiMap<String, Improvement>();
-        Set<Improvement> remainingImprovements = new LinkedHashSet<Improvement>(improvements);
+            List<List<Improvement>> byLabel = new ArrayList<List<Improvement>>(prefixes.length);
+            for (int i = 0; i < prefixes.length; i++) {
+                byLabel.add(null);
+            }
+            //duplicated improvements are printed once
+            for (Improvement i : new LinkedHashSet<Improvement>(improvements)) {
+                int label = labelIndex(i);
+                List<Improvement> list = byLabel.get(label);
+                if (list == null) {
+                    list = new ArrayList<Improvement>();
+                    byLabel.set(label, list);
+                }
+                list.add(i);
+            }
 
-        //Step 1, find improvements that match input labels
-        //Iterate label first because the input labels determine the order
-        for (String label : labelMapping.keySet()) {
-            for (Improvement i : improvements) {
-                if (i.getLabels().contains(label) && remainingImprovements.contains(i)) {
-                    remainingImprovements.remove(i);
-                    byLabel.put(labelMapping.get(label), i);
+            //the section is printed where its first improvement is found in the order of label mapping
+            boolean[] printed = new boolean[sectionLabels.size()];
+            String separator = " - ";
+            for (int label = 0; label < prefixes.length; label++) {
+                int section = sections[label];
+                if (byLabel.get(label) == null || printed[section]) {
+                    continue;
+                }
+                printed[section] = true;
+                for (int sectionLabel : sectionLabels.get(section)) {
+                    List<Improvement> list = byLabel.get(sectionLabel);
+                    if (list == null) {
+                        continue;
+                    }
+                    for (Improvement i : list) {
+                        output.append(separator).append(prefixes[sectionLabel]);
+                        CommonFormatting.format(i, output);
+                        separator = "\n - ";
+                    }
                 }
             }
         }
 
-        //Step 2, add remaining improvements
-        for (Improvement i : remainingImprovements) {
-            byLabel.put(NO_LABEL, i);
+        /**
+         * The first label of the improvement in the order of label mapping, or the index of {@link #NO_LABEL} section
+         */
+        private int labelIndex(Improvement improvement) {
+            int result = prefixes.length - 1;
+            for (String label : improvement.getLabels()) {
+                Integer index = labelIndexes.get(label);
+                if (index != null && index < result) {
+                    result = index;
+                }
+            }
+            return result;
         }
-
-        return byLabel;
     }
 
     static String authorsSummary(ContributionSet contributions, Map<String, Contributor> contributors, String vcsCommitsLink) {
@@ -2,6 +2,8 @@ package org.shipkit.internal.notes.format;
 
 import org.shipkit.internal.notes.model.ReleaseNotesData;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Collection;
 
 /**
@@ -13,4 +15,12 @@ public interface MultiReleaseNotesFormatter {
      * Formats release notes data for all releases
      */
     String formatReleaseNotes(Collection<ReleaseNotesData> data);
+
+    /**
+     * Formats release notes data for all releases and writes them to the output as they are formatted.
+     * Use it for big release notes, for example for the whole history of the project,
+     * so that the content is not kept in memory.
+     * The output is not closed.
+     */
+    void formatReleaseNotes(Collection<ReleaseNotesData> data, Writer output) throws IOException;
 }
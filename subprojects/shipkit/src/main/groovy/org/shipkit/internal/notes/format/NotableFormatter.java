@@ -5,6 +5,8 @@ import org.shipkit.internal.notes.model.Improvement;
 import org.shipkit.internal.notes.model.ReleaseNotesData;
 import org.shipkit.internal.util.DateUtil;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.text.MessageFormat;
 import java.util.Collection;
 
@@ -12,51 +14,56 @@ class NotableFormatter implements MultiReleaseNotesFormatter {
 
     private final String introductionText;
     private final String detailedReleaseNotesLink;
-    private final String vcsCommitsLinkTemplate;
+    private final MessageFormat vcsCommitsLinkFormat;
 
     public NotableFormatter(String introductionText, String detailedReleaseNotesLink, String vcsCommitsLinkTemplate) {
         this.introductionText = introductionText;
         this.detailedReleaseNotesLink = detailedReleaseNotesLink;
-        this.vcsCommitsLinkTemplate = vcsCommitsLinkTemplate;
+        //the template is parsed once, not for every release
+        this.vcsCommitsLinkFormat = new MessageFormat(vcsCommitsLinkTemplate);
     }
 
     public String formatReleaseNotes(Collection<ReleaseNotesData> data) {
-        StringBuilder sb = new StringBuilder(introductionText == null ? "" : introductionText);
+        return CommonFormatting.formatToString(this, data);
+    }
+
+    public void formatReleaseNotes(Collection<ReleaseNotesData> data, Writer output) throws IOException {
+        output.write(introductionText == null ? "" : introductionText);
         for (ReleaseNotesData d : data) {
-            sb.append("### ").append(d.getVersion()).append(" - ").append(DateUtil.formatDate(d.getDate()))
+            output.append("### ").append(d.getVersion()).append(" - ").append(DateUtil.formatDate(d.getDate()))
                     .append("\n\n");
 
             if (d.getContributions().getAllCommits().isEmpty()) {
-                sb.append("No code changes. No commits found.\n");
+                output.write("No code changes. No commits found.\n");
             } else {
                 //TODO SF formatter should not create link. Rather, the link should be a part of release notes data.
                 //This is not only cleaner but also avoid duplication of link formatting across formatters.
-                String vcsCommitsLink = MessageFormat.format(vcsCommitsLinkTemplate, d.getPreviousVersionVcsTag(), d.getVcsTag());
+                String vcsCommitsLink = vcsCommitsLinkFormat.format(new Object[]{d.getPreviousVersionVcsTag(), d.getVcsTag()});
 
-                String contributions = formatContributions(d.getContributions(), d.getImprovements().size(), detailedReleaseNotesLink, vcsCommitsLink);
-                sb.append(contributions).append("\n\n");
+                writeContributions(d.getContributions(), d.getImprovements().size(), detailedReleaseNotesLink, vcsCommitsLink, output);
+                output.write("\n\n");
 
                 if (d.getImprovements().isEmpty()) {
-                    sb.append("No notable improvements. No pull requests were referenced from [commits](")
+                    output.append("No notable improvements. No pull requests were referenced from [commits](")
                             .append(vcsCommitsLink)
                             .append(").\n");
                 } else {
                     for (Improvement i : d.getImprovements()) {
-                        sb.append(" * ").append(CommonFormatting.format(i)).append("\n");
+                        output.write(" * ");
+                        CommonFormatting.format(i, output);
+                        output.write("\n");
                     }
                 }
             }
 
-            sb.append("\n");
+            output.write("\n");
         }
-
-        return sb.toString();
     }
 
-    private static String formatContributions(ContributionSet contributions, int improvementCount,
-                                              String detailedReleaseNotesLink, String vcsCommitsLink) {
-        return "Authors: [" + contributions.getAuthorCount() + "](" + detailedReleaseNotesLink + ")"
-                + ", commits: [" + contributions.getAllCommits().size() + "](" + vcsCommitsLink + ")"
-                + ", improvements: [" + improvementCount + "](" + detailedReleaseNotesLink + ").";
+    private static void writeContributions(ContributionSet contributions, int improvementCount,
+                                           String detailedReleaseNotesLink, String vcsCommitsLink, Writer output) throws IOException {
+        output.append("Authors: [").append(String.valueOf(contributions.getAuthorCount())).append("](").append(detailedReleaseNotesLink).append(")")
+                .append(", commits: [").append(String.valueOf(contributions.getAllCommits().size())).append("](").append(vcsCommitsLink).append(")")
+                .append(", improvements: [").append(String.valueOf(improvementCount)).append("](").append(detailedReleaseNotesLink).append(").");
     }
 }
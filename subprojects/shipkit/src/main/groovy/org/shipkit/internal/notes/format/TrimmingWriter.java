@@ -0,0 +1,64 @@
+package org.shipkit.internal.notes.format;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the text without leading and trailing whitespace, like {@link String#trim()} but without building the text in memory.
+ * Whitespace is held back until more text is written, whitespace written last never reaches the target writer.
+ */
+class TrimmingWriter extends Writer {
+
+    private final Writer out;
+    private final StringBuilder pendingWhitespace = new StringBuilder();
+    private boolean started;
+
+    TrimmingWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int end = off + len;
+        int i = off;
+        while (i < end) {
+            int whitespaceStart = i;
+            while (i < end && isWhitespace(cbuf[i])) {
+                i++;
+            }
+            if (!started) {
+                //leading whitespace is skipped
+                whitespaceStart = i;
+            }
+            if (i == end) {
+                pendingWhitespace.append(cbuf, whitespaceStart, i - whitespaceStart);
+                return;
+            }
+            if (pendingWhitespace.length() > 0) {
+                out.append(pendingWhitespace);
+                pendingWhitespace.setLength(0);
+            }
+            while (i < end && !isWhitespace(cbuf[i])) {
+                i++;
+            }
+            //whitespace in between and the text that follows it
+            out.write(cbuf, whitespaceStart, i - whitespaceStart);
+            started = true;
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        //the same characters that String.trim() removes
+        return c <= ' ';
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
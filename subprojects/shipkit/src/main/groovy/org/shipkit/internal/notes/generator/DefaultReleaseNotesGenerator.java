@@ -12,10 +12,14 @@ import org.shipkit.internal.notes.vcs.ContributionsProvider;
 import org.shipkit.internal.notes.vcs.ReleasedVersion;
 import org.shipkit.internal.notes.vcs.ReleasedVersionsProvider;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 class DefaultReleaseNotesGenerator implements ReleaseNotesGenerator {
 
@@ -25,13 +29,16 @@ class DefaultReleaseNotesGenerator implements ReleaseNotesGenerator {
     private final ImprovementsProvider improvementsProvider;
     private final ReleasedVersionsProvider releasedVersionsProvider;
     private final ContributorsProvider contributorsProvider;
+    private final ReleaseNotesStore store;
 
     DefaultReleaseNotesGenerator(ContributionsProvider contributionsProvider, ImprovementsProvider improvementsProvider,
-                                 ReleasedVersionsProvider releasedVersionsProvider, ContributorsProvider contributorsProvider) {
+                                 ReleasedVersionsProvider releasedVersionsProvider, ContributorsProvider contributorsProvider,
+                                 ReleaseNotesStore store) {
         this.contributionsProvider = contributionsProvider;
         this.improvementsProvider = improvementsProvider;
         this.releasedVersionsProvider = releasedVersionsProvider;
         this.contributorsProvider = contributorsProvider;
+        this.store = store;
     }
 
     public Collection<ReleaseNotesData> generateReleaseNotesData(String headVersion, Collection<String> targetVersions, String tagPrefix,
@@ -47,17 +54,40 @@ class DefaultReleaseNotesGenerator implements ReleaseNotesGenerator {
 
         Collection<ReleasedVersion> versions = releasedVersionsProvider.getReleasedVersions(headVersion, new Date(), targetVersions, tagPrefix);
 
+        List<ReleasedVersion> included = new ArrayList<ReleasedVersion>();
+        List<ReleasedVersion> notStored = new ArrayList<ReleasedVersion>();
+        Map<ReleasedVersion, ReleaseNotesData> storedData = new HashMap<ReleasedVersion, ReleaseNotesData>();
         for (ReleasedVersion v : versions) {
             if (versions.size() > 1 && v.getPreviousRev() == null) {
                 continue;
             }
-            ContributionSet contributions = contributionsProvider.getContributionsBetween(v.getPreviousRev(), v.getRev());
+            included.add(v);
+            ReleaseNotesData stored = store.get(v);
+            if (stored != null) {
+                storedData.put(v, stored);
+            } else {
+                notStored.add(v);
+            }
+        }
+        //only the versions that are not in the store yet are computed
+        Iterator<ContributionSet> newContributions = contributionsProvider.getContributions(notStored).iterator();
+
+        for (ReleasedVersion v : included) {
+            ReleaseNotesData stored = storedData.get(v);
+            if (stored != null) {
+                LOG.lifecycle("Reusing stored release notes data for " + v.getPreviousRev() + ".." + v.getRev());
+                out.add(stored);
+                continue;
+            }
+            ContributionSet contributions = newContributions.next();
             LOG.lifecycle("Retrieved " + contributions.getContributions().size() + " contribution(s) between " + v.getPreviousRev() + ".." + v.getRev());
 
             Collection<Improvement> improvements = improvementsProvider.getImprovements(contributions, gitHubLabels, onlyPullRequests);
             LOG.lifecycle("Retrieved " + improvements.size() + " improvement(s) for tickets: " + contributions.getAllTickets());
 
-            out.add(new DefaultReleaseNotesData(v.getVersion(), v.getDate(), contributions, improvements, v.getPreviousRev(), v.getRev()));
+            ReleaseNotesData data = new DefaultReleaseNotesData(v.getVersion(), v.getDate(), contributions, improvements, v.getPreviousRev(), v.getRev());
+            store.add(v, data);
+            out.add(data);
         }
 
         return out;
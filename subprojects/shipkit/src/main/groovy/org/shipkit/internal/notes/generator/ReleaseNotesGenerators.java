@@ -2,17 +2,20 @@ package org.shipkit.internal.notes.generator;
 
 import org.shipkit.internal.exec.Exec;
 import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.git.GitRepository;
 import org.shipkit.internal.notes.contributors.github.Contributors;
 import org.shipkit.internal.notes.contributors.github.GitHubContributorsProvider;
 import org.shipkit.internal.notes.improvements.Improvements;
 import org.shipkit.internal.notes.improvements.ImprovementsProvider;
 import org.shipkit.internal.notes.model.Commit;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 import org.shipkit.internal.notes.util.Predicate;
 import org.shipkit.internal.notes.vcs.ContributionsProvider;
 import org.shipkit.internal.notes.vcs.ReleasedVersionsProvider;
 import org.shipkit.internal.notes.vcs.Vcs;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 public class ReleaseNotesGenerators {
 
@@ -24,12 +27,26 @@ public class ReleaseNotesGenerators {
      * @param ignoredCommit responsible decide if commits should not be included in release notes
      */
     public static ReleaseNotesGenerator releaseNotesGenerator(File workDir, String gitHubApiUrl, String gitHubRepository, String readOnlyAuthToken, Predicate<Commit> ignoredCommit) {
-        ProcessRunner processRunner = Exec.getProcessRunner(workDir);
-        ContributionsProvider contributionsProvider = Vcs.getContributionsProvider(processRunner, ignoredCommit);
-        ImprovementsProvider improvementsProvider = Improvements.getGitHubProvider(gitHubApiUrl, gitHubRepository, readOnlyAuthToken);
-        ReleasedVersionsProvider releasedVersionsProvider = Vcs.getReleaseDateProvider(processRunner);
-        GitHubContributorsProvider contributorsProvider = Contributors.getGitHubContributorsProvider(gitHubApiUrl, gitHubRepository, readOnlyAuthToken);
+        return releaseNotesGenerator(workDir, gitHubApiUrl, gitHubRepository, readOnlyAuthToken, ignoredCommit, new GitHubRequestExecutor(), ReleaseNotesStore.disabled());
+    }
+
+    /**
+     * See {@link #releaseNotesGenerator(File, String, String, String, Predicate)}
+     *
+     * @param requestExecutor executes GitHub API requests
+     * @param store store of release notes data of already released versions, only versions not yet stored are computed
+     */
+    public static ReleaseNotesGenerator releaseNotesGenerator(File workDir, String gitHubApiUrl, String gitHubRepository, String readOnlyAuthToken,
+                                                              Predicate<Commit> ignoredCommit, GitHubRequestExecutor requestExecutor,
+                                                              ReleaseNotesStore store) {
+        //the runner fetches tags from the remote repository
+        ProcessRunner processRunner = Exec.getProcessRunner(workDir).setTimeout(Exec.REMOTE_GIT_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        GitRepository repository = GitRepository.find(workDir);
+        ContributionsProvider contributionsProvider = Vcs.getContributionsProvider(processRunner, repository, ignoredCommit);
+        ImprovementsProvider improvementsProvider = Improvements.getGitHubProvider(gitHubApiUrl, gitHubRepository, readOnlyAuthToken, requestExecutor);
+        ReleasedVersionsProvider releasedVersionsProvider = Vcs.getReleaseDateProvider(processRunner, repository);
+        GitHubContributorsProvider contributorsProvider = Contributors.getGitHubContributorsProvider(gitHubApiUrl, gitHubRepository, readOnlyAuthToken, requestExecutor);
         return new DefaultReleaseNotesGenerator(contributionsProvider, improvementsProvider, releasedVersionsProvider,
-                contributorsProvider);
+                contributorsProvider, store);
     }
 }
@@ -0,0 +1,153 @@
+package org.shipkit.internal.notes.generator;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.json.simple.DeserializationException;
+import org.json.simple.JsonObject;
+import org.json.simple.Jsoner;
+import org.shipkit.internal.gradle.util.ReleaseNotesSerializer;
+import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.util.IOUtil;
+import org.shipkit.internal.notes.vcs.ReleasedVersion;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append-only local store of release notes data of versions that were already released.
+ * Data of a released version does not change as long as its tag points to the same commit,
+ * so it is computed once and reused by subsequent builds.
+ * <p>
+ * Entries are keyed by the tag, the commit id the tag points to, the previous tag
+ * and the context (configuration that affects the data, like GitHub labels).
+ * Revisions that are not tags (like 'HEAD') are never stored.
+ * <p>
+ * The store file contains one JSON object per line, a new line is appended for every new entry.
+ * Lines that cannot be parsed (for example, written partially by a build that was killed) are ignored.
+ */
+public class ReleaseNotesStore {
+
+    private static final Logger LOG = Logging.getLogger(ReleaseNotesStore.class);
+    private static final String ENTRY_FORMAT = "{ \"key\": \"%s\", \"data\": %s }";
+
+    private final File storeFile;
+    private final String context;
+    private final ReleaseNotesSerializer serializer = new ReleaseNotesSerializer();
+
+    private Map<String, ReleaseNotesData> entries;
+    private int reused;
+    private int added;
+
+    /**
+     * @param storeFile file where the data is stored, can be null - nothing is stored then
+     * @param context configuration that affects the release notes data, entries stored with different context are not reused
+     */
+    public ReleaseNotesStore(File storeFile, String context) {
+        this.storeFile = storeFile;
+        this.context = context;
+    }
+
+    /**
+     * Store that never stores anything, useful when incremental mode is not configured
+     */
+    public static ReleaseNotesStore disabled() {
+        return new ReleaseNotesStore(null, "");
+    }
+
+    /**
+     * Nullable, returns the stored data of given version or null if the version was not stored yet.
+     */
+    public ReleaseNotesData get(ReleasedVersion version) {
+        String key = key(version);
+        if (key == null) {
+            return null;
+        }
+        ReleaseNotesData data = getEntries().get(key);
+        if (data != null) {
+            reused++;
+        }
+        return data;
+    }
+
+    /**
+     * Appends the data of given version to the store. Does nothing if the version is not a tag.
+     */
+    public void add(ReleasedVersion version, ReleaseNotesData data) {
+        String key = key(version);
+        if (key == null || getEntries().containsKey(key)) {
+            return;
+        }
+        try {
+            append(String.format(ENTRY_FORMAT, Jsoner.escape(key), data.toJson()));
+        } catch (IOException e) {
+            //the store only speeds things up, the build should not fail when it cannot be written
+            LOG.warn("Unable to write release notes data of version {} to the store: {}", version.getVersion(), storeFile, e);
+            return;
+        }
+        entries.put(key, data);
+        added++;
+    }
+
+    /**
+     * Human readable summary of the store usage, suitable for logging
+     */
+    public String getSummary() {
+        if (storeFile == null) {
+            return "disabled";
+        }
+        return reused + " version(s) reused, " + added + " version(s) added, file: " + storeFile;
+    }
+
+    private String key(ReleasedVersion version) {
+        if (storeFile == null || version.getCommitId() == null) {
+            return null;
+        }
+        return context + "|" + version.getRev() + "@" + version.getCommitId() + ".." + version.getPreviousRev();
+    }
+
+    private Map<String, ReleaseNotesData> getEntries() {
+        if (entries == null) {
+            entries = readEntries();
+        }
+        return entries;
+    }
+
+    private Map<String, ReleaseNotesData> readEntries() {
+        Map<String, ReleaseNotesData> result = new HashMap<String, ReleaseNotesData>();
+        if (!storeFile.isFile()) {
+            return result;
+        }
+        for (String line : IOUtil.readFully(storeFile).split("\n")) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                JsonObject entry = (JsonObject) Jsoner.deserialize(line);
+                String key = entry.getString("key");
+                if (key != null && key.startsWith(context + "|")) {
+                    result.put(key, serializer.deserialize((JsonObject) entry.get("data")));
+                }
+            } catch (DeserializationException e) {
+                LOG.info("Ignoring malformed entry of release notes store {}: {}", storeFile, e.getMessage());
+            } catch (RuntimeException e) {
+                LOG.info("Ignoring malformed entry of release notes store {}: {}", storeFile, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    private void append(String line) throws IOException {
+        IOUtil.createParentDirectory(storeFile);
+        Writer writer = new OutputStreamWriter(new FileOutputStream(storeFile, true), "UTF-8");
+        try {
+            writer.write(line + "\n");
+        } finally {
+            IOUtil.close(writer);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.json.simple.JsonArray;
 import org.json.simple.JsonObject;
 import org.shipkit.internal.notes.internal.DefaultImprovement;
 import org.shipkit.internal.notes.model.Improvement;
+import org.shipkit.internal.notes.util.JsonProjection;
 
 import java.math.BigDecimal;
 import java.util.Collection;
@@ -15,6 +16,13 @@ import java.util.Set;
  */
 class GitHubImprovementsJSON {
 
+    /**
+     * Fields of the issue that are used by {@link #toImprovement(JsonObject)} and by the issue lookup
+     */
+    static final JsonProjection ISSUE_FIELDS = JsonProjection.fields("number", "html_url", "title", "state")
+            .with("pull_request", JsonProjection.fields())
+            .with("labels", JsonProjection.fields("name"));
+
     /**
      * Parses GitHub JsonObject in accordance to the API (https://developer.github.com/v3/issues/)
      */
@@ -2,6 +2,7 @@ package org.shipkit.internal.notes.improvements;
 
 import org.shipkit.internal.notes.model.ContributionSet;
 import org.shipkit.internal.notes.model.Improvement;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,15 +14,17 @@ class GitHubImprovementsProvider implements ImprovementsProvider {
     private final String apiUrl;
     private final String readOnlyAuthToken;
     private final String repository;
+    private final GitHubRequestExecutor requestExecutor;
 
-    GitHubImprovementsProvider(String apiUrl, String repository, String readOnlyAuthToken) {
+    GitHubImprovementsProvider(String apiUrl, String repository, String readOnlyAuthToken, GitHubRequestExecutor requestExecutor) {
         this.apiUrl = apiUrl;
         this.repository = repository;
         this.readOnlyAuthToken = readOnlyAuthToken;
+        this.requestExecutor = requestExecutor;
     }
 
     public Collection<Improvement> getImprovements(ContributionSet contributions, Collection<String> labels, boolean onlyPullRequests) {
         LOG.info("Parsing {} commits with {} tickets", contributions.getAllCommits().size(), contributions.getAllTickets().size());
-        return new GitHubTicketFetcher().fetchTickets(apiUrl, repository, readOnlyAuthToken, contributions.getAllTickets(), labels, onlyPullRequests);
+        return new GitHubTicketFetcher(requestExecutor).fetchTickets(apiUrl, repository, readOnlyAuthToken, contributions.getAllTickets(), labels, onlyPullRequests);
     }
 }
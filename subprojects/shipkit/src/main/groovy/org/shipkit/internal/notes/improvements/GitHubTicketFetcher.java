@@ -1,10 +1,11 @@
 package org.shipkit.internal.notes.improvements;
 
-import org.json.simple.DeserializationException;
 import org.json.simple.JsonObject;
 import org.shipkit.internal.gradle.util.StringUtil;
 import org.shipkit.internal.notes.model.Improvement;
 import org.shipkit.internal.notes.util.GitHubListFetcher;
+import org.shipkit.internal.notes.util.GitHubObjectFetcher;
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +17,21 @@ class GitHubTicketFetcher {
 
     private static final Logger LOG = LoggerFactory.getLogger(GitHubTicketFetcher.class);
 
+    /**
+     * Number of issues GitHub returns in a single page of the issues listing by default
+     */
+    static final int ISSUES_PAGE_SIZE = 30;
+
+    private final GitHubRequestExecutor requestExecutor;
+
+    GitHubTicketFetcher() {
+        this(new GitHubRequestExecutor());
+    }
+
+    GitHubTicketFetcher(GitHubRequestExecutor requestExecutor) {
+        this.requestExecutor = requestExecutor;
+    }
+
     Collection<Improvement> fetchTickets(String apiUrl, String repository, String readOnlyAuthToken, Collection<String> ticketIds, Collection<String> labels,
                                          boolean onlyPullRequests) {
         List<Improvement> out = new LinkedList<Improvement>();
@@ -26,8 +42,14 @@ class GitHubTicketFetcher {
 
         Queue<Long> tickets = queuedTicketNumbers(ticketIds);
 
+        if (shouldLookUpDirectly(tickets)) {
+            LOG.info("Fetching {} tickets directly by their numbers", tickets.size());
+            return lookUpTickets(apiUrl, repository, readOnlyAuthToken, tickets, labels, onlyPullRequests);
+        }
+
+        LOG.info("Scanning closed issues for {} tickets", tickets.size());
         try {
-            GitHubIssues issues = GitHubIssues.forRepo(apiUrl, repository, readOnlyAuthToken)
+            GitHubIssues issues = GitHubIssues.forRepo(apiUrl, repository, readOnlyAuthToken, requestExecutor)
                     .state("closed")
                     .labels(StringUtil.join(labels, ","))
                     .filter("all")
@@ -47,6 +69,40 @@ class GitHubTicketFetcher {
         return out;
     }
 
+    /**
+     * Scanning the closed issues listing costs roughly one request per {@link #ISSUES_PAGE_SIZE} issues
+     * between the lowest and the highest ticket number (and more, because the listing starts at the newest issue).
+     * Direct lookup costs one request per ticket. Picks direct lookup when it needs no more requests than scanning,
+     * for example when the tickets are few or their numbers are far apart.
+     */
+    static boolean shouldLookUpDirectly(Collection<Long> tickets) {
+        long lowest = Collections.min(tickets);
+        long highest = Collections.max(tickets);
+        long pagesToScan = (highest - lowest) / ISSUES_PAGE_SIZE + 1;
+        return tickets.size() <= pagesToScan;
+    }
+
+    private List<Improvement> lookUpTickets(String apiUrl, String repository, String readOnlyAuthToken, Collection<Long> tickets,
+                                            Collection<String> labels, boolean onlyPullRequests) {
+        GitHubObjectFetcher objectFetcher = new GitHubObjectFetcher(readOnlyAuthToken, requestExecutor);
+        IssueLookupFunction lookup = new IssueLookupFunction(objectFetcher, apiUrl, repository, labels);
+        Set<Improvement> found = requestExecutor.dispatch(lookup, tickets);
+
+        List<Improvement> out = new ArrayList<Improvement>();
+        for (Improvement i : found) {
+            if (!onlyPullRequests || i.isPullRequest()) {
+                out.add(i);
+            }
+        }
+        //the same order as the closed issues listing
+        Collections.sort(out, new Comparator<Improvement>() {
+            public int compare(Improvement i1, Improvement i2) {
+                return i2.getId().compareTo(i1.getId());
+            }
+        });
+        return out;
+    }
+
     private Queue<Long> dropTicketsAboveMaxInPage(Queue<Long> tickets, List<JsonObject> page) {
         if (page.isEmpty()) {
             return tickets;
@@ -95,31 +151,33 @@ class GitHubTicketFetcher {
 
         private final GitHubListFetcher fetcher;
 
-        private GitHubIssues(String nextPageUrl) {
-            fetcher = new GitHubListFetcher(nextPageUrl);
+        private GitHubIssues(String nextPageUrl, GitHubRequestExecutor requestExecutor) {
+            fetcher = new GitHubListFetcher(nextPageUrl, requestExecutor);
         }
 
         boolean hasNextPage() {
             return fetcher.hasNextPage();
         }
 
-        List<JsonObject> nextPage() throws IOException, DeserializationException {
-            return fetcher.nextPage();
+        List<JsonObject> nextPage() throws IOException {
+            return fetcher.nextPage(GitHubImprovementsJSON.ISSUE_FIELDS);
         }
 
-        static GitHubIssuesBuilder forRepo(String apiUrl, String repository, String readOnlyAuthToken) {
-            return new GitHubIssuesBuilder(apiUrl, repository, readOnlyAuthToken);
+        static GitHubIssuesBuilder forRepo(String apiUrl, String repository, String readOnlyAuthToken, GitHubRequestExecutor requestExecutor) {
+            return new GitHubIssuesBuilder(apiUrl, repository, readOnlyAuthToken, requestExecutor);
         }
 
         private static class GitHubIssuesBuilder {
             private final String apiUrl;
             private final String repository;
+            private final GitHubRequestExecutor requestExecutor;
 
             private Map<String, String> parameters;
 
-            GitHubIssuesBuilder(String apiUrl, String repository, String readOnlyAuthToken) {
+            GitHubIssuesBuilder(String apiUrl, String repository, String readOnlyAuthToken, GitHubRequestExecutor requestExecutor) {
                 this.apiUrl = apiUrl;
                 this.repository = repository;
+                this.requestExecutor = requestExecutor;
 
                 parameters = new HashMap<String, String>();
                 parameters.put("access_token", readOnlyAuthToken);
@@ -159,7 +217,7 @@ class GitHubTicketFetcher {
                     urlBuilder.append("&").append(parameter.getKey()).append("=").append(parameter.getValue());
                 }
 
-                return new GitHubIssues(urlBuilder.toString());
+                return new GitHubIssues(urlBuilder.toString(), requestExecutor);
             }
         }
     }
@@ -1,5 +1,7 @@
 package org.shipkit.internal.notes.improvements;
 
+import org.shipkit.internal.notes.util.GitHubRequestExecutor;
+
 /**
  * Improvements based on some issue tracking system outside of the vcs.
  */
@@ -13,6 +15,17 @@ public class Improvements {
      * @param readOnlyAuthToken the GitHub auth token
      */
     public static ImprovementsProvider getGitHubProvider(String apiUrl, String repository, final String readOnlyAuthToken) {
-        return new GitHubImprovementsProvider(apiUrl, repository, readOnlyAuthToken);
+        return getGitHubProvider(apiUrl, repository, readOnlyAuthToken, new GitHubRequestExecutor());
+    }
+
+    /**
+     * Fetches tickets from GitHub, requests are executed by given executor which caches the responses and obeys the rate limit.
+     * See {@link #getGitHubProvider(String, String, String)}
+     *
+     * @param requestExecutor executes GitHub API requests
+     */
+    public static ImprovementsProvider getGitHubProvider(String apiUrl, String repository, final String readOnlyAuthToken,
+                                                         GitHubRequestExecutor requestExecutor) {
+        return new GitHubImprovementsProvider(apiUrl, repository, readOnlyAuthToken, requestExecutor);
     }
 }
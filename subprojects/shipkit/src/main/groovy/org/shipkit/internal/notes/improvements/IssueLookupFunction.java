@@ -0,0 +1,94 @@
+package org.shipkit.internal.notes.improvements;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.json.simple.JsonObject;
+import org.shipkit.internal.notes.model.Improvement;
+import org.shipkit.internal.notes.util.Function;
+import org.shipkit.internal.notes.util.GitHubObjectFetcher;
+import org.shipkit.internal.notes.util.GitHubResponseException;
+
+import java.io.FileNotFoundException;
+import java.util.Collection;
+
+/**
+ * Fetches single GitHub issue by its number using https://developer.github.com/v3/issues/#get-a-single-issue
+ * Applies the same criteria as the closed issues listing: returns null if the issue does not exist,
+ * is not closed or does not have all requested labels.
+ * <p>
+ * Issues that were deleted or transferred (404, 410) and issues that cannot be fetched because of other client errors
+ * are skipped. Requests rejected because of rate limit are retried, server errors fail the lookup.
+ */
+class IssueLookupFunction implements Function<Long, Improvement> {
+
+    private static final Logger LOG = Logging.getLogger(IssueLookupFunction.class);
+
+    /**
+     * Maximum number of attempts to fetch the issue when the requests are rejected because of rate limit
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    private final GitHubObjectFetcher objectFetcher;
+    private final String issuesUrl;
+    private final Collection<String> labels;
+
+    IssueLookupFunction(GitHubObjectFetcher objectFetcher, String apiUrl, String repository, Collection<String> labels) {
+        this.objectFetcher = objectFetcher;
+        this.issuesUrl = apiUrl + "/repos/" + repository + "/issues/";
+        this.labels = labels;
+    }
+
+    @Override
+    public Improvement apply(Long number) {
+        String url = issuesUrl + number;
+        JsonObject issue = fetchIssue(url);
+        if (issue == null || !"closed".equals(issue.get("state"))) {
+            return null;
+        }
+        Improvement improvement = GitHubImprovementsJSON.toImprovement(issue);
+        if (!improvement.getLabels().containsAll(labels)) {
+            return null;
+        }
+        return improvement;
+    }
+
+    /**
+     * Nullable, returns null when the issue cannot be found
+     */
+    private JsonObject fetchIssue(String url) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return objectFetcher.getPage(url, GitHubImprovementsJSON.ISSUE_FIELDS);
+            } catch (FileNotFoundException e) {
+                //ticket referenced in the commit message does not exist in the repository
+                return null;
+            } catch (GitHubResponseException e) {
+                if (e.isRateLimited() && attempt < MAX_ATTEMPTS) {
+                    //when the limit is exhausted, the request executor holds back the next request until the limit resets
+                    LOG.lifecycle("  GitHub API rate limit exceeded, retrying {}", url);
+                    sleep(e.getRetryDelayMillis());
+                } else if (e.getResponseCode() == 404 || e.getResponseCode() == 410) {
+                    //ticket does not exist in the repository, it may have been deleted or transferred to other repository
+                    return null;
+                } else if (!e.isRateLimited() && e.getResponseCode() < 500) {
+                    //a single ticket that cannot be fetched should not fail the release notes
+                    LOG.warn("Skipping ticket, GitHub API responded with {} to {}", e.getResponseCode(), url);
+                    return null;
+                } else {
+                    throw new RuntimeException("Error occurred while fetching issue using " + url + "!", e);
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Error occurred while fetching issue using " + url + "!", e);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for GitHub API rate limit", e);
+        }
+    }
+}
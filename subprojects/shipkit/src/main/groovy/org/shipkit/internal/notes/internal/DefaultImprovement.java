@@ -2,6 +2,7 @@ package org.shipkit.internal.notes.internal;
 
 import org.json.simple.Jsoner;
 import org.shipkit.internal.notes.model.Improvement;
+import org.shipkit.internal.notes.util.JsonUtil;
 
 import java.io.IOException;
 import java.io.Writer;
@@ -13,8 +14,6 @@ import java.util.Iterator;
  */
 public class DefaultImprovement implements Improvement {
 
-    private static final String JSON_FORMAT = "{ \"id\": \"%s\", \"title\": \"%s\", \"url\": \"%s\", \"labels\": [%s], \"isPullRequest\": %s }";
-
     private final Long id;
     private final String title;
     private final String url;
@@ -67,25 +66,23 @@ public class DefaultImprovement implements Improvement {
 
     @Override
     public String toJson() {
-        final StringBuilder labelsBuilder = new StringBuilder();
+        return JsonUtil.toJson(this);
+    }
+
+    @Override
+    public void toJson(Writer writable) throws IOException {
+        writable.append("{ \"id\": \"").append(id.toString())
+                .append("\", \"title\": \"").append(Jsoner.escape(title))
+                .append("\", \"url\": \"").append(Jsoner.escape(url))
+                .append("\", \"labels\": [");
         final Iterator<String> iterator = labels.iterator();
         while (iterator.hasNext()) {
-            labelsBuilder.append("\"").append(Jsoner.escape(iterator.next())).append("\"");
+            writable.append("\"").append(Jsoner.escape(iterator.next())).append("\"");
             if (iterator.hasNext()) {
-                labelsBuilder.append(",");
+                writable.append(",");
             }
         }
-        return String.format(JSON_FORMAT,
-                id.toString(),
-                Jsoner.escape(title),
-                Jsoner.escape(url),
-                labelsBuilder.toString(),
-                String.valueOf(isPullRequest));
-    }
-
-    @Override
-    public void toJson(Writer writable) throws IOException {
-        writable.append(toJson());
+        writable.append("], \"isPullRequest\": ").append(String.valueOf(isPullRequest)).append(" }");
     }
 
     @Override
@@ -4,18 +4,15 @@ import org.json.simple.Jsoner;
 import org.shipkit.internal.notes.model.ContributionSet;
 import org.shipkit.internal.notes.model.Improvement;
 import org.shipkit.internal.notes.model.ReleaseNotesData;
+import org.shipkit.internal.notes.util.JsonUtil;
 
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Collection;
 import java.util.Date;
-import java.util.Iterator;
 
 public class DefaultReleaseNotesData implements ReleaseNotesData {
 
-    private static final String JSON_FORMAT = "{ \"version\": \"%s\", \"date\": \"%s\", \"contributions\": %s, " +
-            "\"improvements\": [%s], \"previousVersionTag\": \"%s\" , \"thisVersionTag\": \"%s\" }";
-
     private final String version;
     private final Date date;
     private final ContributionSet contributions;
@@ -66,27 +63,20 @@ public class DefaultReleaseNotesData implements ReleaseNotesData {
 
     @Override
     public String toJson() {
-        final StringBuilder improvementsBuilder = new StringBuilder();
-        final Iterator<Improvement> iterator = improvements.iterator();
-        while (iterator.hasNext()) {
-            improvementsBuilder.append(iterator.next().toJson());
-            if (iterator.hasNext()) {
-                improvementsBuilder.append(",");
-            }
-        }
-        return String.format(JSON_FORMAT,
-                Jsoner.escape(version),
-                Jsoner.escape(String.valueOf(date.getTime())),
-                contributions.toJson(),
-                improvementsBuilder.toString(),
-                Jsoner.escape(previousVersionTag == null ? "" : previousVersionTag),
-                Jsoner.escape(thisVersionTag)
-        );
+        return JsonUtil.toJson(this);
     }
 
     @Override
     public void toJson(Writer writable) throws IOException {
-        writable.append(toJson());
+        writable.append("{ \"version\": \"").append(Jsoner.escape(version))
+                .append("\", \"date\": \"").append(Jsoner.escape(String.valueOf(date.getTime())))
+                .append("\", \"contributions\": ");
+        contributions.toJson(writable);
+        writable.append(", \"improvements\": ");
+        JsonUtil.writeArray(improvements, writable);
+        writable.append(", \"previousVersionTag\": \"").append(Jsoner.escape(previousVersionTag == null ? "" : previousVersionTag))
+                .append("\" , \"thisVersionTag\": \"").append(Jsoner.escape(thisVersionTag))
+                .append("\" }");
     }
 
     @Override
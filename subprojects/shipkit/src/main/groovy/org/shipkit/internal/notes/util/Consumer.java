@@ -0,0 +1,7 @@
+package org.shipkit.internal.notes.util;
+
+// TODO remove once we migrate to java8
+public interface Consumer<T> {
+
+    void accept(T t);
+}
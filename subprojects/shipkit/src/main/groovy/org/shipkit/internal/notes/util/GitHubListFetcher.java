@@ -2,14 +2,11 @@ package org.shipkit.internal.notes.util;
 
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
-import org.json.simple.DeserializationException;
 import org.json.simple.JsonObject;
-import org.json.simple.Jsoner;
 import org.shipkit.internal.util.DateUtil;
 
-
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.StringReader;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.Date;
@@ -23,17 +20,63 @@ public class GitHubListFetcher {
     private static final Logger LOG = Logging.getLogger(GitHubListFetcher.class);
 
     private static final String RELATIVE_LINK_NOT_FOUND = "none";
+    private final GitHubRequestExecutor requestExecutor;
     private String nextPageUrl;
 
     public GitHubListFetcher(String nextPageUrl) {
+        this(nextPageUrl, new GitHubRequestExecutor());
+    }
+
+    /**
+     * @param nextPageUrl first page to fetch
+     * @param requestExecutor executes the requests, shared by all fetchers of given task
+     */
+    public GitHubListFetcher(String nextPageUrl, GitHubRequestExecutor requestExecutor) {
         this.nextPageUrl = nextPageUrl;
+        this.requestExecutor = requestExecutor;
     }
 
     public boolean hasNextPage() {
         return !RELATIVE_LINK_NOT_FOUND.equals(nextPageUrl);
     }
 
-    public List<JsonObject> nextPage() throws IOException, DeserializationException {
+    /**
+     * Fetches next page and decodes all fields of the returned objects
+     */
+    public List<JsonObject> nextPage() throws IOException {
+        return nextPage(null);
+    }
+
+    /**
+     * Fetches next page and decodes only the fields of the returned objects that are included in the projection.
+     *
+     * @param projection fields to decode, null decodes all fields
+     */
+    public List<JsonObject> nextPage(JsonProjection projection) throws IOException {
+        return parseJsonFrom(fetchNextPage(), projection);
+    }
+
+    /**
+     * Fetches next page of an end point that returns an object with the list in given field,
+     * like the "compare" end point, and decodes only the fields of the listed objects that are included in the projection.
+     *
+     * @param listField field of the returned object that contains the list
+     * @param projection fields to decode, null decodes all fields
+     */
+    public List<JsonObject> nextPage(String listField, JsonProjection projection) throws IOException {
+        String content = fetchNextPage();
+        JsonObject object = (JsonObject) new ProjectingJsonDecoder(new StringReader(content))
+                .decode(JsonProjection.fields().with(listField, projection));
+        @SuppressWarnings("unchecked")
+        List<JsonObject> list = (List<JsonObject>) object.get(listField);
+        if (list == null) {
+            throw new IOException("GitHub API response does not contain '" + listField + "' field");
+        }
+        LOG.info("GitHub API returned {} Json objects.", list.size());
+        return list;
+    }
+
+    private String fetchNextPage() throws IOException {
         if (RELATIVE_LINK_NOT_FOUND.equals(nextPageUrl)) {
             throw new IllegalStateException("GitHub API no more issues to fetch");
         }
@@ -43,15 +86,17 @@ public class GitHubListFetcher {
         URLConnection urlConnection = url.openConnection();
         LOG.info("Established connection to GitHub API");
 
+        GitHubResponseCache.Response response = requestExecutor.get(nextPageUrl, urlConnection);
+
         String resetInLocalTime = resetLimitInLocalTimeOrEmpty(urlConnection);
 
         LOG.info("GitHub API rate info => Remaining : {}, Limit : {}, Reset at: {}",
                 urlConnection.getHeaderField("X-RateLimit-Remaining"),
                 urlConnection.getHeaderField("X-RateLimit-Limit"),
                 resetInLocalTime);
-        nextPageUrl = extractRelativeLink(urlConnection.getHeaderField("Link"), "next");
-
-        return parseJsonFrom(urlConnection);
+        nextPageUrl = extractRelativeLink(response.getLink(), "next");
+        LOG.info("GitHub API responded successfully.");
+        return response.getContent();
     }
 
     private String resetLimitInLocalTimeOrEmpty(URLConnection urlConnection) {
@@ -73,14 +118,9 @@ public class GitHubListFetcher {
         return "N/A";
     }
 
-    private List<JsonObject> parseJsonFrom(URLConnection urlConnection) throws IOException, DeserializationException {
-        InputStream response = urlConnection.getInputStream();
-
-        LOG.info("Reading remote stream from GitHub API");
-        String content = IOUtil.readFully(response);
-        LOG.info("GitHub API responded successfully.");
+    private List<JsonObject> parseJsonFrom(String content, JsonProjection projection) throws IOException {
         @SuppressWarnings("unchecked")
-        List<JsonObject> issues = (List<JsonObject>) Jsoner.deserialize(content);
+        List<JsonObject> issues = (List<JsonObject>) new ProjectingJsonDecoder(new StringReader(content)).decode(projection);
         LOG.info("GitHub API returned {} Json objects.", issues.size());
         return issues;
     }
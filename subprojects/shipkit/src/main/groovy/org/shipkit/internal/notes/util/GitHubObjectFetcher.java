@@ -2,15 +2,16 @@ package org.shipkit.internal.notes.util;
 
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
-import org.json.simple.DeserializationException;
 import org.json.simple.JsonObject;
-import org.json.simple.Jsoner;
 import org.shipkit.internal.util.DateUtil;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class contains a standard operation for fetching single page for GitHub.
@@ -21,17 +22,46 @@ public class GitHubObjectFetcher {
     //TODO GitHubObjectFetcher and GitHubListFetcher can probably be merged into one, there's code duplicated
 
     private final String authToken;
+    private final GitHubRequestExecutor requestExecutor;
 
     public GitHubObjectFetcher(String authToken) {
+        this(authToken, new GitHubRequestExecutor());
+    }
+
+    /**
+     * @param authToken GitHub auth token
+     * @param requestExecutor executes the requests, shared by all fetchers of given task
+     */
+    public GitHubObjectFetcher(String authToken, GitHubRequestExecutor requestExecutor) {
         this.authToken = authToken;
+        this.requestExecutor = requestExecutor;
+    }
+
+    /**
+     * Fetches the page and decodes all fields of the returned object
+     */
+    public JsonObject getPage(String pageUrl) throws IOException {
+        return getPage(pageUrl, null);
     }
 
-    public JsonObject getPage(String pageUrl) throws IOException, DeserializationException {
+    /**
+     * Fetches the page and decodes only the fields of the returned object that are included in the projection.
+     *
+     * @param projection fields to decode, null decodes all fields
+     */
+    public JsonObject getPage(String pageUrl, JsonProjection projection) throws IOException {
         URL url = new URL(String.format("%s%s%s", pageUrl, "?access_token=", authToken));
         LOG.info("GitHub API querying page {}", url);
         LOG.lifecycle("GET {}", url);
         URLConnection urlConnection = url.openConnection();
 
+        GitHubResponseCache.Response response;
+        try {
+            response = requestExecutor.get(url.toString(), urlConnection);
+        } catch (IOException e) {
+            throw responseException(pageUrl, urlConnection, e);
+        }
+
         String resetInLocalTime = resetLimitInLocalTimeOrEmpty(urlConnection);
 
         LOG.info("GitHub API rate info => Remaining : {}, Limit : {}, Reset at: {}",
@@ -39,7 +69,51 @@ public class GitHubObjectFetcher {
                 urlConnection.getHeaderField("X-RateLimit-Limit"),
                 resetInLocalTime);
 
-        return parseJsonFrom(urlConnection);
+        return parseJsonFrom(response.getContent(), projection);
+    }
+
+    /**
+     * Adds the response code to the failure so that the callers can tell missing objects from rate limit and other errors
+     */
+    private static IOException responseException(String pageUrl, URLConnection connection, IOException failure) {
+        if (!(connection instanceof HttpURLConnection)) {
+            return failure;
+        }
+        int code;
+        try {
+            code = ((HttpURLConnection) connection).getResponseCode();
+        } catch (IOException e) {
+            //no response at all, for example connection refused
+            return failure;
+        }
+        if (code < HttpURLConnection.HTTP_BAD_REQUEST) {
+            return failure;
+        }
+        return new GitHubResponseException(code,
+            retryDelayMillis(code, connection.getHeaderField("Retry-After"), connection.getHeaderField("X-RateLimit-Remaining")),
+            "GitHub API responded with " + code + " to " + pageUrl, failure);
+    }
+
+    /**
+     * How long to wait before retrying the request rejected because of rate limit, -1 if the request was rejected for other reasons.
+     * When the rate limit is exhausted the delay is 0 because {@link GitHubRequestExecutor} holds back the next request
+     * until the limit resets.
+     *
+     * @param retryAfter nullable, value of 'Retry-After' header, sent when abuse rate limit was hit
+     * @param remaining nullable, value of 'X-RateLimit-Remaining' header
+     */
+    static long retryDelayMillis(int responseCode, String retryAfter, String remaining) {
+        if (responseCode != HttpURLConnection.HTTP_FORBIDDEN && responseCode != 429) {
+            return -1;
+        }
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return "0".equals(remaining) ? 0 : -1;
     }
 
     private String resetLimitInLocalTimeOrEmpty(URLConnection urlConnection) {
@@ -51,12 +125,9 @@ public class GitHubObjectFetcher {
         return DateUtil.formatDateToLocalTime(resetInEpochSeconds);
     }
 
-    private JsonObject parseJsonFrom(URLConnection urlConnection) throws IOException, DeserializationException {
-        InputStream response = urlConnection.getInputStream();
-
-        String content = IOUtil.readFully(response);
+    private JsonObject parseJsonFrom(String content, JsonProjection projection) throws IOException {
         LOG.info("GitHub API responded successfully.");
 
-        return (JsonObject) Jsoner.deserialize(content);
+        return (JsonObject) new ProjectingJsonDecoder(new StringReader(content)).decode(projection);
     }
 }
@@ -0,0 +1,100 @@
+package org.shipkit.internal.notes.util;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.util.GitHubApi;
+
+import java.net.URLConnection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks GitHub API rate limit reported in 'X-RateLimit-Remaining' and 'X-RateLimit-Reset' response headers.
+ * When the limit is almost exhausted, requests are held back until the limit resets
+ * instead of failing with '403 rate limit exceeded'.
+ * See https://developer.github.com/v3/#rate-limiting
+ */
+class GitHubRateLimit {
+
+    private static final Logger LOG = Logging.getLogger(GitHubRateLimit.class);
+
+    private final int reserve;
+
+    //-1 until the first response tells us the actual value
+    private int remaining = -1;
+    private long resetMillis;
+    //reset time of the last logged wait, so that waiting threads log it only once
+    private long loggedResetMillis;
+
+    /**
+     * @param reserve number of requests kept in reserve, covers requests that are already in flight
+     */
+    GitHubRateLimit(int reserve) {
+        this.reserve = reserve;
+    }
+
+    /**
+     * Blocks until the request can be made without exceeding the rate limit.
+     * All threads wait when the limit is exhausted, but the lock is not held while waiting
+     * so that responses of requests in flight can still update the limit.
+     * Requests are not held back for longer than {@link GitHubApi#MAX_RETRY_DELAY_MILLIS},
+     * when the limit resets later they are made right away and fail if the limit is exceeded.
+     */
+    void acquire() throws InterruptedException {
+        while (true) {
+            long wait;
+            synchronized (this) {
+                wait = waitMillis(System.currentTimeMillis());
+                if (wait == 0 || wait > GitHubApi.MAX_RETRY_DELAY_MILLIS) {
+                    if (wait > 0 && loggedResetMillis != resetMillis) {
+                        loggedResetMillis = resetMillis;
+                        LOG.lifecycle("  GitHub API rate limit almost exhausted ({} remaining) and resets in {} minutes, not waiting for it",
+                                remaining, TimeUnit.MILLISECONDS.toMinutes(wait));
+                    }
+                    if (remaining > 0) {
+                        remaining--;
+                    }
+                    return;
+                }
+                if (loggedResetMillis != resetMillis) {
+                    loggedResetMillis = resetMillis;
+                    LOG.lifecycle("  GitHub API rate limit almost exhausted ({} remaining), waiting {} seconds until it resets",
+                            remaining, TimeUnit.MILLISECONDS.toSeconds(wait));
+                }
+            }
+            //the wait is computed again, the limit might have been updated in the meantime
+            Thread.sleep(wait);
+        }
+    }
+
+    /**
+     * Updates the limit using rate limit headers of the response, if present
+     */
+    synchronized void update(URLConnection connection) {
+        String remainingHeader = connection.getHeaderField("X-RateLimit-Remaining");
+        String resetHeader = connection.getHeaderField("X-RateLimit-Reset");
+        if (remainingHeader == null || resetHeader == null) {
+            return;
+        }
+        try {
+            update(Integer.parseInt(remainingHeader), Long.parseLong(resetHeader) * 1000);
+        } catch (NumberFormatException e) {
+            LOG.info("Unable to parse GitHub API rate limit headers, remaining: {}, reset: {}", remainingHeader, resetHeader);
+        }
+    }
+
+    synchronized void update(int remaining, long resetMillis) {
+        this.remaining = remaining;
+        this.resetMillis = resetMillis;
+    }
+
+    /**
+     * How long the next request needs to wait, 0 if it can be made right away
+     */
+    synchronized long waitMillis(long now) {
+        if (remaining < 0 || remaining > reserve || resetMillis <= now) {
+            return 0;
+        }
+        //one extra second because the reset time has the precision of seconds
+        return resetMillis - now + 1000;
+    }
+}
@@ -0,0 +1,160 @@
+package org.shipkit.internal.notes.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes GitHub API requests on behalf of all fetchers that work on the same task.
+ * <ul>
+ *     <li>requests go through the {@link GitHubResponseCache}</li>
+ *     <li>rate limit headers of every response are tracked and requests are held back
+ *     before the limit is exceeded, see {@link GitHubRateLimit}</li>
+ *     <li>independent requests (like user profile lookups) are dispatched to a bounded thread pool,
+ *     see {@link #dispatch(Function, Collection)}</li>
+ * </ul>
+ * Call {@link #shutdown()} when the work is done. Idle threads time out anyway so forgetting to shutdown does not leak threads.
+ */
+public class GitHubRequestExecutor {
+
+    /**
+     * Default maximum number of concurrent GitHub API requests
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 10;
+
+    private final GitHubResponseCache cache;
+    private final int maxConcurrentRequests;
+    private final GitHubRateLimit rateLimit;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * @param cache cache of GitHub API responses
+     * @param maxConcurrentRequests maximum number of requests dispatched concurrently
+     */
+    public GitHubRequestExecutor(GitHubResponseCache cache, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Maximum number of concurrent GitHub requests must be positive but was: " + maxConcurrentRequests);
+        }
+        this.cache = cache;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.rateLimit = new GitHubRateLimit(maxConcurrentRequests);
+    }
+
+    /**
+     * Executor without response cache and with {@link #DEFAULT_MAX_CONCURRENT_REQUESTS}
+     */
+    public GitHubRequestExecutor() {
+        this(GitHubResponseCache.disabled(), DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Executes GET request once the rate limit allows it.
+     *
+     * @param url the url of the request
+     * @param connection not yet connected connection to the url
+     */
+    public GitHubResponseCache.Response get(String url, URLConnection connection) throws IOException {
+        try {
+            rateLimit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for GitHub API rate limit to reset");
+        }
+        try {
+            return cache.get(url, connection);
+        } finally {
+            rateLimit.update(connection);
+        }
+    }
+
+    /**
+     * Applies the function to all items concurrently, using at most 'maxConcurrentRequests' threads.
+     * Blocks until all items are processed.
+     *
+     * @return results of the function, null results are not included
+     */
+    public <T, R> Set<R> dispatch(final Function<T, R> function, Collection<T> items) {
+        Set<R> result = new HashSet<R>();
+        if (items.isEmpty()) {
+            return result;
+        }
+
+        List<Future<R>> futures = new ArrayList<Future<R>>(items.size());
+        ThreadPoolExecutor executor = getExecutor();
+        for (final T item : items) {
+            futures.add(executor.submit(new Callable<R>() {
+                public R call() {
+                    return function.apply(item);
+                }
+            }));
+        }
+
+        try {
+            for (Future<R> future : futures) {
+                R r = future.get();
+                if (r != null) {
+                    result.add(r);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            throw new RuntimeException("Interrupted while dispatching!", e);
+        } catch (ExecutionException e) {
+            cancel(futures);
+            throw new RuntimeException("Error occurred while dispatching!", e.getCause());
+        }
+        return result;
+    }
+
+    /**
+     * Stops the threads of this executor. Requests already dispatched are completed.
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private static <R> void cancel(List<Future<R>> futures) {
+        for (Future<R> f : futures) {
+            f.cancel(true);
+        }
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests,
+                    THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new GitHubThreadFactory());
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    private static class GitHubThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "shipkit-github-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package org.shipkit.internal.notes.util;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.shipkit.internal.util.HashUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URLConnection;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * On-disk cache of GitHub API responses that uses conditional requests (ETag / Last-Modified).
+ * When the cached page did not change GitHub responds with '304 Not Modified',
+ * the response does not count against the rate limit and the content is served from disk.
+ * <p>
+ * Entries are keyed by the request url with the 'access_token' query parameter removed,
+ * so that the cache can be safely shared between builds and tokens.
+ * The cache is bounded by size, least recently used entries are evicted first.
+ */
+public class GitHubResponseCache {
+
+    private static final Logger LOG = Logging.getLogger(GitHubResponseCache.class);
+
+    /**
+     * Default size limit of the cache directory
+     */
+    public static final long DEFAULT_MAX_SIZE = 50L * 1024 * 1024;
+
+    private static final String TOKEN_PARAM = "access_token=";
+    private static final String TOKEN_PLACEHOLDER = "[TOKEN]";
+
+    private final File cacheDir;
+    private final long maxSize;
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+    private final AtomicInteger stored = new AtomicInteger();
+
+    /**
+     * @param cacheDir directory where responses are stored, can be null - no caching happens then
+     * @param maxSize maximum size of the cache directory in bytes
+     */
+    public GitHubResponseCache(File cacheDir, long maxSize) {
+        this.cacheDir = cacheDir;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Calls {@link #GitHubResponseCache(File, long)} with {@link #DEFAULT_MAX_SIZE}
+     */
+    public GitHubResponseCache(File cacheDir) {
+        this(cacheDir, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Cache that never stores anything, useful when caching is not configured
+     */
+    public static GitHubResponseCache disabled() {
+        return new GitHubResponseCache(null, 0);
+    }
+
+    /**
+     * Executes GET request for given url. Cached validators are sent with the request,
+     * if GitHub responds with '304 Not Modified' the cached response is returned.
+     *
+     * @param url the url of the request, used as a key after removing the auth token
+     * @param connection not yet connected connection to the url, the caller can still read response headers from it
+     */
+    public Response get(String url, URLConnection connection) throws IOException {
+        String key = stripToken(url);
+        Properties cached = enabled() ? readMetadata(key) : null;
+        String cachedContent = cached != null ? readContent(key) : null;
+        if (cachedContent != null && connection instanceof HttpURLConnection) {
+            addValidators(connection, cached);
+            if (((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                hits.incrementAndGet();
+                touch(key);
+                LOG.info("GitHub API page not modified, using cached response: {}", key);
+                String link = connection.getHeaderField("Link");
+                if (link == null) {
+                    link = restoreToken(cached.getProperty("link"), url);
+                }
+                return new Response(cachedContent, link);
+            }
+        }
+
+        String content = IOUtil.readFully(connection.getInputStream());
+        misses.incrementAndGet();
+        String link = connection.getHeaderField("Link");
+        if (enabled()) {
+            store(key, connection, content, link);
+        }
+        return new Response(content, link);
+    }
+
+    /**
+     * Human readable summary of the cache usage, intended to be printed to the task log
+     */
+    public String getSummary() {
+        if (!enabled()) {
+            return "disabled";
+        }
+        return hits.get() + " hit(s), " + misses.get() + " miss(es), " + stored.get() + " stored response(s) in " + cacheDir;
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    private boolean enabled() {
+        return cacheDir != null;
+    }
+
+    private static void addValidators(URLConnection connection, Properties cached) {
+        String etag = cached.getProperty("etag");
+        if (etag != null) {
+            connection.setRequestProperty("If-None-Match", etag);
+        }
+        String lastModified = cached.getProperty("lastModified");
+        if (lastModified != null) {
+            connection.setRequestProperty("If-Modified-Since", lastModified);
+        }
+    }
+
+    private synchronized void store(String key, URLConnection connection, String content, String link) {
+        String etag = connection.getHeaderField("ETag");
+        String lastModified = connection.getHeaderField("Last-Modified");
+        if (etag == null && lastModified == null) {
+            //no validators, GitHub would never respond with 304
+            return;
+        }
+        Properties metadata = new Properties();
+        metadata.setProperty("url", key);
+        if (etag != null) {
+            metadata.setProperty("etag", etag);
+        }
+        if (lastModified != null) {
+            metadata.setProperty("lastModified", lastModified);
+        }
+        if (link != null) {
+            metadata.setProperty("link", maskToken(link));
+        }
+        try {
+            IOUtil.writeFile(contentFile(key), content);
+            writeMetadata(key, metadata);
+            stored.incrementAndGet();
+        } catch (Exception e) {
+            LOG.info("Unable to store GitHub API response in cache: " + key, e);
+            return;
+        }
+        evictIfNeeded();
+    }
+
+    private void evictIfNeeded() {
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File f : files) {
+            total += f.length();
+        }
+        if (total <= maxSize) {
+            return;
+        }
+        //least recently used first, metadata file is touched on every hit
+        Arrays.sort(files, new Comparator<File>() {
+            public int compare(File f1, File f2) {
+                return Long.valueOf(f1.lastModified()).compareTo(f2.lastModified());
+            }
+        });
+        for (File f : files) {
+            if (total <= maxSize) {
+                break;
+            }
+            if (f.getName().endsWith(".properties")) {
+                String hash = f.getName().substring(0, f.getName().length() - ".properties".length());
+                File content = new File(cacheDir, hash + ".json");
+                total -= f.length() + content.length();
+                f.delete();
+                content.delete();
+                LOG.info("Evicted GitHub API response from cache: {}", hash);
+            }
+        }
+    }
+
+    private Properties readMetadata(String key) {
+        File file = metadataFile(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        InputStream input = null;
+        try {
+            input = new FileInputStream(file);
+            Properties properties = new Properties();
+            properties.load(input);
+            //guards against hash collisions
+            return key.equals(properties.getProperty("url")) ? properties : null;
+        } catch (IOException e) {
+            LOG.info("Unable to read cached GitHub API response metadata: " + file, e);
+            return null;
+        } finally {
+            IOUtil.closeQuietly(input);
+        }
+    }
+
+    private void writeMetadata(String key, Properties metadata) throws IOException {
+        OutputStream output = null;
+        try {
+            output = new FileOutputStream(metadataFile(key));
+            metadata.store(output, null);
+        } finally {
+            IOUtil.close(output);
+        }
+    }
+
+    private String readContent(String key) {
+        File file = contentFile(key);
+        return file.isFile() ? IOUtil.readFullyOrDefault(file, null) : null;
+    }
+
+    private void touch(String key) {
+        metadataFile(key).setLastModified(System.currentTimeMillis());
+    }
+
+    private File metadataFile(String key) {
+        return new File(cacheDir, HashUtil.sha1(key) + ".properties");
+    }
+
+    private File contentFile(String key) {
+        return new File(cacheDir, HashUtil.sha1(key) + ".json");
+    }
+
+    /**
+     * Removes the 'access_token' query parameter from the url
+     */
+    static String stripToken(String url) {
+        int start = url.indexOf(TOKEN_PARAM);
+        if (start == -1) {
+            return url;
+        }
+        int end = url.indexOf('&', start);
+        if (end == -1) {
+            //token is the last parameter, remove preceding '?' or '&' as well
+            return url.substring(0, start - 1);
+        }
+        return url.substring(0, start) + url.substring(end + 1);
+    }
+
+    static String maskToken(String text) {
+        StringBuilder sb = new StringBuilder();
+        int from = 0;
+        int start;
+        while ((start = text.indexOf(TOKEN_PARAM, from)) != -1) {
+            int valueStart = start + TOKEN_PARAM.length();
+            int end = valueStart;
+            while (end < text.length() && text.charAt(end) != '&' && text.charAt(end) != '>') {
+                end++;
+            }
+            sb.append(text, from, valueStart).append(TOKEN_PLACEHOLDER);
+            from = end;
+        }
+        return sb.append(text.substring(from)).toString();
+    }
+
+    static String restoreToken(String maskedText, String url) {
+        if (maskedText == null) {
+            return null;
+        }
+        int start = url.indexOf(TOKEN_PARAM);
+        if (start == -1) {
+            return maskedText;
+        }
+        int end = url.indexOf('&', start);
+        String token = url.substring(start + TOKEN_PARAM.length(), end == -1 ? url.length() : end);
+        return maskedText.replace(TOKEN_PLACEHOLDER, token);
+    }
+
+    /**
+     * Response content, either fresh or served from the cache
+     */
+    public static class Response {
+        private final String content;
+        private final String link;
+
+        Response(String content, String link) {
+            this.content = content;
+            this.link = link;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        /**
+         * Value of the 'Link' header used for pagination, may be null
+         */
+        public String getLink() {
+            return link;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.shipkit.internal.notes.util;
+
+import java.io.IOException;
+
+/**
+ * GitHub API responded with an error code (4xx or 5xx)
+ */
+public class GitHubResponseException extends IOException {
+
+    private final int responseCode;
+    private final long retryDelayMillis;
+
+    /**
+     * @param responseCode HTTP response code
+     * @param retryDelayMillis how long to wait before retrying the request rejected because of rate limit,
+     *                         -1 if the request was not rejected because of rate limit
+     */
+    public GitHubResponseException(int responseCode, long retryDelayMillis, String message, Throwable cause) {
+        super(message, cause);
+        this.responseCode = responseCode;
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    /**
+     * HTTP response code, for example 404
+     */
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * How long to wait before retrying the request, -1 when the request was not rejected because of rate limit
+     * and retrying does not help
+     */
+    public long getRetryDelayMillis() {
+        return retryDelayMillis;
+    }
+
+    /**
+     * If the request was rejected because of rate limit and it can be retried after {@link #getRetryDelayMillis()}
+     */
+    public boolean isRateLimited() {
+        return retryDelayMillis >= 0;
+    }
+}
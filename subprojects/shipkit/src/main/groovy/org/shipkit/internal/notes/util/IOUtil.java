@@ -2,7 +2,9 @@ package org.shipkit.internal.notes.util;
 
 import java.io.*;
 import java.net.URL;
-import java.util.Scanner;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 
 /**
  * IO utils. A bit of reinventing the wheel but we don't want extra dependencies at this stage and we want to be java.
@@ -20,6 +22,30 @@ public class IOUtil {
         }
     }
 
+    /**
+     * Opens buffered UTF-8 reader of the file. The caller is responsible for closing the reader.
+     */
+    public static Reader bufferedReader(File input) {
+        try {
+            return new BufferedReader(Channels.newReader(new FileInputStream(input).getChannel(), "UTF-8"));
+        } catch (Exception e) {
+            throw new RuntimeException("Problems reading file: " + input, e);
+        }
+    }
+
+    /**
+     * Opens buffered UTF-8 writer to the file, parent directories are created if needed.
+     * The caller is responsible for closing the writer.
+     */
+    public static Writer bufferedWriter(File target) {
+        try {
+            target.getParentFile().mkdirs();
+            return new BufferedWriter(Channels.newWriter(new FileOutputStream(target).getChannel(), "UTF-8"));
+        } catch (Exception e) {
+            throw new RuntimeException("Problems writing text to file: " + target, e);
+        }
+    }
+
     /**
      * Reads string from the file or returns empty text if file doesn't exist or can't open
      */
@@ -96,17 +122,19 @@ public class IOUtil {
     public static void downloadToFile(String url, File file) {
         InputStream input = null;
         try {
-            input = new BufferedInputStream(new URL(url).openStream());
+            input = new URL(url).openStream();
 
             IOUtil.createParentDirectory(file);
 
             FileOutputStream fos = null;
             try {
                 fos = new FileOutputStream(file);
-                byte[] buf = new byte[1024];
-                int n;
-                while ((n = input.read(buf)) != -1) {
-                    fos.write(buf, 0, n);
+                ReadableByteChannel source = Channels.newChannel(input);
+                FileChannel target = fos.getChannel();
+                long position = 0;
+                long count;
+                while ((count = target.transferFrom(source, position, 1024 * 1024)) > 0) {
+                    position += count;
                 }
             } finally {
                 closeQuietly(fos);
@@ -118,12 +146,18 @@ public class IOUtil {
         }
     }
 
-    private static String readNow(InputStream is) {
-        Scanner s = new Scanner(is, "UTF-8").useDelimiter("\\A");
+    private static String readNow(InputStream is) throws IOException {
+        Reader reader = new InputStreamReader(is, "UTF-8");
         try {
-            return s.hasNext() ? s.next() : "";
+            StringBuilder sb = new StringBuilder();
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+            return sb.toString();
         } finally {
-            s.close();
+            close(reader);
         }
     }
 
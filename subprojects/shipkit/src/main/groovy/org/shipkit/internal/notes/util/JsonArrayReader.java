@@ -0,0 +1,80 @@
+package org.shipkit.internal.notes.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads elements of a JSON array one by one, so that the whole array does not need to be kept in memory.
+ * Each element is returned as JSON text that can be deserialized with {@link org.json.simple.Jsoner}.
+ * Only the structure of the array is validated here, the elements are validated when deserialized.
+ */
+public class JsonArrayReader {
+
+    private final Reader reader;
+    private boolean started;
+    private boolean finished;
+
+    public JsonArrayReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Nullable, returns JSON text of the next element of the array or null when there are no more elements.
+     */
+    public String nextElement() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            readArrayStart();
+            started = true;
+        }
+
+        StringBuilder element = new StringBuilder();
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (ch == '\\') {
+                    escaped = true;
+                } else if (ch == '"') {
+                    inString = false;
+                }
+            } else if (depth == 0 && (ch == ',' || ch == ']')) {
+                finished = ch == ']';
+                String result = element.toString().trim();
+                if (result.isEmpty()) {
+                    if (finished) {
+                        return null;
+                    }
+                    throw new IOException("Missing element in JSON array");
+                }
+                return result;
+            } else if (ch == '"') {
+                inString = true;
+            } else if (ch == '{' || ch == '[') {
+                depth++;
+            } else if (ch == '}' || ch == ']') {
+                depth--;
+            }
+            element.append(ch);
+        }
+        throw new IOException("Unexpected end of JSON array");
+    }
+
+    private void readArrayStart() throws IOException {
+        int c;
+        do {
+            c = reader.read();
+        } while (c != -1 && Character.isWhitespace(c));
+        if (c != '[') {
+            throw new IOException("Expected JSON array but found: " + (c == -1 ? "end of input" : "'" + (char) c + "'"));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.shipkit.internal.notes.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Describes which fields of JSON objects should be decoded by {@link ProjectingJsonDecoder}.
+ * Values of the fields that are not included are skipped without being materialized.
+ * <p>
+ * Example, GitHub issue with label names only:
+ * <pre>
+ *     JsonProjection.fields("number", "title").with("labels", JsonProjection.fields("name"))
+ * </pre>
+ * The projection applies to every element of an array value, so 'labels' above is decoded as an array
+ * of objects that contain only the 'name' field.
+ */
+public class JsonProjection {
+
+    //null value means that the field is decoded completely
+    private final Map<String, JsonProjection> fields = new LinkedHashMap<String, JsonProjection>();
+
+    private JsonProjection() {
+    }
+
+    /**
+     * Projection that includes given fields, the values of the fields are decoded completely
+     */
+    public static JsonProjection fields(String... names) {
+        JsonProjection projection = new JsonProjection();
+        for (String name : names) {
+            projection.fields.put(name, null);
+        }
+        return projection;
+    }
+
+    /**
+     * Includes the field, its value is decoded using the nested projection.
+     * Use empty nested projection ('JsonProjection.fields()') when only the presence of an object matters.
+     */
+    public JsonProjection with(String name, JsonProjection nested) {
+        fields.put(name, nested);
+        return this;
+    }
+
+    boolean includes(String name) {
+        return fields.containsKey(name);
+    }
+
+    /**
+     * Nullable, projection of the field value or null if the value should be decoded completely
+     */
+    JsonProjection nested(String name) {
+        return fields.get(name);
+    }
+
+    @Override
+    public String toString() {
+        return fields.toString();
+    }
+}
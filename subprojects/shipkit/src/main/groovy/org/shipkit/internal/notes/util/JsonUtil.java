@@ -0,0 +1,46 @@
+package org.shipkit.internal.notes.util;
+
+import org.json.simple.Jsonable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Helps implementing {@link Jsonable} objects that write JSON straight to a {@link Writer},
+ * without building intermediate Strings.
+ */
+public class JsonUtil {
+
+    /**
+     * Returns JSON of given object, useful for implementing {@link Jsonable#toJson()}
+     * on top of {@link Jsonable#toJson(Writer)}.
+     */
+    public static String toJson(Jsonable jsonable) {
+        StringWriter writer = new StringWriter();
+        try {
+            jsonable.toJson(writer);
+        } catch (IOException e) {
+            //StringWriter does not throw IOException
+            throw new RuntimeException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes JSON array of given objects, in the same format as {@link org.json.simple.Jsoner#serialize(Object)}
+     */
+    public static void writeArray(Collection<? extends Jsonable> items, Writer writer) throws IOException {
+        writer.append('[');
+        Iterator<? extends Jsonable> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            iterator.next().toJson(writer);
+            if (iterator.hasNext()) {
+                writer.append(',');
+            }
+        }
+        writer.append(']');
+    }
+}
@@ -0,0 +1,284 @@
+package org.shipkit.internal.notes.util;
+
+import org.json.simple.JsonArray;
+import org.json.simple.JsonObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+
+/**
+ * Streaming JSON decoder that materializes only the fields described by {@link JsonProjection}.
+ * GitHub API responses are large (issue bodies, reactions, nested user objects) while Shipkit needs a few fields,
+ * skipped values are scanned without allocating strings, numbers or collections.
+ * <p>
+ * Decoded values have the same types as values deserialized by {@link org.json.simple.Jsoner}:
+ * {@link JsonObject}, {@link JsonArray}, {@link String}, {@link BigDecimal}, {@link Boolean} and null.
+ */
+public class ProjectingJsonDecoder {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long offset;
+
+    public ProjectingJsonDecoder(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Decodes single JSON value, objects are projected using given projection.
+     *
+     * @param projection fields to decode, null decodes the value completely
+     * @return decoded value, see the class documentation for the types
+     */
+    public Object decode(JsonProjection projection) throws IOException {
+        Object value = readValue(projection);
+        int c = nextNonWhitespace();
+        if (c != -1) {
+            throw error("Unexpected content after JSON value: '" + (char) c + "'");
+        }
+        return value;
+    }
+
+    private Object readValue(JsonProjection projection) throws IOException {
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return readObject(projection);
+            case '[':
+                return readArray(projection);
+            case '"':
+                return readString();
+            case 't':
+                expect("rue");
+                return Boolean.TRUE;
+            case 'f':
+                expect("alse");
+                return Boolean.FALSE;
+            case 'n':
+                expect("ull");
+                return null;
+            case -1:
+                throw error("Unexpected end of JSON");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber((char) c);
+                }
+                throw error("Unexpected character: '" + (char) c + "'");
+        }
+    }
+
+    private JsonObject readObject(JsonProjection projection) throws IOException {
+        JsonObject result = new JsonObject();
+        int c = nextNonWhitespace();
+        if (c == '}') {
+            return result;
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("Expected field name");
+            }
+            String name = readString();
+            if (nextNonWhitespace() != ':') {
+                throw error("Expected ':' after field name '" + name + "'");
+            }
+            if (projection == null) {
+                result.put(name, readValue(null));
+            } else if (projection.includes(name)) {
+                result.put(name, readValue(projection.nested(name)));
+            } else {
+                skipValue();
+            }
+
+            c = nextNonWhitespace();
+            if (c == '}') {
+                return result;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}' in object");
+            }
+            c = nextNonWhitespace();
+        }
+    }
+
+    private JsonArray readArray(JsonProjection projection) throws IOException {
+        JsonArray result = new JsonArray();
+        int c = nextNonWhitespace();
+        if (c == ']') {
+            return result;
+        }
+        if (c == -1) {
+            throw error("Unexpected end of JSON");
+        }
+        pushBack();
+        while (true) {
+            result.add(readValue(projection));
+            c = nextNonWhitespace();
+            if (c == ']') {
+                return result;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ']' in array");
+            }
+        }
+    }
+
+    /**
+     * Reads string content, the opening quote was already consumed
+     */
+    private String readString() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return sb.toString();
+            } else if (c == '\\') {
+                sb.append(readEscaped());
+            } else if (c == -1) {
+                throw error("Unterminated string");
+            } else {
+                sb.append((char) c);
+            }
+        }
+    }
+
+    private char readEscaped() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit == -1) {
+                        throw error("Invalid unicode escape");
+                    }
+                    code = code * 16 + digit;
+                }
+                return (char) code;
+            default:
+                throw error("Invalid escape character");
+        }
+    }
+
+    private BigDecimal readNumber(char first) throws IOException {
+        StringBuilder sb = new StringBuilder().append(first);
+        int c;
+        while ((c = read()) != -1 && isNumberPart(c)) {
+            sb.append((char) c);
+        }
+        pushBack(c);
+        try {
+            return new BigDecimal(sb.toString());
+        } catch (NumberFormatException e) {
+            throw error("Invalid number: " + sb);
+        }
+    }
+
+    private static boolean isNumberPart(int c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    private void expect(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw error("Invalid literal, expected '" + rest + "'");
+            }
+        }
+    }
+
+    /**
+     * Skips the next value, only the structure is validated
+     */
+    private void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            int c = nextNonWhitespace();
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            } else if (c == '"') {
+                skipString();
+            } else if (c == -1) {
+                throw error("Unexpected end of JSON");
+            } else if (c != ',' && c != ':') {
+                skipPrimitive();
+            }
+        } while (depth > 0);
+    }
+
+    private void skipString() throws IOException {
+        int c;
+        while ((c = read()) != '"') {
+            if (c == '\\') {
+                read();
+            } else if (c == -1) {
+                throw error("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * Skips the rest of number or literal, the first character was already consumed
+     */
+    private void skipPrimitive() throws IOException {
+        int c = read();
+        while (c != -1 && (isNumberPart(c) || Character.isLetter(c))) {
+            c = read();
+        }
+        pushBack(c);
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            offset += limit;
+            limit = reader.read(buffer, 0, BUFFER_SIZE);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    private void pushBack() {
+        position--;
+    }
+
+    private void pushBack(int c) {
+        if (c != -1) {
+            position--;
+        }
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at position " + (offset + position));
+    }
+}
@@ -2,6 +2,8 @@ package org.shipkit.internal.notes.vcs;
 
 import org.shipkit.internal.notes.model.ContributionSet;
 
+import java.util.List;
+
 /**
  * Knows the contributions
  */
@@ -11,4 +13,14 @@ public interface ContributionsProvider {
      * Provides contributions between specified revisions
      */
     ContributionSet getContributionsBetween(String fromRev, String toRev);
+
+    /**
+     * Provides contributions of each of the versions, between its previous revision and its revision.
+     * Equivalent to calling {@link #getContributionsBetween(String, String)} for every version
+     * but the implementation may read the history only once.
+     *
+     * @param versions released versions, ordered descending
+     * @return contributions in the same order as the versions
+     */
+    List<ContributionSet> getContributions(List<ReleasedVersion> versions);
 }
@@ -30,12 +30,22 @@ class DefaultContribution implements Contribution, Comparable<DefaultContributio
         return this;
     }
 
+    DefaultContribution addAll(DefaultContribution other) {
+        commits.addAll(other.commits);
+        return this;
+    }
+
     public int compareTo(DefaultContribution other) {
         int byCommitCount = Integer.valueOf(other.getCommits().size()).compareTo(commits.size());
         if (byCommitCount != 0) {
             return byCommitCount;
         }
-        return this.authorName.toUpperCase().compareTo(other.authorName.toUpperCase());
+        int byName = this.authorName.toUpperCase().compareTo(other.authorName.toUpperCase());
+        if (byName != 0) {
+            return byName;
+        }
+        //names that differ only in case belong to different contributions, they cannot be considered equal
+        return this.authorName.compareTo(other.authorName);
     }
 
     @Override
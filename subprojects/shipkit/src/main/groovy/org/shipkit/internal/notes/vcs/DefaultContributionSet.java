@@ -1,9 +1,9 @@
 package org.shipkit.internal.notes.vcs;
 
-import org.json.simple.Jsoner;
 import org.shipkit.internal.notes.model.Commit;
 import org.shipkit.internal.notes.model.Contribution;
 import org.shipkit.internal.notes.model.ContributionSet;
+import org.shipkit.internal.notes.util.JsonUtil;
 
 import java.io.IOException;
 import java.io.Writer;
@@ -11,9 +11,14 @@ import java.util.*;
 
 class DefaultContributionSet implements ContributionSet {
 
-    private static final String JSON_FORMAT = "{ \"commits\": %s }";
-
-    private final List<DefaultContribution> contributions = new LinkedList<DefaultContribution>();
+    //contributions by author id, null when the contribution was merged into another one
+    private final List<DefaultContribution> contributions = new ArrayList<DefaultContribution>();
+    //union-find forest of author ids, an author id points to itself when it is a root
+    private final List<Integer> parents = new ArrayList<Integer>();
+    private final Map<String, Integer> authorsByEmail = new HashMap<String, Integer>();
+    private final Map<String, Integer> authorsByName = new HashMap<String, Integer>();
+    //contributions sorted by commits count, kept up to date on every change
+    private final SortedSet<DefaultContribution> sorted = new TreeSet<DefaultContribution>();
 
     private final Collection<Commit> commits = new LinkedList<Commit>();
     private final Set<String> tickets = new LinkedHashSet<String>();
@@ -22,29 +27,78 @@ class DefaultContributionSet implements ContributionSet {
         commits.add(commit);
         tickets.addAll(commit.getTickets());
 
-        DefaultContribution existing = findContribution(commit, contributions);
-        if (existing != null) {
-            existing.add(commit);
+        //From Git Log we don't know the GitHub user ID, only the email and name.
+        //Sometimes contributors have different email addresses while the same name
+        //This leads to awkward looking release notes, where same author is shown multiple times
+        //We consider the contribution to be the same if any of: email or name is the same
+        //When a commit links two known contributions (email of one, name of the other) they are merged
+        //
+        //This approach comes with a caveat. What if the user have same author name, different email and indeed it is a different user?
+        // This scenario is not handled well but it is unlikely and we consider it a trade-off
+        int byEmail = root(authorsByEmail.get(commit.getAuthorEmail()));
+        int byName = root(authorsByName.get(commit.getAuthorName()));
+
+        int id;
+        if (byEmail == -1 && byName == -1) {
+            id = contributions.size();
+            DefaultContribution c = new DefaultContribution(commit);
+            contributions.add(c);
+            parents.add(id);
+            sorted.add(c);
         } else {
-            contributions.add(new DefaultContribution(commit));
+            id = byEmail == -1 ? byName : (byName == -1 ? byEmail : union(byEmail, byName));
+            DefaultContribution c = contributions.get(id);
+            //the contribution needs to be reinserted because adding commit changes its position
+            sorted.remove(c);
+            c.add(commit);
+            sorted.add(c);
+        }
+
+        if (!authorsByEmail.containsKey(commit.getAuthorEmail())) {
+            authorsByEmail.put(commit.getAuthorEmail(), id);
+        }
+        if (!authorsByName.containsKey(commit.getAuthorName())) {
+            authorsByName.put(commit.getAuthorName(), id);
         }
         return this;
     }
 
-    private static DefaultContribution findContribution(Commit commit, Iterable<DefaultContribution> contributions) {
-        for (DefaultContribution c : contributions) {
-            //From Git Log we don't know the GitHub user ID, only the email and name.
-            //Sometimes contributors have different email addresses while the same name
-            //This leads to awkward looking release notes, where same author is shown multiple times
-            //We consider the contribution to be the same if any of: email or name is the same
-            //
-            //This approach comes with a caveat. What if the user have same author name, different email and indeed it is a different user?
-            // This scenario is not handled well but it is unlikely and we consider it a trade-off
-            if (c.authorEmail.equals(commit.getAuthorEmail()) || c.authorName.equals(commit.getAuthorName())) {
-                return c;
-            }
+    /**
+     * Returns the root author id or -1 if author id is null
+     */
+    private int root(Integer id) {
+        if (id == null) {
+            return -1;
+        }
+        int i = id;
+        while (parents.get(i) != i) {
+            //path halving keeps the trees flat
+            parents.set(i, parents.get(parents.get(i)));
+            i = parents.get(i);
+        }
+        return i;
+    }
+
+    /**
+     * Merges contributions of both root author ids into the one that was created first and returns its id.
+     */
+    private int union(int a, int b) {
+        if (a == b) {
+            return a;
         }
-        return null;
+        int winner = Math.min(a, b);
+        int loser = Math.max(a, b);
+        DefaultContribution target = contributions.get(winner);
+        DefaultContribution merged = contributions.get(loser);
+
+        sorted.remove(target);
+        sorted.remove(merged);
+        target.addAll(merged);
+        sorted.add(target);
+
+        contributions.set(loser, null);
+        parents.set(loser, winner);
+        return winner;
     }
 
     public Collection<Commit> getAllCommits() {
@@ -56,25 +110,23 @@ class DefaultContributionSet implements ContributionSet {
     }
 
     public Collection<Contribution> getContributions() {
-        //sort the contributions by commits count
-        //we need to do it at the end instead of keeping tree set field
-        // because Contribution object is mutable and the tree will not reindex when an already-added element changes
-        return new TreeSet<Contribution>(contributions);
+        return Collections.<Contribution>unmodifiableCollection(sorted);
     }
 
     public int getAuthorCount() {
-        return contributions.size();
+        return sorted.size();
     }
 
     @Override
     public String toJson() {
-        final String serializedCommits = Jsoner.serialize(commits);
-        return String.format(JSON_FORMAT, serializedCommits);
+        return JsonUtil.toJson(this);
     }
 
     @Override
     public void toJson(Writer writable) throws IOException {
-        writable.append(toJson());
+        writable.append("{ \"commits\": ");
+        JsonUtil.writeArray(commits, writable);
+        writable.append(" }");
     }
 
     @Override
@@ -88,9 +140,7 @@ class DefaultContributionSet implements ContributionSet {
 
         DefaultContributionSet that = (DefaultContributionSet) o;
 
-        if (contributions != null ? !contributions.equals(that.contributions) : that.contributions != null) {
-            return false;
-        }
+        //contributions are derived from the commits so there is no need to compare them
         if (commits != null ? !commits.equals(that.commits) : that.commits != null) {
             return false;
         }
@@ -99,8 +149,7 @@ class DefaultContributionSet implements ContributionSet {
 
     @Override
     public int hashCode() {
-        int result = contributions != null ? contributions.hashCode() : 0;
-        result = 31 * result + (commits != null ? commits.hashCode() : 0);
+        int result = commits != null ? commits.hashCode() : 0;
         result = 31 * result + (tickets != null ? tickets.hashCode() : 0);
         return result;
     }
@@ -108,7 +157,7 @@ class DefaultContributionSet implements ContributionSet {
     @Override
     public String toString() {
         return "DefaultContributionSet{" +
-                "contributions=" + contributions +
+                "contributions=" + sorted +
                 ", commits=" + commits +
                 ", tickets=" + tickets +
                 '}';
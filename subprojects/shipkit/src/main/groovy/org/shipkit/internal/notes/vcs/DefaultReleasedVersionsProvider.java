@@ -1,6 +1,7 @@
 package org.shipkit.internal.notes.vcs;
 
 import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.git.GitRepository;
 import org.shipkit.internal.util.DateUtil;
 
 import java.util.*;
@@ -10,7 +11,11 @@ class DefaultReleasedVersionsProvider implements ReleasedVersionsProvider {
     private final RevisionDateProvider dateProvider;
 
     DefaultReleasedVersionsProvider(ProcessRunner runner) {
-        this(new RevisionDateProvider(runner));
+        this(runner, null);
+    }
+
+    DefaultReleasedVersionsProvider(ProcessRunner runner, GitRepository repository) {
+        this(new RevisionDateProvider(runner, repository));
     }
 
     DefaultReleasedVersionsProvider(RevisionDateProvider dateProvider) {
@@ -38,12 +43,12 @@ class DefaultReleasedVersionsProvider implements ReleasedVersionsProvider {
             //the value of 'next' element in collection is the 'previous version' because the input versions are sorted descending
             String previous = (theVersions.size() > (i + 1)) ? tagPrefix + theVersions.get(i + 1) : null;
             Date date = dateProvider.getDate(tag);
-            result.add(new DefaultReleasedVersion(v, date, tag, previous));
+            result.add(new DefaultReleasedVersion(v, date, tag, previous, dateProvider.getCommitId(tag)));
         }
 
         if (headVersion != null) {
             String prev = result.isEmpty() ? null : result.get(0).getRev();
-            DefaultReleasedVersion head = new DefaultReleasedVersion(headVersion, headDate, "HEAD", prev);
+            DefaultReleasedVersion head = new DefaultReleasedVersion(headVersion, headDate, "HEAD", prev, null);
             result.addFirst(head);
         }
         return result;
@@ -54,12 +59,14 @@ class DefaultReleasedVersionsProvider implements ReleasedVersionsProvider {
         private final Date date;
         private final String rev;
         private final String previousRev;
+        private final String commitId;
 
-        DefaultReleasedVersion(String version, Date date, String rev, String previousRev) {
+        DefaultReleasedVersion(String version, Date date, String rev, String previousRev, String commitId) {
             this.version = version;
             this.date = date;
             this.rev = rev;
             this.previousRev = previousRev;
+            this.commitId = commitId;
         }
 
         public String getVersion() {
@@ -78,6 +85,10 @@ class DefaultReleasedVersionsProvider implements ReleasedVersionsProvider {
             return previousRev;
         }
 
+        public String getCommitId() {
+            return commitId;
+        }
+
         public String toString() {
             return "" + version + "@" + (date != null ? DateUtil.formatDate(date) : "<no date>") + "(" + rev + ".." + previousRev + ")";
         }
@@ -2,6 +2,7 @@ package org.shipkit.internal.notes.vcs;
 
 import org.json.simple.Jsoner;
 import org.shipkit.internal.notes.model.Commit;
+import org.shipkit.internal.notes.util.JsonUtil;
 
 import java.io.IOException;
 import java.io.Writer;
@@ -10,9 +11,6 @@ import java.util.Set;
 
 class GitCommit implements Commit {
 
-    private static final String JSON_FORMAT = "{ \"commitId\": \"%s\", \"email\": \"%s\", \"author\": \"%s\", " +
-            "\"message\": \"%s\" }";
-
     private final String commitId;
     private final String email;
     private final String author;
@@ -50,16 +48,16 @@ class GitCommit implements Commit {
 
     @Override
     public String toJson() {
-        return String.format(JSON_FORMAT,
-                Jsoner.escape(commitId),
-                Jsoner.escape(email),
-                Jsoner.escape(author),
-                Jsoner.escape(message));
+        return JsonUtil.toJson(this);
     }
 
     @Override
     public void toJson(Writer writable) throws IOException {
-        writable.append(toJson());
+        writable.append("{ \"commitId\": \"").append(Jsoner.escape(commitId))
+                .append("\", \"email\": \"").append(Jsoner.escape(email))
+                .append("\", \"author\": \"").append(Jsoner.escape(author))
+                .append("\", \"message\": \"").append(Jsoner.escape(message))
+                .append("\" }");
     }
 
     @Override
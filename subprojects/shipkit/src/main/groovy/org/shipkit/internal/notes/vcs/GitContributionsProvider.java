@@ -1,17 +1,31 @@
 package org.shipkit.internal.notes.vcs;
 
+import org.shipkit.internal.exec.ProcessOutputHandler;
 import org.shipkit.internal.notes.model.Commit;
 import org.shipkit.internal.notes.model.ContributionSet;
+import org.shipkit.internal.notes.util.Consumer;
 import org.shipkit.internal.notes.util.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
-import java.util.LinkedList;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
 
 class GitContributionsProvider implements ContributionsProvider {
 
     private static final Logger LOG = LoggerFactory.getLogger(GitContributionsProvider.class);
+
+    // %H: commit hash
+    // %P: parent hashes
+    // %ae: author email
+    // %an: author name
+    // %B: raw body (unwrapped subject and body)
+    // %N: commit notes
+    // fields are separated with NUL character, so are the commits (git log -z)
+    private static final String LOG_FORMAT = "--pretty=format:%H%x00%ae%x00%an%x00%B%N";
+    private static final String LOG_WITH_PARENTS_FORMAT = "--pretty=format:%H%x00%P%x00%ae%x00%an%x00%B%N";
+
     private final GitLogProvider logProvider;
     private final Predicate<Commit> ignoredCommit;
 
@@ -22,42 +36,138 @@ class GitContributionsProvider implements ContributionsProvider {
 
     public ContributionSet getContributionsBetween(String fromRev, String toRev) {
         LOG.info("Fetching {} from the repo", fromRev);
+        LOG.info("Loading all commits between {} and {}", fromRev, toRev);
+
+        final DefaultContributionSet contributions = new DefaultContributionSet();
+        logProvider.getLog(fromRev, toRev, LOG_FORMAT, parsing(4, new Consumer<String[]>() {
+            public void accept(String[] fields) {
+                Commit commit = newCommit(fields[0], fields[1], fields[2], fields[3]);
+                if (!ignoredCommit.isTrue(commit)) {
+                    contributions.add(commit);
+                }
+            }
+        }));
+        return contributions;
+    }
+
+    /**
+     * When the versions form a chain (previous revision of each version is the revision of the next version)
+     * the history of all versions is read with a constant number of git invocations.
+     * Commits are assigned to versions using the parent links, in the same way as 'git log previous..rev' does.
+     * It is accurate as long as the oldest previous revision is an ancestor of all other versions.
+     */
+    public List<ContributionSet> getContributions(List<ReleasedVersion> versions) {
+        if (versions.size() > 1 && isChain(versions)) {
+            try {
+                return getContributionsOfChain(versions);
+            } catch (RuntimeException e) {
+                LOG.info("Unable to read the history of all versions at once, reading it version by version", e);
+            }
+        }
+        List<ContributionSet> result = new ArrayList<ContributionSet>();
+        for (ReleasedVersion v : versions) {
+            result.add(getContributionsBetween(v.getPreviousRev(), v.getRev()));
+        }
+        return result;
+    }
+
+    private static boolean isChain(List<ReleasedVersion> versions) {
+        for (int i = 0; i < versions.size() - 1; i++) {
+            if (!versions.get(i + 1).getRev().equals(versions.get(i).getPreviousRev())) {
+                return false;
+            }
+        }
+        return versions.get(versions.size() - 1).getPreviousRev() != null;
+    }
+
+    private List<ContributionSet> getContributionsOfChain(List<ReleasedVersion> versions) {
+        List<String> revs = new ArrayList<String>();
+        for (ReleasedVersion v : versions) {
+            revs.add(v.getRev());
+        }
+        String oldestRev = versions.get(versions.size() - 1).getPreviousRev();
+        LOG.info("Loading all commits between {} and {} in one pass", oldestRev, revs.get(0));
+
+        List<String> previousRevs = new ArrayList<String>(revs.subList(1, revs.size()));
+        previousRevs.add(oldestRev);
+        logProvider.fetchTags(previousRevs);
 
-        Collection<Commit> commits = getCommits(fromRev, toRev);
+        List<String> allRevs = new ArrayList<String>(revs);
+        allRevs.add(oldestRev);
+        List<String> commitIds = logProvider.getCommitIds(allRevs);
 
-        DefaultContributionSet contributions = new DefaultContributionSet();
+        final List<Commit> commits = new ArrayList<Commit>();
+        final Map<String, String[]> parents = new HashMap<String, String[]>();
+        logProvider.getLog(revs, oldestRev, LOG_WITH_PARENTS_FORMAT, parsing(5, new Consumer<String[]>() {
+            public void accept(String[] fields) {
+                Commit commit = newCommit(fields[0], fields[2], fields[3], fields[4]);
+                String parentIds = fields[1].trim();
+                commits.add(commit);
+                parents.put(commit.getCommitId(), parentIds.isEmpty() ? new String[0] : parentIds.split(" "));
+            }
+        }));
+
+        //version index of each commit, commits reachable from the version but not from its previous version
+        Map<String, Integer> versionOfCommit = new HashMap<String, Integer>();
+        Set<String> reachable = reachableCommits(commitIds.get(0), parents);
+        for (int i = 0; i < versions.size(); i++) {
+            Set<String> reachableFromPrevious = reachableCommits(commitIds.get(i + 1), parents);
+            for (String commitId : reachable) {
+                if (!reachableFromPrevious.contains(commitId)) {
+                    versionOfCommit.put(commitId, i);
+                }
+            }
+            reachable = reachableFromPrevious;
+        }
+
+        List<DefaultContributionSet> result = new ArrayList<DefaultContributionSet>();
+        for (int i = 0; i < versions.size(); i++) {
+            result.add(new DefaultContributionSet());
+        }
         for (Commit commit : commits) {
-            if (!ignoredCommit.isTrue(commit)) {
-                contributions.add(commit);
+            Integer version = versionOfCommit.get(commit.getCommitId());
+            if (version != null && !ignoredCommit.isTrue(commit)) {
+                result.get(version).add(commit);
             }
         }
-        return contributions;
+        return new ArrayList<ContributionSet>(result);
     }
 
-    private Collection<Commit> getCommits(String fromRev, String toRev) {
-        LOG.info("Loading all commits between {} and {}", fromRev, toRev);
+    /**
+     * Commits reachable from given commit, only the commits present in the parents map are traversed
+     */
+    private static Set<String> reachableCommits(String commitId, Map<String, String[]> parents) {
+        Set<String> result = new HashSet<String>();
+        LinkedList<String> queue = new LinkedList<String>();
+        queue.add(commitId);
+        while (!queue.isEmpty()) {
+            String c = queue.removeFirst();
+            String[] cParents = parents.get(c);
+            if (cParents != null && result.add(c)) {
+                queue.addAll(Arrays.asList(cParents));
+            }
+        }
+        return result;
+    }
 
-        LinkedList<Commit> commits = new LinkedList<Commit>();
-        String commitToken = "@@commit@@";
-        String infoToken = "@@info@@";
-        // %H: commit hash
-        // %ae: author email
-        // %an: author name
-        // %B: raw body (unwrapped subject and body)
-        // %N: commit notes
-        String log = logProvider.getLog(fromRev, toRev, "--pretty=format:%H" + infoToken + "%ae" + infoToken + "%an" + infoToken + "%B%N" + commitToken);
-
-        for (String entry : log.split(commitToken)) {
-            String[] entryParts = entry.split(infoToken);
-            if (entryParts.length == 4) {
-                String commitId = entryParts[0].trim();
-                String email = entryParts[1].trim();
-                String author = entryParts[2].trim();
-                String message = entryParts[3].trim();
-                LOG.info("Loaded commit - email: {}, author: {}, message (trimmed): {}", email, author, message.replaceAll("\n.*", ""));
-                commits.add(new GitCommit(commitId, email, author, message));
-            }
-        }
-        return commits;
+    private static ProcessOutputHandler parsing(final int fieldCount, final Consumer<String[]> commitConsumer) {
+        return new ProcessOutputHandler() {
+            public void handle(Reader output) throws IOException {
+                new GitLogParser(fieldCount).parse(output, commitConsumer);
+            }
+        };
+    }
+
+    private static Commit newCommit(String commitId, String email, String author, String message) {
+        commitId = commitId.trim();
+        email = email.trim();
+        author = author.trim();
+        message = message.trim();
+        if (LOG.isInfoEnabled()) {
+            int endOfLine = message.indexOf('\n');
+            LOG.info("Loaded commit - email: {}, author: {}, message (trimmed): {}", email, author,
+                    endOfLine == -1 ? message : message.substring(0, endOfLine));
+        }
+        return new GitCommit(commitId, email, author, message);
     }
 }
@@ -0,0 +1,62 @@
+package org.shipkit.internal.notes.vcs;
+
+import org.shipkit.internal.notes.util.Consumer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Incrementally parses output of 'git log -z' where each commit consists of a fixed number of fields
+ * separated with NUL character, for example: --pretty=format:%H%x00%ae%x00%an%x00%B
+ * With '-z' git separates the commits with NUL character as well.
+ * Only a single commit is kept in memory at a time.
+ */
+class GitLogParser {
+
+    private static final char NUL = '\0';
+
+    private final int fieldCount;
+
+    /**
+     * @param fieldCount number of fields of every commit in the log
+     */
+    GitLogParser(int fieldCount) {
+        this.fieldCount = fieldCount;
+    }
+
+    /**
+     * Reads the log and passes the fields of each commit to the consumer.
+     * Incomplete trailing commit (for example, when the log is garbled) is ignored.
+     */
+    void parse(Reader log, Consumer<String[]> commitConsumer) throws IOException {
+        char[] buffer = new char[8192];
+        String[] fields = new String[fieldCount];
+        int fieldIndex = 0;
+        StringBuilder field = new StringBuilder();
+
+        int read;
+        while ((read = log.read(buffer)) != -1) {
+            int fieldStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == NUL) {
+                    field.append(buffer, fieldStart, i - fieldStart);
+                    fieldStart = i + 1;
+                    fields[fieldIndex++] = field.toString();
+                    field.setLength(0);
+                    if (fieldIndex == fieldCount) {
+                        commitConsumer.accept(fields);
+                        fields = new String[fieldCount];
+                        fieldIndex = 0;
+                    }
+                }
+            }
+            field.append(buffer, fieldStart, read - fieldStart);
+        }
+
+        //last commit is not followed by NUL
+        if (fieldIndex == fieldCount - 1) {
+            fields[fieldIndex] = field.toString();
+            commitConsumer.accept(fields);
+        }
+    }
+}
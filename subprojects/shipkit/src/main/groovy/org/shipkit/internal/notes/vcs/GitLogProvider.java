@@ -1,20 +1,124 @@
 package org.shipkit.internal.notes.vcs;
 
+import org.shipkit.internal.exec.ProcessOutputHandler;
 import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.git.GitRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Arrays.asList;
 
 class GitLogProvider {
 
     private final ProcessRunner runner;
+    private final GitRepository repository;
 
     GitLogProvider(ProcessRunner runner) {
+        this(runner, null);
+    }
+
+    /**
+     * @param repository nullable, used to resolve revisions without forking off 'git' process
+     */
+    GitLogProvider(ProcessRunner runner, GitRepository repository) {
         this.runner = runner;
+        this.repository = repository;
     }
 
-    public String getLog(String fromRev, String toRev, String format) {
+    /**
+     * Streams 'git log -z' output of commits between given revisions to the handler.
+     *
+     * @param fromRev nullable, the log starts after this revision
+     * @param toRev the log ends at this revision
+     * @param format git log format, use NUL character to separate the fields
+     */
+    public void getLog(String fromRev, String toRev, String format, ProcessOutputHandler outputHandler) {
         String fetch = fromRev == null ? toRev : "+refs/tags/" + fromRev + ":refs/tags/" + fromRev;
         String log = fromRev == null ? toRev : fromRev + ".." + toRev;
 
         runner.run("git", "fetch", "origin", fetch);
-        return runner.run("git", "log", format, log);
+        runner.run(asList("git", "log", "-z", format, log), outputHandler);
+    }
+
+    /**
+     * Fetches all given tags with a single 'git fetch' invocation
+     */
+    public void fetchTags(Collection<String> tags) {
+        List<String> commandLine = new ArrayList<String>();
+        commandLine.add("git");
+        commandLine.add("fetch");
+        commandLine.add("origin");
+        for (String tag : tags) {
+            commandLine.add("+refs/tags/" + tag + ":refs/tags/" + tag);
+        }
+        runner.run(commandLine);
+    }
+
+    /**
+     * Streams 'git log -z' output of all commits reachable from any of given revisions but not reachable from the excluded revision.
+     * Tags need to be fetched first, see {@link #fetchTags(Collection)}
+     */
+    public void getLog(Collection<String> revs, String excludedRev, String format, ProcessOutputHandler outputHandler) {
+        List<String> commandLine = new ArrayList<String>();
+        commandLine.add("git");
+        commandLine.add("log");
+        commandLine.add("-z");
+        commandLine.add(format);
+        commandLine.addAll(revs);
+        commandLine.add("^" + excludedRev);
+        runner.run(commandLine, outputHandler);
+    }
+
+    /**
+     * Resolves given revisions (for example tags) to commit ids, in-process when possible,
+     * otherwise using a single 'git rev-parse' invocation.
+     *
+     * @return commit ids in the same order as the revisions
+     */
+    public List<String> getCommitIds(List<String> revs) {
+        List<String> resolved = resolveInProcess(revs);
+        if (resolved != null) {
+            return resolved;
+        }
+
+        List<String> commandLine = new ArrayList<String>();
+        commandLine.add("git");
+        commandLine.add("rev-parse");
+        for (String rev : revs) {
+            commandLine.add(rev + "^{commit}");
+        }
+        String output = runner.run(commandLine);
+
+        List<String> result = new ArrayList<String>();
+        for (String line : output.split("\\n")) {
+            if (!line.trim().isEmpty()) {
+                result.add(line.trim());
+            }
+        }
+        if (result.size() != revs.size()) {
+            throw new IllegalArgumentException("Can't resolve commit ids of revisions " + revs +
+                    ". Following output was returned by git:\n" + output);
+        }
+        return result;
+    }
+
+    /**
+     * Nullable, commit ids of the revisions or null if any of the revisions cannot be resolved in-process
+     */
+    private List<String> resolveInProcess(List<String> revs) {
+        if (repository == null) {
+            return null;
+        }
+        List<String> result = new ArrayList<String>();
+        for (String rev : revs) {
+            String commitId = repository.resolve(rev);
+            if (commitId == null) {
+                return null;
+            }
+            result.add(commitId);
+        }
+        return result;
     }
 }
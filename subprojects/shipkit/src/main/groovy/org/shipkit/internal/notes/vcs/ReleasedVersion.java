@@ -26,4 +26,10 @@ public interface ReleasedVersion {
      * Nullable, previous revision (tag)
      */
     String getPreviousRev();
+
+    /**
+     * Nullable, id of the commit the revision (tag) points to.
+     * Null when the revision is not a tag, for example for 'HEAD'.
+     */
+    String getCommitId();
 }
@@ -1,18 +1,28 @@
 package org.shipkit.internal.notes.vcs;
 
 import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.git.GitRepository;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import static org.shipkit.internal.util.DateUtil.parseDate;
 
 /**
- * Provides date of given vcs revision
+ * Provides date of given vcs revision.
+ * When the repository can be read in-process, tags and commit dates are read directly from the repository.
+ * Otherwise, dates and commit ids of all tags are read at once with a single 'git for-each-ref' invocation,
+ * dates of other revisions (and tags created later) are resolved with 'git log'.
  */
 class RevisionDateProvider {
 
+    private static final String TAG_REF_PREFIX = "refs/tags/";
+
     private final ProcessRunner runner;
+    private final GitRepository repository;
+    private Map<String, TagInfo> tags;
     /**
      * pattern for validating revision date in ISO format
      * Example of valid date: 2017-01-29 08:14:09 -0800
@@ -21,10 +31,31 @@ class RevisionDateProvider {
             "\\s?\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\s[-+]\\d{4}\\s?");
 
     RevisionDateProvider(ProcessRunner runner) {
+        this(runner, null);
+    }
+
+    /**
+     * @param repository nullable, used to read tags and dates without forking off 'git' process
+     */
+    RevisionDateProvider(ProcessRunner runner, GitRepository repository) {
         this.runner = runner;
+        this.repository = repository;
     }
 
     public Date getDate(String rev) {
+        TagInfo tag = getTags().get(rev);
+        if (tag != null && tag.date != null) {
+            return parseDate(tag.date);
+        }
+
+        if (repository != null) {
+            String commitId = tag != null ? tag.commitId : repository.resolve(rev);
+            Date date = commitId != null ? repository.getAuthorDate(commitId) : null;
+            if (date != null) {
+                return date;
+            }
+        }
+
         String gitOutput = runner.run("git", "log", "--pretty=%ad", "--date=iso", rev, "-n", "1");
         if (!REVISION_DATE_PATTERN.matcher(gitOutput).matches()) {
            throw new IllegalArgumentException(formatErrorMessage(rev, gitOutput));
@@ -33,6 +64,59 @@ class RevisionDateProvider {
         return parseDate(gitOutput.trim());
     }
 
+    /**
+     * Nullable, id of the commit given tag points to. Returns null when the revision is not a tag.
+     */
+    public String getCommitId(String rev) {
+        TagInfo tag = getTags().get(rev);
+        return tag != null ? tag.commitId : null;
+    }
+
+    private Map<String, TagInfo> getTags() {
+        if (tags == null) {
+            tags = readTags();
+        }
+        return tags;
+    }
+
+    private Map<String, TagInfo> readTags() {
+        Map<String, String> commitIds = repository != null ? repository.getTagCommitIds() : null;
+        if (commitIds != null) {
+            //dates are read lazily, only for the tags that are needed
+            Map<String, TagInfo> result = new HashMap<String, TagInfo>();
+            for (Map.Entry<String, String> e : commitIds.entrySet()) {
+                result.put(e.getKey(), new TagInfo(null, e.getValue()));
+            }
+            return result;
+        }
+
+        // '*objectname' and '*authordate' describe the commit an annotated tag points to, they are empty for lightweight tags
+        // 'objectname' and 'authordate' describe the commit a lightweight tag points to ('authordate' is empty for annotated tags)
+        String gitOutput = runner.run("git", "for-each-ref",
+                "--format=%(refname) %(objectname) %(*objectname) %(*authordate:iso)%(authordate:iso)", TAG_REF_PREFIX);
+        Map<String, TagInfo> result = new HashMap<String, TagInfo>();
+        for (String line : gitOutput.split("\n")) {
+            String[] fields = line.split(" ", 4);
+            if (line.startsWith(TAG_REF_PREFIX) && fields.length == 4
+                    && REVISION_DATE_PATTERN.matcher(fields[3]).matches()) {
+                String commitId = fields[2].isEmpty() ? fields[1] : fields[2];
+                result.put(fields[0].substring(TAG_REF_PREFIX.length()), new TagInfo(fields[3].trim(), commitId));
+            }
+        }
+        return result;
+    }
+
+    private static class TagInfo {
+        //nullable, ISO date or null when the date was not read yet
+        private final String date;
+        private final String commitId;
+
+        TagInfo(String date, String commitId) {
+            this.date = date;
+            this.commitId = commitId;
+        }
+    }
+
     private String formatErrorMessage(String rev, String gitOutput) {
         return "Can't get a proper date for revision number " + rev +
                 ". Are you sure this revision or tag exists?" +
@@ -1,6 +1,7 @@
 package org.shipkit.internal.notes.vcs;
 
 import org.shipkit.internal.exec.ProcessRunner;
+import org.shipkit.internal.git.GitRepository;
 import org.shipkit.internal.notes.model.Commit;
 import org.shipkit.internal.notes.util.Predicate;
 
@@ -13,14 +14,32 @@ public class Vcs {
      * Provides means to get contributions.
      */
     public static ContributionsProvider getContributionsProvider(ProcessRunner runner, Predicate<Commit> ignoredCommit) {
-        return new GitContributionsProvider(new GitLogProvider(runner), ignoredCommit);
+        return getContributionsProvider(runner, null, ignoredCommit);
+    }
+
+    /**
+     * Provides means to get contributions.
+     *
+     * @param repository nullable, used to read the repository in-process instead of forking off 'git' where possible
+     */
+    public static ContributionsProvider getContributionsProvider(ProcessRunner runner, GitRepository repository, Predicate<Commit> ignoredCommit) {
+        return new GitContributionsProvider(new GitLogProvider(runner, repository), ignoredCommit);
     }
 
     /**
      * Provides means to get release versions
      */
     public static ReleasedVersionsProvider getReleaseDateProvider(ProcessRunner runner) {
-        return new DefaultReleasedVersionsProvider(runner);
+        return getReleaseDateProvider(runner, null);
+    }
+
+    /**
+     * Provides means to get release versions
+     *
+     * @param repository nullable, used to read the repository in-process instead of forking off 'git' where possible
+     */
+    public static ReleasedVersionsProvider getReleaseDateProvider(ProcessRunner runner, GitRepository repository) {
+        return new DefaultReleasedVersionsProvider(runner, repository);
     }
 
     public static RevisionProvider getRevisionProvider(ProcessRunner runner) {
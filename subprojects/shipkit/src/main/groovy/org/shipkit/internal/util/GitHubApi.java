@@ -1,18 +1,32 @@
 package org.shipkit.internal.util;
 
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.shipkit.internal.notes.util.IOUtil;
 
 import javax.net.ssl.HttpsURLConnection;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Wrapper for making REST requests to GitHub API
+ * Wrapper for making REST requests to GitHub API.
+ * Requests rejected because of exceeded rate limit are retried once the limit allows it,
+ * see https://developer.github.com/v3/#rate-limiting and
+ * https://developer.github.com/v3/guides/best-practices-for-integrators/#dealing-with-abuse-rate-limits
  */
 public class GitHubApi {
 
+    private static final Logger LOG = Logging.getLogger(GitHubApi.class);
+
+    static final int MAX_ATTEMPTS = 3;
+    //we rather fail than block the build for the rest of the hour
+    public static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
     private final String gitHubApiUrl;
     private final String authToken;
 
@@ -22,50 +36,82 @@ public class GitHubApi {
     }
 
     public String post(String relativeUrl, String body) throws IOException {
+        return request("POST", relativeUrl, body);
+    }
+
+    public String get(String relativeUrl) throws IOException {
+        return request("GET", relativeUrl, null);
+    }
+
+    private String request(String method, String relativeUrl, String body) throws IOException {
         URL url = new URL(gitHubApiUrl + relativeUrl + "?access_token=" + authToken);
 
-        HttpsURLConnection conn = (HttpsURLConnection) url.openConnection();
-        conn.setRequestMethod("POST");
-        conn.setDoOutput(true);
-        conn.setRequestProperty("Content-Type", "application/json");
+        for (int attempt = 1; ; attempt++) {
+            HttpsURLConnection conn = (HttpsURLConnection) url.openConnection();
+            conn.setRequestMethod(method);
+            conn.setDoOutput(true);
+            conn.setRequestProperty("Content-Type", "application/json");
 
-        DataOutputStream wr = null;
-        try {
-            wr = new DataOutputStream(conn.getOutputStream());
-            wr.writeBytes(body);
-            wr.flush();
-        } finally {
-            if (wr != null) {
-                wr.close();
+            if (body != null) {
+                DataOutputStream wr = null;
+                try {
+                    wr = new DataOutputStream(conn.getOutputStream());
+                    wr.writeBytes(body);
+                    wr.flush();
+                } finally {
+                    if (wr != null) {
+                        wr.close();
+                    }
+                }
+            }
+
+            if (conn.getResponseCode() < HttpURLConnection.HTTP_BAD_REQUEST) {
+                return IOUtil.readFully(conn.getInputStream());
             }
-        }
 
-        if (conn.getResponseCode() < HttpURLConnection.HTTP_BAD_REQUEST) {
-            return IOUtil.readFully(conn.getInputStream());
-        } else {
             String errorMessage =
-                String.format("POST %s failed, response code = %s, response body:\n%s",
-                maskUrl(url), conn.getResponseCode(), IOUtil.readFully(conn.getErrorStream()));
-            throw new IOException(errorMessage);
+                String.format("%s %s failed, response code = %s, response body:\n%s",
+                    method, maskUrl(url), conn.getResponseCode(), IOUtil.readFully(conn.getErrorStream()));
+            long delay = retryDelayMillis(conn.getResponseCode(), conn.getHeaderField("Retry-After"),
+                conn.getHeaderField("X-RateLimit-Remaining"), conn.getHeaderField("X-RateLimit-Reset"), System.currentTimeMillis());
+            if (delay < 0 || attempt >= MAX_ATTEMPTS) {
+                throw new IOException(errorMessage);
+            }
+            LOG.lifecycle("  GitHub API rate limit exceeded, retrying {} {} in {} seconds", method, relativeUrl, TimeUnit.MILLISECONDS.toSeconds(delay));
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for GitHub API rate limit, " + errorMessage);
+            }
         }
     }
 
-    public String get(String relativeUrl) throws IOException {
-        URL url = new URL(gitHubApiUrl + relativeUrl + "?access_token=" + authToken);
-
-        HttpsURLConnection conn = (HttpsURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        conn.setDoOutput(true);
-        conn.setRequestProperty("Content-Type", "application/json");
-
-        if (conn.getResponseCode() < HttpURLConnection.HTTP_BAD_REQUEST) {
-            return IOUtil.readFully(conn.getInputStream());
-        } else {
-            String errorMessage =
-                String.format("GET %s failed, response code = %s, response body:\n%s",
-                    maskUrl(url), conn.getResponseCode(), IOUtil.readFully(conn.getErrorStream()));
-            throw new IOException(errorMessage);
+    /**
+     * How long to wait before retrying the request rejected because of rate limit.
+     * Returns -1 when the request should not be retried: it failed for other reasons
+     * or the limit resets later than {@link #MAX_RETRY_DELAY_MILLIS}.
+     *
+     * @param retryAfter nullable, value of 'Retry-After' header, sent when abuse rate limit was hit
+     * @param remaining nullable, value of 'X-RateLimit-Remaining' header
+     * @param reset nullable, value of 'X-RateLimit-Reset' header, epoch seconds
+     */
+    static long retryDelayMillis(int responseCode, String retryAfter, String remaining, String reset, long now) {
+        if (responseCode != HttpURLConnection.HTTP_FORBIDDEN && responseCode != HTTP_TOO_MANY_REQUESTS) {
+            return -1;
+        }
+        long delay = -1;
+        try {
+            if (retryAfter != null) {
+                delay = TimeUnit.SECONDS.toMillis(Long.parseLong(retryAfter.trim()));
+            } else if ("0".equals(remaining) && reset != null) {
+                //one extra second because the reset time has the precision of seconds
+                delay = Math.max(TimeUnit.SECONDS.toMillis(Long.parseLong(reset.trim())) - now, 0) + 1000;
+            }
+        } catch (NumberFormatException e) {
+            return -1;
         }
+        return delay > MAX_RETRY_DELAY_MILLIS ? -1 : delay;
     }
 
     private String maskUrl(URL url) {
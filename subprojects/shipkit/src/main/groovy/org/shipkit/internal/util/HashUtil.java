@@ -0,0 +1,61 @@
+package org.shipkit.internal.util;
+
+import org.shipkit.internal.notes.util.IOUtil;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class HashUtil {
+
+    /**
+     * Returns hex encoded SHA-1 of the UTF-8 bytes of given text
+     */
+    public static String sha1(String text) {
+        try {
+            return toHex(newSha1().digest(text.getBytes("UTF-8")));
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Returns hex encoded SHA-1 of the content of given file
+     */
+    public static String sha1(File file) {
+        MessageDigest digest = newSha1();
+        InputStream input = null;
+        try {
+            input = new FileInputStream(file);
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+            return toHex(digest.digest());
+        } catch (Exception e) {
+            throw new RuntimeException("Problems calculating SHA-1 of file: " + file, e);
+        } finally {
+            IOUtil.closeQuietly(input);
+        }
+    }
+
+    private static MessageDigest newSha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
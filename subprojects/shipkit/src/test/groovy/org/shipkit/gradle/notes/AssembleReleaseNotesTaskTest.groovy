@@ -0,0 +1,46 @@
+package org.shipkit.gradle.notes
+
+import org.gradle.api.tasks.TaskExecutionException
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.gradle.util.ReleaseNotesFragments
+import spock.lang.Specification
+
+class AssembleReleaseNotesTaskTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def project = new ProjectBuilder().build()
+
+    def "assembles release notes from fragments"() {
+        def fragmentsDir = tmp.newFolder("fragments")
+        new ReleaseNotesFragments(fragmentsDir).addVersion("1.0.0", "1.0.0 notes\n")
+        def task = assembleTask(fragmentsDir)
+
+        when:
+        task.execute()
+
+        then:
+        task.outputFile.text.endsWith("1.0.0 notes\n")
+    }
+
+    def "fails with descriptive message when fragments directory does not exist"() {
+        def task = assembleTask(new File(tmp.root, "missing"))
+
+        when:
+        task.execute()
+
+        then:
+        def ex = thrown(TaskExecutionException)
+        ex.cause.message.startsWith("Release notes fragments directory does not exist: " + new File(tmp.root, "missing"))
+    }
+
+    private AssembleReleaseNotesTask assembleTask(File fragmentsDir) {
+        def task = project.tasks.create("assembleReleaseNotes", AssembleReleaseNotesTask)
+        task.fragmentsDir = fragmentsDir
+        task.outputFile = new File(tmp.root, "release-notes.md")
+        task.header = "Release notes"
+        task
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import org.shipkit.internal.comparison.diff.DirectoryDiffGenerator
 import spock.lang.Specification
+import org.shipkit.internal.gradle.util.ZipIndex
 import testutil.ZipMaker
 
 class ZipComparatorTest extends Specification {
@@ -68,6 +69,37 @@ class ZipComparatorTest extends Specification {
 
     }
 
+    def "compares content concurrently"() {
+        given:
+        ZipMaker zip = new ZipMaker(tmp.newFolder())
+        File zip1 = zip.newZip("1.txt", "1", "2.txt", "2", "3.txt", "3", "4.txt", "4")
+        File zip2 = zip.newZip("1.txt", "1", "2.txt", "X", "3.txt", "3", "4.txt", "Y")
+        def directoryDiffGenerator = Mock(DirectoryDiffGenerator)
+
+        when:
+        def diff = new ZipComparator(directoryDiffGenerator, 1).areEqual(zip1, zip2)
+
+        then:
+        !diff.areFilesEqual()
+        1 * directoryDiffGenerator.generateDiffOutput([], [], ["2.txt", "4.txt"])
+    }
+
+    def "compares metadata of entries"() {
+        expect:
+        ZipComparator.metadataDiffers(entry(10, 100), entry(size, crc)) == differs
+
+        where:
+        size | crc | differs
+        10   | 100 | false
+        11   | 100 | true
+        10   | 101 | true
+        -1   | -1  | false
+    }
+
+    private static ZipIndex.Entry entry(long size, long crc) {
+        new ZipIndex.Entry("a.txt", ZipIndex.DEFLATED, crc, size, size, 0)
+    }
+
     private static boolean eq(File z1, File z2) {
         new ZipComparator().areEqual(z1, z2).areFilesEqual() &&
                 new ZipComparator().areEqual(z2, z1).areFilesEqual()
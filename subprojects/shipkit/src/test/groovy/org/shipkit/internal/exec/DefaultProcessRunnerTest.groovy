@@ -7,6 +7,8 @@ import org.junit.rules.TemporaryFolder
 import spock.lang.IgnoreIf
 import spock.lang.Specification
 
+import java.util.concurrent.TimeUnit
+
 import static TestUtil.commandAvailable
 
 //ignore the test when there is no 'ls' utility
@@ -63,6 +65,17 @@ class DefaultProcessRunnerTest extends Specification {
         log.lifecycle("ls [SECRET] xx [SECRET] yy")
     }
 
+    def "logs quiet commands at info level"() {
+        def log = Mock(Logger)
+
+        when:
+        new DefaultProcessRunner(tmp.root).setQuiet(true).run(log, ["echo", "hello"])
+
+        then:
+        1 * log.info("  Executing:\n    echo hello")
+        0 * log.lifecycle(_)
+    }
+
     def "ignores null secrets"() {
         when:
         new DefaultProcessRunner(tmp.root).setSecretValue(null).run("ls")
@@ -70,4 +83,73 @@ class DefaultProcessRunnerTest extends Specification {
         then:
         noExceptionThrown()
     }
+
+    def "streams output to handler"() {
+        File dir = tmp.newFolder()
+        new File(dir, "xyz.txt").createNewFile()
+        String output = null
+
+        when:
+        new DefaultProcessRunner(dir).run(["ls"], { Reader r -> output = r.text } as ProcessOutputHandler)
+
+        then:
+        output.contains("xyz.txt")
+    }
+
+    def "masks streamed output"() {
+        String output = null
+
+        when:
+        new DefaultProcessRunner(tmp.root).setSecretValue("foobar")
+            .run(["echo", "a foobar b"], { Reader r -> output = r.text } as ProcessOutputHandler)
+
+        then:
+        output.contains("a [SECRET] b")
+    }
+
+    def "reports error output when streamed command fails"() {
+        when:
+        new DefaultProcessRunner(tmp.root).setSecretValue("foobar")
+            .run(["ls", "foobar"], { Reader r -> r.text } as ProcessOutputHandler)
+
+        then:
+        def ex = thrown(GradleException)
+        ex.message.contains("Execution of command failed")
+        ex.message.contains("[SECRET]")
+        !ex.message.contains("foobar")
+    }
+
+    def "stores output in file and keeps the tail in memory"() {
+        def logFile = new File(tmp.root, "build/output.log")
+        def lines = (1..20000).collect { "line $it foobar" }
+        def input = tmp.newFile("lines.txt")
+        input.text = lines.join("\n")
+
+        when:
+        def out = new DefaultProcessRunner(tmp.root, logFile).setSecretValue("foobar").run("cat", input.absolutePath)
+
+        then:
+        logFile.readLines() == lines.collect { it.replace("foobar", "[SECRET]") }
+        out.startsWith("[...]\nline ")
+        out.endsWith("line 20000 [SECRET]\n")
+        out.length() <= DefaultProcessRunner.DEFAULT_OUTPUT_TAIL_SIZE + 10
+    }
+
+    def "kills the process when it exceeds the timeout"() {
+        def runner = new DefaultProcessRunner(tmp.root).setTimeout(200, TimeUnit.MILLISECONDS)
+
+        when:
+        runner.run("sleep", "30")
+
+        then:
+        def ex = thrown(GradleException)
+        ex.message.contains("Execution of command timed out after 200 ms")
+        ex.message.contains("sleep 30")
+    }
+
+    def "does not limit duration of commands by default"() {
+        expect:
+        new DefaultProcessRunner(tmp.root).@timeoutMillis == 0
+        new DefaultProcessRunner(tmp.root).setTimeout(10, TimeUnit.MINUTES).@timeoutMillis == 600000
+    }
 }
@@ -0,0 +1,70 @@
+package org.shipkit.internal.exec
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SecretMaskerTest extends Specification {
+
+    @Unroll
+    def "masks '#text' with secrets #secrets"() {
+        expect:
+        new SecretMasker(secrets).mask(text) == expected
+
+        where:
+        secrets               | text                   | expected
+        []                    | "a foo b"              | "a foo b"
+        ["foo"]               | "a foo b foo"          | "a [SECRET] b [SECRET]"
+        ["foo", "bar"]        | "foobar barfoo"        | "[SECRET][SECRET] [SECRET][SECRET]"
+        ["abcd", "bc"]        | "xabcdx"               | "xa[SECRET]dx"
+        ["abcd", "bcx"]       | "abcx abcd"            | "a[SECRET] [SECRET]"
+        ["aab"]               | "aaab"                 | "a[SECRET]"
+        ["token", "tok"]      | "tok token"            | "[SECRET] [SECRET]en"
+        [null, "", "s3cret"]  | "my s3cret"            | "my [SECRET]"
+        ["foo"]               | ""                     | ""
+    }
+
+    def "masks streamed text when secrets span across reads"() {
+        def masker = new SecretMasker(["secret", "another"])
+        def text = "1 secret 2 anothe 3 another 4 secre"
+
+        when:
+        def masked = masker.mask(new OneCharReader(text)).text
+
+        then:
+        masked == "1 [SECRET] 2 anothe 3 [SECRET] 4 secre"
+    }
+
+    def "masks large streamed text"() {
+        def masker = new SecretMasker(["secret"])
+        def line = "abc secret " * 1000
+
+        when:
+        def masked = masker.mask(new StringReader(line * 10)).text
+
+        then:
+        masked == "abc [SECRET] " * 10000
+    }
+
+    def "returns the same reader when there are no secrets"() {
+        def reader = new StringReader("foo")
+
+        expect:
+        new SecretMasker([null]).mask(reader).is(reader)
+    }
+
+    private static class OneCharReader extends Reader {
+        private final Reader reader
+
+        OneCharReader(String text) {
+            reader = new StringReader(text)
+        }
+
+        int read(char[] cbuf, int off, int len) throws IOException {
+            return reader.read(cbuf, off, Math.min(len, 1))
+        }
+
+        void close() throws IOException {
+            reader.close()
+        }
+    }
+}
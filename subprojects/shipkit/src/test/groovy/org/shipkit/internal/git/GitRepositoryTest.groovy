@@ -0,0 +1,91 @@
+package org.shipkit.internal.git
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.exec.DefaultProcessRunner
+import org.shipkit.internal.util.DateUtil
+import spock.lang.Specification
+
+class GitRepositoryTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File dir
+    DefaultProcessRunner runner
+
+    def setup() {
+        dir = tmp.newFolder()
+        runner = new DefaultProcessRunner(dir)
+        git("init", "-q")
+        git("config", "user.name", "Shipkit")
+        git("config", "user.email", "shipkit@example.com")
+        git("remote", "add", "origin", "https://github.com/mockito/shipkit.git")
+        commit("first", "2017-01-29 08:14:09 -0800")
+        git("tag", "v1.0")
+        commit("second", "2017-02-10 10:00:00 +0000")
+        git("tag", "-a", "v2.0", "-m", "version 2.0")
+        git("checkout", "-q", "-b", "feature")
+    }
+
+    def "reads refs and commits from loose objects"() {
+        expect:
+        verifyRepository(GitRepository.find(new File(dir, "some/sub/dir")))
+    }
+
+    def "reads refs and commits from pack files"() {
+        git("gc", "-q")
+
+        expect:
+        !new File(dir, ".git/refs/tags/v2.0").exists()
+        verifyRepository(GitRepository.find(dir))
+    }
+
+    def "identifies detached head"() {
+        git("checkout", "-q", "v1.0")
+
+        expect:
+        GitRepository.find(dir).currentBranch == "HEAD"
+    }
+
+    def "leaves ambiguous and unsupported revisions to git"() {
+        git("tag", "feature")
+        def repository = GitRepository.find(dir)
+
+        expect:
+        repository.currentBranch == null
+        repository.resolve("HEAD~1") == null
+        repository.resolve("missing") == null
+        repository.resolve("0000000000000000000000000000000000000000") == null
+    }
+
+    def "applies delta"() {
+        def base = "hello world".bytes
+        //base size 11, result size 11, copy 6 bytes from offset 0, insert 5 bytes
+        def delta = ([11, 11, 0x90, 6, 5] + "there".bytes.toList()) as byte[]
+
+        expect:
+        new String(PackFile.applyDelta(base, delta)) == "hello there"
+    }
+
+    private void verifyRepository(GitRepository repository) {
+        assert repository.currentBranch == "feature"
+        assert repository.resolve("HEAD") == git("rev-parse", "HEAD")
+        assert repository.resolve("v1.0") == git("rev-parse", "v1.0^{commit}")
+        assert repository.resolve("v2.0") == git("rev-parse", "v2.0^{commit}")
+        assert repository.resolve("refs/heads/feature") == git("rev-parse", "feature")
+        assert repository.tagCommitIds == ["v1.0": git("rev-parse", "v1.0^{commit}"), "v2.0": git("rev-parse", "v2.0^{commit}")]
+        assert repository.getAuthorDate(repository.resolve("v1.0")) == DateUtil.parseDate("2017-01-29 08:14:09 -0800")
+        assert repository.getRemoteUrl("origin") == "https://github.com/mockito/shipkit.git"
+        assert repository.getRemoteUrl("upstream") == null
+    }
+
+    private void commit(String message, String date) {
+        new File(dir, message + ".txt") << message
+        git("add", ".")
+        git("commit", "-q", "-m", message, "--date", date)
+    }
+
+    private String git(String... args) {
+        runner.run((["git"] + args.toList()) as String[]).trim()
+    }
+}
@@ -0,0 +1,51 @@
+package org.shipkit.internal.git
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.exec.DefaultProcessRunner
+import spock.lang.Specification
+
+class GitRevisionsTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File dir
+    DefaultProcessRunner runner
+
+    def setup() {
+        dir = tmp.newFolder()
+        runner = new DefaultProcessRunner(dir)
+        git("init", "-q")
+        git("config", "user.name", "Shipkit")
+        git("config", "user.email", "shipkit@example.com")
+        commit("first")
+        git("tag", "-a", "v1.0", "-m", "version 1.0")
+        commit("second")
+    }
+
+    def "resolves revisions to commit ids"() {
+        expect:
+        GitRevisions.resolve(dir, "HEAD") == git("rev-parse", "HEAD")
+        GitRevisions.resolve(dir, "v1.0") == git("rev-parse", "v1.0^{commit}")
+    }
+
+    def "resolves revisions not supported by in-process reader with git"() {
+        expect:
+        GitRevisions.resolve(dir, "HEAD~1") == git("rev-parse", "v1.0^{commit}")
+    }
+
+    def "returns null when revision does not exist"() {
+        expect:
+        GitRevisions.resolve(dir, "v2.0") == null
+    }
+
+    private void commit(String message) {
+        new File(dir, message + ".txt") << message
+        git("add", ".")
+        git("commit", "-q", "-m", message)
+    }
+
+    private String git(String... args) {
+        runner.run((["git"] + args.toList()) as String[]).trim()
+    }
+}
@@ -0,0 +1,92 @@
+package org.shipkit.internal.gradle.downstream.test
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import static org.shipkit.internal.gradle.downstream.test.DownstreamTestExecutor.Outcome.*
+
+class DownstreamTestExecutorTest extends Specification {
+
+    def "runs all tests and reports outcomes in order"() {
+        def tests = new LinkedHashMap<String, Runnable>()
+        tests["a"] = {} as Runnable
+        tests["b"] = { throw new RuntimeException("boom") } as Runnable
+        tests["c"] = {} as Runnable
+
+        when:
+        def results = new DownstreamTestExecutor(1, false).execute(tests)
+
+        then:
+        results*.name == ["a", "b", "c"]
+        results*.outcome == [PASSED, FAILED, PASSED]
+        results[1].failure.message == "boom"
+    }
+
+    def "reports errors thrown by tests as failures"() {
+        def tests = new LinkedHashMap<String, Runnable>()
+        tests["a"] = { throw new AssertionError("boom") } as Runnable
+        tests["b"] = {} as Runnable
+
+        when:
+        def results = new DownstreamTestExecutor(1, false).execute(tests)
+
+        then:
+        results*.outcome == [FAILED, PASSED]
+        results[0].failure instanceof AssertionError
+    }
+
+    def "runs tests concurrently"() {
+        //both tests need to run at the same time to complete
+        def latch = new CountDownLatch(2)
+        def test = {
+            latch.countDown()
+            assert latch.await(5, TimeUnit.SECONDS)
+        } as Runnable
+
+        when:
+        def results = new DownstreamTestExecutor(2, false).execute(["a": test, "b": test])
+
+        then:
+        results*.outcome == [PASSED, PASSED]
+    }
+
+    def "cancels other tests on first failure when fail-fast"() {
+        def started = new CountDownLatch(1)
+        def tests = new LinkedHashMap<String, Runnable>()
+        tests["slow"] = {
+            started.countDown()
+            try {
+                Thread.sleep(10000)
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e)
+            }
+        } as Runnable
+        tests["failing"] = {
+            started.await()
+            throw new RuntimeException("boom")
+        } as Runnable
+        tests["pending"] = {} as Runnable
+
+        when:
+        def results = new DownstreamTestExecutor(2, true).execute(tests)
+
+        then:
+        results*.outcome == [CANCELLED, FAILED, SKIPPED]
+    }
+
+    def "prints summary"() {
+        def results = [
+            new DownstreamTestExecutor.TestResult("mockito/mockito", PASSED, 125000, null),
+            new DownstreamTestExecutor.TestResult("mockito/shipkit-example", FAILED, 4200, new RuntimeException()),
+            new DownstreamTestExecutor.TestResult("x/y", SKIPPED, 0, null)
+        ]
+
+        expect:
+        DownstreamTestExecutor.summary(results) == """Downstream tests summary:
+  mockito/mockito          PASSED in 2m 5s
+  mockito/shipkit-example  FAILED in 4s
+  x/y                      SKIPPED"""
+    }
+}
@@ -46,4 +46,19 @@ class TestDownstreamTaskTest extends PluginSpecification {
         project.tasks."testMockitoShipkitExample"
         project.tasks."cloneMockitoShipkitExample"
     }
+
+    def "runs tests itself after cloning the repositories"() {
+        given:
+        TestDownstreamTask task = project.tasks.create("testDownstream", TestDownstreamTask)
+        task.setUploadGistsTask(project.tasks.create("uploadGists", UploadGistsTask))
+
+        when:
+        task.addRepository("https://github.com/mockito/mockito")
+
+        then:
+        task.dependsOn.contains(project.tasks.cloneMockitoMockito)
+        !task.dependsOn.contains(project.tasks.testMockitoMockito)
+        task.maxParallelTests == 1
+        !task.failFast
+    }
 }
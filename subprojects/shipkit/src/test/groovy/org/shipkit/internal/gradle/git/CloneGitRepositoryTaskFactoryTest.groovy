@@ -28,6 +28,7 @@ class CloneGitRepositoryTaskFactoryTest extends PluginSpecification {
         cloneTask.repositoryUrl == "gitHubUrl/mockito/mockito"
         cloneTask.targetDir.absolutePath == buildDir.absolutePath + "/downstream/mockitoMockito"
         cloneTask.name == "cloneMockitoMockito"
+        cloneTask.mirrorCacheDir == new File(project.gradle.gradleUserHomeDir, "caches/shipkit/git-mirrors")
     }
 
     def "creates only one instance of cloneRepoName"() {
@@ -30,4 +30,14 @@ class CloneGitRepositoryTaskTest extends PluginSpecification {
         expect:
         task.getCloneCommand() == ["git", "clone", "--depth", "50", "url", tempFolder.getAbsolutePath()]
     }
+
+    def "clone a partial repository using mirror"() {
+        task.repositoryUrl = "url"
+        task.targetDir = tempFolder
+        task.partialClone = true
+        def mirror = new File(tempFolder, "mirror.git")
+
+        expect:
+        task.getCloneCommand(mirror) == ["git", "clone", "--filter=blob:none", "--reference", mirror.absolutePath, "--dissociate", "url", tempFolder.getAbsolutePath()]
+    }
 }
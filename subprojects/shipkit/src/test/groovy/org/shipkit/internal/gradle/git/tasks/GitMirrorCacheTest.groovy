@@ -0,0 +1,69 @@
+package org.shipkit.internal.gradle.git.tasks
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.exec.DefaultProcessRunner
+import spock.lang.Specification
+
+class GitMirrorCacheTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File origin
+    File cacheDir
+
+    def setup() {
+        origin = tmp.newFolder("origin")
+        cacheDir = new File(tmp.root, "cache")
+        git(origin, "init", "-q")
+        commit("first")
+    }
+
+    def "creates and updates mirror"() {
+        def cache = new GitMirrorCache(cacheDir, false)
+
+        when:
+        def mirror = cache.getMirror(origin.absolutePath)
+
+        then:
+        mirror == cache.getMirrorDir(origin.absolutePath)
+        git(mirror, "log", "--format=%s", "-1") == "first"
+        cacheDir.list() as List == [mirror.name]
+
+        when:
+        commit("second")
+        cache.getMirror(origin.absolutePath)
+
+        then:
+        git(mirror, "log", "--format=%s", "-1") == "second"
+    }
+
+    def "returns null when mirror cannot be created"() {
+        expect:
+        new GitMirrorCache(cacheDir, false).getMirror(new File(tmp.root, "missing").absolutePath) == null
+        !cacheDir.exists() || cacheDir.list().length == 0
+    }
+
+    def "creates partial mirror"() {
+        expect:
+        new GitMirrorCache(cacheDir, true).getMirrorCommand("url", cacheDir) ==
+            ["git", "clone", "--mirror", "--filter=blob:none", "url", cacheDir.absolutePath]
+    }
+
+    def "keeps partial and full mirrors of the same repository apart"() {
+        def full = new GitMirrorCache(cacheDir, false).getMirrorDir("url")
+        def partial = new GitMirrorCache(cacheDir, true).getMirrorDir("url")
+
+        expect:
+        full != partial
+        partial.name.endsWith("-blobless.git")
+    }
+
+    private void commit(String message) {
+        git(origin, "-c", "user.name=a", "-c", "user.email=a@b", "commit", "-q", "--allow-empty", "-m", message)
+    }
+
+    private static String git(File dir, String... args) {
+        new DefaultProcessRunner(dir).run((["git"] + args.toList()) as String[]).trim()
+    }
+}
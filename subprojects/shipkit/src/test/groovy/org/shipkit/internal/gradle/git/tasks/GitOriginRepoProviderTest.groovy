@@ -1,6 +1,7 @@
 package org.shipkit.internal.gradle.git.tasks
 
 import org.shipkit.internal.exec.ProcessRunner
+import org.shipkit.internal.git.GitRepository
 import spock.lang.Specification
 
 class GitOriginRepoProviderTest extends Specification {
@@ -28,4 +29,17 @@ class GitOriginRepoProviderTest extends Specification {
         expect:
         underTest.originGitRepo == "mockito/mockito"
     }
+
+    def "reads remote from repository without running git" () {
+        def repository = Stub(GitRepository) {
+            getRemoteUrl("origin") >> "https://github.com/mockito/shipkit.git"
+        }
+
+        when:
+        def repo = new GitOriginRepoProvider(runner, repository).originGitRepo
+
+        then:
+        repo == "mockito/shipkit"
+        0 * runner._
+    }
 }
@@ -0,0 +1,223 @@
+package org.shipkit.internal.gradle.java.tasks
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpHandler
+import com.sun.net.httpserver.HttpServer
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.util.HashUtil
+import spock.lang.Specification
+
+class ArtifactCacheTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    HttpServer server
+    String content = "0123456789"
+    String etag = '"v1"'
+    boolean publishChecksum = true
+    List<String> requestedRanges = []
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0)
+        server.createContext("/", { HttpExchange e -> serve(e) } as HttpHandler)
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    def "downloads artifact and reuses it from the cache"() {
+        def source = tmp.newFile("lib-1.0-sources.jar")
+        source << "content"
+        new File(tmp.root, "lib-1.0-sources.jar.sha1") << HashUtil.sha1(source)
+        def cacheDir = tmp.newFolder("cache")
+        def target = new File(tmp.root, "build/previous-sources.jar")
+
+        when:
+        new ArtifactCache(cacheDir).get(source.toURI().toString(), target)
+
+        then:
+        target.text == "content"
+        new File(cacheDir, "blobs/" + HashUtil.sha1(source)).text == "content"
+
+        when:
+        source.delete()
+        target.delete()
+        new ArtifactCache(cacheDir).get(source.toURI().toString(), target)
+
+        then:
+        target.text == "content"
+    }
+
+    def "stores identical artifacts once"() {
+        def s1 = tmp.newFile("lib-1.0-sources.jar")
+        s1 << "content"
+        def s2 = tmp.newFile("lib-1.1-sources.jar")
+        s2 << "content"
+        new File(tmp.root, "lib-1.0-sources.jar.sha1") << HashUtil.sha1(s1)
+        new File(tmp.root, "lib-1.1-sources.jar.sha1") << HashUtil.sha1(s2)
+        def cacheDir = tmp.newFolder("cache")
+        def cache = new ArtifactCache(cacheDir)
+
+        when:
+        cache.get(s1.toURI().toString(), new File(tmp.root, "t1.jar"))
+        cache.get(s2.toURI().toString(), new File(tmp.root, "t2.jar"))
+
+        then:
+        new File(cacheDir, "blobs").list().length == 1
+        new File(cacheDir, "urls").list().length == 2
+        new File(tmp.root, "t2.jar").text == "content"
+    }
+
+    def "does not cache artifact without checksum"() {
+        publishChecksum = false
+        def cacheDir = tmp.newFolder("cache")
+        def cache = new ArtifactCache(cacheDir)
+
+        when:
+        cache.get(artifactUrl(), new File(tmp.root, "t1.jar"))
+        cache.get(artifactUrl(), new File(tmp.root, "t2.jar"))
+
+        then:
+        requestedRanges == [null, null]
+        new File(tmp.root, "t1.jar").text == content
+        new File(tmp.root, "t2.jar").text == content
+        !new File(cacheDir, "urls").list()
+        !new File(cacheDir, "blobs").list()
+        !new File(cacheDir, "downloads").list()
+    }
+
+    def "downloads artifact once when requested concurrently"() {
+        def cacheDir = tmp.newFolder("cache")
+        def targets = (1..4).collect { new File(tmp.root, "t" + it + ".jar") }
+
+        when:
+        def threads = targets.collect { t -> Thread.start { new ArtifactCache(cacheDir).get(artifactUrl(), t) } }
+        threads*.join()
+
+        then:
+        requestedRanges == [null]
+        targets*.text == [content] * 4
+    }
+
+    def "verifies published checksum"() {
+        def source = tmp.newFile("lib-1.0-sources.jar")
+        source << "content"
+        new File(tmp.root, "lib-1.0-sources.jar.sha1") << "0000000000000000000000000000000000000000  lib-1.0-sources.jar"
+        def cacheDir = tmp.newFolder("cache")
+        def target = new File(tmp.root, "target.jar")
+
+        when:
+        new ArtifactCache(cacheDir).get(source.toURI().toString(), target)
+
+        then:
+        def e = thrown(IOException)
+        e.message.startsWith("Checksum verification failed for " + source.toURI())
+        !target.exists()
+        !new File(cacheDir, "downloads").list()
+    }
+
+    def "accepts matching checksum"() {
+        def source = tmp.newFile("lib-1.0-sources.jar")
+        source << "content"
+        new File(tmp.root, "lib-1.0-sources.jar.sha1") << HashUtil.sha1(source)
+        def target = new File(tmp.root, "target.jar")
+
+        when:
+        new ArtifactCache(tmp.newFolder("cache")).get(source.toURI().toString(), target)
+
+        then:
+        target.text == "content"
+    }
+
+    def "resumes partial download of artifact with checksum"() {
+        def cacheDir = tmp.newFolder("cache")
+        partial(cacheDir, "01234", etag)
+        def target = new File(tmp.root, "target.jar")
+
+        when:
+        new ArtifactCache(cacheDir).get(artifactUrl(), target)
+
+        then:
+        requestedRanges == ["bytes=5-"]
+        target.text == content
+        !new File(cacheDir, "downloads").list()
+    }
+
+    def "downloads again when artifact changed since partial download"() {
+        def cacheDir = tmp.newFolder("cache")
+        partial(cacheDir, "ABCDE", '"v0"')
+        def target = new File(tmp.root, "target.jar")
+
+        when:
+        new ArtifactCache(cacheDir).get(artifactUrl(), target)
+
+        then:
+        requestedRanges == ["bytes=5-"]
+        target.text == content
+    }
+
+    def "does not resume download of artifact without checksum"() {
+        publishChecksum = false
+        def cacheDir = tmp.newFolder("cache")
+        partial(cacheDir, "ABCDE", etag)
+        def target = new File(tmp.root, "target.jar")
+
+        when:
+        new ArtifactCache(cacheDir).get(artifactUrl(), target)
+
+        then:
+        requestedRanges == [null]
+        target.text == content
+    }
+
+    def "resumes only matching content range"() {
+        expect:
+        ArtifactCache.continuesAt("bytes 5-9/10", 5)
+        ArtifactCache.continuesAt("bytes 5-9/*", 5)
+        !ArtifactCache.continuesAt("bytes 0-9/10", 5)
+        !ArtifactCache.continuesAt("5-9/10", 5)
+        !ArtifactCache.continuesAt(null, 5)
+    }
+
+    private String artifactUrl() {
+        "http://127.0.0.1:" + server.address.port + "/lib-1.0-sources.jar"
+    }
+
+    private void partial(File cacheDir, String text, String validator) {
+        def partial = new File(cacheDir, "downloads/" + HashUtil.sha1(artifactUrl()) + ".part")
+        partial.parentFile.mkdirs()
+        partial.text = text
+        new File(partial.path + ".validator").text = validator
+    }
+
+    private void serve(HttpExchange e) {
+        if (e.requestURI.path.endsWith(".sha1")) {
+            if (publishChecksum) {
+                respond(e, 200, HashUtil.sha1(content))
+            } else {
+                respond(e, 404, "")
+            }
+            return
+        }
+        def range = e.requestHeaders.getFirst("Range")
+        requestedRanges << range
+        e.responseHeaders.add("ETag", etag)
+        if (range != null && e.requestHeaders.getFirst("If-Range") == etag) {
+            int start = (range =~ /bytes=(\d+)-/)[0][1] as int
+            e.responseHeaders.add("Content-Range", "bytes " + start + "-" + (content.length() - 1) + "/" + content.length())
+            respond(e, 206, content.substring(start))
+        } else {
+            respond(e, 200, content)
+        }
+    }
+
+    private static void respond(HttpExchange e, int code, String body) {
+        def bytes = body.getBytes("UTF-8")
+        e.sendResponseHeaders(code, bytes.length ?: -1)
+        e.responseBody.write(bytes)
+        e.close()
+    }
+}
@@ -2,7 +2,9 @@ package org.shipkit.internal.gradle.notes
 
 import org.gradle.api.Task
 import org.shipkit.gradle.git.GitCommitTask
+import org.shipkit.gradle.notes.AssembleReleaseNotesTask
 import org.shipkit.gradle.notes.UpdateReleaseNotesTask
+import org.shipkit.internal.gradle.configuration.LazyConfiguration
 import org.shipkit.internal.gradle.contributors.github.GitHubContributorsPlugin
 import org.shipkit.internal.gradle.git.GitPlugin
 import testutil.PluginSpecification
@@ -27,6 +29,40 @@ class ReleaseNotesPluginTest extends PluginSpecification {
         gitCommitTask.descriptions.contains("release notes updated")
     }
 
+    def "adds release notes fragments to GitCommitTask if fragments are configured"() {
+        given:
+        project.plugins.apply(GitPlugin)
+        conf.releaseNotes.fragmentsDir = "docs/release-notes"
+
+        when:
+        project.plugins.apply("org.shipkit.release-notes")
+
+        then:
+        GitCommitTask gitCommitTask = project.tasks.getByName(GitPlugin.GIT_COMMIT_TASK)
+        gitCommitTask.filesToCommit.contains(project.file("docs/release-notes"))
+        !gitCommitTask.filesToCommit.contains(project.file("docs/release-notes.md"))
+
+        AssembleReleaseNotesTask assemble = project.tasks.getByName(ReleaseNotesPlugin.ASSEMBLE_NOTES_TASK)
+        assemble.outputFile == project.file("docs/release-notes.md")
+    }
+
+    def "assembles release notes with the fragments and header of the update task"() {
+        given:
+        conf.releaseNotes.fragmentsDir = "docs/release-notes"
+        project.plugins.apply("org.shipkit.release-notes")
+        UpdateReleaseNotesTask update = project.tasks.getByName(ReleaseNotesPlugin.UPDATE_NOTES_TASK)
+        AssembleReleaseNotesTask assemble = project.tasks.getByName(ReleaseNotesPlugin.ASSEMBLE_NOTES_TASK)
+
+        when:
+        //changed by the user after the plugin was applied
+        update.header = "My release notes"
+        LazyConfiguration.forceConfiguration(assemble)
+
+        then:
+        assemble.fragmentsDir == project.file("docs/release-notes")
+        assemble.header == "My release notes"
+    }
+
     def "should set contributorsDataFile to null if 'shipkit.team.contributors' property is not empty"() {
         given:
         def contributors = ['wwilk:Wojtek Wilk']
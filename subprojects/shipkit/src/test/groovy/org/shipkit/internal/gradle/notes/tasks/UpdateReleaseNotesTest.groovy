@@ -4,6 +4,7 @@ import org.gradle.testfixtures.ProjectBuilder
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
 import org.shipkit.gradle.notes.UpdateReleaseNotesTask
+import org.shipkit.internal.gradle.util.ReleaseNotesFragments
 import spock.lang.Specification
 
 class UpdateReleaseNotesTest extends Specification {
@@ -33,6 +34,37 @@ class UpdateReleaseNotesTest extends Specification {
         f.text.isEmpty()
     }
 
+    def "should add release notes fragment instead of updating release notes file"() {
+        def f = tmp.newFile("release-notes.md")
+        f.text = "previous content"
+        def fragments = new ReleaseNotesFragments(tmp.newFolder("fragments"))
+
+        when:
+        update.updateFragments(fragments, f, "1.0.0", "new content")
+
+        then:
+        f.text == "previous content"
+        fragments.getFragmentFile("1.0.0").text == "new content"
+        def assembled = new StringWriter()
+        fragments.writeAll(assembled)
+        assembled.toString() == "new contentprevious content"
+    }
+
+    def "check release notes url with fragments"() {
+        def task = Mock(UpdateReleaseNotesTask)
+        def project = new ProjectBuilder().withName("myProject").withProjectDir(tmp.root).build()
+
+        when:
+        task.gitHubUrl >> "https://github.com"
+        task.gitHubRepository >> 'mockito/mockito'
+        task.project >> project
+        task.version >> "1.2.3"
+        task.fragmentsDir >> project.file("docs/release-notes")
+
+        then:
+        update.getReleaseNotesUrl(task, "master") == 'https://github.com/mockito/mockito/blob/master/docs/release-notes/1.2.3.md'
+    }
+
     def "check release notes url"(branch, expectedUrl) {
         given:
         def task = Mock(UpdateReleaseNotesTask)
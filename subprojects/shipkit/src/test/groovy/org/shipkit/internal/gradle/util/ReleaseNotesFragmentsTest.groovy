@@ -0,0 +1,82 @@
+package org.shipkit.internal.gradle.util
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class ReleaseNotesFragmentsTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File dir
+    ReleaseNotesFragments fragments
+
+    def setup() {
+        dir = new File(tmp.root, "docs/release-notes")
+        fragments = new ReleaseNotesFragments(dir)
+    }
+
+    def "assembles fragments newest first"() {
+        when:
+        fragments.addVersion("1.0.0", "#### 1.0.0\n\n")
+        fragments.addVersion("1.1.0", "#### 1.1.0\n\n")
+
+        then:
+        new File(dir, "1.0.0.md").text == "#### 1.0.0\n\n"
+        new File(dir, "index.txt").text == "1.0.0.md\n1.1.0.md\n"
+        writeAll() == "#### 1.1.0\n\n#### 1.0.0\n\n"
+    }
+
+    def "replaces fragment of repeated version"() {
+        when:
+        fragments.addVersion("1.0.0", "#### 1.0.0\n\n")
+        fragments.addVersion("1.0.0", "#### 1.0.0 again\n\n")
+
+        then:
+        new File(dir, "index.txt").text == "1.0.0.md\n"
+        writeAll() == "#### 1.0.0 again\n\n"
+    }
+
+    def "imports existing release notes once"() {
+        def notes = tmp.newFile("release-notes.md")
+        notes.text = "<sup><sup>*Release notes were automatically generated*</sup></sup>\n\n#### 0.9.0\n\n"
+
+        when:
+        fragments.importReleaseNotes(notes)
+        fragments.addVersion("1.0.0", "#### 1.0.0\n\n")
+        fragments.importReleaseNotes(notes)
+
+        then:
+        new File(dir, "index.txt").text == "previous-releases.md\n1.0.0.md\n"
+        writeAll() == "#### 1.0.0\n\n#### 0.9.0\n\n"
+    }
+
+    def "does not import missing release notes"() {
+        when:
+        fragments.importReleaseNotes(new File(tmp.root, "missing.md"))
+
+        then:
+        !dir.exists()
+        writeAll() == ""
+    }
+
+    def "skips missing fragments and blank index lines"() {
+        fragments.addVersion("1.0.0", "#### 1.0.0\n\n")
+        new File(dir, "index.txt") << "\n1.1.0.md\n"
+
+        expect:
+        writeAll() == "#### 1.0.0\n\n"
+    }
+
+    def "fragment file names are safe"() {
+        expect:
+        fragments.getFragmentFile("1.0.0-beta.1").name == "1.0.0-beta.1.md"
+        fragments.getFragmentFile("1.0/rc 1").name == "1.0_rc_1.md"
+    }
+
+    private String writeAll() {
+        def writer = new StringWriter()
+        fragments.writeAll(writer)
+        writer.toString()
+    }
+}
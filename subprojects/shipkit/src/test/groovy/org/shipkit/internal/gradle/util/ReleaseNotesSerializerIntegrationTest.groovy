@@ -37,4 +37,24 @@ class ReleaseNotesSerializerIntegrationTest extends Specification {
         result.get(0) == releaseNote
         result.size() == 1
     }
+
+    def "should stream release notes to writer and read them back"() {
+        given:
+        def contributions = new DefaultContributionSet()
+        contributions.add(new GitCommit("123", "aaa@example.com", "aaa", "Fixed [brackets], {braces} and \"quotes\\"\n"))
+        def releaseNotes = [
+                new DefaultReleaseNotesData("1.2.4", new Date(1495668226000), contributions,
+                        [new DefaultImprovement(10123, "Fix ], bug", "https://github.com/org/project/pull/10123", ["a,b"], true)], "0.3.6", "0.3.7"),
+                new DefaultReleaseNotesData("1.2.3", new Date(1495668225000), new DefaultContributionSet(), [], "0.3.5", "0.3.6")
+        ]
+        def writer = new StringWriter()
+
+        when:
+        serializer.serialize(releaseNotes, writer)
+        def result = serializer.deserialize(new StringReader(writer.toString()))
+
+        then:
+        writer.toString() == serializer.serialize(releaseNotes)
+        result == releaseNotes
+    }
 }
@@ -0,0 +1,126 @@
+package org.shipkit.internal.gradle.util
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+import testutil.ZipMaker
+
+import java.nio.channels.ClosedChannelException
+import java.util.zip.CRC32
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class ZipIndexTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def "reads entries of deflated zip"() {
+        def file = new ZipMaker(tmp.newFolder()).newZip("1.txt", "1", "x/2.txt", "two", "x/3.txt", "")
+        def index = ZipIndex.open(file)
+
+        expect:
+        index.entryNames == ["1.txt", "x/2.txt", "x/3.txt"] as Set
+        index.containsEntry("x/2.txt")
+        !index.containsEntry("4.txt")
+        index.getEntry("4.txt") == null
+
+        and:
+        def entry = index.getEntry("x/2.txt")
+        entry.method == ZipIndex.DEFLATED
+        entry.size == 3
+        entry.crc == crc("two")
+        index.readEntryContent("x/2.txt") == "two"
+        index.readEntryContent("x/3.txt") == ""
+
+        cleanup:
+        index?.close()
+    }
+
+    def "reads raw content of stored entries"() {
+        def file = tmp.newFile("stored.zip")
+        def out = new ZipOutputStream(new FileOutputStream(file))
+        def entry = new ZipEntry("a.txt")
+        entry.method = ZipEntry.STORED
+        entry.size = 5
+        entry.crc = crc("hello")
+        out.putNextEntry(entry)
+        out.write("hello".bytes)
+        out.close()
+        def index = ZipIndex.open(file)
+
+        when:
+        def raw = index.getRawInputStream(index.getEntry("a.txt")).text
+
+        then:
+        index.getEntry("a.txt").method == ZipIndex.STORED
+        raw == "hello"
+        index.readEntryContent("a.txt") == "hello"
+
+        cleanup:
+        index?.close()
+    }
+
+    def "streams content of large entries"() {
+        def content = (1..100000).collect { it % 7 == 0 ? "\n" : it.toString() }.join()
+        def file = new ZipMaker(tmp.newFolder()).newZip("big.txt", content, "small.txt", "x")
+        def index = ZipIndex.open(file)
+        def entry = index.getEntry("big.txt")
+
+        expect:
+        entry.compressedSize < entry.size
+        index.getRawInputStream(entry).bytes.length == entry.compressedSize
+        index.readEntryContent("big.txt") == content
+        index.readEntryContent("small.txt") == "x"
+
+        cleanup:
+        index?.close()
+    }
+
+    def "releases the archive when closed"() {
+        def file = new ZipMaker(tmp.newFolder()).newZip("1.txt", "1")
+        def index = ZipIndex.open(file)
+        def entry = index.getEntry("1.txt")
+
+        when:
+        index.close()
+        index.getRawInputStream(entry)
+
+        then:
+        thrown(ClosedChannelException)
+        file.delete()
+    }
+
+    def "fails when file is not a zip"() {
+        def file = tmp.newFile("foo.txt")
+        file << "not a zip"
+
+        when:
+        ZipIndex.open(file)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message == "Could not open zip file " + file
+        e.cause.message.contains("is not a zip file")
+    }
+
+    def "fails when entry is missing"() {
+        def file = new ZipMaker(tmp.newFolder()).newZip("1.txt", "1")
+        def index = ZipIndex.open(file)
+
+        when:
+        index.readEntryContent("2.txt")
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message == "Could not find entry 2.txt in file " + file
+
+        cleanup:
+        index?.close()
+    }
+
+    private static long crc(String content) {
+        def crc = new CRC32()
+        crc.update(content.bytes)
+        crc.value
+    }
+}
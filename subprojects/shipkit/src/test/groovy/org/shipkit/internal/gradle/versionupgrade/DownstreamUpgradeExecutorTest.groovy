@@ -0,0 +1,71 @@
+package org.shipkit.internal.gradle.versionupgrade
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import static org.shipkit.internal.gradle.versionupgrade.DownstreamUpgradeExecutor.Outcome.*
+
+class DownstreamUpgradeExecutorTest extends Specification {
+
+    def "runs all upgrades and reports outcomes in order"() {
+        def upgrades = new LinkedHashMap<String, Callable>()
+        upgrades["a"] = { PR_CREATED } as Callable
+        upgrades["b"] = { throw new IOException("boom") } as Callable
+        upgrades["c"] = { PR_REUSED } as Callable
+
+        when:
+        def results = new DownstreamUpgradeExecutor(1).execute(upgrades)
+
+        then:
+        results*.name == ["a", "b", "c"]
+        results*.outcome == [PR_CREATED, FAILED, PR_REUSED]
+        results[1].failure.message == "boom"
+    }
+
+    def "reports errors thrown by upgrades as failures"() {
+        def upgrades = new LinkedHashMap<String, Callable>()
+        upgrades["a"] = { throw new AssertionError("boom") } as Callable
+        upgrades["b"] = { PR_CREATED } as Callable
+
+        when:
+        def results = new DownstreamUpgradeExecutor(2).execute(upgrades)
+
+        then:
+        results*.outcome == [FAILED, PR_CREATED]
+        results[0].failure instanceof AssertionError
+    }
+
+    def "runs upgrades concurrently"() {
+        //both upgrades need to run at the same time to complete
+        def latch = new CountDownLatch(2)
+        def upgrade = {
+            latch.countDown()
+            assert latch.await(5, TimeUnit.SECONDS)
+            NO_PR
+        } as Callable
+
+        when:
+        def results = new DownstreamUpgradeExecutor(2).execute(["a": upgrade, "b": upgrade])
+
+        then:
+        results*.outcome == [NO_PR, NO_PR]
+    }
+
+    def "prints summary table"() {
+        def results = [
+            new DownstreamUpgradeExecutor.UpgradeResult("mockito/mockito", PR_CREATED, 125000, null),
+            new DownstreamUpgradeExecutor.UpgradeResult("mockito/shipkit-example", PR_REUSED, 42000, null),
+            new DownstreamUpgradeExecutor.UpgradeResult("x/y", FAILED, 4200, new RuntimeException())
+        ]
+
+        expect:
+        DownstreamUpgradeExecutor.summary(results) == """Downstream upgrades summary:
+  Repository               Result      Duration
+  mockito/mockito          PR created  2m 5s
+  mockito/shipkit-example  PR reused   42s
+  x/y                      FAILED      4s"""
+    }
+}
@@ -0,0 +1,49 @@
+package org.shipkit.internal.gradle.versionupgrade
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class PullRequestPacerTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def "spaces out requests"() {
+        def pacer = new PullRequestPacer(new File(tmp.root, "pacing/state.bin"), 300)
+        def times = []
+        def request = { times << System.currentTimeMillis(); "ok" } as PullRequestPacer.Request
+
+        when:
+        def first = pacer.pace(request)
+        pacer.pace(request)
+
+        then:
+        first == "ok"
+        times[1] - times[0] >= 300
+    }
+
+    def "spaces out requests of different builds using the shared file"() {
+        def file = new File(tmp.root, "state.bin")
+        def times = []
+        def request = { times << System.currentTimeMillis(); null } as PullRequestPacer.Request
+
+        when:
+        new PullRequestPacer(file, 300).pace(request)
+        new PullRequestPacer(file, 300).pace(request)
+
+        then:
+        times[1] - times[0] >= 300
+    }
+
+    def "records the request also when it fails"() {
+        def file = new File(tmp.root, "state.bin")
+        def pacer = new PullRequestPacer(file, 10000)
+
+        when:
+        pacer.pace({ throw new IOException("boom") } as PullRequestPacer.Request)
+
+        then:
+        thrown(IOException)
+        file.length() == 8
+    }
+}
@@ -64,6 +64,19 @@ class UpgradeDownstreamPluginTest extends PluginSpecification {
         task.execCommands[0].commandLine == ["./gradlew", "performVersionUpgrade", "-Pdependency=depGroup:depName:0.1.2"]
     }
 
+    def "should configure concurrent upgrades"() {
+        when:
+        def upgradeDownstream = project.plugins.apply(UpgradeDownstreamPlugin).upgradeDownstreamExtension
+        upgradeDownstream.repositories = ['wwilk/shipkit-example', 'wwilk/mockito']
+        upgradeDownstream.maxParallelUpgrades = 2
+        project.evaluate()
+
+        then:
+        UpgradeDownstreamTask task = project.tasks.upgradeDownstream
+        task.maxParallelUpgrades == 2
+        task.dependsOn.containsAll([project.tasks['upgradeWwilkShipkitExample'], project.tasks['upgradeWwilkMockito']])
+    }
+
     @Override
     void initProject() {
         project = new ProjectBuilder().withName("depName").withProjectDir(tmp.root).build()
@@ -0,0 +1,47 @@
+package org.shipkit.internal.gradle.versionupgrade
+
+import org.gradle.api.tasks.TaskExecutionException
+import org.gradle.testfixtures.ProjectBuilder
+import org.shipkit.gradle.exec.ShipkitExecTask
+import spock.lang.Specification
+
+import static org.shipkit.internal.gradle.exec.ExecCommandFactory.execCommand
+
+class UpgradeDownstreamTaskTest extends Specification {
+
+    def project = new ProjectBuilder().build()
+
+    def "runs all upgrades in parallel and fails when any upgrade failed"() {
+        def task = project.tasks.create("upgradeDownstream", UpgradeDownstreamTask)
+        task.maxParallelUpgrades = 2
+        task.addUpgrade("a/good", upgrade("good", ["echo", "upgraded"]))
+        task.addUpgrade("b/bad", upgrade("bad", ["ls", "missing file"]))
+        task.addUpgrade("c/good", upgrade("good2", ["echo", "upgraded"]))
+
+        when:
+        task.execute()
+
+        then:
+        def ex = thrown(TaskExecutionException)
+        ex.cause.message.startsWith("Downstream upgrades failed: [b/bad].")
+    }
+
+    def "succeeds when all upgrades succeeded"() {
+        def task = project.tasks.create("upgradeDownstream", UpgradeDownstreamTask)
+        task.maxParallelUpgrades = 2
+        task.addUpgrade("a/good", upgrade("good", ["echo", "upgraded"]))
+        task.addUpgrade("b/good", upgrade("good2", ["echo", "upgraded"]))
+
+        when:
+        task.execute()
+
+        then:
+        noExceptionThrown()
+    }
+
+    private ShipkitExecTask upgrade(String name, List<String> commandLine) {
+        def t = project.tasks.create(name, ShipkitExecTask)
+        t.execCommands.add(execCommand("Upgrading", commandLine))
+        t
+    }
+}
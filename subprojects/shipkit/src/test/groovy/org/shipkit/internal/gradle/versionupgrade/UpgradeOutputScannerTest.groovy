@@ -0,0 +1,39 @@
+package org.shipkit.internal.gradle.versionupgrade
+
+import spock.lang.Specification
+
+import static org.shipkit.internal.gradle.versionupgrade.DownstreamUpgradeExecutor.Outcome.*
+
+class UpgradeOutputScannerTest extends Specification {
+
+    def out = new ByteArrayOutputStream()
+    def scanner = new UpgradeOutputScanner(out)
+
+    def "passes output line by line"() {
+        when:
+        scanner.write("first\nsec".bytes)
+
+        then:
+        out.toString() == "first\n"
+
+        when:
+        scanner.close()
+
+        then:
+        out.toString() == "first\nsec"
+    }
+
+    def "detects outcome of the upgrade"() {
+        when:
+        scanner.write(output.bytes)
+
+        then:
+        scanner.outcome == outcome
+
+        where:
+        output                                                                       | outcome
+        ":createPullRequest\n  Creating a pull request of title 'Version of x'\n"    | PR_CREATED
+        "  Found an open pull request with version upgrade on branch x\n"            | PR_REUSED
+        "  Skipping pull request creation due to dryRun = true\n"                    | NO_PR
+    }
+}
@@ -0,0 +1,87 @@
+package org.shipkit.internal.notes.contributors.github
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.notes.contributors.DefaultProjectContributor
+import org.shipkit.internal.notes.contributors.DefaultProjectContributorsSet
+import spock.lang.Specification
+
+class ContributorsCheckpointTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File file
+    def contributors = new DefaultProjectContributorsSet()
+
+    def setup() {
+        file = new File(tmp.root, "contributors/checkpoint.json")
+        contributors.addContributor(new DefaultProjectContributor("Szczepan Faber", "szczepiq", "https://github.com/szczepiq", 10))
+    }
+
+    def "stores checkpoint between builds"() {
+        def checkpoint = new ContributorsCheckpoint(file, false, 1000)
+
+        when:
+        checkpoint.save(new ContributorsCheckpoint.State(contributors, "a1b2c3", new Date(100), new Date(200)))
+        def state = new ContributorsCheckpoint(file, false, 1000).load(new Date(300))
+
+        then:
+        state.contributors.allContributors == contributors.allContributors
+        state.commitSha == "a1b2c3"
+        state.commitDate == new Date(100)
+        state.fullSyncDate == new Date(200)
+    }
+
+    def "stores checkpoint without commits"() {
+        def checkpoint = new ContributorsCheckpoint(file, false, 1000)
+
+        when:
+        checkpoint.save(new ContributorsCheckpoint.State(contributors, null, null, new Date(200)))
+        def state = checkpoint.load(new Date(300))
+
+        then:
+        state.commitSha == null
+        state.commitDate == null
+        state.fullSyncDate == new Date(200)
+    }
+
+    def "full synchronization is needed when the interval elapsed"() {
+        def checkpoint = new ContributorsCheckpoint(file, false, 1000)
+        checkpoint.save(new ContributorsCheckpoint.State(contributors, "a1b2c3", new Date(100), new Date(200)))
+
+        expect:
+        checkpoint.load(new Date(1200)) != null
+        checkpoint.load(new Date(1201)) == null
+    }
+
+    def "full synchronization can be forced"() {
+        new ContributorsCheckpoint(file, false, 1000).save(new ContributorsCheckpoint.State(contributors, "a1b2c3", new Date(100), new Date(200)))
+
+        expect:
+        new ContributorsCheckpoint(file, true, 1000).load(new Date(300)) == null
+    }
+
+    def "full synchronization is needed when there is no valid checkpoint"() {
+        def checkpoint = new ContributorsCheckpoint(file, false, 1000)
+
+        expect:
+        checkpoint.load(new Date(300)) == null
+
+        when:
+        file.parentFile.mkdirs()
+        file << "{ not json"
+
+        then:
+        checkpoint.load(new Date(300)) == null
+    }
+
+    def "disabled checkpoint is not stored"() {
+        def checkpoint = ContributorsCheckpoint.disabled()
+
+        when:
+        checkpoint.save(new ContributorsCheckpoint.State(contributors, "a1b2c3", new Date(100), new Date(200)))
+
+        then:
+        checkpoint.load(new Date(300)) == null
+    }
+}
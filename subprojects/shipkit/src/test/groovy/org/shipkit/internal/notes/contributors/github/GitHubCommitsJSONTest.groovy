@@ -30,4 +30,14 @@ class GitHubCommitsJSONTest extends Specification {
         then:
         contributor == null
     }
+
+    def "reads sha and committer date"() {
+        def commit = new JsonObject([sha: "a1b2c3", commit: [committer: [date: "2017-05-05T14:22:03Z"]]])
+
+        expect:
+        GitHubCommitsJSON.getSha(commit) == "a1b2c3"
+        GitHubCommitsJSON.getCommitDate(commit) == new Date(1493994123000)
+        GitHubCommitsJSON.getCommitDate(new JsonObject([commit: [committer: [date: "yesterday"]]])) == null
+        GitHubCommitsJSON.getCommitDate(new JsonObject([:])) == null
+    }
 }
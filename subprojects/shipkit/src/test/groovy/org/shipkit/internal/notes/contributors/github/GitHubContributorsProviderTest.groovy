@@ -1,14 +1,24 @@
 package org.shipkit.internal.notes.contributors.github
 
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
 import org.shipkit.internal.notes.contributors.DefaultContributor
 import org.shipkit.internal.notes.contributors.DefaultProjectContributor
 import org.shipkit.internal.notes.contributors.DefaultProjectContributorsSet
+import org.shipkit.internal.notes.util.GitHubRequestExecutor
 import spock.lang.Specification
 
+import java.util.concurrent.TimeUnit
+
 import static org.shipkit.internal.notes.contributors.github.GitHubContributorsProvider.mergeContributors
 
 class GitHubContributorsProviderTest extends Specification {
 
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def contributorsFetcher = Mock(GitHubContributorsFetcher)
+    def recentFetcher = Mock(RecentContributorsFetcher)
+
     def "merges contributors"() {
         def set = new DefaultProjectContributorsSet()
         set.addContributor(new DefaultProjectContributor("a", "a", "a", 10))
@@ -29,4 +39,143 @@ class GitHubContributorsProviderTest extends Specification {
             new DefaultProjectContributor("c", "c", "c", 1)
         ] as LinkedHashSet
     }
+
+    def "lists all contributors when there is no checkpoint"() {
+        def checkpoint = new ContributorsCheckpoint(new File(tmp.root, "checkpoint.json"), false, 1000)
+        def provider = provider(checkpoint)
+        def all = new DefaultProjectContributorsSet()
+        all.addContributor(new DefaultProjectContributor("a", "a", "a", 10))
+        def now = new Date()
+
+        when:
+        def result = provider.getAllContributorsForProject(contributorsFetcher, recentFetcher, now)
+
+        then:
+        1 * contributorsFetcher.fetchContributorsForProject("api", "repo", "token") >> all
+        1 * recentFetcher.fetchRecentContributors("api", "repo", "token", _, null) >> recent("sha1", new Date(100), "b")
+        result.allContributors*.login == ["a", "b"]
+
+        and:
+        def state = checkpoint.load(now)
+        state.commitSha == "sha1"
+        state.commitDate == new Date(100)
+        state.fullSyncDate == now
+        state.contributors.allContributors*.login == ["a", "b"]
+    }
+
+    def "fetches only the commits since the checkpoint"() {
+        def checkpoint = new ContributorsCheckpoint(new File(tmp.root, "checkpoint.json"), false, 100000000)
+        def stored = new DefaultProjectContributorsSet()
+        stored.addContributor(new DefaultProjectContributor("a", "a", "a", 10))
+        def commitDate = new Date(10000000)
+        checkpoint.save(new ContributorsCheckpoint.State(stored, "sha1", commitDate, new Date(5000000)))
+        def provider = provider(checkpoint)
+
+        when:
+        def result = provider.getAllContributorsForProject(contributorsFetcher, recentFetcher, new Date(20000000))
+
+        then:
+        0 * contributorsFetcher._
+        0 * recentFetcher.fetchRecentContributors(*_)
+        1 * recentFetcher.fetchContributorsSinceCommit("api", "repo", "token", "sha1") >> recent("sha2", new Date(15000000), "c")
+        result.allContributors*.login == ["a", "c"]
+
+        and:
+        def state = checkpoint.load(new Date(20000000))
+        state.commitSha == "sha2"
+        state.commitDate == new Date(15000000)
+        state.fullSyncDate == new Date(5000000)
+    }
+
+    def "finds contributor of old commit merged after the checkpoint"() {
+        def day = TimeUnit.DAYS.toMillis(1)
+        def now = new Date()
+        def checkpoint = new ContributorsCheckpoint(new File(tmp.root, "checkpoint.json"), false, 7 * day)
+        checkpoint.save(new ContributorsCheckpoint.State(new DefaultProjectContributorsSet(), "sha1",
+            new Date(now.time - day), new Date(now.time - 2 * day)))
+        //pull request written days before the checkpoint and merged with a merge commit keeps the original committer date
+        def oldCommitDate = new Date(now.time - 4 * day)
+
+        when:
+        def result = provider(checkpoint).getAllContributorsForProject(contributorsFetcher, recentFetcher, now)
+
+        then:
+        //commits are fetched by reachability from the checkpoint commit, regardless of their date
+        0 * recentFetcher.fetchRecentContributors(*_)
+        1 * recentFetcher.fetchContributorsSinceCommit("api", "repo", "token", "sha1") >> recent("sha2", oldCommitDate, "newcomer")
+        result.allContributors*.login == ["newcomer"]
+        checkpoint.load(now).commitSha == "sha2"
+    }
+
+    def "lists all contributors when the checkpoint commit is not found"() {
+        def checkpoint = new ContributorsCheckpoint(new File(tmp.root, "checkpoint.json"), false, 100000000)
+        def stored = new DefaultProjectContributorsSet()
+        stored.addContributor(new DefaultProjectContributor("old", "old", "old", 10))
+        checkpoint.save(new ContributorsCheckpoint.State(stored, "sha1", new Date(10000000), new Date(5000000)))
+        def all = new DefaultProjectContributorsSet()
+        all.addContributor(new DefaultProjectContributor("a", "a", "a", 10))
+        def now = new Date(20000000)
+
+        when:
+        def result = provider(checkpoint).getAllContributorsForProject(contributorsFetcher, recentFetcher, now)
+
+        then:
+        1 * recentFetcher.fetchContributorsSinceCommit("api", "repo", "token", "sha1") >> null
+        1 * contributorsFetcher.fetchContributorsForProject("api", "repo", "token") >> all
+        1 * recentFetcher.fetchRecentContributors("api", "repo", "token", _, null) >> new RecentContributorsFetcher.RecentContributors()
+        result.allContributors*.login == ["a"]
+
+        and:
+        def state = checkpoint.load(now)
+        state.commitSha == null
+        state.fullSyncDate == now
+    }
+
+    def "fetches commits by date when the checkpoint has no commit"() {
+        def checkpoint = new ContributorsCheckpoint(new File(tmp.root, "checkpoint.json"), false, 100000000)
+        checkpoint.save(new ContributorsCheckpoint.State(new DefaultProjectContributorsSet(), null, null, new Date(10000000)))
+
+        when:
+        def result = provider(checkpoint).getAllContributorsForProject(contributorsFetcher, recentFetcher, new Date(20000000))
+
+        then:
+        0 * contributorsFetcher._
+        0 * recentFetcher.fetchContributorsSinceCommit(*_)
+        1 * recentFetcher.fetchRecentContributors("api", "repo", "token",
+            new Date(10000000 - GitHubContributorsProvider.CHECKPOINT_OVERLAP_MILLIS), null) >> recent("sha2", new Date(15000000), "c")
+        result.allContributors*.login == ["c"]
+    }
+
+    def "fetches commits at least a bit before the checkpoint"() {
+        def checkpoint = new ContributorsCheckpoint(new File(tmp.root, "checkpoint.json"), false, 0)
+
+        expect:
+        provider(checkpoint).getIncrementalSyncSince(new Date(10000000)) == new Date(10000000 - GitHubContributorsProvider.CHECKPOINT_OVERLAP_MILLIS)
+    }
+
+    def "keeps the checkpoint commit when there are no new commits"() {
+        def checkpoint = new ContributorsCheckpoint(new File(tmp.root, "checkpoint.json"), false, 100000000)
+        checkpoint.save(new ContributorsCheckpoint.State(new DefaultProjectContributorsSet(), "sha1", new Date(10000000), new Date(5000000)))
+        recentFetcher.fetchContributorsSinceCommit(*_) >> new RecentContributorsFetcher.RecentContributors()
+
+        when:
+        provider(checkpoint).getAllContributorsForProject(contributorsFetcher, recentFetcher, new Date(20000000))
+
+        then:
+        def state = checkpoint.load(new Date(20000000))
+        state.commitSha == "sha1"
+        state.commitDate == new Date(10000000)
+    }
+
+    private static GitHubContributorsProvider provider(ContributorsCheckpoint checkpoint) {
+        new GitHubContributorsProvider("api", "repo", "token", new GitHubRequestExecutor(), GitHubUserCache.disabled(), checkpoint)
+    }
+
+    private static RecentContributorsFetcher.RecentContributors recent(String sha, Date date, String login) {
+        def recent = new RecentContributorsFetcher.RecentContributors()
+        recent.@newestCommitSha = sha
+        recent.@newestCommitDate = date
+        recent.contributors.add(new DefaultContributor(login, login, login))
+        recent
+    }
 }
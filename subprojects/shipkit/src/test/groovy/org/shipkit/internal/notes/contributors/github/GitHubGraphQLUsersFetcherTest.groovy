@@ -0,0 +1,64 @@
+package org.shipkit.internal.notes.contributors.github
+
+import org.shipkit.internal.util.GitHubApi
+import spock.lang.Specification
+
+class GitHubGraphQLUsersFetcherTest extends Specification {
+
+    def api = Mock(GitHubApi)
+    def fetcher = new GitHubGraphQLUsersFetcher(api)
+
+    def "fetches users with aliased query"() {
+        when:
+        def users = fetcher.fetchUsers(["mockito", "szczepiq", "ghost\"user"])
+
+        then:
+        1 * api.post("/graphql", '{"query": "query {' +
+            ' u0: user(login: \\"mockito\\") { login name }' +
+            ' u1: user(login: \\"szczepiq\\") { login name }' +
+            ' u2: user(login: \\"ghost\\\\\\"user\\") { login name } }"}') >> """{"data": {
+                "u0": {"login": "mockito", "name": null},
+                "u1": {"login": "szczepiq", "name": "Szczepan Faber"},
+                "u2": null
+            }, "errors": [{"type": "NOT_FOUND", "path": ["u2"]}]}"""
+
+        and:
+        users.keySet() == ["mockito", "szczepiq"] as Set
+        users.szczepiq.name == "Szczepan Faber"
+        users.mockito.name == null
+    }
+
+    def "fetches up to 100 users with single request"() {
+        def logins = (1..250).collect { "user" + it }
+
+        when:
+        def users = fetcher.fetchUsers(logins)
+
+        then:
+        3 * api.post("/graphql", _) >> '{"data": {}}'
+        users.isEmpty()
+    }
+
+    def "fails when response has no data"() {
+        api.post("/graphql", _) >> '{"errors": [{"message": "Field user is missing"}]}'
+
+        when:
+        fetcher.fetchUsers(["mockito"])
+
+        then:
+        def e = thrown(IOException)
+        e.message.startsWith("GitHub GraphQL API response does not contain data")
+    }
+
+    def "finds GraphQL endpoint"() {
+        expect:
+        GitHubGraphQLUsersFetcher.graphQLRootUrl(apiUrl) == rootUrl
+
+        where:
+        apiUrl                                | rootUrl
+        "https://api.github.com"              | "https://api.github.com"
+        "https://api.github.com/"             | "https://api.github.com"
+        "https://github.example.com/api/v3"   | "https://github.example.com/api"
+        "https://github.example.com/api/v3/"  | "https://github.example.com/api"
+    }
+}
@@ -0,0 +1,88 @@
+package org.shipkit.internal.notes.contributors.github
+
+import org.json.simple.JsonObject
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class GitHubUserCacheTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    File file
+
+    def setup() {
+        file = new File(tmp.root, "caches/github-users.json")
+    }
+
+    def "caches users between builds"() {
+        def cache = new GitHubUserCache(file)
+
+        when:
+        cache.putUser(user("mockito", "Mockito"), "https://github.com/mockito")
+        cache.putUser(user("szczepiq", null), null)
+        cache.save()
+        def reloaded = new GitHubUserCache(file)
+
+        then:
+        cache.getUser("unknown") == null
+        reloaded.getUser("mockito").getString("name") == "Mockito"
+        reloaded.getUser("mockito").getString("html_url") == "https://github.com/mockito"
+        reloaded.getUser("szczepiq").getString("name") == null
+        reloaded.summary == "3 hit(s), 0 miss(es), file: " + file
+    }
+
+    def "expired users are fetched again"() {
+        def cache = new GitHubUserCache(file, -1, 100)
+        cache.putUser(user("mockito", "Mockito"), null)
+
+        expect:
+        cache.getUser("mockito") == null
+    }
+
+    def "evicts least recently used users"() {
+        def cache = new GitHubUserCache(file, GitHubUserCache.DEFAULT_TTL_MILLIS, 2)
+        cache.putUser(user("a", "A"), null)
+        cache.putUser(user("b", "B"), null)
+
+        when:
+        cache.getUser("a")
+        cache.putUser(user("c", "C"), null)
+        cache.save()
+        def reloaded = new GitHubUserCache(file, GitHubUserCache.DEFAULT_TTL_MILLIS, 2)
+
+        then:
+        reloaded.getUser("a")
+        reloaded.getUser("b") == null
+        reloaded.getUser("c")
+    }
+
+    def "ignores malformed entries"() {
+        def cache = new GitHubUserCache(file)
+        cache.putUser(user("mockito", "Mockito"), null)
+        cache.save()
+        file << "{ broken\n"
+
+        expect:
+        new GitHubUserCache(file).getUser("mockito").getString("name") == "Mockito"
+    }
+
+    def "disabled cache does not store anything"() {
+        def cache = GitHubUserCache.disabled()
+
+        when:
+        cache.putUser(user("mockito", "Mockito"), null)
+        cache.save()
+
+        then:
+        cache.getUser("mockito") == null
+        cache.summary == "disabled"
+    }
+
+    private static JsonObject user(String login, String name) {
+        def user = new JsonObject()
+        user.put("login", login)
+        user.put("name", name)
+        user
+    }
+}
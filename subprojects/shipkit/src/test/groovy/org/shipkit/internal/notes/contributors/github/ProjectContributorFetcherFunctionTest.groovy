@@ -24,4 +24,56 @@ class ProjectContributorFetcherFunctionTest extends Specification {
         contributor.name
         contributor.name.contains('Erhard')
     }
+
+    def "uses cached user"() {
+        given:
+        def objectFetcher = Mock(GitHubObjectFetcher)
+        def cache = Mock(GitHubUserCache)
+        def contributor = new JsonObject([login: "epeee", url: "https://api.github.com/users/epeee",
+                                          html_url: "https://github.com/epeee", contributions: 5])
+        cache.getUser("epeee") >> new JsonObject([login: "epeee", name: "Erhard"])
+
+        when:
+        ProjectContributor result = new ProjectContributorFetcherFunction(objectFetcher, cache).apply(contributor)
+
+        then:
+        result.name == "Erhard"
+        result.numberOfContributions == 5
+        0 * objectFetcher._
+    }
+
+    def "caches fetched user"() {
+        given:
+        def objectFetcher = Mock(GitHubObjectFetcher)
+        def cache = Mock(GitHubUserCache)
+        def contributor = new JsonObject([login: "epeee", url: "https://api.github.com/users/epeee",
+                                          html_url: "https://github.com/epeee", contributions: 5])
+        def user = new JsonObject([login: "epeee", name: "Erhard"])
+        objectFetcher.getPage("https://api.github.com/users/epeee", GitHubAllContributorsJson.USER_FIELDS) >> user
+
+        when:
+        ProjectContributor result = new ProjectContributorFetcherFunction(objectFetcher, cache).apply(contributor)
+
+        then:
+        result.name == "Erhard"
+        1 * cache.putUser(user, "https://github.com/epeee")
+    }
+
+    def "caches fetched user without consulting the cache again"() {
+        given:
+        def objectFetcher = Mock(GitHubObjectFetcher)
+        def cache = Mock(GitHubUserCache)
+        def contributor = new JsonObject([login: "epeee", url: "https://api.github.com/users/epeee",
+                                          html_url: "https://github.com/epeee", contributions: 5])
+        def user = new JsonObject([login: "epeee", name: "Erhard"])
+        objectFetcher.getPage("https://api.github.com/users/epeee", GitHubAllContributorsJson.USER_FIELDS) >> user
+
+        when:
+        ProjectContributor result = new ProjectContributorFetcherFunction(objectFetcher, GitHubUserCache.disabled(), cache).apply(contributor)
+
+        then:
+        result.name == "Erhard"
+        0 * cache.getUser(_)
+        1 * cache.putUser(user, "https://github.com/epeee")
+    }
 }
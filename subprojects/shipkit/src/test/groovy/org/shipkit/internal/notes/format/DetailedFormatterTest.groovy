@@ -107,6 +107,52 @@ Release notes:
  - Small tweak [(#108)](http://issues/108)"""
     }
 
+    def "prints labels mapped to the same section together"() {
+        def i = [new DefaultImprovement(100, "Fixed problem",  "http://issues/100", ["bugfix"], true),
+                 new DefaultImprovement(101, "Fixed javadoc",  "http://issues/101", ["docs"], true),
+                 new DefaultImprovement(102, "New feature",    "http://issues/102", ["enhancement"], true),
+                 new DefaultImprovement(103, "Fixed crash",    "http://issues/103", ["bug"], true),
+                 new DefaultImprovement(104, "Refactoring",    "http://issues/104", [], true)]
+
+        def labelMapping = [bug: "Bugfixes", enhancement: "Enhancements", bugfix: "Bugfixes"]
+
+        expect:
+        DetailedFormatter.formatImprovements(i, labelMapping) == """ - [Bugfixes] Fixed crash [(#103)](http://issues/103)
+ - [Bugfixes] Fixed problem [(#100)](http://issues/100)
+ - [Enhancements] New feature [(#102)](http://issues/102)
+ - Fixed javadoc [(#101)](http://issues/101)
+ - Refactoring [(#104)](http://issues/104)"""
+    }
+
+    def "writes release notes to writer"() {
+        def c = Stub(ContributionSet) {
+            getAllCommits() >> [Stub(Commit)]
+            getAuthorCount() >> 1
+            getContributions() >> [Stub(Contribution) {
+                getAuthorName() >> "Szczepan Faber"
+            } ]
+        }
+        def i = [new DefaultImprovement(100, "Fixed problem", "http://issues/100", ["bug"], true)]
+        def d1 = new DefaultReleaseNotesData("2.0.0", new Date(1483500000000), c, i, "v1.9.0", "v2.0.0")
+        def d2 = new DefaultReleaseNotesData("1.9.0", new Date(1483100000000), Stub(ContributionSet), [], "v1.8.0", "v1.9.0")
+        def writer = new StringWriter()
+
+        when:
+        f.formatReleaseNotes([d1, d2], writer)
+
+        then:
+        writer.toString() == f.formatReleaseNotes([d1, d2])
+        writer.toString() == """Info about shipkit
+
+Release notes:
+
+#### 2.0.0
+ - 2017-01-04 - [1 commit](http://commits/v1.9.0...v2.0.0) by Szczepan Faber - published to [![Bintray](https://img.shields.io/badge/Bintray-2.0.0-green.svg)](Bintray/2.0.0)
+ - [Bugfixes] Fixed problem [(#100)](http://issues/100)
+#### 1.9.0
+ - 2016-12-30 - no code changes (no commits) - published to [![Bintray](https://img.shields.io/badge/Bintray-1.9.0-green.svg)](Bintray/1.9.0)"""
+    }
+
     def "release headline with no commits"() {
         expect:
         DetailedFormatter.authorsSummary(Stub(ContributionSet), [:], "link") == "no code changes (no commits)"
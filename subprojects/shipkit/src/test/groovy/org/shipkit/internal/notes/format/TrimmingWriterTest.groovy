@@ -0,0 +1,27 @@
+package org.shipkit.internal.notes.format
+
+import spock.lang.Specification
+
+class TrimmingWriterTest extends Specification {
+
+    def "trims written text"() {
+        def out = new StringWriter()
+        def writer = new TrimmingWriter(out)
+
+        when:
+        chunks.each { writer.write(it) }
+
+        then:
+        out.toString() == chunks.join("").trim()
+
+        where:
+        chunks << [
+            [],
+            ["  \n"],
+            ["foo"],
+            ["\n  foo bar \n"],
+            ["\n", " fo", "o ", "\n", "bar", " \n\n", "  "],
+            ["a", "\n\n", "", "b\n"]
+        ]
+    }
+}
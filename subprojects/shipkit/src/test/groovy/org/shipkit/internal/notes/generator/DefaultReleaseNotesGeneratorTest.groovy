@@ -1,12 +1,48 @@
 package org.shipkit.internal.notes.generator
 
+import org.shipkit.internal.notes.contributors.ContributorsProvider
 import org.shipkit.internal.notes.format.ReleaseNotesFormatters
+import org.shipkit.internal.notes.improvements.ImprovementsProvider
+import org.shipkit.internal.notes.model.ContributionSet
+import org.shipkit.internal.notes.model.ReleaseNotesData
+import org.shipkit.internal.notes.vcs.ContributionsProvider
 import org.shipkit.internal.notes.vcs.IgnoredCommit
+import org.shipkit.internal.notes.vcs.ReleasedVersion
+import org.shipkit.internal.notes.vcs.ReleasedVersionsProvider
 import spock.lang.Ignore
 import spock.lang.Specification
 
 class DefaultReleaseNotesGeneratorTest extends Specification {
 
+    def contributionsProvider = Mock(ContributionsProvider)
+    def improvementsProvider = Mock(ImprovementsProvider)
+    def releasedVersionsProvider = Mock(ReleasedVersionsProvider)
+    def store = Mock(ReleaseNotesStore)
+    def gen = new DefaultReleaseNotesGenerator(contributionsProvider, improvementsProvider, releasedVersionsProvider,
+            Mock(ContributorsProvider), store)
+
+    def "computes only versions that are not stored yet"() {
+        def head = version("HEAD", "v1.1.0")
+        def v11 = version("v1.1.0", "v1.0.0")
+        def v10 = version("v1.0.0", null)
+        def stored = Stub(ReleaseNotesData)
+        def contributions = Stub(ContributionSet)
+        releasedVersionsProvider.getReleasedVersions("1.2.0", _, ["1.1.0", "1.0.0"], "v") >> [head, v11, v10]
+        store.get(v11) >> stored
+
+        when:
+        def notes = gen.generateReleaseNotesData("1.2.0", ["1.1.0", "1.0.0"], "v", [], false)
+
+        then:
+        1 * contributionsProvider.getContributions([head]) >> [contributions]
+        1 * improvementsProvider.getImprovements(contributions, [], false) >> []
+        1 * store.add(head, { it.version == "HEAD" })
+
+        and:
+        notes.size() == 2
+        notes[1] == stored
+    }
+
     @Ignore //TODO make it a proper integ test
     def "gets release notes data"() {
         File rootDir = findRootDir()
@@ -50,4 +86,12 @@ Authors: [1](http://release-notes), commits: [61](https://github.com/mockito/shi
         }
         rootDir
     }
+
+    private ReleasedVersion version(String rev, String previousRev) {
+        Stub(ReleasedVersion) {
+            getVersion() >> rev
+            getRev() >> rev
+            getPreviousRev() >> previousRev
+        }
+    }
 }
@@ -0,0 +1,100 @@
+package org.shipkit.internal.notes.generator
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import org.shipkit.internal.notes.internal.DefaultImprovement
+import org.shipkit.internal.notes.internal.DefaultReleaseNotesData
+import org.shipkit.internal.notes.vcs.DefaultContributionSet
+import org.shipkit.internal.notes.vcs.ReleasedVersion
+import spock.lang.Specification
+
+class ReleaseNotesStoreTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def "stores data of released versions"() {
+        def file = new File(tmp.root, "store/mockito-mockito.json")
+        def v1 = version("v1.1.0", "abc", "v1.0.0")
+
+        when:
+        def store = new ReleaseNotesStore(file, "ctx")
+        store.add(v1, data("1.1.0"))
+
+        then:
+        file.readLines().size() == 1
+
+        when:
+        def stored = new ReleaseNotesStore(file, "ctx").get(v1)
+
+        then:
+        stored.version == "1.1.0"
+        stored.previousVersionTag == "v1.0.0"
+        stored.improvements*.title == ["Fixed issue"]
+    }
+
+    def "does not reuse data when tag moved or context changed"() {
+        def file = tmp.newFile()
+        new ReleaseNotesStore(file, "ctx").add(version("v1.1.0", "abc", "v1.0.0"), data("1.1.0"))
+
+        expect:
+        new ReleaseNotesStore(file, context).get(version("v1.1.0", commitId, "v1.0.0")) == null
+
+        where:
+        context | commitId
+        "ctx"   | "def"
+        "other" | "abc"
+    }
+
+    def "does not store revisions that are not tags"() {
+        def file = new File(tmp.root, "store.json")
+        def store = new ReleaseNotesStore(file, "ctx")
+        def head = version("HEAD", null, "v1.0.0")
+
+        when:
+        store.add(head, data("1.1.0"))
+
+        then:
+        !file.exists()
+        store.get(head) == null
+    }
+
+    def "ignores malformed entries"() {
+        def file = tmp.newFile()
+        def v1 = version("v1.1.0", "abc", "v1.0.0")
+        new ReleaseNotesStore(file, "ctx").add(v1, data("1.1.0"))
+        file << '{ "key": "ctx|v1.2.0@def..v1.1.0", "data": { "version"'
+
+        when:
+        def store = new ReleaseNotesStore(file, "ctx")
+
+        then:
+        store.get(v1).version == "1.1.0"
+        store.get(version("v1.2.0", "def", "v1.1.0")) == null
+    }
+
+    def "disabled store does not store anything"() {
+        def store = ReleaseNotesStore.disabled()
+        def v1 = version("v1.1.0", "abc", "v1.0.0")
+
+        when:
+        store.add(v1, data("1.1.0"))
+
+        then:
+        store.get(v1) == null
+        store.summary == "disabled"
+    }
+
+    private ReleasedVersion version(String rev, String commitId, String previousRev) {
+        Stub(ReleasedVersion) {
+            getVersion() >> rev.replaceFirst("^v", "")
+            getRev() >> rev
+            getCommitId() >> commitId
+            getPreviousRev() >> previousRev
+        }
+    }
+
+    private static data(String version) {
+        new DefaultReleaseNotesData(version, new Date(1486700000000), new DefaultContributionSet(),
+                [new DefaultImprovement(100, "Fixed issue", "http://issues/100", ["bugfix"], true)], "v1.0.0", "v" + version)
+    }
+}
@@ -4,11 +4,24 @@ import spock.lang.Ignore
 import spock.lang.Specification
 import spock.lang.Subject
 
-@Ignore
 class GitHubTicketFetcherTest extends Specification {
 
     @Subject fetcher = new GitHubTicketFetcher()
 
+    def "picks direct lookup when it needs fewer requests than scanning"() {
+        expect:
+        GitHubTicketFetcher.shouldLookUpDirectly(tickets) == direct
+
+        where:
+        tickets                     | direct
+        [12L]                       | true
+        [12L, 20000L]               | true
+        [100L, 101L, 102L, 103L]    | false
+        (1L..90L).toList()          | false
+        [1L, 5000L, 10000L, 15000L] | true
+    }
+
+    @Ignore
     //This is an integration test
     //It's not ideal but it gives us a good smoke test
     //So far it is not problematic to maintain :)
@@ -0,0 +1,96 @@
+package org.shipkit.internal.notes.improvements
+
+import org.json.simple.Jsoner
+import org.shipkit.internal.notes.util.GitHubObjectFetcher
+import org.shipkit.internal.notes.util.GitHubResponseException
+import spock.lang.Specification
+
+class IssueLookupFunctionTest extends Specification {
+
+    def fetcher = Mock(GitHubObjectFetcher)
+
+    def "fetches closed issue"() {
+        def lookup = new IssueLookupFunction(fetcher, "https://api.github.com", "mockito/mockito", [])
+        fetcher.getPage("https://api.github.com/repos/mockito/mockito/issues/12", GitHubImprovementsJSON.ISSUE_FIELDS) >> issue("closed", "bug")
+
+        when:
+        def improvement = lookup.apply(12L)
+
+        then:
+        improvement.id == 12L
+        improvement.labels == ["bug"] as Set
+    }
+
+    def "skips issues that are not closed or do not have all labels"() {
+        def lookup = new IssueLookupFunction(fetcher, "https://api.github.com", "mockito/mockito", labels)
+        fetcher.getPage(_, _) >> issue(state, "bug")
+
+        expect:
+        lookup.apply(12L) == null
+
+        where:
+        state    | labels
+        "open"   | []
+        "closed" | ["bug", "enhancement"]
+    }
+
+    def "skips issues that do not exist"() {
+        def lookup = new IssueLookupFunction(fetcher, "https://api.github.com", "mockito/mockito", [])
+        fetcher.getPage(_, _) >> { throw new FileNotFoundException() }
+
+        expect:
+        lookup.apply(99999L) == null
+    }
+
+    def "skips issues that were deleted, transferred or cannot be fetched"() {
+        def lookup = new IssueLookupFunction(fetcher, "https://api.github.com", "mockito/mockito", [])
+        fetcher.getPage(_, _) >> { throw new GitHubResponseException(code, -1, "GitHub API responded with " + code, null) }
+
+        expect:
+        lookup.apply(12L) == null
+
+        where:
+        code << [404, 410, 403, 451]
+    }
+
+    def "retries requests rejected because of rate limit"() {
+        def lookup = new IssueLookupFunction(fetcher, "https://api.github.com", "mockito/mockito", [])
+
+        when:
+        def improvement = lookup.apply(12L)
+
+        then:
+        1 * fetcher.getPage(_, _) >> { throw new GitHubResponseException(403, 0, "rate limit", null) }
+        1 * fetcher.getPage(_, _) >> issue("closed", "bug")
+        improvement.id == 12L
+    }
+
+    def "fails when requests are still rejected because of rate limit"() {
+        def lookup = new IssueLookupFunction(fetcher, "https://api.github.com", "mockito/mockito", [])
+
+        when:
+        lookup.apply(12L)
+
+        then:
+        IssueLookupFunction.MAX_ATTEMPTS * fetcher.getPage(_, _) >> { throw new GitHubResponseException(403, 0, "rate limit", null) }
+        def e = thrown(RuntimeException)
+        e.cause.message == "rate limit"
+    }
+
+    def "fails on server errors"() {
+        def lookup = new IssueLookupFunction(fetcher, "https://api.github.com", "mockito/mockito", [])
+        fetcher.getPage(_, _) >> { throw new GitHubResponseException(502, -1, "bad gateway", null) }
+
+        when:
+        lookup.apply(12L)
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message == "Error occurred while fetching issue using https://api.github.com/repos/mockito/mockito/issues/12!"
+    }
+
+    private static issue(String state, String label) {
+        Jsoner.deserialize("""{"number": 12, "state": "$state", "title": "Some issue",
+            "html_url": "https://github.com/mockito/mockito/issues/12", "labels": [{"name": "$label"}]}""")
+    }
+}
@@ -0,0 +1,20 @@
+package org.shipkit.internal.notes.util
+
+import spock.lang.Specification
+
+class GitHubObjectFetcherTest extends Specification {
+
+    def "knows when requests rejected because of rate limit can be retried"() {
+        expect:
+        GitHubObjectFetcher.retryDelayMillis(code, retryAfter, remaining) == delay
+
+        where:
+        code | retryAfter | remaining | delay
+        403  | null       | "0"       | 0
+        403  | "30"       | "100"     | 30000
+        429  | "5"        | null      | 5000
+        403  | null       | "100"     | -1
+        403  | "soon"     | null      | -1
+        404  | null       | "0"       | -1
+    }
+}
@@ -0,0 +1,99 @@
+package org.shipkit.internal.notes.util
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+class GitHubRateLimitTest extends Specification {
+
+    @Subject limit = new GitHubRateLimit(4)
+
+    def "does not wait when limit is not known yet"() {
+        expect:
+        limit.waitMillis(1000) == 0
+    }
+
+    def "waits until reset when limit is almost exhausted"() {
+        limit.update(remaining, 10000)
+
+        expect:
+        limit.waitMillis(4000) == wait
+
+        where:
+        remaining | wait
+        5000      | 0
+        5         | 0
+        4         | 7000
+        0         | 7000
+    }
+
+    def "does not wait when reset time has passed"() {
+        limit.update(0, 10000)
+
+        expect:
+        limit.waitMillis(10000) == 0
+    }
+
+    def "reads rate limit headers"() {
+        def connection = Mock(URLConnection)
+        connection.getHeaderField("X-RateLimit-Remaining") >> "1"
+        connection.getHeaderField("X-RateLimit-Reset") >> "10"
+
+        when:
+        limit.update(connection)
+
+        then:
+        limit.waitMillis(5000) == 6000
+    }
+
+    def "ignores missing or malformed headers"() {
+        def connection = Mock(URLConnection)
+        connection.getHeaderField("X-RateLimit-Remaining") >> remaining
+        connection.getHeaderField("X-RateLimit-Reset") >> "10"
+
+        when:
+        limit.update(connection)
+
+        then:
+        limit.waitMillis(5000) == 0
+
+        where:
+        remaining << [null, "foo"]
+    }
+
+    def "counts acquired requests"() {
+        limit.update(5, 100000)
+
+        when:
+        limit.acquire()
+
+        then:
+        limit.waitMillis(0) > 0
+    }
+
+    def "does not hold requests back when limit resets too late"() {
+        limit.update(0, System.currentTimeMillis() + 3600 * 1000)
+        def start = System.currentTimeMillis()
+
+        when:
+        limit.acquire()
+
+        then:
+        System.currentTimeMillis() - start < 1000
+    }
+
+    def "updates limit while other threads wait for reset"() {
+        limit.update(0, System.currentTimeMillis() + 500)
+        def waiting = Thread.start { limit.acquire() }
+        Thread.sleep(200)
+        def start = System.currentTimeMillis()
+
+        when:
+        limit.update(3, System.currentTimeMillis() + 3600 * 1000)
+
+        then:
+        System.currentTimeMillis() - start < 500
+
+        cleanup:
+        waiting.join()
+    }
+}
@@ -0,0 +1,99 @@
+package org.shipkit.internal.notes.util
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.TimeUnit
+
+class GitHubRequestExecutorTest extends Specification {
+
+    @Subject executor = new GitHubRequestExecutor(GitHubResponseCache.disabled(), 4)
+
+    def cleanup() {
+        executor.shutdown()
+    }
+
+    def "dispatches"() {
+        given:
+        def list = (1 .. 100).toList()
+        def functionMock = Mock(Function)
+        functionMock.apply(_) >> { Integer i -> i + 5 }
+
+        when:
+        Set result = executor.dispatch(functionMock, list)
+
+        then:
+        result == (6 .. 105).toSet()
+    }
+
+    def "dispatch using empty list"() {
+        def functionMock = Mock(Function)
+
+        when:
+        Set result = executor.dispatch(functionMock, [])
+
+        then:
+        result.isEmpty()
+        0 * functionMock._
+    }
+
+    def "skips null results"() {
+        def functionMock = Mock(Function)
+        functionMock.apply(_) >> { Integer i -> i % 2 == 0 ? i : null }
+
+        expect:
+        executor.dispatch(functionMock, (1 .. 6).toList()) == [2, 4, 6] as Set
+    }
+
+    def "propagates failures"() {
+        def functionMock = Mock(Function)
+        functionMock.apply(_) >> { throw new IllegalStateException("boom") }
+
+        when:
+        executor.dispatch(functionMock, [1, 2, 3])
+
+        then:
+        def e = thrown(RuntimeException)
+        e.message == "Error occurred while dispatching!"
+        e.cause.message == "boom"
+    }
+
+    def "can be used after shutdown"() {
+        def functionMock = Mock(Function)
+        functionMock.apply(_) >> { Integer i -> i }
+
+        when:
+        executor.dispatch(functionMock, [1])
+        executor.shutdown()
+
+        then:
+        executor.dispatch(functionMock, [2]) == [2] as Set
+    }
+
+    def "does not accept non positive concurrency"() {
+        when:
+        new GitHubRequestExecutor(GitHubResponseCache.disabled(), 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "updates rate limit from responses"() {
+        def reset = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 3600
+        def connection = Mock(HttpURLConnection)
+        connection.getInputStream() >> new ByteArrayInputStream("{}".bytes)
+        //fewer remaining requests than the reserve of 4 concurrent requests
+        connection.getHeaderField("X-RateLimit-Remaining") >> "3"
+        connection.getHeaderField("X-RateLimit-Reset") >> reset.toString()
+
+        when:
+        def response = executor.get("https://api.github.com/users/foo", connection)
+
+        then:
+        response.content == "{}"
+        executor.@rateLimit.@remaining == 3
+        executor.@rateLimit.@resetMillis == reset * 1000
+        //the next request is held back until the limit resets
+        executor.@rateLimit.waitMillis(System.currentTimeMillis()) > 0
+    }
+}
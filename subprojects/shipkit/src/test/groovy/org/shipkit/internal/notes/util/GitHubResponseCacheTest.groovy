@@ -0,0 +1,98 @@
+package org.shipkit.internal.notes.util
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class GitHubResponseCacheTest extends Specification {
+
+    @Rule TemporaryFolder tmp = new TemporaryFolder()
+
+    def "strips token from url"() {
+        expect:
+        GitHubResponseCache.stripToken(url) == expected
+
+        where:
+        url                                                     | expected
+        "https://api.github.com/users/foo"                      | "https://api.github.com/users/foo"
+        "https://api.github.com/users/foo?access_token=abc"     | "https://api.github.com/users/foo"
+        "https://api.github.com/issues?access_token=abc&page=2" | "https://api.github.com/issues?page=2"
+        "https://api.github.com/issues?page=2&access_token=abc" | "https://api.github.com/issues?page=2"
+    }
+
+    def "masks and restores token in link header"() {
+        def link = '<https://api.github.com/issues?access_token=abc&page=2>; rel="next", ' +
+                '<https://api.github.com/issues?access_token=abc&page=5>; rel="last"'
+
+        when:
+        def masked = GitHubResponseCache.maskToken(link)
+
+        then:
+        !masked.contains("abc")
+        GitHubResponseCache.restoreToken(masked, "https://api.github.com/issues?access_token=abc") == link
+    }
+
+    def "stores response and serves it when not modified"() {
+        def cache = new GitHubResponseCache(tmp.root)
+        def url = "https://api.github.com/users/foo?access_token=abc"
+
+        def first = Mock(HttpURLConnection)
+        first.getInputStream() >> new ByteArrayInputStream('{"login":"foo"}'.bytes)
+        first.getHeaderField("ETag") >> '"v1"'
+
+        def second = Mock(HttpURLConnection)
+
+        when:
+        def fresh = cache.get(url, first)
+        def cached = cache.get(url, second)
+
+        then:
+        1 * second.setRequestProperty("If-None-Match", '"v1"')
+        1 * second.getResponseCode() >> 304
+        0 * second.getInputStream()
+        fresh.content == '{"login":"foo"}'
+        cached.content == '{"login":"foo"}'
+        cache.hits == 1
+        cache.misses == 1
+    }
+
+    def "does not store responses without validators"() {
+        def cache = new GitHubResponseCache(tmp.root)
+        def connection = Mock(HttpURLConnection)
+        connection.getInputStream() >> new ByteArrayInputStream("[]".bytes)
+
+        when:
+        cache.get("https://api.github.com/issues", connection)
+
+        then:
+        tmp.root.listFiles().length == 0
+    }
+
+    def "evicts entries when size limit is exceeded"() {
+        def cache = new GitHubResponseCache(tmp.root, 1)
+        def connection = Mock(HttpURLConnection)
+        connection.getInputStream() >> new ByteArrayInputStream("[]".bytes)
+        connection.getHeaderField("ETag") >> '"v1"'
+
+        when:
+        cache.get("https://api.github.com/issues", connection)
+
+        then:
+        tmp.root.listFiles().length == 0
+    }
+
+    def "disabled cache reads the response"() {
+        def cache = GitHubResponseCache.disabled()
+        def connection = Mock(HttpURLConnection)
+        connection.getInputStream() >> new ByteArrayInputStream("[]".bytes)
+        connection.getHeaderField("Link") >> "<next>"
+
+        when:
+        def response = cache.get("https://api.github.com/issues", connection)
+
+        then:
+        response.content == "[]"
+        response.link == "<next>"
+        cache.summary == "disabled"
+    }
+}
@@ -0,0 +1,40 @@
+package org.shipkit.internal.notes.util
+
+import spock.lang.Specification
+
+class JsonArrayReaderTest extends Specification {
+
+    def "reads elements one by one"() {
+        def reader = new JsonArrayReader(new StringReader(' [ {"a": [1, 2]}, {"b": "x,]}\\"y"} ,{}]'))
+
+        expect:
+        reader.nextElement() == '{"a": [1, 2]}'
+        reader.nextElement() == '{"b": "x,]}\\"y"}'
+        reader.nextElement() == '{}'
+        reader.nextElement() == null
+        reader.nextElement() == null
+    }
+
+    def "reads empty array"() {
+        expect:
+        new JsonArrayReader(new StringReader("[ ]")).nextElement() == null
+    }
+
+    def "fails on malformed input"() {
+        def reader = new JsonArrayReader(new StringReader(input))
+
+        when:
+        reader.nextElement()
+
+        then:
+        def e = thrown(IOException)
+        e.message == message
+
+        where:
+        input       | message
+        ""          | "Expected JSON array but found: end of input"
+        '{"a": 1}'  | "Expected JSON array but found: '{'"
+        '[{"a": 1}' | "Unexpected end of JSON array"
+        '[,{}]'     | "Missing element in JSON array"
+    }
+}
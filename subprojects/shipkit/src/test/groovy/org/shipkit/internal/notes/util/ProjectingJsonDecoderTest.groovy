@@ -0,0 +1,52 @@
+package org.shipkit.internal.notes.util
+
+import org.json.simple.Jsoner
+import spock.lang.Specification
+
+class ProjectingJsonDecoderTest extends Specification {
+
+    def json = """[
+        {"number": 12, "title": "Fix \\"x\\" \\u00e9", "body": "long {[ body", "locked": false, "score": -1.5e3,
+         "user": {"login": "a", "ids": [1, 2, {"x": null}]},
+         "labels": [{"id": 1, "name": "bug", "color": "f"}], "pull_request": {"url": "u"}},
+        {"number": 13, "title": "t", "labels": [], "pull_request": null}
+    ]"""
+
+    def "decodes only projected fields"() {
+        def projection = JsonProjection.fields("number", "title")
+                .with("labels", JsonProjection.fields("name"))
+                .with("pull_request", JsonProjection.fields())
+
+        when:
+        def issues = new ProjectingJsonDecoder(new StringReader(json)).decode(projection)
+
+        then:
+        issues.size() == 2
+        issues[0] == [number: new BigDecimal(12), title: 'Fix "x" \u00e9', labels: [[name: "bug"]], pull_request: [:]]
+        issues[1] == [number: new BigDecimal(13), title: "t", labels: [], pull_request: null]
+    }
+
+    def "decodes everything the same way as Jsoner when there is no projection"() {
+        expect:
+        new ProjectingJsonDecoder(new StringReader(json)).decode(null) == Jsoner.deserialize(json)
+    }
+
+    def "fails on malformed input"() {
+        when:
+        new ProjectingJsonDecoder(new StringReader(input)).decode(JsonProjection.fields("a"))
+
+        then:
+        def e = thrown(IOException)
+        e.message == message
+
+        where:
+        input        | message
+        "[1,"        | "Unexpected end of JSON at position 3"
+        "["          | "Unexpected end of JSON at position 1"
+        '{"a": ['    | "Unexpected end of JSON at position 7"
+        '{"a" 1}'    | "Expected ':' after field name 'a' at position 6"
+        "[1] x"      | "Unexpected content after JSON value: 'x' at position 5"
+        '{"a": tru}' | "Invalid literal, expected 'rue' at position 10"
+        '{"b": "x'   | "Unterminated string at position 8"
+    }
+}
@@ -23,4 +23,46 @@ class DefaultContributionSetTest extends Specification {
         expect:
         contributions.allTickets == ["123", "100"] as Set
     }
+
+    def "groups commits by author email or name"() {
+        contributions.add(new GitCommit("1", "a@x", "A", ""))
+        contributions.add(new GitCommit("2", "b@x", "B", ""))
+        contributions.add(new GitCommit("3", "a@y", "A", ""))
+        contributions.add(new GitCommit("4", "b@x", "Bob", ""))
+        contributions.add(new GitCommit("5", "a@y", "A", ""))
+
+        expect:
+        contributions.authorCount == 2
+        contributions.contributions*.authorName == ["A", "B"]
+        contributions.contributions*.commits*.commitId == [["1", "3", "5"], ["2", "4"]]
+    }
+
+    def "merges contributions when commit links two authors"() {
+        contributions.add(new GitCommit("1", "a@x", "A", ""))
+        contributions.add(new GitCommit("2", "b@x", "B", ""))
+        contributions.add(new GitCommit("3", "c@x", "C", ""))
+        contributions.add(new GitCommit("4", "a@x", "B", ""))
+        //both emails of B are now resolved to the merged contribution
+        contributions.add(new GitCommit("5", "b@x", "B", ""))
+
+        expect:
+        contributions.authorCount == 2
+        contributions.contributions*.authorName == ["A", "C"]
+        contributions.contributions*.commits*.size() == [4, 1]
+    }
+
+    def "keeps contributions sorted by commits count"() {
+        contributions.add(new GitCommit("1", "a@x", "a", ""))
+        contributions.add(new GitCommit("2", "b@x", "A", ""))
+        contributions.add(new GitCommit("3", "c@x", "C", ""))
+
+        expect:
+        contributions.contributions*.authorName == ["A", "a", "C"]
+
+        when:
+        contributions.add(new GitCommit("4", "c@x", "C", ""))
+
+        then:
+        contributions.contributions*.authorName == ["C", "A", "a"]
+    }
 }
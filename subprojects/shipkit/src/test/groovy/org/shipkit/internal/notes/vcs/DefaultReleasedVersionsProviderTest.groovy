@@ -45,4 +45,14 @@ class DefaultReleasedVersionsProviderTest extends Specification {
         provider.getReleasedVersions(null, null, ["2.0.0", "1.5.0", "1.0.0"], "v").toString() ==
                 "[2.0.0@2017-02-15(v2.0.0..v1.5.0), 1.5.0@2017-01-30(v1.5.0..v1.0.0), 1.0.0@2017-01-15(v1.0.0..null)]"
     }
+
+    def "provides commit ids of tags"() {
+        dateProvider.getCommitId("v1.5.0") >> "abc"
+
+        when:
+        def versions = provider.getReleasedVersions("2.0.0", someDate, ["1.5.0", "1.0.0"], "v") as List
+
+        then:
+        versions*.commitId == [null, "abc", null]
+    }
 }
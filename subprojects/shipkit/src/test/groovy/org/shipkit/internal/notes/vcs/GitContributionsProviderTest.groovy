@@ -17,7 +17,7 @@ c76924d41c219f3b71b50a28d80c23c9c81b7a8c@@info@@john@doe@@info@@John R. Doe@@inf
 @@commit@@"""
 
     def "provides contributions"() {
-        logProvider.getLog("v1.10.10", "HEAD", "--pretty=format:%H@@info@@%ae@@info@@%an@@info@@%B%N@@commit@@") >> log
+        logProvider.getLog("v1.10.10", "HEAD", "--pretty=format:%H%x00%ae%x00%an%x00%B%N", _) >> streaming(log)
 
         when:
         def c = provider.getContributionsBetween("v1.10.10", "HEAD")
@@ -31,7 +31,7 @@ c76924d41c219f3b71b50a28d80c23c9c81b7a8c@@info@@john@doe@@info@@John R. Doe@@inf
     }
 
     def "has basic handling of garbage in log"() {
-        logProvider.getLog(_, _, _) >> (log + " some garbage \n@@commit@@\n more garbage")
+        logProvider.getLog(_, _, _, _) >> streaming(log + " some garbage \n@@commit@@\n more garbage")
 
         when:
         def c = provider.getContributionsBetween("v1.10.10", "HEAD")
@@ -41,7 +41,7 @@ c76924d41c219f3b71b50a28d80c23c9c81b7a8c@@info@@john@doe@@info@@John R. Doe@@inf
     }
 
     def "handles empty log"() {
-        logProvider.getLog(_, _, _) >> ""
+        logProvider.getLog(_, _, _, _) >> streaming("")
 
         when:
         def c = provider.getContributionsBetween("v1.10.10", "HEAD")
@@ -54,7 +54,7 @@ c76924d41c219f3b71b50a28d80c23c9c81b7a8c@@info@@john@doe@@info@@John R. Doe@@inf
         def logWithSkipCiCommits = log + """11197f9e6cfc06e2fa70ed12ee6c9571af8a7fc9@@info@@mockitoguy@gmail.com@@info@@Szczepan Faber@@info@@[ci skip]sample message
 second line
 @@commit@@"""
-        logProvider.getLog(_, _, _) >> logWithSkipCiCommits
+        logProvider.getLog(_, _, _, _) >> streaming(logWithSkipCiCommits)
 
         when:
         def c = provider.getContributionsBetween("v1.10.10", "HEAD")
@@ -62,4 +62,57 @@ second line
         then:
         c.allCommits.size() == 3
     }
+
+    def "provides contributions of many versions reading the history once"() {
+        def head = version("HEAD", "v2.0.0")
+        def v2 = version("v2.0.0", "v1.0.0")
+        logProvider.getCommitIds(["HEAD", "v2.0.0", "v1.0.0"]) >> ["c4", "c2", "c1"]
+        logProvider.getLog(["HEAD", "v2.0.0"], "v1.0.0", "--pretty=format:%H%x00%P%x00%ae%x00%an%x00%B%N", _) >> streaming("""c4@@info@@c3 s1@@info@@a@b@@info@@A@@info@@Merge side branch
+@@commit@@
+c3@@info@@c2@@info@@a@b@@info@@A@@info@@Fixed #10
+@@commit@@
+s1@@info@@c1@@info@@b@c@@info@@B@@info@@Side branch change
+@@commit@@
+c2@@info@@c1@@info@@a@b@@info@@A@@info@@Fixed #5
+@@commit@@""")
+
+        when:
+        def c = provider.getContributions([head, v2])
+
+        then:
+        1 * logProvider.fetchTags(["v2.0.0", "v1.0.0"])
+        0 * logProvider.getLog(_ as String, _ as String, _ as String, _)
+
+        and:
+        c[0].allCommits*.commitId == ["c4", "c3", "s1"]
+        c[0].allTickets == ["10"] as Set
+        c[1].allCommits*.commitId == ["c2"]
+        c[1].allTickets == ["5"] as Set
+    }
+
+    def "reads the history version by version when versions do not form a chain"() {
+        logProvider.getLog(_, _, _, _) >> streaming(log)
+
+        when:
+        def c = provider.getContributions([version("HEAD", "v2.0.0"), version("v1.0.0", "v0.9.0")])
+
+        then:
+        c.size() == 2
+        0 * logProvider.getCommitIds(_)
+    }
+
+    /**
+     * Converts readable log to the format of 'git log -z' and streams it to the output handler
+     */
+    private static Closure streaming(String log) {
+        def nulSeparated = log.replace("@@info@@", "\u0000").replace("@@commit@@", "\u0000")
+        return { args -> args[3].handle(new StringReader(nulSeparated)) }
+    }
+
+    private ReleasedVersion version(String rev, String previousRev) {
+        Stub(ReleasedVersion) {
+            getRev() >> rev
+            getPreviousRev() >> previousRev
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package org.shipkit.internal.notes.vcs
+
+import org.shipkit.internal.notes.util.Consumer
+import spock.lang.Specification
+
+class GitLogParserTest extends Specification {
+
+    def commits = []
+    def consumer = { String[] fields -> commits << (fields as List) } as Consumer
+
+    def "parses commits"() {
+        when:
+        new GitLogParser(3).parse(new StringReader("a\u0000b\u0000c\nd\n\u0000e\u0000f\u0000g"), consumer)
+
+        then:
+        commits == [["a", "b", "c\nd\n"], ["e", "f", "g"]]
+    }
+
+    def "parses commits spanning many reads"() {
+        def message = "x" * 20000
+
+        when:
+        new GitLogParser(2).parse(new StringReader("a\u0000$message\u0000b\u0000c"), consumer)
+
+        then:
+        commits == [["a", message], ["b", "c"]]
+    }
+
+    def "handles empty log"() {
+        when:
+        new GitLogParser(3).parse(new StringReader(""), consumer)
+
+        then:
+        commits.isEmpty()
+    }
+
+    def "ignores incomplete commit"() {
+        when:
+        new GitLogParser(3).parse(new StringReader("a\u0000b\u0000c\u0000garbage"), consumer)
+
+        then:
+        commits == [["a", "b", "c"]]
+    }
+}
@@ -1,5 +1,6 @@
 package org.shipkit.internal.notes.vcs
 
+import org.shipkit.internal.exec.ProcessOutputHandler
 import org.shipkit.internal.exec.ProcessRunner
 import spock.lang.Specification
 import spock.lang.Subject
@@ -9,16 +10,50 @@ class GitLogProviderTest extends Specification {
     def runner = Mock(ProcessRunner)
     @Subject provider = new GitLogProvider(runner)
 
+    def handler = Mock(ProcessOutputHandler)
+
     def "provides log"() {
         when:
-        def log = provider.getLog("v1.10.10", "HEAD", "--pretty=foo")
+        provider.getLog("v1.10.10", "HEAD", "--pretty=foo", handler)
 
         then:
         1 * runner.run("git", "fetch", "origin", "+refs/tags/v1.10.10:refs/tags/v1.10.10")
-        1 * runner.run("git", "log", "--pretty=foo", "v1.10.10..HEAD") >> "some output"
+        1 * runner.run(["git", "log", "-z", "--pretty=foo", "v1.10.10..HEAD"], handler)
         0 * _
+    }
+
+    def "fetches tags at once"() {
+        when:
+        provider.fetchTags(["v1.0.0", "v0.9.0"])
 
-        and:
-        log == "some output"
+        then:
+        1 * runner.run(["git", "fetch", "origin", "+refs/tags/v1.0.0:refs/tags/v1.0.0", "+refs/tags/v0.9.0:refs/tags/v0.9.0"])
+        0 * _
+    }
+
+    def "provides log of many revisions"() {
+        when:
+        provider.getLog(["HEAD", "v1.0.0"], "v0.9.0", "--pretty=foo", handler)
+
+        then:
+        1 * runner.run(["git", "log", "-z", "--pretty=foo", "HEAD", "v1.0.0", "^v0.9.0"], handler)
+        0 * _
+    }
+
+    def "resolves commit ids"() {
+        runner.run(["git", "rev-parse", "HEAD^{commit}", "v1.0.0^{commit}"]) >> "aaa\nbbb\n"
+
+        expect:
+        provider.getCommitIds(["HEAD", "v1.0.0"]) == ["aaa", "bbb"]
+    }
+
+    def "fails when commit ids cannot be resolved"() {
+        runner.run(["git", "rev-parse", "HEAD^{commit}", "v1.0.0^{commit}"]) >> "aaa\n"
+
+        when:
+        provider.getCommitIds(["HEAD", "v1.0.0"])
+
+        then:
+        thrown(IllegalArgumentException)
     }
 }
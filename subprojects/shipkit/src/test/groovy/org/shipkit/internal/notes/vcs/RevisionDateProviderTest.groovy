@@ -1,6 +1,7 @@
 package org.shipkit.internal.notes.vcs
 
 import org.shipkit.internal.exec.ProcessRunner
+import org.shipkit.internal.git.GitRepository
 import org.shipkit.internal.util.DateUtil
 import spock.lang.Specification
 
@@ -10,6 +11,7 @@ class RevisionDateProviderTest extends Specification {
     def provider = new RevisionDateProvider(runner)
 
     def "provides revision dates"() {
+        runner.run("git", "for-each-ref", _, "refs/tags/") >> ""
         runner.run("git", "log", "--pretty=%ad", "--date=iso", "v1.0.0", "-n", "1") >> "\n2017-01-29 08:14:09 -0800\n"
         runner.run("git", "log", "--pretty=%ad", "--date=iso", "v2.0.0", "-n", "1") >> "\n2017-01-30 10:14:09 -0400\n"
         runner.run("git", "log", "--pretty=%ad", "--date=iso", "v3.0.0", "-n", "1") >> "2017-04-11 13:59:59 +0000"
@@ -21,6 +23,7 @@ class RevisionDateProviderTest extends Specification {
     }
 
     def "fails if revision number is incorrect what causes git call to fail"() {
+        runner.run("git", "for-each-ref", _, "refs/tags/") >> ""
         runner.run("git", "log", "--pretty=%ad", "--date=iso", "v1.0.0", "-n", "1") >> "fatal: ambiguous argument 'v1.0.0'"
 
         when:
@@ -33,4 +36,71 @@ class RevisionDateProviderTest extends Specification {
                 " Following output was returned by git:\n" +
                 "fatal: ambiguous argument 'v1.0.0'"
     }
+
+    def "reads dates of all tags at once"() {
+        when:
+        def v1 = provider.getDate("v1.0.0")
+        def v2 = provider.getDate("v2.0.0")
+        def head = provider.getDate("HEAD")
+
+        then:
+        1 * runner.run("git", "for-each-ref", "--format=%(refname) %(objectname) %(*objectname) %(*authordate:iso)%(authordate:iso)", "refs/tags/") >>
+                "refs/tags/v1.0.0 aaa  2017-01-29 08:14:09 -0800\nrefs/tags/v2.0.0 bbb ccc 2017-01-30 10:14:09 -0400\nrefs/tags/broken ddd  \n"
+        1 * runner.run("git", "log", "--pretty=%ad", "--date=iso", "HEAD", "-n", "1") >> "2017-04-11 13:59:59 +0000"
+        0 * _
+
+        and:
+        DateUtil.formatDate(v1) == "2017-01-29"
+        DateUtil.formatDate(v2) == "2017-01-30"
+        DateUtil.formatDate(head) == "2017-04-11"
+    }
+
+    def "provides commit ids of tags"() {
+        runner.run("git", "for-each-ref", _, "refs/tags/") >>
+                "refs/tags/v1.0.0 aaa  2017-01-29 08:14:09 -0800\nrefs/tags/v2.0.0 bbb ccc 2017-01-30 10:14:09 -0400\n"
+
+        expect:
+        //lightweight tag
+        provider.getCommitId("v1.0.0") == "aaa"
+        //annotated tag points to the commit through the tag object
+        provider.getCommitId("v2.0.0") == "ccc"
+        provider.getCommitId("HEAD") == null
+    }
+
+    def "reads tags and dates from repository without running git"() {
+        def repository = Stub(GitRepository) {
+            getTagCommitIds() >> ["v1.0.0": "aaa"]
+            resolve("HEAD") >> "bbb"
+            getAuthorDate("aaa") >> DateUtil.parseDate("2017-01-29 08:14:09 -0800")
+            getAuthorDate("bbb") >> DateUtil.parseDate("2017-04-11 13:59:59 +0000")
+        }
+        provider = new RevisionDateProvider(runner, repository)
+
+        when:
+        def v1 = provider.getDate("v1.0.0")
+        def head = provider.getDate("HEAD")
+        def commitId = provider.getCommitId("v1.0.0")
+
+        then:
+        0 * runner._
+
+        and:
+        DateUtil.formatDate(v1) == "2017-01-29"
+        DateUtil.formatDate(head) == "2017-04-11"
+        commitId == "aaa"
+    }
+
+    def "falls back to git when revision cannot be read from repository"() {
+        def repository = Stub(GitRepository) {
+            getTagCommitIds() >> [:]
+        }
+        provider = new RevisionDateProvider(runner, repository)
+
+        when:
+        def date = provider.getDate("HEAD~1")
+
+        then:
+        1 * runner.run("git", "log", "--pretty=%ad", "--date=iso", "HEAD~1", "-n", "1") >> "2017-04-11 13:59:59 +0000"
+        DateUtil.formatDate(date) == "2017-04-11"
+    }
 }
@@ -29,4 +29,25 @@ class GitHubApiTest extends Specification {
         ex.message.startsWith(
             "GET https://api.github.com/repos/shipkit-example/pulls?access_token=[SECRET] failed")
     }
+
+    def "computes retry delay of request rejected because of rate limit"() {
+        def now = 1000000000000
+
+        expect:
+        GitHubApi.retryDelayMillis(code, retryAfter, remaining, reset, now) == delay
+
+        where:
+        code | retryAfter | remaining | reset        | delay
+        403  | "60"       | null      | null         | 60000
+        429  | "1"        | "10"      | null         | 1000
+        403  | null       | "0"       | "1000000030" | 31000
+        403  | null       | "0"       | "999999990"  | 1000
+        //the limit resets too late
+        403  | null       | "0"       | "1000003600" | -1
+        403  | "3600"     | null      | null         | -1
+        //not a rate limit problem
+        403  | null       | "10"      | "1000000030" | -1
+        404  | "60"       | null      | null         | -1
+        403  | "soon"     | null      | null         | -1
+    }
 }